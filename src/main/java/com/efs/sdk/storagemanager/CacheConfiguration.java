@@ -0,0 +1,61 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.efs.sdk.storagemanager.core.ContextStatusService.ORGANIZATION_CACHE;
+import static com.efs.sdk.storagemanager.core.ContextStatusService.SPACE_CACHE;
+
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    /**
+     * Caches the storage contexts looked up in the storage backend. Entries are evicted on every change made by this
+     * instance; the time to live bounds the staleness of changes made elsewhere (other replicas, manual changes).
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${storagemanager.cache.contexts.ttl:PT5M}") Duration ttl,
+            @Value("${storagemanager.cache.contexts.max-size:10000}") long maxSize) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).recordStats());
+        cacheManager.setCacheNames(List.of(ORGANIZATION_CACHE, SPACE_CACHE));
+        return cacheManager;
+    }
+
+    /**
+     * Adds an ETag to the responses of the status endpoints of the storage contexts and answers requests with a
+     * matching {@code If-None-Match} header with {@code 304 Not Modified}.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> contextStatusEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/v2.0/context/organization/*");
+        return registration;
+    }
+}
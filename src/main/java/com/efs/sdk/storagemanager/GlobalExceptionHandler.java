@@ -75,7 +75,12 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         body.put("errorCode", ex.getErrorCode());
         body.put("message", ex.getMessage());
 
+        HttpHeaders headers = new HttpHeaders();
+        if (ex.getRetryAfter() != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())));
+        }
+
         // Return a new ResponseEntity with the error details in the body, and the HTTP status code in the response.
-        return new ResponseEntity<>(body, ex.getHttpStatus());
+        return new ResponseEntity<>(body, headers, ex.getHttpStatus());
     }
 }
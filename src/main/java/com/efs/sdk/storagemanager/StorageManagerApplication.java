@@ -15,6 +15,20 @@ limitations under the License.
  */
 package com.efs.sdk.storagemanager;
 
+import com.efs.sdk.storagemanager.clients.AzureRateLimitProperties;
+import com.efs.sdk.storagemanager.clients.AzureRegionProperties;
+import com.efs.sdk.storagemanager.clients.AzureStorageProfileProperties;
+import com.efs.sdk.storagemanager.clients.BackendGuardProperties;
+import com.efs.sdk.storagemanager.clients.TieringProperties;
+import com.efs.sdk.storagemanager.core.AdmissionProperties;
+import com.efs.sdk.storagemanager.core.BulkProperties;
+import com.efs.sdk.storagemanager.core.CloneProperties;
+import com.efs.sdk.storagemanager.core.QuotaProperties;
+import com.efs.sdk.storagemanager.core.ReaperProperties;
+import com.efs.sdk.storagemanager.core.ReconcilerProperties;
+import com.efs.sdk.storagemanager.core.RolloutProperties;
+import com.efs.sdk.storagemanager.core.SchedulerProperties;
+import com.efs.sdk.storagemanager.core.UsageProperties;
 import com.efs.sdk.storagemanager.security.oauth.OAuth2Properties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -23,7 +37,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
-@EnableConfigurationProperties(OAuth2Properties.class)
+@EnableConfigurationProperties({OAuth2Properties.class, AzureRegionProperties.class, AzureStorageProfileProperties.class,
+        TieringProperties.class, BulkProperties.class, AzureRateLimitProperties.class, AdmissionProperties.class,
+        SchedulerProperties.class, BackendGuardProperties.class, UsageProperties.class,
+        QuotaProperties.class, ReconcilerProperties.class, RolloutProperties.class, ReaperProperties.class,
+        CloneProperties.class})
 public class StorageManagerApplication {
 
     public static void main(String[] args) {
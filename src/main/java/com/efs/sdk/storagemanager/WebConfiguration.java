@@ -16,17 +16,36 @@ limitations under the License.
 package com.efs.sdk.storagemanager;
 
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+
 @Configuration
 public class WebConfiguration implements WebMvcConfigurer {
 
+    private final Duration asyncTimeout;
+
+    public WebConfiguration(@Value("${storagemanager.bulk.timeout:PT1H}") Duration asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+
     @Override
     public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
         configurer.defaultContentType(MediaType.APPLICATION_JSON);
     }
 
+    /**
+     * Streamed responses of bulk operations are written asynchronously - they must not be cut off by the (short) default
+     * timeout of the servlet container.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeout.toMillis());
+    }
+
 }
@@ -0,0 +1,216 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipelineCallContext;
+import com.azure.core.http.HttpPipelineNextPolicy;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.policy.HttpPipelinePolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Paces Azure Resource Manager calls with an adaptive token bucket per request category (reads, writes, deletes).
+ * <p>
+ * Each call takes a token; if the bucket is empty, the call is delayed (without blocking a thread) until a token is
+ * refilled. The remaining budget reported by ARM in the {@code x-ms-ratelimit-remaining-subscription-*} headers caps
+ * the tokens of the bucket, and once the budget falls below the low watermark the refill rate is reduced in proportion,
+ * so that calls slow down before ARM starts throttling. A throttled call ({@code 429}) pauses its category for the
+ * {@code Retry-After} time. The state of the buckets is exported as gauges.
+ */
+@Component
+@Profile("azure")
+public class AzureRateLimitPolicy implements HttpPipelinePolicy {
+
+    static final String METRIC_PREFIX = "storagemanager.azure.ratelimit";
+    private static final Logger LOG = LoggerFactory.getLogger(AzureRateLimitPolicy.class);
+    private static final String REMAINING_HEADER = "x-ms-ratelimit-remaining-subscription-";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(10);
+
+    private final boolean enabled;
+    private final Map<Category, TokenBucket> buckets = new EnumMap<>(Category.class);
+    private final Map<Category, Counter> throttled = new EnumMap<>(Category.class);
+
+    public AzureRateLimitPolicy(AzureRateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        buckets.put(Category.READS, new TokenBucket(properties.getReads(), properties.getLowWatermark(), properties.getMinRateFactor()));
+        buckets.put(Category.WRITES, new TokenBucket(properties.getWrites(), properties.getLowWatermark(), properties.getMinRateFactor()));
+        buckets.put(Category.DELETES, new TokenBucket(properties.getDeletes(), properties.getLowWatermark(), properties.getMinRateFactor()));
+        buckets.forEach((category, bucket) -> {
+            String tag = category.header;
+            Gauge.builder(METRIC_PREFIX + ".tokens", bucket, TokenBucket::getTokens).tag("category", tag)
+                    .description("Tokens available for ARM calls").register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".rate", bucket, TokenBucket::getRate).tag("category", tag)
+                    .description("Current refill rate of the ARM call budget (per second)").register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".remaining", bucket, TokenBucket::getRemaining).tag("category", tag)
+                    .description("Remaining budget last reported by ARM").register(meterRegistry);
+            throttled.put(category, Counter.builder(METRIC_PREFIX + ".throttled").tag("category", tag)
+                    .description("ARM calls rejected with 429").register(meterRegistry));
+        });
+    }
+
+    @Override
+    public Mono<HttpResponse> process(HttpPipelineCallContext context, HttpPipelineNextPolicy next) {
+        if (!enabled) {
+            return next.process();
+        }
+        Category category = Category.of(context.getHttpRequest().getHttpMethod());
+        TokenBucket bucket = buckets.get(category);
+        return Mono.defer(() -> {
+            Duration wait = bucket.reserve();
+            // the call must not be assembled before the delay - downstream policies may start work eagerly
+            Mono<HttpResponse> call = wait.isZero() ? next.process() : Mono.delay(wait).then(Mono.defer(next::process));
+            return call.doOnNext(response -> observe(category, bucket, response));
+        });
+    }
+
+    private void observe(Category category, TokenBucket bucket, HttpResponse response) {
+        String remaining = response.getHeaderValue(REMAINING_HEADER + category.header);
+        if (remaining != null) {
+            try {
+                bucket.observeRemaining(Long.parseLong(remaining.trim()));
+            } catch (NumberFormatException e) {
+                LOG.debug("ignoring invalid rate limit header value '{}'", remaining);
+            }
+        }
+        if (response.getStatusCode() == TOO_MANY_REQUESTS) {
+            Duration retryAfter = parseRetryAfter(response.getHeaderValue(RETRY_AFTER_HEADER));
+            LOG.warn("ARM throttled {} - pausing them for {}", category.header, retryAfter);
+            throttled.get(category).increment();
+            bucket.pause(retryAfter);
+        }
+    }
+
+    private static Duration parseRetryAfter(String value) {
+        if (value == null) {
+            return DEFAULT_RETRY_AFTER;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            // HTTP dates are not used by ARM
+            return DEFAULT_RETRY_AFTER;
+        }
+    }
+
+    enum Category {
+        READS, WRITES, DELETES;
+
+        private final String header = name().toLowerCase(Locale.ROOT);
+
+        static Category of(HttpMethod method) {
+            if (method == HttpMethod.GET || method == HttpMethod.HEAD) {
+                return READS;
+            }
+            return method == HttpMethod.DELETE ? DELETES : WRITES;
+        }
+    }
+
+    /**
+     * Token bucket whose tokens and refill rate adapt to the remaining budget reported by the server
+     */
+    static class TokenBucket {
+
+        private final int capacity;
+        private final double baseRate;
+        private final double lowWatermark;
+        private final double minRateFactor;
+        private double tokens;
+        private double rate;
+        private long remaining = -1;
+        private long maxRemaining;
+        private long refilledAt = System.nanoTime();
+        private long pausedUntil = refilledAt;
+
+        TokenBucket(AzureRateLimitProperties.Bucket bucket, double lowWatermark, double minRateFactor) {
+            this.capacity = bucket.getCapacity();
+            this.baseRate = bucket.getRefillPerSecond();
+            this.lowWatermark = lowWatermark;
+            this.minRateFactor = minRateFactor;
+            this.tokens = capacity;
+            this.rate = baseRate;
+        }
+
+        /**
+         * Takes a token - possibly in advance, so that concurrent callers are spaced by the refill rate
+         *
+         * @return the time to wait before the call may be sent
+         */
+        synchronized Duration reserve() {
+            long now = System.nanoTime();
+            refill(now);
+            tokens -= 1;
+            long waitNanos = Math.max(0, pausedUntil - now);
+            if (tokens < 0) {
+                waitNanos += (long) (-tokens / rate * 1_000_000_000L);
+            }
+            return Duration.ofNanos(waitNanos);
+        }
+
+        synchronized void observeRemaining(long reported) {
+            remaining = reported;
+            maxRemaining = Math.max(maxRemaining, reported);
+            refill(System.nanoTime());
+            // the local budget must never exceed the budget left at the server
+            tokens = Math.min(tokens, reported);
+            double threshold = lowWatermark * maxRemaining;
+            rate = reported >= threshold || threshold <= 0 ? baseRate : baseRate * Math.max(minRateFactor, reported / threshold);
+        }
+
+        synchronized void pause(Duration duration) {
+            long now = System.nanoTime();
+            refill(now);
+            tokens = Math.min(tokens, 0);
+            pausedUntil = Math.max(pausedUntil, now + duration.toNanos());
+        }
+
+        synchronized double getTokens() {
+            refill(System.nanoTime());
+            return tokens;
+        }
+
+        synchronized double getRate() {
+            return rate;
+        }
+
+        synchronized double getRemaining() {
+            return remaining;
+        }
+
+        private void refill(long now) {
+            // no refill while paused
+            long start = Math.max(refilledAt, pausedUntil);
+            if (now > start) {
+                tokens = Math.min(capacity, tokens + (now - start) / 1_000_000_000d * rate);
+            }
+            refilledAt = Math.max(refilledAt, now);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Client-side limits of Azure Resource Manager calls, per request category.
+ * <p>
+ * The defaults are below the throttling limits of ARM per subscription. The limiter additionally slows down, once the
+ * remaining budget reported by ARM gets low (see {@link AzureRateLimitPolicy}).
+ */
+@ConfigurationProperties(prefix = "storagemanager.storage.azure.rate-limit")
+public class AzureRateLimitProperties {
+
+    private boolean enabled = true;
+    /**
+     * Fraction of the highest remaining budget reported by ARM, below which the refill rate is reduced proportionally
+     */
+    private double lowWatermark = 0.2;
+    /**
+     * Lower bound of the reduced refill rate as fraction of the configured rate
+     */
+    private double minRateFactor = 0.05;
+    private Bucket reads = new Bucket(250, 25);
+    private Bucket writes = new Bucket(200, 10);
+    private Bucket deletes = new Bucket(200, 10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public void setLowWatermark(double lowWatermark) {
+        this.lowWatermark = lowWatermark;
+    }
+
+    public double getMinRateFactor() {
+        return minRateFactor;
+    }
+
+    public void setMinRateFactor(double minRateFactor) {
+        this.minRateFactor = minRateFactor;
+    }
+
+    public Bucket getReads() {
+        return reads;
+    }
+
+    public void setReads(Bucket reads) {
+        this.reads = reads;
+    }
+
+    public Bucket getWrites() {
+        return writes;
+    }
+
+    public void setWrites(Bucket writes) {
+        this.writes = writes;
+    }
+
+    public Bucket getDeletes() {
+        return deletes;
+    }
+
+    public void setDeletes(Bucket deletes) {
+        this.deletes = deletes;
+    }
+
+    public static class Bucket {
+
+        private int capacity;
+        private double refillPerSecond;
+
+        public Bucket() {
+        }
+
+        public Bucket(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
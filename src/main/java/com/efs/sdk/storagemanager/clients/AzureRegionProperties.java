@@ -0,0 +1,62 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Region catalog for Azure Storage Accounts.
+ * <p>
+ * The catalog lists all regions organizations may be placed in and optionally assigns a preferred region to single
+ * organizations. The default region ({@code storagemanager.storage.azure.region}) is always part of the catalog.
+ */
+@ConfigurationProperties(prefix = "storagemanager.storage.azure.regions")
+public class AzureRegionProperties {
+
+    private List<String> available = new ArrayList<>();
+    private Map<String, String> organizations = new HashMap<>();
+
+    /**
+     * Regions (in addition to the default region) a storage account may be provisioned in
+     *
+     * @return the available regions
+     */
+    public List<String> getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(List<String> available) {
+        this.available = available;
+    }
+
+    /**
+     * Preferred region by organization name - used if the region is not provided on creation
+     *
+     * @return the region assignments
+     */
+    public Map<String, String> getOrganizations() {
+        return organizations;
+    }
+
+    public void setOrganizations(Map<String, String> organizations) {
+        this.organizations = organizations;
+    }
+}
@@ -42,15 +42,18 @@ public class AzureResourceManagerProvider {
     @Value("${storagemanager.storage.azure.user.subscription-id:}")
     private final String subscriptionId;
 
+    private final AzureRateLimitPolicy rateLimitPolicy;
+
     private AzureResourceManager azureResourceManager;
 
     public AzureResourceManagerProvider(@Value("${storagemanager.storage.azure.user.tenant}") String tenantId, @Value("${storagemanager.storage.azure.user" +
             ".client-id}") String clientId, @Value("${storagemanager.storage.azure.user.client-secret}") String clientSecret, @Value("${storagemanager" +
-            ".storage.azure.user.subscription-id:}") String subscriptionId) {
+            ".storage.azure.user.subscription-id:}") String subscriptionId, AzureRateLimitPolicy rateLimitPolicy) {
         this.tenantId = tenantId;
         this.clientId = clientId;
         this.clientSecret = clientSecret;
         this.subscriptionId = subscriptionId;
+        this.rateLimitPolicy = rateLimitPolicy;
     }
 
     /**
@@ -66,8 +69,8 @@ public class AzureResourceManagerProvider {
 
             final TokenCredential credential = new DefaultAzureCredentialBuilder().authorityHost(profile.getEnvironment().getActiveDirectoryEndpoint()).build();
 
-            AzureResourceManager.Authenticated authenticate = AzureResourceManager.configure().withLogLevel(HttpLogDetailLevel.NONE).authenticate(credential,
-                    profile);
+            AzureResourceManager.Authenticated authenticate = AzureResourceManager.configure().withLogLevel(HttpLogDetailLevel.NONE).withPolicy(rateLimitPolicy)
+                    .authenticate(credential, profile);
             if (subscriptionId == null || subscriptionId.isBlank()) {
                 azureResourceManager = authenticate.withDefaultSubscription();
             } else {
@@ -0,0 +1,162 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Named performance profiles for Azure Storage Accounts.
+ * <p>
+ * A profile combines performance, redundancy (together forming the SKU, e.g. {@code Premium_LRS}), account kind and
+ * access tier. Profiles are selected per organization on creation - if no profile is requested, the profile assigned
+ * to the organization or the default profile is used.
+ */
+@ConfigurationProperties(prefix = "storagemanager.storage.azure.profiles")
+public class AzureStorageProfileProperties {
+
+    /**
+     * Name of the built-in profile, which corresponds to the settings used before profiles were introduced
+     */
+    public static final String STANDARD = "standard";
+
+    private String defaultProfile = STANDARD;
+    private Map<String, StorageProfile> definitions = new HashMap<>();
+    private Map<String, String> organizations = new HashMap<>();
+
+    public String getDefaultProfile() {
+        return defaultProfile;
+    }
+
+    public void setDefaultProfile(String defaultProfile) {
+        this.defaultProfile = defaultProfile;
+    }
+
+    public Map<String, StorageProfile> getDefinitions() {
+        return definitions;
+    }
+
+    public void setDefinitions(Map<String, StorageProfile> definitions) {
+        this.definitions = definitions;
+    }
+
+    /**
+     * Profile by organization name - used if the profile is not provided on creation
+     *
+     * @return the profile assignments
+     */
+    public Map<String, String> getOrganizations() {
+        return organizations;
+    }
+
+    public void setOrganizations(Map<String, String> organizations) {
+        this.organizations = organizations;
+    }
+
+    /**
+     * Gets the profile with the given name - the built-in profile {@value #STANDARD} is available unless overridden.
+     *
+     * @param name the name of the profile
+     * @return the profile or {@code null}, if no profile with the given name is defined
+     */
+    public StorageProfile getProfile(String name) {
+        StorageProfile profile = definitions.get(name);
+        if (profile == null && STANDARD.equals(name)) {
+            return new StorageProfile();
+        }
+        return profile;
+    }
+
+    public static class StorageProfile {
+
+        private String performance = "Standard";
+        private String redundancy = "LRS";
+        private String kind;
+        private String accessTier;
+        private boolean hierarchicalNamespace;
+
+        /**
+         * Performance of the storage account ({@code Standard} or {@code Premium})
+         *
+         * @return the performance
+         */
+        public String getPerformance() {
+            return performance;
+        }
+
+        public void setPerformance(String performance) {
+            this.performance = performance;
+        }
+
+        /**
+         * Redundancy of the storage account (e.g. {@code LRS}, {@code ZRS}, {@code GRS}, {@code RAGRS})
+         *
+         * @return the redundancy
+         */
+        public String getRedundancy() {
+            return redundancy;
+        }
+
+        public void setRedundancy(String redundancy) {
+            this.redundancy = redundancy;
+        }
+
+        /**
+         * Kind of the storage account (e.g. {@code StorageV2}, {@code BlockBlobStorage}) - the Azure default is used if not set
+         *
+         * @return the kind
+         */
+        public String getKind() {
+            return kind;
+        }
+
+        public void setKind(String kind) {
+            this.kind = kind;
+        }
+
+        /**
+         * Default access tier of the storage account ({@code Hot} or {@code Cool}) - the Azure default is used if not set
+         *
+         * @return the access tier
+         */
+        public String getAccessTier() {
+            return accessTier;
+        }
+
+        public void setAccessTier(String accessTier) {
+            this.accessTier = accessTier;
+        }
+
+        /**
+         * Whether hierarchical namespace (ADLS Gen2) is enabled by default for storage accounts of this profile
+         *
+         * @return if hierarchical namespace is enabled
+         */
+        public boolean isHierarchicalNamespace() {
+            return hierarchicalNamespace;
+        }
+
+        public void setHierarchicalNamespace(boolean hierarchicalNamespace) {
+            this.hierarchicalNamespace = hierarchicalNamespace;
+        }
+
+        public String getSkuName() {
+            return performance + "_" + redundancy;
+        }
+    }
+}
@@ -0,0 +1,394 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.*;
+
+/**
+ * Guards the storage backend operations with a circuit breaker and a bulkhead per operation.
+ * <p>
+ * Each operation is executed on its own bounded thread pool (bulkhead), so that a degraded operation can tie up
+ * neither the request threads nor the capacity of the other operations; calls exceeding the timeout are cancelled.
+ * Cancelling only interrupts the waiting thread - the backend (e.g. a long-running ARM operation) may still complete a
+ * timed-out call, so callers must be able to adopt its outcome on retry (see {@link BackendOperation#ACCOUNT_CREATE}).
+ * If the share of failed calls within the sliding window exceeds the threshold, the circuit opens and calls fail fast
+ * with {@code 503 Service Unavailable} until the open duration has elapsed. Then a limited number of probe calls is let
+ * through (half-open) - the circuit closes once they succeed and opens again on the first failure.
+ * <p>
+ * Only unexpected errors count as failure - errors caused by the request (client errors, e.g. conflicts) do not.
+ */
+@Component
+public class BackendGuard {
+
+    static final String METRIC_PREFIX = "storagemanager.backend";
+    private static final Logger LOG = LoggerFactory.getLogger(BackendGuard.class);
+
+    private final boolean enabled;
+    private final Map<BackendOperation, Guard> guards = new EnumMap<>(BackendOperation.class);
+
+    public BackendGuard(BackendGuardProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    BackendGuard(BackendGuardProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.enabled = properties.isEnabled();
+        for (BackendOperation operation : BackendOperation.values()) {
+            guards.put(operation, new Guard(operation, properties.getSettings(operation), clock, meterRegistry));
+        }
+    }
+
+    /**
+     * Executes a backend operation guarded by its circuit breaker and bulkhead
+     *
+     * @param operation the operation
+     * @param call      the backend call
+     * @param <T>       the result type
+     * @return the result of the call
+     * @throws StorageManagerException thrown, if the circuit is open, the bulkhead is full, the call times out or fails
+     */
+    public <T> T execute(BackendOperation operation, GuardedCall<T> call) throws StorageManagerException {
+        if (!enabled) {
+            return call.run();
+        }
+        return guards.get(operation).execute(call);
+    }
+
+    /**
+     * Gets the state of all circuit breakers and bulkheads
+     *
+     * @return the states by operation
+     */
+    public Map<String, Status> getStatus() {
+        Map<String, Status> status = new LinkedHashMap<>();
+        guards.forEach((operation, guard) -> status.put(operation.getName(), guard.getStatus()));
+        return status;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        guards.values().forEach(guard -> guard.pool.shutdownNow());
+    }
+
+    private static boolean isFailure(Throwable e) {
+        if (e instanceof StorageManagerException sme) {
+            return sme.getHttpStatus().is5xxServerError();
+        }
+        return true;
+    }
+
+    /**
+     * The guarded storage backend operations
+     */
+    public enum BackendOperation {
+        /**
+         * creating a storage account (Azure) or the organization folder (S3) - the account may still be created after
+         * the call timed out, a retry of the provisioning adopts it
+         */
+        ACCOUNT_CREATE,
+        /**
+         * creating a container or filesystem (Azure) or the space folder (S3)
+         */
+        CONTAINER_CREATE,
+        /**
+         * writing lifecycle management policies (Azure) or IAM policies and lifecycle rules (S3)
+         */
+        POLICY_WRITE,
+        /**
+         * deleting the data of a space or organization - the prefix (S3), the container or storage account (Azure)
+         */
+        PREFIX_DELETE,
+        /**
+         * copying an object server-side between the spaces of an organization (clone)
+         */
+        OBJECT_COPY;
+
+        public String getName() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    public enum CircuitState {CLOSED, OPEN, HALF_OPEN}
+
+    /**
+     * A call guarded by the {@link BackendGuard}
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface GuardedCall<T> {
+        T run() throws StorageManagerException;
+    }
+
+    /**
+     * State of the circuit breaker and the bulkhead of an operation
+     *
+     * @param state         the state of the circuit
+     * @param failureRate   the share of failed calls within the sliding window
+     * @param bufferedCalls the number of calls within the sliding window
+     * @param activeCalls   the number of calls being executed
+     * @param queuedCalls   the number of calls waiting for execution
+     * @param retryAfter    the time until probe calls are let through (only if the circuit is open)
+     */
+    public record Status(CircuitState state, double failureRate, int bufferedCalls, int activeCalls, int queuedCalls, Duration retryAfter) {
+    }
+
+    private static class Guard {
+
+        private final BackendOperation operation;
+        private final BackendGuardProperties.Settings settings;
+        private final CircuitBreaker circuitBreaker;
+        private final ThreadPoolExecutor pool;
+        private final Counter rejectedOpen;
+        private final Counter rejectedFull;
+        private final Counter timedOut;
+
+        Guard(BackendOperation operation, BackendGuardProperties.Settings settings, Clock clock, MeterRegistry meterRegistry) {
+            this.operation = operation;
+            this.settings = settings;
+            this.circuitBreaker = new CircuitBreaker(operation.getName(), settings, clock);
+            AtomicInteger threads = new AtomicInteger();
+            this.pool = new ThreadPoolExecutor(settings.getPoolSize(), settings.getPoolSize(), 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity())), r -> {
+                Thread thread = new Thread(r, "backend-" + operation.getName() + "-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            String tag = operation.getName();
+            Gauge.builder(METRIC_PREFIX + ".circuit.state", circuitBreaker, cb -> cb.getState().ordinal()).tag("operation", tag)
+                    .description("State of the circuit breaker (0 closed, 1 open, 2 half-open)").register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".circuit.failure.rate", circuitBreaker, CircuitBreaker::getFailureRate).tag("operation", tag)
+                    .description("Share of failed calls within the sliding window").register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".bulkhead.active", pool, ThreadPoolExecutor::getActiveCount).tag("operation", tag)
+                    .description("Backend calls being executed").register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".bulkhead.queued", pool, p -> p.getQueue().size()).tag("operation", tag)
+                    .description("Backend calls waiting for a thread of the bulkhead").register(meterRegistry);
+            this.rejectedOpen = Counter.builder(METRIC_PREFIX + ".rejected").tag("operation", tag).tag("reason", "circuit-open")
+                    .description("Backend calls rejected without being executed").register(meterRegistry);
+            this.rejectedFull = Counter.builder(METRIC_PREFIX + ".rejected").tag("operation", tag).tag("reason", "bulkhead-full")
+                    .description("Backend calls rejected without being executed").register(meterRegistry);
+            this.timedOut = Counter.builder(METRIC_PREFIX + ".timeouts").tag("operation", tag)
+                    .description("Backend calls cancelled after the timeout").register(meterRegistry);
+        }
+
+        <T> T execute(GuardedCall<T> call) throws StorageManagerException {
+            CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+            if (permit == null) {
+                rejectedOpen.increment();
+                throw new StorageManagerException(BACKEND_UNAVAILABLE, operation.getName(), circuitBreaker.getRetryAfter());
+            }
+            Future<T> future;
+            try {
+                future = pool.submit(call::run);
+            } catch (RejectedExecutionException e) {
+                circuitBreaker.release(permit);
+                rejectedFull.increment();
+                throw new StorageManagerException(BACKEND_BUSY, operation.getName());
+            }
+            try {
+                T result = future.get(settings.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                circuitBreaker.onResult(permit, false);
+                return result;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                circuitBreaker.onResult(permit, true);
+                timedOut.increment();
+                LOG.warn("backend operation {} timed out after {}", operation.getName(), settings.getTimeout());
+                throw new StorageManagerException(BACKEND_TIMEOUT, operation.getName());
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                circuitBreaker.release(permit);
+                Thread.currentThread().interrupt();
+                throw new StorageManagerException(UNKNOWN_ERROR, "interrupted while waiting for backend operation " + operation.getName());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                circuitBreaker.onResult(permit, isFailure(cause));
+                if (cause instanceof StorageManagerException sme) {
+                    throw sme;
+                }
+                if (cause instanceof RuntimeException re) {
+                    throw re;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new StorageManagerException(UNKNOWN_ERROR, cause.getMessage());
+            }
+        }
+
+        Status getStatus() {
+            return new Status(circuitBreaker.getState(), circuitBreaker.getFailureRate(), circuitBreaker.getBufferedCalls(), pool.getActiveCount(),
+                    pool.getQueue().size(), circuitBreaker.getRetryAfter());
+        }
+    }
+
+    /**
+     * Count-based circuit breaker: the failure rate is computed over the outcomes of the most recent calls.
+     */
+    static class CircuitBreaker {
+
+        private final String name;
+        private final BackendGuardProperties.Settings settings;
+        private final Clock clock;
+        private final boolean[] outcomes;
+        private int next;
+        private int calls;
+        private int failures;
+        private CircuitState state = CircuitState.CLOSED;
+        private Instant openedAt;
+        private int probes;
+        private int probeSuccesses;
+        // distinguishes permits of an earlier period of the current state
+        private long period;
+
+        CircuitBreaker(String name, BackendGuardProperties.Settings settings, Clock clock) {
+            this.name = name;
+            this.settings = settings;
+            this.clock = clock;
+            this.outcomes = new boolean[Math.max(1, settings.getSlidingWindowSize())];
+        }
+
+        /**
+         * Acquires the permission to execute a call
+         *
+         * @return the permit or {@code null}, if the call is not permitted
+         */
+        synchronized Permit tryAcquire() {
+            if (state == CircuitState.OPEN && !clock.instant().isBefore(openedAt.plus(settings.getOpenDuration()))) {
+                transition(CircuitState.HALF_OPEN);
+            }
+            return switch (state) {
+                case CLOSED -> new Permit(period, false);
+                case OPEN -> null;
+                case HALF_OPEN -> {
+                    if (probes + probeSuccesses >= settings.getHalfOpenCalls()) {
+                        yield null;
+                    }
+                    probes++;
+                    yield new Permit(period, true);
+                }
+            };
+        }
+
+        /**
+         * Records the outcome of a permitted call
+         *
+         * @param permit the permit of the call
+         * @param failed whether the call failed
+         */
+        synchronized void onResult(Permit permit, boolean failed) {
+            if (permit.period() != period) {
+                // the state changed while the call was running
+                return;
+            }
+            if (permit.probe()) {
+                probes--;
+                if (failed) {
+                    transition(CircuitState.OPEN);
+                } else if (++probeSuccesses >= settings.getHalfOpenCalls()) {
+                    transition(CircuitState.CLOSED);
+                }
+                return;
+            }
+            if (calls == outcomes.length && outcomes[next]) {
+                failures--;
+            }
+            outcomes[next] = failed;
+            next = (next + 1) % outcomes.length;
+            calls = Math.min(calls + 1, outcomes.length);
+            if (failed) {
+                failures++;
+            }
+            if (calls >= settings.getMinimumCalls() && getFailureRate() >= settings.getFailureRateThreshold()) {
+                transition(CircuitState.OPEN);
+            }
+        }
+
+        /**
+         * Returns the permit of a call that has not been executed
+         *
+         * @param permit the permit
+         */
+        synchronized void release(Permit permit) {
+            if (permit.probe() && permit.period() == period) {
+                probes--;
+            }
+        }
+
+        private void transition(CircuitState target) {
+            LOG.warn("circuit of backend operation {} changes from {} to {} (failure rate {})", name, state, target, getFailureRate());
+            state = target;
+            period++;
+            probes = 0;
+            probeSuccesses = 0;
+            if (target == CircuitState.OPEN) {
+                openedAt = clock.instant();
+            } else if (target == CircuitState.CLOSED) {
+                Arrays.fill(outcomes, false);
+                next = 0;
+                calls = 0;
+                failures = 0;
+            }
+        }
+
+        synchronized CircuitState getState() {
+            return state;
+        }
+
+        synchronized double getFailureRate() {
+            return calls == 0 ? 0 : (double) failures / calls;
+        }
+
+        synchronized int getBufferedCalls() {
+            return calls;
+        }
+
+        /**
+         * Gets the time until probe calls are let through
+         *
+         * @return the time or {@code null}, if the circuit is not open
+         */
+        synchronized Duration getRetryAfter() {
+            if (state != CircuitState.OPEN) {
+                return null;
+            }
+            Duration remaining = Duration.between(clock.instant(), openedAt.plus(settings.getOpenDuration()));
+            return remaining.isNegative() ? Duration.ZERO : remaining;
+        }
+
+        record Permit(long period, boolean probe) {
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint {@code /actuator/circuitbreakers} exposing the state of the circuit breakers and bulkheads of the
+ * storage backend operations.
+ */
+@Component
+@Endpoint(id = "circuitbreakers")
+public class BackendGuardEndpoint {
+
+    private final BackendGuard guard;
+
+    public BackendGuardEndpoint(BackendGuard guard) {
+        this.guard = guard;
+    }
+
+    @ReadOperation
+    public Map<String, BackendGuard.Status> circuitBreakers() {
+        return guard.getStatus();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Circuit breaker and bulkhead settings of the guarded storage backend operations (e.g. {@code account-create},
+ * {@code prefix-delete}).
+ */
+@ConfigurationProperties(prefix = "storagemanager.storage.guard")
+public class BackendGuardProperties {
+
+    private boolean enabled = true;
+    private Settings defaults = new Settings();
+    private Map<BackendGuard.BackendOperation, Settings> operations = new EnumMap<>(Map.of(BackendGuard.BackendOperation.OBJECT_COPY, objectCopyDefaults()));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Settings getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Settings defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<BackendGuard.BackendOperation, Settings> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(Map<BackendGuard.BackendOperation, Settings> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * Gets the settings of an operation
+     *
+     * @param operation the operation
+     * @return the configured settings or the defaults
+     */
+    public Settings getSettings(BackendGuard.BackendOperation operation) {
+        return operations.getOrDefault(operation, defaults);
+    }
+
+    /**
+     * Object copies of clones run long and as many in parallel as the clone parallelism - the general defaults would
+     * reject and time out the copies of large clones
+     */
+    private static Settings objectCopyDefaults() {
+        Settings settings = new Settings();
+        settings.setPoolSize(8);
+        settings.setQueueCapacity(32);
+        settings.setTimeout(Duration.ofMinutes(30));
+        return settings;
+    }
+
+    public static class Settings {
+
+        /**
+         * Share of failed calls (0..1) within the sliding window at which the circuit opens
+         */
+        private double failureRateThreshold = 0.5;
+        /**
+         * Number of most recent calls the failure rate is computed of
+         */
+        private int slidingWindowSize = 20;
+        /**
+         * Number of calls required before the failure rate is evaluated
+         */
+        private int minimumCalls = 10;
+        /**
+         * Time the circuit stays open before probe calls are let through
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+        /**
+         * Number of successful probe calls required to close the circuit again
+         */
+        private int halfOpenCalls = 3;
+        /**
+         * Number of threads of the bulkhead
+         */
+        private int poolSize = 4;
+        /**
+         * Number of calls waiting for a thread of the bulkhead - further calls are rejected
+         */
+        private int queueCapacity = 8;
+        /**
+         * Maximum duration of a call - slower calls are cancelled and count as failure (the backend may still complete them)
+         */
+        private Duration timeout = Duration.ofMinutes(2);
+
+        public double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.model.Drift;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compares the settings of an organization or space storage with their desired values and collects the repairs of the
+ * deviating settings - settings matching their desired value are never written.
+ */
+class DriftCheck {
+
+    private final String organization;
+    private final String space;
+    private final List<Drift> drifts = new ArrayList<>();
+    private final List<Repair> repairs = new ArrayList<>();
+
+    DriftCheck(String organization, String space) {
+        this.organization = organization;
+        this.space = space;
+    }
+
+    /**
+     * Compares a setting with its desired value
+     *
+     * @param setting  the name of the setting
+     * @param expected the desired value
+     * @param actual   the actual value ({@code null}, if missing)
+     * @param repair   sets the desired value
+     */
+    void expect(String setting, String expected, String actual, Repair repair) {
+        if (!Objects.equals(expected, actual)) {
+            drifts.add(new Drift(organization, space, setting, expected, actual));
+            repairs.add(repair);
+        }
+    }
+
+    List<Drift> getDrifts() {
+        return List.copyOf(drifts);
+    }
+
+    boolean hasDrift() {
+        return !drifts.isEmpty();
+    }
+
+    /**
+     * Repairs all deviating settings
+     *
+     * @throws StorageManagerException thrown, if a repair fails
+     */
+    void repair() throws StorageManagerException {
+        for (Repair repair : repairs) {
+            repair.run();
+        }
+    }
+
+    @FunctionalInterface
+    interface Repair {
+        void run() throws StorageManagerException;
+    }
+}
@@ -15,7 +15,11 @@ limitations under the License.
  */
 package com.efs.sdk.storagemanager.clients;
 
+import com.efs.sdk.storagemanager.model.StorageObject;
+import com.efs.sdk.storagemanager.model.StorageUsage;
+
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Interface for the S3 operations needed by the storage client
@@ -59,6 +63,29 @@ public interface S3Client {
      */
     void createEmptyObject(String objectKey);
 
+    /**
+     * List the virtual folders directly below a prefix
+     * <p>
+     * Corresponds to a listing with delimiter '/' - the common prefixes (e.g. "orga1/space3/" below "orga1/") are
+     * returned in lexicographic order.
+     *
+     * @param prefix     the prefix ("" for the top level)
+     * @param startAfter only folders of object keys after this key are listed ({@code null} to start with the first key)
+     * @param limit      the maximum number of folders
+     * @return the common prefixes
+     */
+    List<String> listPrefixes(String prefix, String startAfter, int limit);
+
+    /**
+     * Sum up the sizes of all objects with given prefix
+     * <p>
+     * Pages through a listing of the objects (without delimiter) - the duration grows with the number of objects.
+     *
+     * @param prefix the prefix
+     * @return the number of objects and their total size
+     */
+    StorageUsage getUsage(String prefix);
+
     /**
      * Delete all objects with given prefix (including the prefix as object key)
      *
@@ -66,6 +93,68 @@ public interface S3Client {
      */
     void deleteObjectsByPrefix(String prefix);
 
+    /**
+     * Delete at most the given number of objects with given prefix
+     * <p>
+     * Uses multi-object deletes of the keys of a listing, so a large prefix can be deleted in several calls.
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum number of objects to delete
+     * @return the number of deleted objects (less than the limit, if no further object has the prefix)
+     */
+    int deleteObjectsByPrefix(String prefix, int limit);
+
+    /**
+     * Delete a single object - does nothing if the object key does not exist
+     *
+     * @param objectKey the object key
+     */
+    void deleteObject(String objectKey);
+
+    /**
+     * Restore at most the given number of deleted objects with given prefix
+     * <p>
+     * Requires a versioned bucket: the delete markers of the objects are removed (which makes their latest version
+     * current again) with multi-object deletes - several of them in parallel. A large prefix can be restored in
+     * several calls.
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum number of objects to restore
+     * @return the number of restored objects (less than the limit, if no further object with the prefix is deleted)
+     */
+    int restoreObjectsByPrefix(String prefix, int limit);
+
+    /**
+     * List the objects with given prefix
+     * <p>
+     * Corresponds to a listing without delimiter - the objects are returned in lexicographic order of their keys.
+     *
+     * @param prefix     the prefix
+     * @param startAfter only object keys after this key are listed ({@code null} to start with the first key)
+     * @param limit      the maximum number of objects
+     * @return the objects with their full keys
+     */
+    List<StorageObject> listObjects(String prefix, String startAfter, int limit);
+
+    /**
+     * Copy an object within the bucket (CopyObject) - limited to objects of at most 5 GiB
+     *
+     * @param sourceKey the key of the source object
+     * @param targetKey the key of the target object (overwritten, if it exists)
+     */
+    void copyObject(String sourceKey, String targetKey);
+
+    /**
+     * Copy a large object within the bucket as multipart upload, whose parts are copied from ranges of the source
+     * object (UploadPartCopy)
+     *
+     * @param sourceKey the key of the source object
+     * @param targetKey the key of the target object (overwritten, if it exists)
+     * @param size      the size of the source object in bytes
+     * @param partSize  the size of the parts in bytes
+     */
+    void copyObjectMultipart(String sourceKey, String targetKey, long size, long partSize);
+
     /**
      * Create IAM policy
      * <p>
@@ -85,6 +174,14 @@ public interface S3Client {
      */
     void deleteIamPolicy(String policyName);
 
+    /**
+     * Get the document of an IAM policy
+     *
+     * @param policyName name of the policy
+     * @return the policy as JSON string or empty, if the policy does not exist
+     */
+    Optional<String> getIamPolicy(String policyName);
+
     /**
      * Lists IAM policies by prefix
      *
@@ -92,4 +189,21 @@ public interface S3Client {
      * @return list of IAM policies
      */
     List<String> listIamPolicies(String prefix);
+
+    /**
+     * Get all rules of the bucket lifecycle configuration
+     *
+     * @return the lifecycle rules (empty if the bucket has no lifecycle configuration)
+     */
+    List<S3LifecycleRule> getLifecycleRules();
+
+    /**
+     * Replace the bucket lifecycle configuration with the given rules
+     * <p>
+     * The lifecycle configuration of a bucket can only be written as a whole, so callers should read, merge and write
+     * the rules in one batch. An empty list removes the lifecycle configuration.
+     *
+     * @param rules the lifecycle rules
+     */
+    void setLifecycleRules(List<S3LifecycleRule> rules);
 }
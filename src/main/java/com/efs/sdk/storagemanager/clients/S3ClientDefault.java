@@ -15,12 +15,15 @@ limitations under the License.
  */
 package com.efs.sdk.storagemanager.clients;
 
+import com.efs.sdk.storagemanager.model.StorageObject;
+import com.efs.sdk.storagemanager.model.StorageUsage;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * S3 client implementation using the MinIO Java SDK
@@ -75,6 +78,33 @@ public class S3ClientDefault implements S3Client {
         // TODO: auto-generated code
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> listPrefixes(String prefix, String startAfter, int limit) {
+        // TODO: auto-generated code
+        return Collections.emptyList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<String> getIamPolicy(String policyName) {
+        // TODO: auto-generated code
+        return Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StorageUsage getUsage(String prefix) {
+        // TODO: auto-generated code
+        return StorageUsage.EMPTY;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -83,6 +113,57 @@ public class S3ClientDefault implements S3Client {
         // TODO: auto-generated code
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteObjectsByPrefix(String prefix, int limit) {
+        // TODO: auto-generated code
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteObject(String objectKey) {
+        // TODO: auto-generated code
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int restoreObjectsByPrefix(String prefix, int limit) {
+        // TODO: auto-generated code
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<StorageObject> listObjects(String prefix, String startAfter, int limit) {
+        // TODO: auto-generated code
+        return Collections.emptyList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void copyObject(String sourceKey, String targetKey) {
+        // TODO: auto-generated code
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void copyObjectMultipart(String sourceKey, String targetKey, long size, long partSize) {
+        // TODO: auto-generated code
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -107,4 +188,21 @@ public class S3ClientDefault implements S3Client {
     public void deleteIamPolicy(String policyName) {
         // TODO: auto-generated code
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<S3LifecycleRule> getLifecycleRules() {
+        // TODO: auto-generated code
+        return Collections.emptyList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLifecycleRules(List<S3LifecycleRule> rules) {
+        // TODO: auto-generated code
+    }
 }
@@ -0,0 +1,92 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A rule of the bucket lifecycle configuration, scoped to an object key prefix
+ * <p>
+ * Transitions map the number of days (after creation of the object, or after the object became noncurrent) to the
+ * target storage class (e.g. {@code STANDARD_IA}, {@code GLACIER}). The thresholds of a tiering class are distinct (see
+ * {@link TieringProperties}), so no transition of a space is lost.
+ */
+public class S3LifecycleRule {
+
+    private String id;
+    private String prefix;
+    private Map<Integer, String> transitions = new TreeMap<>();
+    private Integer expirationDays;
+    private Map<Integer, String> noncurrentVersionTransitions = new TreeMap<>();
+    private Integer noncurrentVersionExpirationDays;
+
+    public S3LifecycleRule() {
+    }
+
+    public S3LifecycleRule(String id, String prefix) {
+        this.id = id;
+        this.prefix = prefix;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public Map<Integer, String> getTransitions() {
+        return transitions;
+    }
+
+    public void setTransitions(Map<Integer, String> transitions) {
+        this.transitions = transitions;
+    }
+
+    public Integer getExpirationDays() {
+        return expirationDays;
+    }
+
+    public void setExpirationDays(Integer expirationDays) {
+        this.expirationDays = expirationDays;
+    }
+
+    public Map<Integer, String> getNoncurrentVersionTransitions() {
+        return noncurrentVersionTransitions;
+    }
+
+    public void setNoncurrentVersionTransitions(Map<Integer, String> noncurrentVersionTransitions) {
+        this.noncurrentVersionTransitions = noncurrentVersionTransitions;
+    }
+
+    public Integer getNoncurrentVersionExpirationDays() {
+        return noncurrentVersionExpirationDays;
+    }
+
+    public void setNoncurrentVersionExpirationDays(Integer noncurrentVersionExpirationDays) {
+        this.noncurrentVersionExpirationDays = noncurrentVersionExpirationDays;
+    }
+}
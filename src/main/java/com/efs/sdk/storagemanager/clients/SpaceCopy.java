@@ -0,0 +1,67 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.model.StorageObject;
+import com.efs.sdk.storagemanager.model.StorageObjectPage;
+
+/**
+ * A server-side copy of the objects of a space into another space of the same organization, as opened by
+ * {@link StorageClient#openSpaceCopy(String, String, String)}.
+ * <p>
+ * The objects of the source space are listed page by page and copied one by one by the storage backend - no data is
+ * transferred through the service. Objects may be copied in parallel. Copies the backend completes asynchronously are
+ * returned as pending {@link Completion}, so the caller can await them without occupying a backend slot.
+ */
+public interface SpaceCopy {
+
+    /**
+     * List a page of the objects of the source space
+     *
+     * @param cursor the cursor returned with the previous page ({@code null} for the first page)
+     * @param limit  the maximum number of objects
+     * @return the page
+     * @throws StorageManagerException thrown on errors
+     */
+    StorageObjectPage list(String cursor, int limit) throws StorageManagerException;
+
+    /**
+     * Copy an object of the source space to the same key in the target space - an existing object is overwritten
+     *
+     * @param object the object
+     * @return the completion of the copy ({@link Completion#DONE}, if the object has been copied already)
+     * @throws StorageManagerException thrown on errors
+     */
+    Completion copy(StorageObject object) throws StorageManagerException;
+
+    /**
+     * Completion of a copy started by the storage backend
+     */
+    @FunctionalInterface
+    interface Completion {
+
+        Completion DONE = () -> {
+        };
+
+        /**
+         * Waits until the storage backend has completed the copy
+         *
+         * @throws StorageManagerException thrown, if the copy failed
+         */
+        void await() throws StorageManagerException;
+    }
+}
@@ -18,6 +18,15 @@ package com.efs.sdk.storagemanager.clients;
 import com.efs.sdk.common.domain.dto.OrganizationContextDTO;
 import com.efs.sdk.common.domain.dto.SpaceContextDTO;
 import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.model.Drift;
+import com.efs.sdk.storagemanager.model.OrganizationStorageModel;
+import com.efs.sdk.storagemanager.model.OrganizationStorageOptions;
+import com.efs.sdk.storagemanager.model.SpaceStorageModel;
+import com.efs.sdk.storagemanager.model.SpaceStorageOptions;
+import com.efs.sdk.storagemanager.model.StorageUsage;
+
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Provides a unified interface for abstracting different cloud storage providers.
@@ -37,19 +46,40 @@ public interface StorageClient {
      * Create a storage for the provided organization.
      *
      * @param organization the organizatiobn
+     * @param options      optional provisioning settings (e.g. the preferred region)
+     * @return the effective placement of the created storage
      * @throws StorageManagerException thrown on errors
      */
-    void createOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException;
+    OrganizationStorageModel createOrganizationStorage(OrganizationContextDTO organization, OrganizationStorageOptions options) throws StorageManagerException;
+
+    /**
+     * Validates the provisioning settings of an organization before its provisioning starts - nothing is created.
+     *
+     * @param organization the organization
+     * @param options      optional provisioning settings (e.g. the preferred region)
+     * @throws StorageManagerException thrown, if the settings are invalid (e.g. an unknown region)
+     */
+    void validateOrganizationStorage(OrganizationContextDTO organization, OrganizationStorageOptions options) throws StorageManagerException;
 
     void createLoadingzone(OrganizationContextDTO organization) throws StorageManagerException;
 
     /**
      * Create a new storage the provided space.
      *
-     * @param space the space
+     * @param space   the space
+     * @param options optional provisioning settings (e.g. the tiering class)
      * @throws StorageManagerException thrown on errors
      */
-    void createSpaceStorage(SpaceContextDTO space) throws StorageManagerException;
+    void createSpaceStorage(SpaceContextDTO space, SpaceStorageOptions options) throws StorageManagerException;
+
+    /**
+     * Validates the provisioning settings of a space before its provisioning starts - nothing is created.
+     *
+     * @param space   the space
+     * @param options optional provisioning settings (e.g. the tiering class)
+     * @throws StorageManagerException thrown, if the settings are invalid (e.g. an unknown tiering class)
+     */
+    void validateSpaceStorage(SpaceContextDTO space, SpaceStorageOptions options) throws StorageManagerException;
 
     /**
      * Delete the storage of the provided organization.
@@ -67,4 +97,150 @@ public interface StorageClient {
      */
     void deleteSpaceStorage(SpaceContextDTO space) throws StorageManagerException;
 
+    /**
+     * Revoke all access to the storage of the provided organization, so that its data can be purged in the background
+     * ({@link #purgeOrganizationStorage(String, int)}). Afterwards, the storage no longer counts as existing.
+     *
+     * @param organization the organization
+     * @throws StorageManagerException thrown on errors
+     */
+    void revokeOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException;
+
+    /**
+     * Revoke all access to the storage of the provided space, so that its data can be purged in the background
+     * ({@link #purgeSpaceStorage(String, String, int)}). Afterwards, the storage no longer counts as existing.
+     *
+     * @param space the space
+     * @throws StorageManagerException thrown on errors
+     */
+    void revokeSpaceStorage(SpaceContextDTO space) throws StorageManagerException;
+
+    /**
+     * Delete a part of the data of a revoked organization storage.
+     *
+     * @param organization the name of the organization
+     * @param limit        the maximum number of objects to delete
+     * @return the number of deleted objects - less than the limit, once all data is deleted
+     * @throws StorageManagerException thrown on errors
+     */
+    int purgeOrganizationStorage(String organization, int limit) throws StorageManagerException;
+
+    /**
+     * Delete a part of the data of a revoked space storage.
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space
+     * @param limit        the maximum number of objects to delete
+     * @return the number of deleted objects - less than the limit, once all data is deleted
+     * @throws StorageManagerException thrown on errors
+     */
+    int purgeSpaceStorage(String organization, String space, int limit) throws StorageManagerException;
+
+    /**
+     * Restore the deleted storage of the provided organization from the data retained by the backend (e.g. soft delete
+     * or object versions). The restore is executed by the backend - no data is transferred through the service. Does
+     * nothing, if the storage exists.
+     *
+     * @param organization the organization
+     * @throws StorageManagerException thrown on errors, {@code ORGANIZATION_NOT_RESTORABLE} if no data is retained
+     */
+    void restoreOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException;
+
+    /**
+     * Restore the deleted storage of the provided space from the data retained by the backend (e.g. soft delete or
+     * object versions). The restore is executed by the backend - no data is transferred through the service. Does
+     * nothing, if the storage exists.
+     *
+     * @param space the space
+     * @throws StorageManagerException thrown on errors, {@code SPACE_NOT_RESTORABLE} if no data is retained
+     */
+    void restoreSpaceStorage(SpaceContextDTO space) throws StorageManagerException;
+
+    /**
+     * Open a server-side copy of the objects of a space into another (existing) space of the same organization.
+     *
+     * @param organization the name of the organization
+     * @param source       the name of the source space
+     * @param target       the name of the target space
+     * @return the copy
+     * @throws StorageManagerException thrown on errors
+     */
+    SpaceCopy openSpaceCopy(String organization, String source, String target) throws StorageManagerException;
+
+    /**
+     * Look up the storage of the provided organization.
+     *
+     * @param organization the name of the organization
+     * @return the effective placement and settings of the storage or empty, if it does not exist
+     * @throws StorageManagerException thrown on errors
+     */
+    Optional<OrganizationStorageModel> getOrganizationStorage(String organization) throws StorageManagerException;
+
+    /**
+     * Look up the storage of the provided space.
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space
+     * @return the effective settings of the storage or empty, if it does not exist
+     * @throws StorageManagerException thrown on errors
+     */
+    Optional<SpaceStorageModel> getSpaceStorage(String organization, String space) throws StorageManagerException;
+
+    /**
+     * List the names of the organizations with storage in lexicographic order.
+     *
+     * @param startAfter only names after this name are listed ({@code null} to start with the first name)
+     * @param limit      the maximum number of names
+     * @return the names
+     * @throws StorageManagerException thrown on errors
+     */
+    List<String> listOrganizations(String startAfter, int limit) throws StorageManagerException;
+
+    /**
+     * List the names of the spaces with storage (including the loadingzone) of the provided organization in lexicographic order.
+     *
+     * @param organization the name of the organization
+     * @param startAfter   only names after this name are listed ({@code null} to start with the first name)
+     * @param limit        the maximum number of names
+     * @return the names (empty, if the organization has no storage)
+     * @throws StorageManagerException thrown on errors
+     */
+    List<String> listSpaces(String organization, String startAfter, int limit) throws StorageManagerException;
+
+    /**
+     * Count the objects and bytes stored in the provided space.
+     * <p>
+     * Lists all objects of the space, so the duration grows with the size of the space - intended for background
+     * scans only.
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space
+     * @return the usage (empty, if the space has no storage)
+     * @throws StorageManagerException thrown on errors
+     */
+    StorageUsage getSpaceUsage(String organization, String space) throws StorageManagerException;
+
+    /**
+     * Compare the configuration of the provided organization storage with its desired configuration (as applied on
+     * creation) and optionally repair the deviations - only deviating settings are written.
+     *
+     * @param organization the name of the organization
+     * @param repair       whether the deviations are repaired or only reported
+     * @return the deviations found (empty, if the organization has no storage)
+     * @throws StorageManagerException thrown on errors
+     */
+    List<Drift> reconcileOrganization(String organization, boolean repair) throws StorageManagerException;
+
+    /**
+     * Compare the configuration of the provided space storage with its desired configuration (as applied on creation)
+     * and optionally repair the deviations - only deviating settings are written.
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space
+     * @param repair       whether the deviations are repaired or only reported
+     * @return the deviations found (empty, if the space has no storage)
+     * @throws StorageManagerException thrown on errors
+     */
+    List<Drift> reconcileSpace(String organization, String space, boolean repair) throws StorageManagerException;
+
 }
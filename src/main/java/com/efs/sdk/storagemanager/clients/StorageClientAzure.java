@@ -16,32 +16,67 @@ limitations under the License.
 
 package com.efs.sdk.storagemanager.clients;
 
+import com.azure.core.http.rest.PagedResponse;
 import com.azure.core.management.exception.ManagementException;
 import com.azure.core.util.Context;
 import com.azure.core.util.ExpandableStringEnum;
+import com.azure.core.util.polling.LongRunningOperationStatus;
+import com.azure.core.util.polling.SyncPoller;
 import com.azure.resourcemanager.AzureResourceManager;
+import com.azure.resourcemanager.storage.fluent.ManagementPoliciesClient;
 import com.azure.resourcemanager.storage.fluent.models.BlobServicePropertiesInner;
 import com.azure.resourcemanager.storage.fluent.models.ManagementPolicyInner;
 import com.azure.resourcemanager.storage.models.*;
+import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobContainerItem;
+import com.azure.storage.blob.models.BlobContainerListDetails;
+import com.azure.storage.blob.models.BlobCopyInfo;
 import com.azure.storage.blob.models.BlobCorsRule;
+import com.azure.storage.blob.models.BlobItem;
 import com.azure.storage.blob.models.BlobRetentionPolicy;
 import com.azure.storage.blob.models.BlobServiceProperties;
+import com.azure.storage.blob.models.ListBlobContainersOptions;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.blob.sas.BlobSasPermission;
+import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
+import com.azure.storage.common.StorageSharedKeyCredential;
+import com.azure.storage.file.datalake.DataLakeFileSystemClient;
+import com.azure.storage.file.datalake.DataLakeServiceClient;
+import com.azure.storage.file.datalake.DataLakeServiceClientBuilder;
 import com.efs.sdk.common.domain.dto.OrganizationContextDTO;
 import com.efs.sdk.common.domain.dto.SpaceContextDTO;
 import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.model.Drift;
+import com.efs.sdk.storagemanager.model.OrganizationStorageModel;
+import com.efs.sdk.storagemanager.model.OrganizationStorageOptions;
+import com.efs.sdk.storagemanager.model.SpaceStorageModel;
+import com.efs.sdk.storagemanager.model.SpaceStorageOptions;
+import com.efs.sdk.storagemanager.model.StorageObject;
+import com.efs.sdk.storagemanager.model.StorageObjectPage;
+import com.efs.sdk.storagemanager.model.StorageUsage;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.*;
 import static java.lang.String.format;
@@ -54,7 +89,26 @@ import static java.lang.String.format;
 public class StorageClientAzure implements StorageClient {
 
     private static final Logger LOG = LoggerFactory.getLogger(StorageClientAzure.class);
+    private static final String PROFILE_USAGE_METRIC = "storagemanager.azure.storage.profile.usage";
+    private static final String ACCOUNT_LIFECYCLE_RULE = "migrate-blob-versions-until-cool-archive-delete";
+    private static final String SPACE_LIFECYCLE_RULE_PREFIX = "space-";
+    /**
+     * Limits of Azure: rules per management policy and prefixes per rule filter
+     */
+    private static final int MAX_LIFECYCLE_RULES = 100;
+    private static final int MAX_LIFECYCLE_RULE_PREFIXES = 10;
+    /**
+     * Largest blob copied synchronously from URL - larger blobs are copied asynchronously
+     */
+    private static final long MAX_SYNC_COPY_SIZE = 256L * 1024 * 1024;
+    private static final Duration COPY_SAS_VALIDITY = Duration.ofHours(1);
+    private static final Duration COPY_POLL_INTERVAL = Duration.ofSeconds(2);
     private final AzureResourceManagerProvider azureProvider;
+    private final AzureRegionProperties regionProperties;
+    private final AzureStorageProfileProperties profileProperties;
+    private final TieringProperties tieringProperties;
+    private final MeterRegistry meterRegistry;
+    private final BackendGuard guard;
     @Value("${storagemanager.storage.azure.cors.origins}")
     private List<String> allowedOrigins;
     @Value("${storagemanager.storage.azure.storage-account-default-settings.blob-versions-until-archive-tier-days:2}")
@@ -84,15 +138,23 @@ public class StorageClientAzure implements StorageClient {
     @Value("${storagemanager.storage.azure.storage-account-default-settings.versioning-blobs-enabled:true}")
     private boolean versioningBlobsEnabled;
 
-    StorageClientAzure(AzureResourceManagerProvider azureProvider) {
+    StorageClientAzure(AzureResourceManagerProvider azureProvider, AzureRegionProperties regionProperties, AzureStorageProfileProperties profileProperties,
+            TieringProperties tieringProperties, MeterRegistry meterRegistry, BackendGuard guard) {
         this.azureProvider = azureProvider;
+        this.regionProperties = regionProperties;
+        this.profileProperties = profileProperties;
+        this.tieringProperties = tieringProperties;
+        this.meterRegistry = meterRegistry;
+        this.guard = guard;
     }
 
     /**
      * Creates a storage account for a specified organization within Azure.
      * <p>
      * The storage account is created within Azure's Resource Group, and its name corresponds
-     * directly to the organization's name.
+     * directly to the organization's name. It is located in the region resolved by {@link #resolveRegion(OrganizationContextDTO, String)}
+     * and provisioned with the performance profile resolved by {@link #resolveProfile(OrganizationContextDTO, String)}.
+     * If hierarchical namespace (ADLS Gen2) is enabled, all containers of the storage account are created as filesystems.
      *
      * <ul>
      *     <li>If a storage account with the same name already exists, a warning is logged and
@@ -104,19 +166,41 @@ public class StorageClientAzure implements StorageClient {
      *     <li>Once the storage account is created successfully, essential properties are set,
      *     such as enabling soft delete for blobs and containers, as well as activating blob versioning.</li>
      * </ul>
+     * The creation is guarded as {@link BackendGuard.BackendOperation#ACCOUNT_CREATE}.
      *
      * @param organization Represents the organization context, with the organization's name being
      *                     used as the Azure Storage Account name.
-     * @throws StorageManagerException Thrown if there's a naming conflict, insufficient permissions,
-     *                                 or any unexpected error.
+     * @param options      Optional provisioning settings, such as the preferred region or performance profile.
+     * @return The effective placement of the storage account.
+     * @throws StorageManagerException Thrown if there's a naming conflict, insufficient permissions, an unknown region or
+     *                                 profile or any unexpected error.
      * @see #getStorageAccount(String)
      * @see #getConnectionString(StorageAccount)
      * @see #setCors(String)
      * @see #setStorageAccountProperties(StorageAccount)
      */
     @Override
-    public void createOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException {
-        LOG.debug("Creating storage account for organization {}", organization.getName());
+    public OrganizationStorageModel createOrganizationStorage(OrganizationContextDTO organization, OrganizationStorageOptions options) throws StorageManagerException {
+        return guard.execute(BackendGuard.BackendOperation.ACCOUNT_CREATE, () -> createStorageAccount(organization, options));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Resolves the region and the performance profile of the storage account.
+     */
+    @Override
+    public void validateOrganizationStorage(OrganizationContextDTO organization, OrganizationStorageOptions options) throws StorageManagerException {
+        resolveRegion(organization, options.getRegion());
+        resolveProfile(organization, options.getProfile());
+    }
+
+    private OrganizationStorageModel createStorageAccount(OrganizationContextDTO organization, OrganizationStorageOptions options) throws StorageManagerException {
+        String accountRegion = resolveRegion(organization, options.getRegion());
+        String profileName = resolveProfile(organization, options.getProfile());
+        AzureStorageProfileProperties.StorageProfile profile = profileProperties.getProfile(profileName);
+        boolean hierarchicalNamespace = resolveHierarchicalNamespace(options, profile);
+        LOG.debug("Creating storage account for organization {} in region {} with profile {}", organization.getName(), accountRegion, profileName);
         Optional<StorageAccount> storageAccount = getStorageAccount(organization.getName());
         if (storageAccount.isPresent()) {
             LOG.warn("Storage Account '{}' already exists on storage - nothing to do!", organization.getName());
@@ -125,12 +209,17 @@ public class StorageClientAzure implements StorageClient {
         AzureResourceManager azure = azureProvider.azure();
         StorageAccount newStorageAccount;
         try {
-            newStorageAccount = azure.storageAccounts()
+            StorageAccount.DefinitionStages.WithCreate definition = azure.storageAccounts()
                     .define(organization.getName())
-                    .withRegion(region)
-                    .withExistingResourceGroup(resourceGroup)
-                    .withSku(StorageAccountSkuType.STANDARD_LRS)
+                    .withRegion(accountRegion)
+                    .withExistingResourceGroup(resourceGroup);
+            newStorageAccount = withAccountKind(definition, profile.getKind())
+                    .withSku(StorageAccountSkuType.fromSkuName(SkuName.fromString(profile.getSkuName())))
+                    .withHnsEnabled(hierarchicalNamespace)
                     .create();
+            if (profile.getAccessTier() != null) {
+                newStorageAccount.update().withAccessTier(AccessTier.fromString(profile.getAccessTier())).apply();
+            }
 
             setStorageAccountProperties(newStorageAccount);
         } catch (ManagementException e) {
@@ -162,13 +251,109 @@ public class StorageClientAzure implements StorageClient {
         }
         String connectionString = getConnectionString(newStorageAccount);
         setCors(connectionString);
+        meterRegistry.counter(PROFILE_USAGE_METRIC, "profile", profileName, "region", accountRegion).increment();
         LOG.debug("Creating storage account for organization {} ... successful", organization.getName());
+        OrganizationStorageModel storage = new OrganizationStorageModel(organization.getName(), accountRegion);
+        storage.setProfile(profileName);
+        storage.setHierarchicalNamespace(hierarchicalNamespace);
+        return storage;
+    }
+
+    /**
+     * Resolves the performance profile of a storage account.
+     * <ol>
+     *     <li>the requested profile, if provided - it must be defined</li>
+     *     <li>the profile assigned to the organization</li>
+     *     <li>the default profile</li>
+     * </ol>
+     *
+     * @param organization     the organization
+     * @param requestedProfile the requested profile (may be {@code null})
+     * @return the name of the profile
+     * @throws StorageManagerException thrown, if the requested (or configured) profile is not defined
+     */
+    String resolveProfile(OrganizationContextDTO organization, String requestedProfile) throws StorageManagerException {
+        String profileName = requestedProfile;
+        if (profileName == null || profileName.isBlank()) {
+            profileName = profileProperties.getOrganizations().getOrDefault(organization.getName(), profileProperties.getDefaultProfile());
+        }
+        if (profileProperties.getProfile(profileName) == null) {
+            throw new StorageManagerException(UNKNOWN_STORAGE_PROFILE, profileName);
+        }
+        return profileName;
+    }
+
+    /**
+     * Resolves whether a storage account is created with hierarchical namespace - the requested mode takes precedence
+     * over the mode of the performance profile.
+     *
+     * @param options the provisioning settings
+     * @param profile the performance profile
+     * @return whether hierarchical namespace is enabled
+     */
+    static boolean resolveHierarchicalNamespace(OrganizationStorageOptions options, AzureStorageProfileProperties.StorageProfile profile) {
+        return options.getHierarchicalNamespace() != null ? options.getHierarchicalNamespace() : profile.isHierarchicalNamespace();
+    }
+
+    static StorageAccount.DefinitionStages.WithCreate withAccountKind(StorageAccount.DefinitionStages.WithCreate definition, String kind)
+            throws StorageManagerException {
+        if (kind == null) {
+            return definition;
+        }
+        Kind accountKind = Kind.fromString(kind);
+        if (Kind.STORAGE_V2.equals(accountKind)) {
+            return definition.withGeneralPurposeAccountKindV2();
+        } else if (Kind.BLOCK_BLOB_STORAGE.equals(accountKind)) {
+            return definition.withBlockBlobStorageAccountKind();
+        } else if (Kind.BLOB_STORAGE.equals(accountKind)) {
+            return definition.withBlobStorageAccountKind();
+        } else if (Kind.STORAGE.equals(accountKind)) {
+            return definition.withGeneralPurposeAccountKind();
+        }
+        throw new StorageManagerException(UNKNOWN_STORAGE_PROFILE, "unsupported account kind " + kind);
+    }
+
+    /**
+     * Resolves the region a storage account is placed in.
+     * <ol>
+     *     <li>the preferred region, if provided - it must be part of the region catalog</li>
+     *     <li>the region assigned to the organization in the region catalog</li>
+     *     <li>the default region</li>
+     * </ol>
+     *
+     * @param organization    the organization
+     * @param preferredRegion the preferred region (may be {@code null})
+     * @return the region
+     * @throws StorageManagerException thrown, if the preferred region is not part of the region catalog
+     */
+    String resolveRegion(OrganizationContextDTO organization, String preferredRegion) throws StorageManagerException {
+        if (preferredRegion != null && !preferredRegion.isBlank()) {
+            if (!isRegionAvailable(preferredRegion)) {
+                throw new StorageManagerException(UNKNOWN_REGION, preferredRegion);
+            }
+            return preferredRegion;
+        }
+        String assigned = regionProperties.getOrganizations().get(organization.getName());
+        if (assigned != null && isRegionAvailable(assigned)) {
+            return assigned;
+        }
+        if (assigned != null) {
+            LOG.warn("Region '{}' assigned to organization '{}' is not available - falling back to '{}'", assigned, organization.getName(), region);
+        }
+        return region;
+    }
+
+    private boolean isRegionAvailable(String candidate) {
+        return region.equalsIgnoreCase(candidate) || regionProperties.getAvailable().stream().anyMatch(candidate::equalsIgnoreCase);
     }
 
     @Override
     public void createLoadingzone(OrganizationContextDTO organization) throws StorageManagerException {
         LOG.debug("Creating loadingzone for organization {}", organization.getName());
-        createBlobContainer(LOADINGZONE, organization.getName());
+        guard.execute(BackendGuard.BackendOperation.CONTAINER_CREATE, () -> {
+            createBlobContainer(LOADINGZONE, organization.getName());
+            return null;
+        });
     }
 
     /**
@@ -177,7 +362,7 @@ public class StorageClientAzure implements StorageClient {
      *
      * @param storageAccount The storage account to set the properties for.
      */
-    private void setStorageAccountProperties(StorageAccount storageAccount) {
+    private void setStorageAccountProperties(StorageAccount storageAccount) throws StorageManagerException {
         if (softDeleteBlobsEnabled) {
             enableSoftDeleteBlobs(storageAccount);
         }
@@ -186,7 +371,9 @@ public class StorageClientAzure implements StorageClient {
             enableSoftDeleteContainers(storageAccount);
         }
 
-        if (versioningBlobsEnabled) {
+        if (versioningBlobsEnabled && isHierarchicalNamespace(storageAccount)) {
+            LOG.info("Blob versioning is not supported for storage account '{}' with hierarchical namespace - skipping", storageAccount.name());
+        } else if (versioningBlobsEnabled) {
             enableBlobVersioning(storageAccount);
         }
     }
@@ -197,8 +384,14 @@ public class StorageClientAzure implements StorageClient {
      * Additionally, a lifecycle management rule is created to delete blob versions based on specified criteria.
      *
      * @param storageAccount The storage account to enable blob versioning for.
+     * @throws StorageManagerException thrown, if the lifecycle rules exceed the limit of Azure
      */
-    private void enableBlobVersioning(StorageAccount storageAccount) {
+    private void enableBlobVersioning(StorageAccount storageAccount) throws StorageManagerException {
+        setBlobVersioning(storageAccount);
+        updateLifecycleRules(storageAccount, null, null);
+    }
+
+    private void setBlobVersioning(StorageAccount storageAccount) {
         BlobServicePropertiesInner blobServicePropertiesInner = new BlobServicePropertiesInner();
         // Set versioning for blobs
         blobServicePropertiesInner.withIsVersioningEnabled(versioningBlobsEnabled);
@@ -213,48 +406,266 @@ public class StorageClientAzure implements StorageClient {
                         blobServicePropertiesInner,
                         Context.NONE
                 );
+    }
 
-        // Create a lifecycle management rule to delete blob versions
-        // The rule operates on the storage account level and is applied to all blockBlobs in all underlying storage containers
-        azureProvider.azure()
-                .storageAccounts()
-                .manager()
-                .serviceClient()
-                .getManagementPolicies()
-                .createOrUpdateWithResponse(
-                        resourceGroup,
-                        storageAccount.name(),
-                        ManagementPolicyName.DEFAULT,
-                        new ManagementPolicyInner()
-                                .withPolicy(
-                                        new ManagementPolicySchema()
-                                                .withRules(
-                                                        List.of(
-                                                                new ManagementPolicyRule()
-                                                                        .withEnabled(true)
-                                                                        .withName("migrate-blob-versions-until-cool-archive-delete")
-                                                                        .withType(RuleType.LIFECYCLE)
-                                                                        .withDefinition(
-                                                                                new ManagementPolicyDefinition()
-                                                                                        .withActions(
-                                                                                                new ManagementPolicyAction()
-                                                                                                        .withVersion(
-                                                                                                                new ManagementPolicyVersion()
-                                                                                                                        .withTierToCool(
-                                                                                                                                new DateAfterCreation()
-                                                                                                                                        .withDaysAfterCreationGreaterThan(blobVersionsUntilCoolTierDays))
-                                                                                                                        .withTierToArchive(
-                                                                                                                                new DateAfterCreation()
-                                                                                                                                        .withDaysAfterCreationGreaterThan(blobVersionsUntilArchiveDays))
-                                                                                                                        .withDelete(
-                                                                                                                                new DateAfterCreation()
-                                                                                                                                        .withDaysAfterCreationGreaterThan(blobVersionsUntilDeleteDays))))
-                                                                                        .withFilters(
-                                                                                                new ManagementPolicyFilter()
-                                                                                                        .withBlobTypes(List.of("blockBlob"))))))),
-                        com.azure.core.util.Context.NONE);
+    /**
+     * Builds the account-wide lifecycle management rules to tier and delete blob versions.
+     * <p>
+     * Without prefixes given, a single rule is applied to all blockBlobs in all underlying storage containers.
+     * Otherwise the rules are scoped to the given prefixes - as a rule matches at most 10 prefixes, there is one rule
+     * per 10 prefixes.
+     *
+     * @param prefixes the prefixes the rules apply to ({@code null} for all containers)
+     * @return the rules
+     */
+    List<ManagementPolicyRule> buildAccountLifecycleRules(List<String> prefixes) {
+        if (prefixes == null) {
+            return List.of(buildAccountLifecycleRule(ACCOUNT_LIFECYCLE_RULE, null));
+        }
+        List<ManagementPolicyRule> rules = new ArrayList<>();
+        for (int i = 0; i < prefixes.size(); i += MAX_LIFECYCLE_RULE_PREFIXES) {
+            int chunk = i / MAX_LIFECYCLE_RULE_PREFIXES;
+            rules.add(buildAccountLifecycleRule(chunk == 0 ? ACCOUNT_LIFECYCLE_RULE : ACCOUNT_LIFECYCLE_RULE + "-" + (chunk + 1),
+                    prefixes.subList(i, Math.min(prefixes.size(), i + MAX_LIFECYCLE_RULE_PREFIXES))));
+        }
+        return rules;
+    }
+
+    /**
+     * Computes the prefixes matching all given containers but none of the tiered ones: for each container the shortest
+     * prefix of {@code <container>/} which is no prefix of a tiered container. Containers sharing that prefix share one
+     * entry (e.g. {@code d} for all containers starting with {@code d}, if no tiered container does), so the number of
+     * prefixes is bounded by the names of the tiered containers and does not grow with the number of containers.
+     *
+     * @param containers the containers of the storage account
+     * @param tiered     the containers with a rule of their own
+     * @return the sorted prefixes
+     */
+    static List<String> excludingPrefixes(Collection<String> containers, Set<String> tiered) {
+        List<String> excluded = tiered.stream().map(container -> container + "/").toList();
+        Set<String> prefixes = new TreeSet<>();
+        for (String container : containers) {
+            if (tiered.contains(container)) {
+                continue;
+            }
+            String path = container + "/";
+            int length = 1;
+            while (length < path.length() && isPrefixOfAny(path.substring(0, length), excluded)) {
+                length++;
+            }
+            prefixes.add(path.substring(0, length));
+        }
+        return List.copyOf(prefixes);
+    }
+
+    private static boolean isPrefixOfAny(String prefix, List<String> paths) {
+        return paths.stream().anyMatch(path -> path.startsWith(prefix));
+    }
+
+    private ManagementPolicyRule buildAccountLifecycleRule(String name, List<String> prefixes) {
+        return new ManagementPolicyRule()
+                .withEnabled(true)
+                .withName(name)
+                .withType(RuleType.LIFECYCLE)
+                .withDefinition(
+                        new ManagementPolicyDefinition()
+                                .withActions(new ManagementPolicyAction().withVersion(buildAccountVersionActions()))
+                                .withFilters(
+                                        new ManagementPolicyFilter()
+                                                .withBlobTypes(List.of("blockBlob"))
+                                                .withPrefixMatch(prefixes)));
+    }
+
+    private ManagementPolicyVersion buildAccountVersionActions() {
+        return new ManagementPolicyVersion()
+                .withTierToCool(new DateAfterCreation().withDaysAfterCreationGreaterThan(blobVersionsUntilCoolTierDays))
+                .withTierToArchive(new DateAfterCreation().withDaysAfterCreationGreaterThan(blobVersionsUntilArchiveDays))
+                .withDelete(new DateAfterCreation().withDaysAfterCreationGreaterThan(blobVersionsUntilDeleteDays));
+    }
 
+    private static boolean isAccountLifecycleRule(ManagementPolicyRule rule) {
+        return rule.name().equals(ACCOUNT_LIFECYCLE_RULE) || rule.name().startsWith(ACCOUNT_LIFECYCLE_RULE + "-");
+    }
 
+    /**
+     * Merges the change of the lifecycle rule of a container into the rules of a management policy.
+     * <p>
+     * Azure applies the cheapest action of all rules matching a blob, so the account-wide rules of blob versions must
+     * not match containers with a rule of their own - otherwise a shorter account-wide threshold overrides the thresholds
+     * of the space. As long as no space is tiered, the account-wide rule applies to all containers, otherwise the
+     * account-wide rules are scoped to prefixes excluding the tiered containers (see
+     * {@link #excludingPrefixes(Collection, Set)}). Rules of other spaces and foreign rules are preserved - a rule is
+     * only taken for the rule of a space, if both its name and its filter match the container (see
+     * {@link #isSpaceLifecycleRule(ManagementPolicyRule)}).
+     *
+     * @param current    the current rules
+     * @param container  the container whose rule changes (may be {@code null})
+     * @param spaceRule  the new rule of the container ({@code null} to remove it)
+     * @param versioning whether the account-wide rules of blob versions apply to the storage account
+     * @param containers lists the containers of the storage account - only called, if a space is tiered
+     * @return the merged rules
+     * @throws StorageManagerException thrown, if the merged rules exceed the limit of Azure
+     */
+    List<ManagementPolicyRule> mergeLifecycleRules(List<ManagementPolicyRule> current, String container, ManagementPolicyRule spaceRule, boolean versioning,
+            Supplier<List<String>> containers) throws StorageManagerException {
+        List<ManagementPolicyRule> rules = new ArrayList<>(current);
+        rules.removeIf(r -> isAccountLifecycleRule(r)
+                || container != null && r.name().equals(spaceLifecycleRuleName(container)) && isSpaceLifecycleRule(r));
+        if (spaceRule != null) {
+            rules.add(spaceRule);
+        }
+        if (versioning) {
+            Set<String> tiered = rules.stream()
+                    .filter(StorageClientAzure::isSpaceLifecycleRule)
+                    .map(r -> r.name().substring(SPACE_LIFECYCLE_RULE_PREFIX.length()))
+                    .collect(Collectors.toSet());
+            rules.addAll(buildAccountLifecycleRules(tiered.isEmpty() ? null : excludingPrefixes(containers.get(), tiered)));
+        }
+        if (rules.size() > MAX_LIFECYCLE_RULES) {
+            throw new StorageManagerException(LIFECYCLE_RULE_LIMIT_EXCEEDED, format("%d rules, at most %d are supported", rules.size(), MAX_LIFECYCLE_RULES));
+        }
+        return rules;
+    }
+
+    /**
+     * Changes the lifecycle rule of a container (see {@link #mergeLifecycleRules(List, String, ManagementPolicyRule, boolean, Supplier)}).
+     * <p>
+     * The policy is read, merged and written back - it is only written, if the rules changed.
+     *
+     * @param storageAccount the storage account
+     * @param container      the container whose rule changes (may be {@code null} to only update the account-wide rules)
+     * @param spaceRule      the new rule of the container ({@code null} to remove it)
+     * @throws StorageManagerException thrown, if the rules exceed the limit of Azure
+     */
+    private void updateLifecycleRules(StorageAccount storageAccount, String container, ManagementPolicyRule spaceRule) throws StorageManagerException {
+        List<ManagementPolicyRule> current = getManagementPolicyRules(storageAccount.name());
+        List<ManagementPolicyRule> rules = mergeLifecycleRules(current, container, spaceRule, appliesVersionRules(storageAccount),
+                () -> listContainers(storageAccount));
+        if (spaceRule == null && describeRules(rules).equals(describeRules(current))) {
+            return;
+        }
+        ManagementPoliciesClient policies = azureProvider.azure().storageAccounts().manager().serviceClient().getManagementPolicies();
+        writeManagementPolicyRules(policies, storageAccount.name(), rules);
+    }
+
+    boolean appliesVersionRules(StorageAccount storageAccount) {
+        return versioningBlobsEnabled && !isHierarchicalNamespace(storageAccount);
+    }
+
+    private List<String> listContainers(StorageAccount storageAccount) {
+        return getBlobServiceClient(storageAccount).listBlobContainers().stream().map(BlobContainerItem::getName).toList();
+    }
+
+    private List<ManagementPolicyRule> getManagementPolicyRules(String storageAccountName) {
+        try {
+            ManagementPolicyInner policy = azureProvider.azure()
+                    .storageAccounts()
+                    .manager()
+                    .serviceClient()
+                    .getManagementPolicies()
+                    .get(resourceGroup, storageAccountName, ManagementPolicyName.DEFAULT);
+            if (policy.policy() == null || policy.policy().rules() == null) {
+                return new ArrayList<>();
+            }
+            return new ArrayList<>(policy.policy().rules());
+        } catch (ManagementException e) {
+            if (e.getResponse() != null && e.getResponse().getStatusCode() == 404) {
+                return new ArrayList<>();
+            }
+            throw e;
+        }
+    }
+
+    void writeManagementPolicyRules(ManagementPoliciesClient policies, String storageAccountName, List<ManagementPolicyRule> rules) {
+        if (rules.isEmpty()) {
+            // a management policy requires at least one rule
+            policies.delete(resourceGroup, storageAccountName, ManagementPolicyName.DEFAULT);
+        } else {
+            policies.createOrUpdateWithResponse(
+                    resourceGroup,
+                    storageAccountName,
+                    ManagementPolicyName.DEFAULT,
+                    new ManagementPolicyInner().withPolicy(new ManagementPolicySchema().withRules(rules)),
+                    Context.NONE);
+        }
+    }
+
+    /**
+     * Builds the lifecycle rule of a space - the rule is scoped to the space's container and only contains the
+     * actions for which a threshold is set in the tiering policy.
+     * <p>
+     * The account-wide rules of blob versions do not apply to the container of a tiered space, so if the tiering policy
+     * sets no threshold of blob versions, the account-wide thresholds are part of the rule.
+     *
+     * @param containerName the name of the container
+     * @param policy        the tiering policy
+     * @param versioning    whether the account-wide rules of blob versions apply to the storage account
+     * @return the rule
+     */
+    ManagementPolicyRule buildSpaceLifecycleRule(String containerName, TieringProperties.TieringPolicy policy, boolean versioning) {
+        ManagementPolicyBaseBlob baseBlob = new ManagementPolicyBaseBlob();
+        if (policy.getCoolAfterDays() != null) {
+            baseBlob.withTierToCool(new DateAfterModification().withDaysAfterModificationGreaterThan(policy.getCoolAfterDays()));
+        }
+        if (policy.getArchiveAfterDays() != null) {
+            baseBlob.withTierToArchive(new DateAfterModification().withDaysAfterModificationGreaterThan(policy.getArchiveAfterDays()));
+        }
+        if (policy.getDeleteAfterDays() != null) {
+            baseBlob.withDelete(new DateAfterModification().withDaysAfterModificationGreaterThan(policy.getDeleteAfterDays()));
+        }
+        ManagementPolicyVersion version = new ManagementPolicyVersion();
+        if (policy.getVersionsCoolAfterDays() != null) {
+            version.withTierToCool(new DateAfterCreation().withDaysAfterCreationGreaterThan(policy.getVersionsCoolAfterDays()));
+        }
+        if (policy.getVersionsArchiveAfterDays() != null) {
+            version.withTierToArchive(new DateAfterCreation().withDaysAfterCreationGreaterThan(policy.getVersionsArchiveAfterDays()));
+        }
+        if (policy.getVersionsDeleteAfterDays() != null) {
+            version.withDelete(new DateAfterCreation().withDaysAfterCreationGreaterThan(policy.getVersionsDeleteAfterDays()));
+        }
+        boolean versionThresholds = policy.getVersionsCoolAfterDays() != null || policy.getVersionsArchiveAfterDays() != null
+                || policy.getVersionsDeleteAfterDays() != null;
+        // empty action blocks are rejected by Azure
+        ManagementPolicyAction actions = new ManagementPolicyAction();
+        if (policy.getCoolAfterDays() != null || policy.getArchiveAfterDays() != null || policy.getDeleteAfterDays() != null) {
+            actions.withBaseBlob(baseBlob);
+        }
+        if (versionThresholds) {
+            actions.withVersion(version);
+        } else if (versioning) {
+            actions.withVersion(buildAccountVersionActions());
+        }
+        return new ManagementPolicyRule()
+                .withEnabled(true)
+                .withName(spaceLifecycleRuleName(containerName))
+                .withType(RuleType.LIFECYCLE)
+                .withDefinition(
+                        new ManagementPolicyDefinition()
+                                .withActions(actions)
+                                .withFilters(
+                                        new ManagementPolicyFilter()
+                                                .withBlobTypes(List.of("blockBlob"))
+                                                .withPrefixMatch(List.of(containerName + "/"))));
+    }
+
+    private static String spaceLifecycleRuleName(String containerName) {
+        return SPACE_LIFECYCLE_RULE_PREFIX + containerName;
+    }
+
+    /**
+     * Checks whether a rule is the rule of a space: its name is {@code space-<container>} and its filter matches exactly
+     * the container - foreign rules merely named alike are not
+     *
+     * @param rule the rule
+     * @return whether the rule is the rule of a space
+     */
+    static boolean isSpaceLifecycleRule(ManagementPolicyRule rule) {
+        if (rule.name() == null || !rule.name().startsWith(SPACE_LIFECYCLE_RULE_PREFIX) || rule.definition() == null
+                || rule.definition().filters() == null) {
+            return false;
+        }
+        String container = rule.name().substring(SPACE_LIFECYCLE_RULE_PREFIX.length());
+        return List.of(container + "/").equals(rule.definition().filters().prefixMatch());
     }
 
     /**
@@ -310,15 +721,58 @@ public class StorageClientAzure implements StorageClient {
         );
     }
 
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Resolves the tiering class of the space.
+     */
+    @Override
+    public void validateSpaceStorage(SpaceContextDTO space, SpaceStorageOptions options) throws StorageManagerException {
+        tieringProperties.resolve(options.getTieringClass());
+    }
+
     /**
      * {@inheritDoc}
      * <br>
      * A space storage corresponds to a StorageContainer with the name of the space within the StorageAccount of the organization.
+     * If the space has a tiering class, a lifecycle rule scoped to the container is merged into the management policy of the StorageAccount.
+     * The lifecycle rule limit of Azure is checked before the container is created; if the management policy cannot be
+     * written nonetheless, a newly created container is deleted again.
      */
     @Override
-    public void createSpaceStorage(SpaceContextDTO space) throws StorageManagerException {
+    public void createSpaceStorage(SpaceContextDTO space, SpaceStorageOptions options) throws StorageManagerException {
         LOG.debug("Creating storage container for space {}", space.getName());
-        createBlobContainer(space.getName(), space.getOrganization().getName());
+        String orgaName = space.getOrganization().getName();
+        Optional<TieringProperties.TieringPolicy> tiering = tieringProperties.resolve(options.getTieringClass());
+        Optional<StorageAccount> found = getStorageAccount(orgaName);
+        boolean existed = false;
+        if (found.isPresent()) {
+            StorageAccount account = found.get();
+            // fail before the container is created, if the lifecycle rules would exceed the limit
+            ManagementPolicyRule rule = tiering.map(t -> buildSpaceLifecycleRule(space.getName(), t, appliesVersionRules(account))).orElse(null);
+            mergeLifecycleRules(getManagementPolicyRules(account.name()), space.getName(), rule, appliesVersionRules(account), () -> listContainers(account));
+            existed = getBlobServiceClient(account).getBlobContainerClient(space.getName()).exists();
+        }
+        guard.execute(BackendGuard.BackendOperation.CONTAINER_CREATE, () -> {
+            createBlobContainer(space.getName(), orgaName);
+            return null;
+        });
+        StorageAccount account = found.isPresent() ? found.get() : getStorageAccount(orgaName)
+                .orElseThrow(() -> new StorageManagerException(ORGANIZATION_CONTEXT_NOT_FOUND, orgaName));
+        try {
+            LOG.debug("Updating lifecycle rules for space {}", space.getName());
+            ManagementPolicyRule rule = tiering.map(t -> buildSpaceLifecycleRule(space.getName(), t, appliesVersionRules(account))).orElse(null);
+            guard.execute(BackendGuard.BackendOperation.POLICY_WRITE, () -> {
+                updateLifecycleRules(account, space.getName(), rule);
+                return null;
+            });
+        } catch (StorageManagerException | RuntimeException e) {
+            if (!existed) {
+                LOG.warn("Deleting storage container for space {} - lifecycle rules could not be written: {}", space.getName(), e.getMessage());
+                deleteContainer(account, space.getName());
+            }
+            throw e;
+        }
     }
 
     /**
@@ -329,59 +783,426 @@ public class StorageClientAzure implements StorageClient {
      * If the storage account does not exist, the method completes without taking any action.
      *
      * @param organization An instance of {@link OrganizationContextDTO} that represents the organization context.
+     * @throws StorageManagerException If the deletion is rejected by the {@link BackendGuard}.
      * @see #getStorageAccount(String)
      */
     @Override
-    public void deleteOrganizationStorage(OrganizationContextDTO organization) {
+    public void deleteOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException {
         LOG.debug("deleting storage for organization {}", organization.getName());
-        Optional<StorageAccount> opt = getStorageAccount(organization.getName());
-        if (opt.isPresent()) {
-            StorageAccount storageAccount = opt.get();
-            AzureResourceManager azure = azureProvider.azure();
-            azure.storageAccounts().deleteById(storageAccount.id());
-        }
+        guard.execute(BackendGuard.BackendOperation.PREFIX_DELETE, () -> {
+            Optional<StorageAccount> opt = getStorageAccount(organization.getName());
+            if (opt.isPresent()) {
+                StorageAccount storageAccount = opt.get();
+                AzureResourceManager azure = azureProvider.azure();
+                azure.storageAccounts().deleteById(storageAccount.id());
+            }
+            return null;
+        });
         LOG.debug("deleting storage for organization {} ...  successful", organization.getName());
     }
 
     /**
      * {@inheritDoc}
      * <br>
-     * Deletes the storage container of the provided space.
+     * Deletes the storage container (and its lifecycle rule) of the provided space. On storage accounts with hierarchical namespace the
+     * container is deleted as filesystem, which is a single metadata operation regardless of the number of files.
      * <p>
      * If the container does not exist, the method completes without taking any action.
      *
      * @param space An instance of {@link SpaceContextDTO} that represents the space context.
      * @throws StorageManagerException If any issues arise while attempting to delete the storage container.
-     * @see #getStorageContainer(SpaceContextDTO)
      */
     @Override
     public void deleteSpaceStorage(SpaceContextDTO space) throws StorageManagerException {
         LOG.debug("deleting storage container for space {}", space.getName());
-        Optional<BlobContainerClient> storageContainer = getStorageContainer(space);
-        storageContainer.ifPresent(c -> {
-            if (c.exists()) {
-                c.delete();
-            }
+        Optional<StorageAccount> account = getStorageAccount(space.getOrganization().getName());
+        if (account.isEmpty()) {
+            LOG.debug("deleting storage container for space {} ... nothing to do", space.getName());
+            return;
+        }
+        guard.execute(BackendGuard.BackendOperation.PREFIX_DELETE, () -> {
+            deleteContainer(account.get(), space.getName());
+            return null;
+        });
+        guard.execute(BackendGuard.BackendOperation.POLICY_WRITE, () -> {
+            updateLifecycleRules(account.get(), space.getName(), null);
+            return null;
         });
         LOG.debug("deleting storage container for space {} ... successful", space.getName());
     }
 
-    private Optional<StorageAccount> getStorageAccount(String name) {
-        AzureResourceManager azure = azureProvider.azure();
-        return azure.storageAccounts().listByResourceGroup(resourceGroup).stream().filter(a -> a.name().equals(name)).findFirst();
+    private void deleteContainer(StorageAccount account, String containerName) {
+        if (isHierarchicalNamespace(account)) {
+            DataLakeFileSystemClient fileSystem = getDataLakeServiceClient(account).getFileSystemClient(containerName);
+            if (fileSystem.exists()) {
+                fileSystem.delete();
+            }
+        } else {
+            BlobContainerClient container = getBlobServiceClient(account).getBlobContainerClient(containerName);
+            if (container.exists()) {
+                container.delete();
+            }
+        }
     }
 
-    private Optional<BlobContainerClient> getStorageContainer(SpaceContextDTO space) throws StorageManagerException {
-        AzureResourceManager azure = azureProvider.azure();
-        Optional<StorageAccount> account =
-                azure.storageAccounts().listByResourceGroup(resourceGroup).stream().filter(a -> a.name().equals(space.getOrganization().getName())).findFirst();
-        if (account.isPresent()) {
-            StorageAccount storageAccount = account.get();
-            BlobServiceClient blobServiceClient = getBlobServiceClient(storageAccount);
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Deleting the storage account is a single Resource Manager call regardless of the amount of data, so the storage
+     * account is deleted right away and nothing is left to purge.
+     */
+    @Override
+    public void revokeOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException {
+        deleteOrganizationStorage(organization);
+    }
 
-            return Optional.of(blobServiceClient.getBlobContainerClient(space.getName()));
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Deleting a container (or filesystem) is a single metadata operation regardless of the amount of data, so the
+     * container is deleted right away - it remains restorable for the soft delete retention - and nothing is left to
+     * purge.
+     */
+    @Override
+    public void revokeSpaceStorage(SpaceContextDTO space) throws StorageManagerException {
+        deleteSpaceStorage(space);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Nothing to purge, see {@link #revokeOrganizationStorage(OrganizationContextDTO)}.
+     */
+    @Override
+    public int purgeOrganizationStorage(String organization, int limit) {
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Nothing to purge, see {@link #revokeSpaceStorage(SpaceContextDTO)}.
+     */
+    @Override
+    public int purgeSpaceStorage(String organization, String space, int limit) {
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * A deleted storage account is not retained as soft deleted resource of the ResourceGroup, so it cannot be
+     * restored through the API - it has to be recovered in the Azure portal within its retention.
+     */
+    @Override
+    public void restoreOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException {
+        if (getStorageAccount(organization.getName()).isPresent()) {
+            LOG.debug("storage account for organization {} exists - nothing to restore", organization.getName());
+            return;
         }
-        return Optional.empty();
+        throw new StorageManagerException(ORGANIZATION_NOT_RESTORABLE, organization.getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Undeletes the most recently deleted version of the storage container of the provided space, which is retained for
+     * the container soft delete retention. Undeleting is a single metadata operation regardless of the amount of data. The
+     * lifecycle rule of the space is not restored, as the tiering class is not recorded.
+     */
+    @Override
+    public void restoreSpaceStorage(SpaceContextDTO space) throws StorageManagerException {
+        LOG.debug("restoring storage container for space {}", space.getName());
+        StorageAccount account = getStorageAccount(space.getOrganization().getName())
+                .orElseThrow(() -> new StorageManagerException(ORGANIZATION_CONTEXT_NOT_FOUND, space.getOrganization().getName()));
+        guard.execute(BackendGuard.BackendOperation.CONTAINER_CREATE, () -> {
+            BlobServiceClient blobServiceClient = getBlobServiceClient(account);
+            if (blobServiceClient.getBlobContainerClient(space.getName()).exists()) {
+                LOG.debug("storage container for space {} exists - nothing to restore", space.getName());
+                return null;
+            }
+            ListBlobContainersOptions options = new ListBlobContainersOptions().setPrefix(space.getName())
+                    .setDetails(new BlobContainerListDetails().setRetrieveDeleted(true));
+            BlobContainerItem deleted = blobServiceClient.listBlobContainers(options, null).stream()
+                    .filter(c -> Boolean.TRUE.equals(c.isDeleted()) && c.getName().equals(space.getName()))
+                    .max(Comparator.comparing((BlobContainerItem c) -> c.getProperties().getDeletedTime(), Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .orElseThrow(() -> new StorageManagerException(SPACE_NOT_RESTORABLE, space.getOrganization().getName() + "/" + space.getName()));
+            blobServiceClient.undeleteBlobContainer(deleted.getName(), deleted.getVersion());
+            return null;
+        });
+        // the account-wide rules of blob versions may be scoped to the containers without rule of their own
+        guard.execute(BackendGuard.BackendOperation.POLICY_WRITE, () -> {
+            updateLifecycleRules(account, null, null);
+            return null;
+        });
+        LOG.debug("restoring storage container for space {} ... successful", space.getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Blobs of up to 256 MiB are copied synchronously from the URL of the source blob (authorized by a short-lived SAS),
+     * larger blobs by an asynchronous copy within the storage account, whose completion is returned to be awaited. The
+     * cursor is the continuation token of the blob listing.
+     */
+    @Override
+    public SpaceCopy openSpaceCopy(String organization, String source, String target) throws StorageManagerException {
+        StorageAccount account = getStorageAccount(organization)
+                .orElseThrow(() -> new StorageManagerException(ORGANIZATION_CONTEXT_NOT_FOUND, organization));
+        BlobServiceClient blobServiceClient = getBlobServiceClient(account);
+        BlobContainerClient sourceContainer = blobServiceClient.getBlobContainerClient(source);
+        BlobContainerClient targetContainer = blobServiceClient.getBlobContainerClient(target);
+        return new SpaceCopy() {
+            @Override
+            public StorageObjectPage list(String cursor, int limit) {
+                PagedResponse<BlobItem> page = sourceContainer.listBlobs(new ListBlobsOptions().setMaxResultsPerPage(limit), null)
+                        .iterableByPage(cursor, limit).iterator().next();
+                List<StorageObject> objects = page.getValue().stream()
+                        .map(blob -> new StorageObject(blob.getName(),
+                                blob.getProperties().getContentLength() == null ? 0 : blob.getProperties().getContentLength()))
+                        .toList();
+                return new StorageObjectPage(objects, page.getContinuationToken());
+            }
+
+            @Override
+            public Completion copy(StorageObject object) throws StorageManagerException {
+                return guard.execute(BackendGuard.BackendOperation.OBJECT_COPY, () -> {
+                    BlobClient sourceBlob = sourceContainer.getBlobClient(object.key());
+                    String sas = sourceBlob.generateSas(new BlobServiceSasSignatureValues(OffsetDateTime.now().plus(COPY_SAS_VALIDITY),
+                            new BlobSasPermission().setReadPermission(true)));
+                    String sourceUrl = sourceBlob.getBlobUrl() + "?" + sas;
+                    BlobClient targetBlob = targetContainer.getBlobClient(object.key());
+                    if (object.size() <= MAX_SYNC_COPY_SIZE) {
+                        targetBlob.copyFromUrl(sourceUrl);
+                        return Completion.DONE;
+                    }
+                    // only starting the copy is a backend call - the copy itself runs in the storage account
+                    SyncPoller<BlobCopyInfo, Void> poller = targetBlob.beginCopy(sourceUrl, COPY_POLL_INTERVAL);
+                    return () -> {
+                        LongRunningOperationStatus status = poller.waitForCompletion().getStatus();
+                        if (status != LongRunningOperationStatus.SUCCESSFULLY_COMPLETED) {
+                            throw new StorageManagerException(format("copy of %s into %s finished with status %s", object.key(), target, status));
+                        }
+                    };
+                });
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The profile is the first profile matching the SKU and kind of the storage account - the assigned (or default)
+     * profile of the organization is preferred.
+     */
+    @Override
+    public Optional<OrganizationStorageModel> getOrganizationStorage(String organization) {
+        return getStorageAccount(organization).map(account -> {
+            OrganizationStorageModel storage = new OrganizationStorageModel(account.name(), account.regionName());
+            storage.setProfile(matchProfile(organization, account));
+            storage.setHierarchicalNamespace(isHierarchicalNamespace(account));
+            return storage;
+        });
+    }
+
+    private String matchProfile(String organization, StorageAccount account) {
+        String skuName = account.skuType() == null ? null : account.skuType().name().toString();
+        String kind = account.kind() == null ? null : account.kind().toString();
+        String preferred = profileProperties.getOrganizations().getOrDefault(organization, profileProperties.getDefaultProfile());
+        List<String> candidates = new ArrayList<>();
+        candidates.add(preferred);
+        candidates.addAll(profileProperties.getDefinitions().keySet());
+        return candidates.stream().filter(name -> {
+            AzureStorageProfileProperties.StorageProfile profile = profileProperties.getProfile(name);
+            return profile != null && profile.getSkuName().equalsIgnoreCase(skuName) && (profile.getKind() == null || profile.getKind().equalsIgnoreCase(kind));
+        }).findFirst().orElse(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * A space is tiered, if its lifecycle rule is part of the management policy of the storage account.
+     */
+    @Override
+    public Optional<SpaceStorageModel> getSpaceStorage(String organization, String space) throws StorageManagerException {
+        Optional<StorageAccount> account = getStorageAccount(organization);
+        if (account.isEmpty() || !getBlobServiceClient(account.get()).getBlobContainerClient(space).exists()) {
+            return Optional.empty();
+        }
+        SpaceStorageModel storage = new SpaceStorageModel(organization, space);
+        storage.setHierarchicalNamespace(isHierarchicalNamespace(account.get()));
+        String ruleName = spaceLifecycleRuleName(space);
+        storage.setTiered(getManagementPolicyRules(account.get().name()).stream()
+                .anyMatch(r -> r.name().equals(ruleName) && isSpaceLifecycleRule(r)));
+        return Optional.of(storage);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Organizations are the storage accounts of the resource group. ARM cannot list them from a given name on, so the
+     * names of all accounts are listed (the number of accounts per subscription is limited by Azure).
+     */
+    @Override
+    public List<String> listOrganizations(String startAfter, int limit) {
+        return azureProvider.azure().storageAccounts().listByResourceGroup(resourceGroup).stream()
+                .map(StorageAccount::name)
+                .filter(name -> startAfter == null || name.compareTo(startAfter) > 0)
+                .sorted()
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Spaces are the containers of the storage account - they are listed page by page in lexicographic order.
+     */
+    @Override
+    public List<String> listSpaces(String organization, String startAfter, int limit) throws StorageManagerException {
+        Optional<StorageAccount> account = getStorageAccount(organization);
+        if (account.isEmpty()) {
+            return List.of();
+        }
+        return getBlobServiceClient(account.get()).listBlobContainers(new ListBlobContainersOptions().setMaxResultsPerPage(Math.min(limit, 5000)), null)
+                .stream()
+                .map(BlobContainerItem::getName)
+                .filter(name -> startAfter == null || name.compareTo(startAfter) > 0)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The blobs of the container are listed flat; in hierarchical namespace accounts directories count as (empty) objects.
+     */
+    @Override
+    public StorageUsage getSpaceUsage(String organization, String space) throws StorageManagerException {
+        Optional<StorageAccount> account = getStorageAccount(organization);
+        if (account.isEmpty()) {
+            return StorageUsage.EMPTY;
+        }
+        BlobContainerClient container = getBlobServiceClient(account.get()).getBlobContainerClient(space);
+        if (!container.exists()) {
+            return StorageUsage.EMPTY;
+        }
+        long bytes = 0;
+        long objects = 0;
+        for (BlobItem blob : container.listBlobs()) {
+            Long size = blob.getProperties().getContentLength();
+            bytes += size == null ? 0 : size;
+            objects++;
+        }
+        return new StorageUsage(bytes, objects);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The desired configuration of a storage account consists of the soft delete policies of blobs and containers,
+     * blob versioning and its lifecycle rule (not for accounts with hierarchical namespace), the CORS rules and the
+     * loadingzone - as far as enabled in the configuration. The values are read from the blob service and ARM; the
+     * repairs are written one setting at a time.
+     */
+    @Override
+    public List<Drift> reconcileOrganization(String organization, boolean repair) throws StorageManagerException {
+        Optional<StorageAccount> found = getStorageAccount(organization);
+        if (found.isEmpty()) {
+            return List.of();
+        }
+        StorageAccount account = found.get();
+        BlobServiceClient blobServiceClient = getBlobServiceClient(account);
+        BlobServiceProperties dataProperties = blobServiceClient.getProperties();
+        BlobServicePropertiesInner managementProperties = azureProvider.azure().storageAccounts().manager().serviceClient()
+                .getBlobServices().getServiceProperties(resourceGroup, account.name());
+        DriftCheck check = new DriftCheck(organization, null);
+        if (softDeleteBlobsEnabled) {
+            BlobRetentionPolicy policy = dataProperties.getDeleteRetentionPolicy();
+            check.expect("blob-soft-delete", retention(true, retentionTimeDeletedBlobs),
+                    policy == null ? null : retention(policy.isEnabled(), policy.getDays()), () -> enableSoftDeleteBlobs(account));
+        }
+        if (softDeleteContainersEnabled) {
+            DeleteRetentionPolicy policy = managementProperties.containerDeleteRetentionPolicy();
+            check.expect("container-soft-delete", retention(true, retentionTimeDeletedContainers),
+                    policy == null ? null : retention(policy.enabled(), policy.days()), () -> enableSoftDeleteContainers(account));
+        }
+        if (versioningBlobsEnabled && !isHierarchicalNamespace(account)) {
+            check.expect("blob-versioning", "enabled", Boolean.TRUE.equals(managementProperties.isVersioningEnabled()) ? "enabled" : "disabled",
+                    () -> setBlobVersioning(account));
+            List<ManagementPolicyRule> current = getManagementPolicyRules(account.name());
+            List<ManagementPolicyRule> expected = mergeLifecycleRules(current, null, null, true, () -> listContainers(account)).stream()
+                    .filter(StorageClientAzure::isAccountLifecycleRule)
+                    .toList();
+            List<ManagementPolicyRule> actual = current.stream().filter(StorageClientAzure::isAccountLifecycleRule).toList();
+            check.expect("account-lifecycle-rule", expected.isEmpty() ? null : describeRules(expected), actual.isEmpty() ? null : describeRules(actual),
+                    () -> updateLifecycleRules(account, null, null));
+        }
+        if (allowedOrigins != null && !allowedOrigins.isEmpty()) {
+            check.expect("cors", describeCors(allowedOrigins.stream().map(this::buildCorsRule).toList()), describeCors(dataProperties.getCors()),
+                    () -> setCors(getConnectionString(account)));
+        }
+        check.expect(LOADINGZONE, "present", blobServiceClient.getBlobContainerClient(LOADINGZONE).exists() ? "present" : null,
+                () -> createBlobContainer(LOADINGZONE, organization));
+        if (repair && check.hasDrift()) {
+            guard.execute(BackendGuard.BackendOperation.POLICY_WRITE, () -> {
+                check.repair();
+                return null;
+            });
+        }
+        return check.getDrifts();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The tiering class of a space is not recorded, so the lifecycle rule of a space has no desired state to compare
+     * with - containers have no further settings.
+     */
+    @Override
+    public List<Drift> reconcileSpace(String organization, String space, boolean repair) {
+        return List.of();
+    }
+
+    private static String retention(Boolean enabled, Integer days) {
+        return Boolean.TRUE.equals(enabled) ? format("enabled, %s days", days) : "disabled";
+    }
+
+    private static String describeRules(List<ManagementPolicyRule> rules) {
+        return rules.stream()
+                .map(r -> {
+                    ManagementPolicyFilter filter = r.definition() == null ? null : r.definition().filters();
+                    List<String> prefixes = filter == null || filter.prefixMatch() == null ? List.of() : filter.prefixMatch();
+                    return format("%s %s: %s", r.name(), prefixes, describeVersionActions(r));
+                })
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String describeVersionActions(ManagementPolicyRule rule) {
+        ManagementPolicyVersion version = rule.definition() == null || rule.definition().actions() == null ? null : rule.definition().actions().version();
+        if (version == null) {
+            return "none";
+        }
+        return format("cool > %s, archive > %s, delete > %s",
+                version.tierToCool() == null ? null : version.tierToCool().daysAfterCreationGreaterThan(),
+                version.tierToArchive() == null ? null : version.tierToArchive().daysAfterCreationGreaterThan(),
+                version.delete() == null ? null : version.delete().daysAfterCreationGreaterThan());
+    }
+
+    private static String describeCors(List<BlobCorsRule> rules) {
+        if (rules == null || rules.isEmpty()) {
+            return null;
+        }
+        return rules.stream()
+                .map(r -> format("%s (%s; max age %d)", r.getAllowedOrigins(), r.getAllowedMethods(), r.getMaxAgeInSeconds()))
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private Optional<StorageAccount> getStorageAccount(String name) {
+        AzureResourceManager azure = azureProvider.azure();
+        return azure.storageAccounts().listByResourceGroup(resourceGroup).stream().filter(a -> a.name().equals(name)).findFirst();
     }
 
     private BlobServiceClient getBlobServiceClient(StorageAccount storageAccount) throws StorageManagerException {
@@ -390,8 +1211,21 @@ public class StorageClientAzure implements StorageClient {
         return new BlobServiceClientBuilder().connectionString(connectStr).buildClient();
     }
 
+    private DataLakeServiceClient getDataLakeServiceClient(StorageAccount storageAccount) throws StorageManagerException {
+        StorageAccountKey key = storageAccount.getKeys().stream().findFirst().orElseThrow(() -> new StorageManagerException("no connection-key found!"));
+        return new DataLakeServiceClientBuilder()
+                .endpoint(format("https://%s.dfs.core.windows.net", storageAccount.name()))
+                .credential(new StorageSharedKeyCredential(storageAccount.name(), key.value()))
+                .buildClient();
+    }
+
+    private static boolean isHierarchicalNamespace(StorageAccount storageAccount) {
+        return Boolean.TRUE.equals(storageAccount.isHnsEnabled());
+    }
+
     /**
-     * Create a blob container for a given storage account
+     * Create a blob container for a given storage account - on storage accounts with hierarchical namespace the
+     * container is created as filesystem.
      *
      * @param blobContainerName Blob Container name (space name)
      * @param organizationName  Organization name
@@ -410,7 +1244,12 @@ public class StorageClientAzure implements StorageClient {
                         BlobServiceClient blobServiceClient = getBlobServiceClient(storageAccount.get());
 
                         if (!blobServiceClient.getBlobContainerClient(blobContainerName).exists()) {
-                            blobContainer = blobServiceClient.createBlobContainer(blobContainerName);
+                            if (isHierarchicalNamespace(storageAccount.get())) {
+                                getDataLakeServiceClient(storageAccount.get()).createFileSystem(blobContainerName);
+                                blobContainer = blobServiceClient.getBlobContainerClient(blobContainerName);
+                            } else {
+                                blobContainer = blobServiceClient.createBlobContainer(blobContainerName);
+                            }
                         } else {
                             break;
                         }
@@ -18,16 +18,35 @@ package com.efs.sdk.storagemanager.clients;
 import com.efs.sdk.common.domain.dto.OrganizationContextDTO;
 import com.efs.sdk.common.domain.dto.SpaceContextDTO;
 import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.model.Drift;
+import com.efs.sdk.storagemanager.model.OrganizationStorageModel;
+import com.efs.sdk.storagemanager.model.OrganizationStorageOptions;
+import com.efs.sdk.storagemanager.model.SpaceStorageModel;
+import com.efs.sdk.storagemanager.model.SpaceStorageOptions;
+import com.efs.sdk.storagemanager.model.StorageObject;
+import com.efs.sdk.storagemanager.model.StorageObjectPage;
+import com.efs.sdk.storagemanager.model.StorageUsage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.util.FileSystemUtils;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.ORGANIZATION_CONTEXT_NOT_FOUND;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.ORGANIZATION_NOT_RESTORABLE;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.SPACE_NOT_RESTORABLE;
 
 /**
  * Local implementation of StorageClient
@@ -37,15 +56,18 @@ import java.nio.file.Paths;
 public class StorageClientLocal implements StorageClient {
 
     private static final Logger LOG = LoggerFactory.getLogger(StorageClientLocal.class);
+    private static final String TRASH = "storagemanager-trash";
+    private static final String ORGANIZATION_TRASH = "organization";
+    private static final String SPACES_TRASH = "spaces";
 
     /**
      * {@inheritDoc}
      * <br>
      * An organization storage corresponds to a folder (in the temp directory of the local
-     * file system).
+     * file system). Regions are not supported.
      */
     @Override
-    public void createOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException {
+    public OrganizationStorageModel createOrganizationStorage(OrganizationContextDTO organization, OrganizationStorageOptions options) throws StorageManagerException {
         try {
             Path newDir = getOrganizationPath(organization.getName());
             if (Files.exists(newDir)) {
@@ -57,6 +79,17 @@ public class StorageClientLocal implements StorageClient {
             LOG.error("create organization storage failed.");
             throw new StorageManagerException(e.getMessage());
         }
+        return new OrganizationStorageModel(organization.getName(), null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Regions are not supported, so there is nothing to validate.
+     */
+    @Override
+    public void validateOrganizationStorage(OrganizationContextDTO organization, OrganizationStorageOptions options) {
+        // no provisioning settings
     }
 
     @Override
@@ -67,13 +100,23 @@ public class StorageClientLocal implements StorageClient {
     /**
      * {@inheritDoc}
      * <br>
-     * A space storage corresponds to a subfolder inside the organization folder.
+     * A space storage corresponds to a subfolder inside the organization folder. Tiering is not supported.
      */
     @Override
-    public void createSpaceStorage(SpaceContextDTO space) throws StorageManagerException {
+    public void createSpaceStorage(SpaceContextDTO space, SpaceStorageOptions options) throws StorageManagerException {
         createSpaceDir(space.getOrganization().getName(), space.getName());
     }
 
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Tiering is not supported, so there is nothing to validate.
+     */
+    @Override
+    public void validateSpaceStorage(SpaceContextDTO space, SpaceStorageOptions options) {
+        // no provisioning settings
+    }
+
     private void createSpaceDir(String orgaName, String spcName) throws StorageManagerException {
         Path newDirOrg = getOrganizationPath(orgaName);
         if (!Files.exists(newDirOrg)) {
@@ -123,6 +166,272 @@ public class StorageClientLocal implements StorageClient {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Moves the organization folder to the trash folder, which is a single rename regardless of the number of files.
+     */
+    @Override
+    public void revokeOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException {
+        moveToTrash(getOrganizationPath(organization.getName()), getTrashPath(organization.getName(), null));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Moves the space folder to the trash folder, which is a single rename regardless of the number of files.
+     */
+    @Override
+    public void revokeSpaceStorage(SpaceContextDTO space) throws StorageManagerException {
+        moveToTrash(getSpacePath(space.getOrganization().getName(), space.getName()), getTrashPath(space.getOrganization().getName(), space.getName()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int purgeOrganizationStorage(String organization, int limit) throws StorageManagerException {
+        return purge(getTrashPath(organization, null), limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int purgeSpaceStorage(String organization, String space, int limit) throws StorageManagerException {
+        return purge(getTrashPath(organization, space), limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Moves the organization folder back from the trash folder - files already purged are not restored.
+     */
+    @Override
+    public void restoreOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException {
+        Path target = getOrganizationPath(organization.getName());
+        if (Files.exists(target)) {
+            LOG.warn("directory {} exists - nothing to restore", target);
+            return;
+        }
+        if (!restoreFromTrash(getTrashPath(organization.getName(), null), target)) {
+            throw new StorageManagerException(ORGANIZATION_NOT_RESTORABLE, organization.getName());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Moves the space folder back from the trash folder - files already purged are not restored.
+     */
+    @Override
+    public void restoreSpaceStorage(SpaceContextDTO space) throws StorageManagerException {
+        String orgaName = space.getOrganization().getName();
+        Path target = getSpacePath(orgaName, space.getName());
+        if (Files.exists(target)) {
+            LOG.warn("directory {} exists - nothing to restore", target);
+            return;
+        }
+        if (!Files.isDirectory(getOrganizationPath(orgaName))) {
+            throw new StorageManagerException(ORGANIZATION_CONTEXT_NOT_FOUND, orgaName);
+        }
+        if (!restoreFromTrash(getTrashPath(orgaName, space.getName()), target)) {
+            throw new StorageManagerException(SPACE_NOT_RESTORABLE, orgaName + "/" + space.getName());
+        }
+    }
+
+    private static boolean restoreFromTrash(Path trash, Path target) throws StorageManagerException {
+        if (!Files.exists(trash)) {
+            return false;
+        }
+        try {
+            Files.move(trash, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            LOG.error("failed to restore {} from trash.", target);
+            throw new StorageManagerException(e.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Copies the files of the space folder - the cursor is the key of the last file of the previous page.
+     */
+    @Override
+    public SpaceCopy openSpaceCopy(String organization, String source, String target) {
+        Path sourceDir = getSpacePath(organization, source);
+        Path targetDir = getSpacePath(organization, target);
+        return new SpaceCopy() {
+            @Override
+            public StorageObjectPage list(String cursor, int limit) throws StorageManagerException {
+                try (Stream<Path> files = Files.walk(sourceDir)) {
+                    List<StorageObject> objects = files.filter(Files::isRegularFile)
+                            .map(file -> new StorageObject(sourceDir.relativize(file).toString().replace(File.separatorChar, '/'), file.toFile().length()))
+                            .filter(object -> cursor == null || object.key().compareTo(cursor) > 0)
+                            .sorted(Comparator.comparing(StorageObject::key))
+                            .limit(limit).toList();
+                    return new StorageObjectPage(objects, objects.size() < limit ? null : objects.get(objects.size() - 1).key());
+                } catch (IOException e) {
+                    LOG.error("failed to list directory {}.", sourceDir);
+                    throw new StorageManagerException(e.getMessage());
+                }
+            }
+
+            @Override
+            public Completion copy(StorageObject object) throws StorageManagerException {
+                Path targetFile = targetDir.resolve(object.key());
+                try {
+                    Files.createDirectories(targetFile.getParent());
+                    Files.copy(sourceDir.resolve(object.key()), targetFile, StandardCopyOption.REPLACE_EXISTING);
+                    return Completion.DONE;
+                } catch (IOException e) {
+                    LOG.error("failed to copy {}.", object.key());
+                    throw new StorageManagerException(e.getMessage());
+                }
+            }
+        };
+    }
+
+    private static void moveToTrash(Path source, Path trash) throws StorageManagerException {
+        if (!Files.exists(source)) {
+            return;
+        }
+        try {
+            // data of a previous deletion of the same name which has not been purged yet
+            FileSystemUtils.deleteRecursively(trash);
+            Files.createDirectories(trash.getParent());
+            Files.move(source, trash, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.error("failed to move {} to trash.", source);
+            throw new StorageManagerException(e.getMessage());
+        }
+    }
+
+    private static int purge(Path trash, int limit) throws StorageManagerException {
+        if (!Files.exists(trash)) {
+            return 0;
+        }
+        // in reverse order, the contents of a directory come before the directory itself
+        try (Stream<Path> paths = Files.walk(trash)) {
+            List<Path> batch = paths.sorted(Comparator.reverseOrder()).limit(limit).toList();
+            for (Path path : batch) {
+                Files.deleteIfExists(path);
+            }
+            return batch.size();
+        } catch (IOException e) {
+            LOG.error("failed to purge {}.", trash);
+            throw new StorageManagerException(e.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<OrganizationStorageModel> getOrganizationStorage(String organization) {
+        if (!Files.isDirectory(getOrganizationPath(organization))) {
+            return Optional.empty();
+        }
+        return Optional.of(new OrganizationStorageModel(organization, null));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<SpaceStorageModel> getSpaceStorage(String organization, String space) {
+        if (!Files.isDirectory(getSpacePath(organization, space))) {
+            return Optional.empty();
+        }
+        return Optional.of(new SpaceStorageModel(organization, space));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The temp directory contains other folders as well - only folders with a loadingzone are organizations.
+     */
+    @Override
+    public List<String> listOrganizations(String startAfter, int limit) throws StorageManagerException {
+        return listDirectories(getPath(""), startAfter, limit, dir -> Files.isDirectory(dir.resolve(LOADINGZONE)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> listSpaces(String organization, String startAfter, int limit) throws StorageManagerException {
+        Path orgDir = getOrganizationPath(organization);
+        if (!Files.isDirectory(orgDir)) {
+            return List.of();
+        }
+        return listDirectories(orgDir, startAfter, limit, dir -> true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StorageUsage getSpaceUsage(String organization, String space) throws StorageManagerException {
+        Path spaceDir = getSpacePath(organization, space);
+        if (!Files.isDirectory(spaceDir)) {
+            return StorageUsage.EMPTY;
+        }
+        try (Stream<Path> files = Files.walk(spaceDir)) {
+            List<Path> regularFiles = files.filter(Files::isRegularFile).toList();
+            long bytes = 0;
+            for (Path file : regularFiles) {
+                bytes += Files.size(file);
+            }
+            return new StorageUsage(bytes, regularFiles.size());
+        } catch (IOException e) {
+            LOG.error("failed to compute usage of directory {}.", spaceDir);
+            throw new StorageManagerException(e.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The only desired setting of an organization is its loadingzone.
+     */
+    @Override
+    public List<Drift> reconcileOrganization(String organization, boolean repair) throws StorageManagerException {
+        Path orgDir = getOrganizationPath(organization);
+        if (!Files.isDirectory(orgDir)) {
+            return List.of();
+        }
+        DriftCheck check = new DriftCheck(organization, null);
+        check.expect(LOADINGZONE, "present", Files.isDirectory(orgDir.resolve(LOADINGZONE)) ? "present" : null, () -> createSpaceDir(organization, LOADINGZONE));
+        if (repair) {
+            check.repair();
+        }
+        return check.getDrifts();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Space directories have no settings.
+     */
+    @Override
+    public List<Drift> reconcileSpace(String organization, String space, boolean repair) {
+        return List.of();
+    }
+
+    private static List<String> listDirectories(Path parent, String startAfter, int limit, Predicate<Path> filter) throws StorageManagerException {
+        try (Stream<Path> children = Files.list(parent)) {
+            return children.filter(Files::isDirectory).filter(filter)
+                    .map(dir -> dir.getFileName().toString())
+                    .filter(name -> startAfter == null || name.compareTo(startAfter) > 0)
+                    .sorted().limit(limit).toList();
+        } catch (IOException e) {
+            LOG.error("failed to list directory {}.", parent);
+            throw new StorageManagerException(e.getMessage());
+        }
+    }
+
     private Path getOrganizationPath(String organizationName) {
         return getPath(organizationName);
     }
@@ -131,6 +440,11 @@ public class StorageClientLocal implements StorageClient {
         return getPath(orgaName).resolve(spcName);
     }
 
+    private Path getTrashPath(String orgaName, String spcName) {
+        Path orgTrash = getPath(TRASH).resolve(orgaName);
+        return spcName == null ? orgTrash.resolve(ORGANIZATION_TRASH) : orgTrash.resolve(SPACES_TRASH).resolve(spcName);
+    }
+
     private Path getPath(String dirName) {
         String dirPath = System.getProperty("java.io.tmpdir");
         Path tmpDir = Paths.get(dirPath);
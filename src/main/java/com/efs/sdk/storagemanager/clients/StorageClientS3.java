@@ -19,18 +19,40 @@ import com.efs.sdk.common.domain.dto.OrganizationContextDTO;
 import com.efs.sdk.common.domain.dto.SpaceContextDTO;
 import com.efs.sdk.common.domain.model.Confidentiality;
 import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.lease.LeaseProvider;
+import com.efs.sdk.storagemanager.model.Drift;
+import com.efs.sdk.storagemanager.model.OrganizationStorageModel;
+import com.efs.sdk.storagemanager.model.OrganizationStorageOptions;
+import com.efs.sdk.storagemanager.model.SpaceStorageModel;
+import com.efs.sdk.storagemanager.model.SpaceStorageOptions;
+import com.efs.sdk.storagemanager.model.StorageObject;
+import com.efs.sdk.storagemanager.model.StorageObjectPage;
+import com.efs.sdk.storagemanager.model.StorageUsage;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.BACKEND_BUSY;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.LIFECYCLE_RULE_LIMIT_EXCEEDED;
 import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.MULTIPLE_POLICIES_FOUND;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.ORGANIZATION_CONTEXT_NOT_FOUND;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.ORGANIZATION_NOT_RESTORABLE;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.SPACE_NOT_RESTORABLE;
 import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.UNABLE_FIND_SPC_POLICY;
 import static com.efs.sdk.storagemanager.helper.ResourceReader.readFileToString;
 import static java.lang.String.format;
@@ -49,21 +71,65 @@ public class StorageClientS3 implements StorageClient {
 
     private static final Logger LOG = LoggerFactory.getLogger(StorageClientS3.class);
     private static final String ROLE_SPC_PUBLIC_ACCESS = "spc_all_public";
+    private static final int RESTORE_BATCH_SIZE = 1000;
+    /**
+     * Maximum number of rules in the lifecycle configuration of a bucket
+     */
+    private static final int MAX_LIFECYCLE_RULES = 1000;
+    private static final String LIFECYCLE_LEASE = "s3-lifecycle";
+    /**
+     * Largest object copied by a single CopyObject request - larger objects are copied with UploadPartCopy
+     */
+    private static final long MAX_COPY_OBJECT_SIZE = 5L * 1024 * 1024 * 1024;
+    private static final long COPY_PART_SIZE = 512L * 1024 * 1024;
+    /**
+     * Templates of the IAM policies of a space by scope
+     */
+    private static final Map<String, String> SPACE_POLICY_TEMPLATES = new LinkedHashMap<>();
+
+    static {
+        SPACE_POLICY_TEMPLATES.put("admin", "iam_policy_space_admin_tpl.json");
+        SPACE_POLICY_TEMPLATES.put("trustee", "iam_policy_space_trustee_tpl.json");
+        SPACE_POLICY_TEMPLATES.put("user", "iam_policy_space_user_tpl.json");
+        SPACE_POLICY_TEMPLATES.put("supplier", "iam_policy_space_supplier_tpl.json");
+    }
     private final S3Client s3;
     private final String bucketName;
     private final ObjectMapper objectMapper;
-
-    public StorageClientS3(S3Client s3, ObjectMapper objectMapper) {
+    private final TieringProperties tieringProperties;
+    private final String coolStorageClass;
+    private final String archiveStorageClass;
+    private final BackendGuard guard;
+    private final LeaseProvider leaseProvider;
+    private final Duration lockTimeout;
+    private final ReentrantLock lifecycleLock = new ReentrantLock(true);
+
+    public StorageClientS3(S3Client s3, ObjectMapper objectMapper, TieringProperties tieringProperties,
+            @Value("${storagemanager.storage.s3.tiering.cool-storage-class:STANDARD_IA}") String coolStorageClass,
+            @Value("${storagemanager.storage.s3.tiering.archive-storage-class:GLACIER}") String archiveStorageClass, BackendGuard guard,
+            LeaseProvider leaseProvider, @Value("${storagemanager.locks.timeout:PT5M}") Duration lockTimeout) {
         this.s3 = s3;
         this.bucketName = s3.getBucketName();
         this.objectMapper = objectMapper;
+        this.tieringProperties = tieringProperties;
+        this.coolStorageClass = coolStorageClass;
+        this.archiveStorageClass = archiveStorageClass;
+        this.guard = guard;
+        this.leaseProvider = leaseProvider;
+        this.lockTimeout = lockTimeout;
     }
 
     /**
      * {@inheritDoc}
+     * <br>
+     * All organizations share the main bucket, hence a preferred region cannot be honoured.
      */
     @Override
-    public void createOrganizationStorage(OrganizationContextDTO organization) {
+    public OrganizationStorageModel createOrganizationStorage(OrganizationContextDTO organization, OrganizationStorageOptions options) throws StorageManagerException {
+        if (options.getRegion() != null) {
+            LOG.warn("Ignoring preferred region '{}' for organization '{}' - all organizations are located in bucket '{}'.", options.getRegion(),
+                    organization.getName(), bucketName);
+        }
         // Warn if any object with prefix for the organization already exists
         String prefix = organization.getName() + "/";
         if (s3.prefixExists(prefix)) {
@@ -72,30 +138,60 @@ public class StorageClientS3 implements StorageClient {
         }
 
         // Create a virtual folder for the organization if it doesn't exist already
-        if (!s3.objectExists(prefix)) {
-            LOG.info("Creating empty object '{}' as virtual folder in bucket '{}'.", prefix, bucketName);
-            s3.createEmptyObject(prefix);
-        } else {
-            LOG.info("Object '{}' as virtual folder in bucket '{}' already exists.", prefix, bucketName);
-        }
+        guard.execute(BackendGuard.BackendOperation.ACCOUNT_CREATE, () -> {
+            createFolder(prefix);
+            return null;
+        });
+        return new OrganizationStorageModel(organization.getName(), null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * There is nothing to validate - a preferred region is ignored.
+     */
+    @Override
+    public void validateOrganizationStorage(OrganizationContextDTO organization, OrganizationStorageOptions options) {
+        // all organizations share the main bucket
     }
 
     @Override
     public void createLoadingzone(OrganizationContextDTO organization) throws StorageManagerException {
         // create loadingzone directly with organization
         String loadingzonePrefix = format("%s/%s/", organization.getName(), LOADINGZONE);
-        s3.createEmptyObject(loadingzonePrefix);
+        guard.execute(BackendGuard.BackendOperation.CONTAINER_CREATE, () -> {
+            s3.createEmptyObject(loadingzonePrefix);
+            return null;
+        });
     }
 
     /**
      * {@inheritDoc}
+     * <br>
+     * Resolves the tiering class of the space.
      */
     @Override
-    public void createSpaceStorage(SpaceContextDTO space) {
+    public void validateSpaceStorage(SpaceContextDTO space, SpaceStorageOptions options) throws StorageManagerException {
+        tieringProperties.resolve(options.getTieringClass());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * If the space has a tiering class, a bucket lifecycle rule scoped to the space prefix is registered.
+     */
+    @Override
+    public void createSpaceStorage(SpaceContextDTO space, SpaceStorageOptions options) throws StorageManagerException {
+        Optional<TieringProperties.TieringPolicy> tiering = tieringProperties.resolve(options.getTieringClass());
         String orgaPrefix = format("%s/", space.getOrganization().getName());
         String spacePrefix = format("%s/%s/", space.getOrganization().getName(), space.getName());
 
         if (s3.prefixExists(orgaPrefix)) {
+            S3LifecycleRule rule = tiering.isPresent() ? buildLifecycleRule(space, spacePrefix, tiering.get()) : null;
+            if (rule != null) {
+                // fail before the folder is created, if the lifecycle rules would exceed the limit
+                mergeLifecycleRules(s3.getLifecycleRules(), r -> r.getId().equals(rule.getId()), rule);
+            }
             // Warn if any object with prefix for the space already exists
             if (s3.prefixExists(spacePrefix)) {
                 LOG.warn("Space '{}' already exists inside organization '{}'. At least one object with prefix '{}' already exists in bucket '{}'.",
@@ -103,31 +199,147 @@ public class StorageClientS3 implements StorageClient {
             }
 
             // Create virtual folder for the space if it doesn't exist already
-            if (!s3.objectExists(spacePrefix)) {
-                LOG.info("Creating empty object '{}' as virtual folder in bucket '{}'.", spacePrefix, bucketName);
-                s3.createEmptyObject(spacePrefix);
-            } else {
-                LOG.info("Object '{}' as virtual folder in bucket '{}' already exists.", spacePrefix, bucketName);
-            }
+            guard.execute(BackendGuard.BackendOperation.CONTAINER_CREATE, () -> {
+                createFolder(spacePrefix);
+                return null;
+            });
 
             // Create IAM policies (or update if already existing)
-            try {
+            createSpacePolicies(space);
+
+            if (rule != null) {
+                LOG.info("Registering lifecycle rule for prefix '{}' in bucket '{}'.", spacePrefix, bucketName);
+                guard.execute(BackendGuard.BackendOperation.POLICY_WRITE, () -> {
+                    updateLifecycleRules(r -> r.getId().equals(rule.getId()), rule);
+                    return null;
+                });
+            }
+        } else {
+            LOG.error("Space '{}' was not created, because organization '{}' does not exist. No object with prefix '{}' exists in bucket '{}'.",
+                    space.getName(), space.getOrganization().getName(), orgaPrefix, bucketName);
+        }
+    }
+
+    private void createSpacePolicies(SpaceContextDTO space) {
+        try {
+            guard.execute(BackendGuard.BackendOperation.POLICY_WRITE, () -> {
                 if (Confidentiality.PUBLIC.equals(space.getConfidentiality())) {
                     LOG.info("Creating public-access-policy for space '{}'", space.getName());
                     addPublicPolicy(space);
                 }
                 LOG.info("Creating IAM policies for space '{}'.", space.getName());
-                createPolicy(space, "iam_policy_space_admin_tpl.json", "admin");
-                createPolicy(space, "iam_policy_space_trustee_tpl.json", "trustee");
-                createPolicy(space, "iam_policy_space_user_tpl.json", "user");
-                createPolicy(space, "iam_policy_space_supplier_tpl.json", "supplier");
-            } catch (Exception e) {
-                LOG.error("Error creating IAM policies for space '{}': {}", space.getName(), e.getMessage());
-            }
+                for (Map.Entry<String, String> scope : SPACE_POLICY_TEMPLATES.entrySet()) {
+                    createPolicy(space, scope.getValue(), scope.getKey());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            LOG.error("Error creating IAM policies for space '{}': {}", space.getName(), e.getMessage());
+        }
+    }
+
+    private void createFolder(String prefix) {
+        if (!s3.objectExists(prefix)) {
+            LOG.info("Creating empty object '{}' as virtual folder in bucket '{}'.", prefix, bucketName);
+            s3.createEmptyObject(prefix);
         } else {
-            LOG.error("Space '{}' was not created, because organization '{}' does not exist. No object with prefix '{}' exists in bucket '{}'.",
-                    space.getName(), space.getOrganization().getName(), orgaPrefix, bucketName);
+            LOG.info("Object '{}' as virtual folder in bucket '{}' already exists.", prefix, bucketName);
+        }
+    }
+
+    /**
+     * Translates a tiering policy into a lifecycle rule scoped to the space prefix.
+     *
+     * @param space   the space
+     * @param prefix  the space prefix
+     * @param tiering the tiering policy
+     * @return the lifecycle rule
+     */
+    S3LifecycleRule buildLifecycleRule(SpaceContextDTO space, String prefix, TieringProperties.TieringPolicy tiering) {
+        S3LifecycleRule rule = new S3LifecycleRule(lifecycleRuleId(space.getOrganization().getName(), space.getName()), prefix);
+        if (tiering.getCoolAfterDays() != null) {
+            rule.getTransitions().put(tiering.getCoolAfterDays(), coolStorageClass);
+        }
+        if (tiering.getArchiveAfterDays() != null) {
+            rule.getTransitions().put(tiering.getArchiveAfterDays(), archiveStorageClass);
+        }
+        rule.setExpirationDays(tiering.getDeleteAfterDays());
+        if (tiering.getVersionsCoolAfterDays() != null) {
+            rule.getNoncurrentVersionTransitions().put(tiering.getVersionsCoolAfterDays(), coolStorageClass);
+        }
+        if (tiering.getVersionsArchiveAfterDays() != null) {
+            rule.getNoncurrentVersionTransitions().put(tiering.getVersionsArchiveAfterDays(), archiveStorageClass);
         }
+        rule.setNoncurrentVersionExpirationDays(tiering.getVersionsDeleteAfterDays());
+        return rule;
+    }
+
+    private static String lifecycleRuleId(String orgaName, String spaceName) {
+        return join("_", orgaName, spaceName, "tiering");
+    }
+
+    /**
+     * Reads the bucket lifecycle configuration, removes the matching rules, adds the given rule (if any) and writes
+     * the configuration back in one request. Nothing is written, if the configuration is unchanged.
+     * <p>
+     * The configuration is shared by all organizations, whose operations run in parallel - the read-merge-write holds
+     * a bucket-wide lock and lease, so that concurrent updates do not lose each other's rules.
+     *
+     * @param toRemove matches the rules to be removed
+     * @param toAdd    the rule to be added (may be {@code null})
+     * @throws StorageManagerException thrown, if the rule limit would be exceeded or the lock could not be acquired in time
+     */
+    void updateLifecycleRules(Predicate<S3LifecycleRule> toRemove, S3LifecycleRule toAdd) throws StorageManagerException {
+        long start = System.nanoTime();
+        try {
+            if (!lifecycleLock.tryLock(lockTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw lifecycleBusy();
+            }
+            try {
+                Duration remaining = lockTimeout.minusNanos(System.nanoTime() - start);
+                try (LeaseProvider.Lease ignored = leaseProvider.tryAcquire(LIFECYCLE_LEASE, remaining.isNegative() ? Duration.ZERO : remaining)
+                        .orElseThrow(this::lifecycleBusy)) {
+                    List<S3LifecycleRule> current = s3.getLifecycleRules();
+                    List<S3LifecycleRule> rules = mergeLifecycleRules(current, toRemove, toAdd);
+                    if (!rules.equals(current)) {
+                        s3.setLifecycleRules(rules);
+                    }
+                }
+            } finally {
+                lifecycleLock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw lifecycleBusy();
+        }
+    }
+
+    /**
+     * Removes the matching rules from the lifecycle rules and adds the given rule (if any)
+     *
+     * @param rules    the current rules
+     * @param toRemove matches the rules to be removed
+     * @param toAdd    the rule to be added (may be {@code null})
+     * @return the merged rules
+     * @throws StorageManagerException thrown, if the merged rules exceed the limit of the bucket
+     */
+    static List<S3LifecycleRule> mergeLifecycleRules(List<S3LifecycleRule> rules, Predicate<S3LifecycleRule> toRemove, S3LifecycleRule toAdd)
+            throws StorageManagerException {
+        List<S3LifecycleRule> merged = new ArrayList<>(rules);
+        merged.removeIf(toRemove);
+        if (toAdd != null) {
+            merged.add(toAdd);
+            if (merged.size() > MAX_LIFECYCLE_RULES) {
+                throw new StorageManagerException(LIFECYCLE_RULE_LIMIT_EXCEEDED, format("%d rules, at most %d are supported", merged.size(),
+                        MAX_LIFECYCLE_RULES));
+            }
+        }
+        return merged;
+    }
+
+    private StorageManagerException lifecycleBusy() {
+        LOG.warn("Timed out waiting for the lock of the lifecycle configuration of bucket '{}' after {}", bucketName, lockTimeout);
+        return new StorageManagerException(BACKEND_BUSY, "lifecycle configuration of bucket " + bucketName);
     }
 
     private void createPolicy(SpaceContextDTO space, String tplName, String scopeName) throws StorageManagerException {
@@ -227,14 +439,10 @@ public class StorageClientS3 implements StorageClient {
      * {@inheritDoc}
      */
     @Override
-    public void deleteOrganizationStorage(OrganizationContextDTO organization) {
+    public void deleteOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException {
         final String prefix = format("%s/", organization.getName());
-        LOG.info("Deleting all objects with prefix '{}' from bucket '{}'.", prefix, bucketName);
-        s3.deleteObjectsByPrefix(prefix);
-        List<String> spacePolicies = s3.listIamPolicies(prefix);
-        for (var policy : spacePolicies) {
-            s3.deleteIamPolicy(policy);
-        }
+        deletePrefix(prefix);
+        removeOrganizationPolicies(prefix);
     }
 
     /**
@@ -244,20 +452,345 @@ public class StorageClientS3 implements StorageClient {
     public void deleteSpaceStorage(SpaceContextDTO space) {
         try {
             final String prefix = format("%s/%s/", space.getOrganization().getName(), space.getName());
-            LOG.info("Deleting all objects with prefix '{}' from bucket '{}'.", prefix, bucketName);
-            s3.deleteObjectsByPrefix(prefix);
+            deletePrefix(prefix);
+            removeSpacePolicies(space);
+        } catch (Exception e) {
+            LOG.error("Error creating IAM policies for space '{}': {}", space.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Deletes the folder object of the organization (so it no longer exists), the IAM policies of its spaces and its
+     * lifecycle rules - the objects below the folder are left to {@link #purgeOrganizationStorage(String, int)}.
+     */
+    @Override
+    public void revokeOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException {
+        final String prefix = format("%s/", organization.getName());
+        guard.execute(BackendGuard.BackendOperation.PREFIX_DELETE, () -> {
+            s3.deleteObject(prefix);
+            return null;
+        });
+        removeOrganizationPolicies(prefix);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Deletes the folder object of the space (so it no longer exists), its IAM policies, its public policy and its
+     * lifecycle rule - the objects below the folder are left to {@link #purgeSpaceStorage(String, String, int)}.
+     */
+    @Override
+    public void revokeSpaceStorage(SpaceContextDTO space) throws StorageManagerException {
+        final String prefix = format("%s/%s/", space.getOrganization().getName(), space.getName());
+        guard.execute(BackendGuard.BackendOperation.PREFIX_DELETE, () -> {
+            s3.deleteObject(prefix);
+            return null;
+        });
+        removeSpacePolicies(space);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int purgeOrganizationStorage(String organization, int limit) throws StorageManagerException {
+        return purgePrefix(format("%s/", organization), limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int purgeSpaceStorage(String organization, String space, int limit) throws StorageManagerException {
+        return purgePrefix(format("%s/%s/", organization, space), limit);
+    }
+
+    private void removeOrganizationPolicies(String prefix) throws StorageManagerException {
+        guard.execute(BackendGuard.BackendOperation.POLICY_WRITE, () -> {
+            List<String> spacePolicies = s3.listIamPolicies(prefix);
+            for (var policy : spacePolicies) {
+                s3.deleteIamPolicy(policy);
+            }
+            updateLifecycleRules(r -> r.getPrefix() != null && r.getPrefix().startsWith(prefix), null);
+            return null;
+        });
+    }
+
+    private void removeSpacePolicies(SpaceContextDTO space) throws StorageManagerException {
+        guard.execute(BackendGuard.BackendOperation.POLICY_WRITE, () -> {
             if (Confidentiality.PUBLIC.equals(space.getConfidentiality())) {
                 removePublicPolicy(space);
             }
             if (!LOADINGZONE.equalsIgnoreCase(space.getName())) {
-                s3.deleteObjectsByPrefix(prefix);
                 s3.deleteIamPolicy(join("_", space.getOrganization().getName(), space.getName(), "admin"));
                 s3.deleteIamPolicy(join("_", space.getOrganization().getName(), space.getName(), "trustee"));
                 s3.deleteIamPolicy(join("_", space.getOrganization().getName(), space.getName(), "user"));
             }
-        } catch (Exception e) {
-            LOG.error("Error creating IAM policies for space '{}': {}", space.getName(), e.getMessage());
+            String ruleId = lifecycleRuleId(space.getOrganization().getName(), space.getName());
+            updateLifecycleRules(r -> r.getId().equals(ruleId), null);
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Removes the delete markers below the organization folder (versioned bucket) and recreates the folder, its
+     * loadingzone and the IAM policies of its spaces. Without versioning, only the data not yet purged is retained.
+     * Public policies and lifecycle rules are not restored, as neither confidentiality nor tiering class are recorded.
+     */
+    @Override
+    public void restoreOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException {
+        final String prefix = format("%s/", organization.getName());
+        if (s3.objectExists(prefix)) {
+            LOG.info("Organization '{}' exists - nothing to restore.", organization.getName());
+            return;
+        }
+        restorePrefix(prefix);
+        if (!s3.prefixExists(prefix)) {
+            throw new StorageManagerException(ORGANIZATION_NOT_RESTORABLE, organization.getName());
+        }
+        guard.execute(BackendGuard.BackendOperation.ACCOUNT_CREATE, () -> {
+            createFolder(prefix);
+            return null;
+        });
+        createLoadingzone(organization);
+        List<String> spaces;
+        String startAfter = null;
+        do {
+            spaces = listSpaces(organization.getName(), startAfter, RESTORE_BATCH_SIZE);
+            for (String space : spaces) {
+                if (!LOADINGZONE.equalsIgnoreCase(space)) {
+                    createSpacePolicies(SpaceContextDTO.builder().name(space).organization(organization).build());
+                }
+                startAfter = space;
+            }
+        } while (spaces.size() == RESTORE_BATCH_SIZE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Removes the delete markers below the space folder (versioned bucket) and recreates the folder and its IAM
+     * policies. Without versioning, only the data not yet purged is retained. The lifecycle rule is not restored, as
+     * the tiering class is not recorded.
+     */
+    @Override
+    public void restoreSpaceStorage(SpaceContextDTO space) throws StorageManagerException {
+        final String orgaPrefix = format("%s/", space.getOrganization().getName());
+        final String prefix = format("%s/%s/", space.getOrganization().getName(), space.getName());
+        if (s3.objectExists(prefix)) {
+            LOG.info("Space '{}' exists - nothing to restore.", space.getName());
+            return;
+        }
+        if (!s3.objectExists(orgaPrefix)) {
+            throw new StorageManagerException(ORGANIZATION_CONTEXT_NOT_FOUND, space.getOrganization().getName());
+        }
+        restorePrefix(prefix);
+        if (!s3.prefixExists(prefix)) {
+            throw new StorageManagerException(SPACE_NOT_RESTORABLE, space.getOrganization().getName() + "/" + space.getName());
+        }
+        guard.execute(BackendGuard.BackendOperation.CONTAINER_CREATE, () -> {
+            createFolder(prefix);
+            return null;
+        });
+        createSpacePolicies(space);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Objects of up to 5 GiB are copied with CopyObject, larger objects as multipart upload whose parts are copied with
+     * UploadPartCopy. The cursor is the key of the last object of the previous page.
+     */
+    @Override
+    public SpaceCopy openSpaceCopy(String organization, String source, String target) {
+        final String sourcePrefix = format("%s/%s/", organization, source);
+        final String targetPrefix = format("%s/%s/", organization, target);
+        return new SpaceCopy() {
+            @Override
+            public StorageObjectPage list(String cursor, int limit) {
+                List<StorageObject> objects = s3.listObjects(sourcePrefix, cursor == null ? null : sourcePrefix + cursor, limit).stream()
+                        .map(o -> new StorageObject(o.key().substring(sourcePrefix.length()), o.size()))
+                        .toList();
+                String next = objects.size() < limit ? null : objects.get(objects.size() - 1).key();
+                // the virtual folder of the target space already exists
+                return new StorageObjectPage(objects.stream().filter(o -> !o.key().isEmpty()).toList(), next);
+            }
+
+            @Override
+            public Completion copy(StorageObject object) throws StorageManagerException {
+                String sourceKey = sourcePrefix + object.key();
+                String targetKey = targetPrefix + object.key();
+                return guard.execute(BackendGuard.BackendOperation.OBJECT_COPY, () -> {
+                    if (object.size() > MAX_COPY_OBJECT_SIZE) {
+                        s3.copyObjectMultipart(sourceKey, targetKey, object.size(), COPY_PART_SIZE);
+                    } else {
+                        s3.copyObject(sourceKey, targetKey);
+                    }
+                    return Completion.DONE;
+                });
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * An organization exists, if its virtual folder exists.
+     */
+    @Override
+    public Optional<OrganizationStorageModel> getOrganizationStorage(String organization) {
+        if (!s3.objectExists(format("%s/", organization))) {
+            return Optional.empty();
+        }
+        return Optional.of(new OrganizationStorageModel(organization, null));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * A space exists, if its virtual folder exists. It is tiered, if a lifecycle rule for its prefix is registered.
+     */
+    @Override
+    public Optional<SpaceStorageModel> getSpaceStorage(String organization, String space) {
+        if (!s3.objectExists(format("%s/%s/", organization, space))) {
+            return Optional.empty();
+        }
+        SpaceStorageModel storage = new SpaceStorageModel(organization, space);
+        String ruleId = lifecycleRuleId(organization, space);
+        storage.setTiered(s3.getLifecycleRules().stream().anyMatch(r -> r.getId().equals(ruleId)));
+        return Optional.of(storage);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Organizations are the top level virtual folders of the bucket.
+     */
+    @Override
+    public List<String> listOrganizations(String startAfter, int limit) {
+        return listFolders("", startAfter, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Spaces are the virtual folders below the organization folder.
+     */
+    @Override
+    public List<String> listSpaces(String organization, String startAfter, int limit) {
+        return listFolders(format("%s/", organization), startAfter, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StorageUsage getSpaceUsage(String organization, String space) {
+        return s3.getUsage(format("%s/%s/", organization, space));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The only desired setting of an organization is its loadingzone folder.
+     */
+    @Override
+    public List<Drift> reconcileOrganization(String organization, boolean repair) throws StorageManagerException {
+        if (!s3.objectExists(format("%s/", organization))) {
+            return List.of();
+        }
+        String loadingzonePrefix = format("%s/%s/", organization, LOADINGZONE);
+        DriftCheck check = new DriftCheck(organization, null);
+        check.expect(LOADINGZONE, "present", s3.objectExists(loadingzonePrefix) ? "present" : null, () -> s3.createEmptyObject(loadingzonePrefix));
+        if (repair && check.hasDrift()) {
+            guard.execute(BackendGuard.BackendOperation.CONTAINER_CREATE, () -> {
+                check.repair();
+                return null;
+            });
         }
+        return check.getDrifts();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The desired configuration of a space are its IAM policies (admin, trustee, user, supplier) as rendered from the
+     * policy templates. The confidentiality of a space is not recorded, so its statements in the public policy are not
+     * checked.
+     */
+    @Override
+    public List<Drift> reconcileSpace(String organization, String space, boolean repair) throws StorageManagerException {
+        if (LOADINGZONE.equalsIgnoreCase(space) || !s3.objectExists(format("%s/%s/", organization, space))) {
+            return List.of();
+        }
+        SpaceContextDTO spaceContext = SpaceContextDTO.builder().name(space).organization(OrganizationContextDTO.builder().name(organization).build()).build();
+        DriftCheck check = new DriftCheck(organization, space);
+        for (Map.Entry<String, String> scope : SPACE_POLICY_TEMPLATES.entrySet()) {
+            String policyName = join("_", organization, space, scope.getKey());
+            String expected = normalizePolicy(readPolicy(spaceContext, scope.getValue()));
+            String actual = s3.getIamPolicy(policyName).map(this::normalizePolicy).orElse(null);
+            check.expect("iam-policy-" + scope.getKey(), expected, actual, () -> {
+                if (actual == null) {
+                    createPolicy(spaceContext, scope.getValue(), scope.getKey());
+                } else {
+                    updatePolicy(policyName, readPolicy(spaceContext, scope.getValue()));
+                }
+            });
+        }
+        if (repair && check.hasDrift()) {
+            guard.execute(BackendGuard.BackendOperation.POLICY_WRITE, () -> {
+                check.repair();
+                return null;
+            });
+        }
+        return check.getDrifts();
+    }
+
+    private String normalizePolicy(String policy) {
+        try {
+            // whitespace and formatting must not count as drift
+            return objectMapper.readTree(policy).toString();
+        } catch (JsonProcessingException e) {
+            return policy;
+        }
+    }
+
+    private List<String> listFolders(String prefix, String startAfter, int limit) {
+        // all keys below the folder "<startAfter>/" sort before "<startAfter>0" ('0' follows '/'), so the folder itself is skipped
+        String startAfterKey = startAfter == null ? null : prefix + startAfter + (char) ('/' + 1);
+        return s3.listPrefixes(prefix, startAfterKey, limit).stream()
+                .map(p -> p.substring(prefix.length(), p.length() - 1))
+                .toList();
+    }
+
+    private int purgePrefix(String prefix, int limit) throws StorageManagerException {
+        int deleted = guard.execute(BackendGuard.BackendOperation.PREFIX_DELETE, () -> s3.deleteObjectsByPrefix(prefix, limit));
+        LOG.debug("Purged {} objects with prefix '{}' from bucket '{}'.", deleted, prefix, bucketName);
+        return deleted;
+    }
+
+    private void restorePrefix(String prefix) throws StorageManagerException {
+        LOG.info("Restoring deleted objects with prefix '{}' in bucket '{}'.", prefix, bucketName);
+        int restored;
+        int total = 0;
+        do {
+            // each batch is a separate guarded call, so a large prefix does not run into the timeout of the operation
+            restored = guard.execute(BackendGuard.BackendOperation.CONTAINER_CREATE, () -> s3.restoreObjectsByPrefix(prefix, RESTORE_BATCH_SIZE));
+            total += restored;
+        } while (restored == RESTORE_BATCH_SIZE);
+        LOG.info("Restored {} objects with prefix '{}' in bucket '{}'.", total, prefix, bucketName);
+    }
+
+    private void deletePrefix(String prefix) throws StorageManagerException {
+        LOG.info("Deleting all objects with prefix '{}' from bucket '{}'.", prefix, bucketName);
+        guard.execute(BackendGuard.BackendOperation.PREFIX_DELETE, () -> {
+            s3.deleteObjectsByPrefix(prefix);
+            return null;
+        });
     }
 
 }
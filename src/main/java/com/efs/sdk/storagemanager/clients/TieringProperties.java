@@ -0,0 +1,197 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.UNKNOWN_TIERING_CLASS;
+
+/**
+ * Named tiering classes (e.g. hot, warm, cold) for spaces.
+ * <p>
+ * A tiering class defines after how many days current objects and object versions of a space are moved to the cool
+ * and archive tier and finally deleted. The storage clients translate a tiering class into lifecycle rules scoped to
+ * the space. If no tiering class is selected for a space (and no default class is configured), no space-specific
+ * rules are created.
+ * <p>
+ * The thresholds of a tiering class must increase from cool to archive to delete - a misconfigured class is rejected
+ * on startup, as overlapping thresholds would silently drop a transition from the lifecycle rules.
+ */
+@ConfigurationProperties(prefix = "storagemanager.storage.tiering")
+@Validated
+public class TieringProperties {
+
+    private String defaultClass;
+    private Map<String, @Valid TieringPolicy> classes = new HashMap<>();
+
+    public String getDefaultClass() {
+        return defaultClass;
+    }
+
+    public void setDefaultClass(String defaultClass) {
+        this.defaultClass = defaultClass;
+    }
+
+    public Map<String, TieringPolicy> getClasses() {
+        return classes;
+    }
+
+    public void setClasses(Map<String, TieringPolicy> classes) {
+        this.classes = classes;
+    }
+
+    /**
+     * Resolves the tiering policy of a space.
+     *
+     * @param tieringClass the requested tiering class (may be {@code null} to use the default class)
+     * @return the tiering policy or empty, if no tiering class is requested or configured as default
+     * @throws StorageManagerException thrown, if the tiering class is not defined
+     */
+    public Optional<TieringPolicy> resolve(String tieringClass) throws StorageManagerException {
+        String name = tieringClass == null || tieringClass.isBlank() ? defaultClass : tieringClass;
+        if (name == null || name.isBlank()) {
+            return Optional.empty();
+        }
+        TieringPolicy policy = classes.get(name);
+        if (policy == null) {
+            throw new StorageManagerException(UNKNOWN_TIERING_CLASS, name);
+        }
+        return Optional.of(policy);
+    }
+
+    /**
+     * Tiering thresholds in days - each threshold is optional, unset thresholds are not part of the lifecycle rule.
+     */
+    public static class TieringPolicy {
+
+        private Integer coolAfterDays;
+        private Integer archiveAfterDays;
+        private Integer deleteAfterDays;
+        private Integer versionsCoolAfterDays;
+        private Integer versionsArchiveAfterDays;
+        private Integer versionsDeleteAfterDays;
+
+        /**
+         * Days after last modification until current objects are moved to the cool tier
+         *
+         * @return the threshold
+         */
+        public Integer getCoolAfterDays() {
+            return coolAfterDays;
+        }
+
+        public void setCoolAfterDays(Integer coolAfterDays) {
+            this.coolAfterDays = coolAfterDays;
+        }
+
+        /**
+         * Days after last modification until current objects are moved to the archive tier
+         *
+         * @return the threshold
+         */
+        public Integer getArchiveAfterDays() {
+            return archiveAfterDays;
+        }
+
+        public void setArchiveAfterDays(Integer archiveAfterDays) {
+            this.archiveAfterDays = archiveAfterDays;
+        }
+
+        /**
+         * Days after last modification until current objects are deleted
+         *
+         * @return the threshold
+         */
+        public Integer getDeleteAfterDays() {
+            return deleteAfterDays;
+        }
+
+        public void setDeleteAfterDays(Integer deleteAfterDays) {
+            this.deleteAfterDays = deleteAfterDays;
+        }
+
+        /**
+         * Days after creation until object versions are moved to the cool tier
+         *
+         * @return the threshold
+         */
+        public Integer getVersionsCoolAfterDays() {
+            return versionsCoolAfterDays;
+        }
+
+        public void setVersionsCoolAfterDays(Integer versionsCoolAfterDays) {
+            this.versionsCoolAfterDays = versionsCoolAfterDays;
+        }
+
+        /**
+         * Days after creation until object versions are moved to the archive tier
+         *
+         * @return the threshold
+         */
+        public Integer getVersionsArchiveAfterDays() {
+            return versionsArchiveAfterDays;
+        }
+
+        public void setVersionsArchiveAfterDays(Integer versionsArchiveAfterDays) {
+            this.versionsArchiveAfterDays = versionsArchiveAfterDays;
+        }
+
+        /**
+         * Days after creation until object versions are deleted
+         *
+         * @return the threshold
+         */
+        public Integer getVersionsDeleteAfterDays() {
+            return versionsDeleteAfterDays;
+        }
+
+        public void setVersionsDeleteAfterDays(Integer versionsDeleteAfterDays) {
+            this.versionsDeleteAfterDays = versionsDeleteAfterDays;
+        }
+
+        @AssertTrue(message = "thresholds must not be negative and must increase from cool to archive to delete")
+        public boolean isOrdered() {
+            return increasing(coolAfterDays, archiveAfterDays, deleteAfterDays);
+        }
+
+        @AssertTrue(message = "version thresholds must not be negative and must increase from cool to archive to delete")
+        public boolean isVersionsOrdered() {
+            return increasing(versionsCoolAfterDays, versionsArchiveAfterDays, versionsDeleteAfterDays);
+        }
+
+        private static boolean increasing(Integer... thresholds) {
+            Integer previous = null;
+            for (Integer threshold : thresholds) {
+                if (threshold == null) {
+                    continue;
+                }
+                if (threshold < 0 || previous != null && threshold <= previous) {
+                    return false;
+                }
+                previous = threshold;
+            }
+            return true;
+        }
+    }
+}
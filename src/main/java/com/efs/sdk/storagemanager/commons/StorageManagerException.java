@@ -17,21 +17,30 @@ package com.efs.sdk.storagemanager.commons;
 
 import org.springframework.http.HttpStatus;
 
+import java.time.Duration;
+
 public class StorageManagerException extends Exception {
 
     private final int errorCode;
     private final HttpStatus httpStatus;
+    private final Duration retryAfter;
 
     public StorageManagerException(STORAGEMANAGER_ERROR error) {
         super(error.code + ": " + error.msg);
         httpStatus = error.status;
         errorCode = error.code;
+        retryAfter = null;
     }
 
     public StorageManagerException(STORAGEMANAGER_ERROR error, String additionalMessage) {
+        this(error, additionalMessage, null);
+    }
+
+    public StorageManagerException(STORAGEMANAGER_ERROR error, String additionalMessage, Duration retryAfter) {
         super(error.code + ": " + error.msg + " " + additionalMessage);
         httpStatus = error.status;
         errorCode = error.code;
+        this.retryAfter = retryAfter;
     }
 
     public StorageManagerException(String message) {
@@ -57,6 +66,32 @@ public class StorageManagerException extends Exception {
         UNABLE_LOAD_INTERNAL_RESOURCE(20041, HttpStatus.INTERNAL_SERVER_ERROR, "unable to load internal resource"),
         UNABLE_FIND_SPC_POLICY(20051, HttpStatus.CONFLICT, "unable to find policy"),
         MULTIPLE_POLICIES_FOUND(20052, HttpStatus.CONFLICT, "multiple policies found"),
+        UNKNOWN_REGION(20061, HttpStatus.BAD_REQUEST, "region is not part of the region catalog"),
+        UNKNOWN_STORAGE_PROFILE(20062, HttpStatus.BAD_REQUEST, "storage profile is not defined"),
+        UNKNOWN_TIERING_CLASS(20063, HttpStatus.BAD_REQUEST, "tiering class is not defined"),
+        LIFECYCLE_RULE_LIMIT_EXCEEDED(20064, HttpStatus.CONFLICT, "lifecycle rule limit of the storage account reached"),
+        JOB_NOT_FOUND(20071, HttpStatus.NOT_FOUND, "job not found"),
+        JOB_QUEUE_FULL(20072, HttpStatus.SERVICE_UNAVAILABLE, "too many pending jobs, retry later"),
+        IDEMPOTENCY_KEY_REUSED(20081, HttpStatus.UNPROCESSABLE_ENTITY, "idempotency key was already used for a different request"),
+        ORGANIZATION_BUSY(20091, HttpStatus.SERVICE_UNAVAILABLE, "organization is busy with other operations, retry later"),
+        BULK_TOO_LARGE(20101, HttpStatus.BAD_REQUEST, "too many items in bulk request"),
+        PROVISIONING_CAPACITY_EXHAUSTED(20111, HttpStatus.TOO_MANY_REQUESTS, "provisioning capacity exhausted, retry later"),
+        BACKEND_UNAVAILABLE(20121, HttpStatus.SERVICE_UNAVAILABLE, "storage backend operation is failing, retry later"),
+        BACKEND_BUSY(20122, HttpStatus.SERVICE_UNAVAILABLE, "too many concurrent storage backend operations, retry later"),
+        BACKEND_TIMEOUT(20123, HttpStatus.GATEWAY_TIMEOUT, "storage backend operation timed out"),
+        ORGANIZATION_CONTEXT_NOT_FOUND(20131, HttpStatus.NOT_FOUND, "storage context of organization not found"),
+        SPACE_CONTEXT_NOT_FOUND(20132, HttpStatus.NOT_FOUND, "storage context of space not found"),
+        INVALID_CURSOR(20141, HttpStatus.BAD_REQUEST, "invalid cursor"),
+        USAGE_NOT_AVAILABLE(20151, HttpStatus.NOT_FOUND, "usage not (yet) available"),
+        QUOTA_EXCEEDED(20161, HttpStatus.FORBIDDEN, "quota exceeded"),
+        SPACES_NOT_COUNTED(20162, HttpStatus.SERVICE_UNAVAILABLE, "spaces of the organization are not counted yet, retry later"),
+        ROLLOUT_RUNNING(20171, HttpStatus.CONFLICT, "a rollout is already running"),
+        ROLLOUT_NOT_FOUND(20172, HttpStatus.NOT_FOUND, "no rollout found"),
+        NOT_LEADER(20181, HttpStatus.SERVICE_UNAVAILABLE, "background job is run by another replica, retry later"),
+        ORGANIZATION_NOT_RESTORABLE(20191, HttpStatus.NOT_FOUND, "no deleted storage of the organization is retained"),
+        SPACE_NOT_RESTORABLE(20192, HttpStatus.NOT_FOUND, "no deleted storage of the space is retained"),
+        INVALID_CLONE_TARGET(20201, HttpStatus.BAD_REQUEST, "clone target must be another space of the same organization"),
+        CLONE_TARGET_EXISTS(20202, HttpStatus.CONFLICT, "target space of the clone already exists"),
         STORAGE_ACCOUNT_ALREADY_EXISTS(40000, HttpStatus.CONFLICT, "storage account already exists."),
         STORAGE_ACCOUNT_NAME_TAKEN(40001, HttpStatus.CONFLICT, ""),
         BAD_PERMISSION_AZURE_SERVICE_PRINCIPAL(50000, HttpStatus.BAD_GATEWAY, ""),
@@ -82,4 +117,23 @@ public class StorageManagerException extends Exception {
     public int getErrorCode() {
         return errorCode;
     }
+
+    /**
+     * Checks whether this exception reports the given error
+     *
+     * @param error the error
+     * @return whether the error is reported
+     */
+    public boolean is(STORAGEMANAGER_ERROR error) {
+        return errorCode == error.code;
+    }
+
+    /**
+     * Time after which the client may retry the request
+     *
+     * @return the time or {@code null}, if not known
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
 }
@@ -0,0 +1,147 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.PROVISIONING_CAPACITY_EXHAUSTED;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.UNKNOWN_ERROR;
+
+/**
+ * Bounds the provisioning operations per operation type, so that a burst of requests cannot occupy all request
+ * threads.
+ * <p>
+ * Per operation type a limited number of operations is executed, a limited number waits in a queue - further requests
+ * are rejected immediately with {@code 429}. The {@code Retry-After} of a rejection is estimated from the queue length
+ * and the average duration of the operation type.
+ */
+@Component
+public class AdmissionControl {
+
+    static final String METRIC_PREFIX = "storagemanager.admission";
+    private static final Logger LOG = LoggerFactory.getLogger(AdmissionControl.class);
+    // weight of the latest duration in the moving average
+    private static final double ALPHA = 0.2;
+    private final AdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    public AdmissionControl(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Executes the operation, if there is capacity for its operation type - waiting in the queue, if necessary
+     *
+     * @param operation the operation type, e.g. {@code CREATE_SPACE}
+     * @param action    the operation
+     * @param <T>       the result type
+     * @return the result of the operation
+     * @throws StorageManagerException thrown, if the operation fails or the queue of the operation type is full
+     */
+    public <T> T admit(String operation, AdmittedAction<T> action) throws StorageManagerException {
+        if (!properties.isEnabled()) {
+            return action.run();
+        }
+        Lane lane = lanes.computeIfAbsent(operation.toLowerCase(Locale.ROOT).replace('_', '-'), Lane::new);
+        if (lane.admitted.incrementAndGet() > lane.concurrency + lane.queueCapacity) {
+            lane.admitted.decrementAndGet();
+            lane.rejected.increment();
+            Duration retryAfter = lane.estimateRetryAfter();
+            LOG.warn("rejected {} - capacity exhausted, retry after {}", operation, retryAfter);
+            throw new StorageManagerException(PROVISIONING_CAPACITY_EXHAUSTED, operation, retryAfter);
+        }
+        try {
+            lane.permits.acquire();
+        } catch (InterruptedException e) {
+            lane.admitted.decrementAndGet();
+            Thread.currentThread().interrupt();
+            throw new StorageManagerException(UNKNOWN_ERROR, "interrupted while waiting for capacity");
+        }
+        long start = System.nanoTime();
+        try {
+            return action.run();
+        } finally {
+            lane.permits.release();
+            lane.admitted.decrementAndGet();
+            lane.recordDuration(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * An operation executed under admission control
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface AdmittedAction<T> {
+        T run() throws StorageManagerException;
+    }
+
+    private class Lane {
+
+        private final int concurrency;
+        private final int queueCapacity;
+        private final Semaphore permits;
+        private final AtomicInteger admitted = new AtomicInteger();
+        private final Counter rejected;
+        private volatile double averageNanos;
+
+        Lane(String operation) {
+            AdmissionProperties.Limits limits = properties.getLimits(operation);
+            this.concurrency = Math.max(1, limits.getConcurrency());
+            this.queueCapacity = Math.max(0, limits.getQueueCapacity());
+            this.permits = new Semaphore(concurrency, true);
+            this.averageNanos = properties.getInitialEstimate().toNanos();
+            Gauge.builder(METRIC_PREFIX + ".running", permits, p -> concurrency - p.availablePermits()).tag("operation", operation)
+                    .description("Operations being executed").register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".queued", this, l -> Math.max(0, l.admitted.get() - (concurrency - l.permits.availablePermits())))
+                    .tag("operation", operation).description("Operations waiting for execution").register(meterRegistry);
+            this.rejected = Counter.builder(METRIC_PREFIX + ".rejected").tag("operation", operation)
+                    .description("Operations rejected because of exhausted capacity").register(meterRegistry);
+        }
+
+        void recordDuration(long nanos) {
+            averageNanos = ALPHA * nanos + (1 - ALPHA) * averageNanos;
+        }
+
+        /**
+         * All queued operations have to be executed before a retry can be admitted - they are executed in rounds of
+         * {@code concurrency} operations
+         */
+        Duration estimateRetryAfter() {
+            int queued = Math.max(0, admitted.get() - concurrency);
+            double rounds = Math.ceil((queued + 1) / (double) concurrency);
+            Duration estimate = Duration.ofNanos((long) (rounds * averageNanos));
+            Duration max = properties.getMaxRetryAfter();
+            return estimate.compareTo(max) > 0 ? max : estimate;
+        }
+    }
+}
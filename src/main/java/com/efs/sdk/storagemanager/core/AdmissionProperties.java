@@ -0,0 +1,121 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Capacity of the provisioning operations per operation type (e.g. {@code create-space}, {@code delete-organization}).
+ * <p>
+ * Per operation type at most {@code concurrency} operations are executed and at most {@code queue-capacity} operations
+ * wait for execution - further requests are rejected immediately.
+ */
+@ConfigurationProperties(prefix = "storagemanager.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+    private Limits defaults = new Limits(8, 16);
+    private Map<String, Limits> operations = new HashMap<>();
+    /**
+     * Estimated duration of an operation, until durations have been measured
+     */
+    private Duration initialEstimate = Duration.ofSeconds(10);
+    private Duration maxRetryAfter = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Limits getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Limits defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Limits> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(Map<String, Limits> operations) {
+        this.operations = operations;
+    }
+
+    public Duration getInitialEstimate() {
+        return initialEstimate;
+    }
+
+    public void setInitialEstimate(Duration initialEstimate) {
+        this.initialEstimate = initialEstimate;
+    }
+
+    public Duration getMaxRetryAfter() {
+        return maxRetryAfter;
+    }
+
+    public void setMaxRetryAfter(Duration maxRetryAfter) {
+        this.maxRetryAfter = maxRetryAfter;
+    }
+
+    /**
+     * Gets the limits of an operation type
+     *
+     * @param operation the operation type (e.g. {@code create-space})
+     * @return the configured limits or the defaults
+     */
+    public Limits getLimits(String operation) {
+        return operations.getOrDefault(operation, defaults);
+    }
+
+    public static class Limits {
+
+        private int concurrency;
+        private int queueCapacity;
+
+        public Limits() {
+        }
+
+        public Limits(int concurrency, int queueCapacity) {
+            this.concurrency = concurrency;
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+}
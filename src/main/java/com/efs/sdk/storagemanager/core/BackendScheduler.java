@@ -0,0 +1,272 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.UNKNOWN_ERROR;
+
+/**
+ * Schedules the calls to the storage backend, so that bulk work cannot starve interactive requests and a single
+ * organization cannot starve the others.
+ * <p>
+ * A limited number of backend calls is executed concurrently. Waiting calls are queued in priority lanes - interactive
+ * requests and bulk work (bulk requests, recovery, reconciliation) - which share the backend by their weights (smooth
+ * weighted round robin). The bulk lane uses a limited number of slots only, so the remaining slots stay free for
+ * interactive requests even while bulk work saturates the backend. Within a lane the organizations share the backend by weighted fair queuing: each organization
+ * gets its weight's share of the dispatched calls, irrespective of how many calls it has queued.
+ * <p>
+ * Callers select their lane with {@link #inLane(Lane, ScheduledCall)}; calls default to the interactive lane.
+ */
+@Component
+public class BackendScheduler {
+
+    static final String METRIC_PREFIX = "storagemanager.scheduler";
+    private static final ThreadLocal<Lane> CURRENT_LANE = new ThreadLocal<>();
+    private final SchedulerProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Lane, LaneQueue> lanes = new EnumMap<>(Lane.class);
+    private int freeSlots;
+
+    public BackendScheduler(SchedulerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.freeSlots = Math.max(1, properties.getSlots());
+        for (Lane lane : Lane.values()) {
+            LaneQueue queue = new LaneQueue(lane, meterRegistry);
+            lanes.put(lane, queue);
+        }
+    }
+
+    /**
+     * Executes work in the given lane - all backend calls of the work are scheduled in this lane
+     *
+     * @param lane the lane
+     * @param work the work
+     * @param <T>  the result type
+     * @return the result of the work
+     * @throws StorageManagerException thrown, if the work fails
+     */
+    public static <T> T inLane(Lane lane, ScheduledCall<T> work) throws StorageManagerException {
+        Lane previous = CURRENT_LANE.get();
+        CURRENT_LANE.set(lane);
+        try {
+            return work.run();
+        } finally {
+            if (previous == null) {
+                CURRENT_LANE.remove();
+            } else {
+                CURRENT_LANE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Executes a backend call as soon as it is its turn
+     *
+     * @param organization the organization the call works on
+     * @param call         the backend call
+     * @param <T>          the result type
+     * @return the result of the call
+     * @throws StorageManagerException thrown, if the call fails
+     */
+    public <T> T execute(String organization, ScheduledCall<T> call) throws StorageManagerException {
+        if (!properties.isEnabled()) {
+            return call.run();
+        }
+        LaneQueue queue = lanes.get(Optional.ofNullable(CURRENT_LANE.get()).orElse(Lane.INTERACTIVE));
+        Ticket ticket = new Ticket(Objects.toString(organization, ""));
+        lock.lock();
+        try {
+            queue.enqueue(ticket);
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            ticket.granted.await();
+        } catch (InterruptedException e) {
+            lock.lock();
+            try {
+                if (!queue.remove(ticket)) {
+                    // granted in the meantime
+                    release(queue);
+                }
+            } finally {
+                lock.unlock();
+            }
+            Thread.currentThread().interrupt();
+            throw new StorageManagerException(UNKNOWN_ERROR, "interrupted while waiting for the storage backend");
+        }
+        queue.waitTime.record(System.nanoTime() - ticket.enqueuedAt, TimeUnit.NANOSECONDS);
+        try {
+            return call.run();
+        } finally {
+            lock.lock();
+            try {
+                release(queue);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void release(LaneQueue queue) {
+        queue.running--;
+        freeSlots++;
+        dispatch();
+    }
+
+    private void dispatch() {
+        while (freeSlots > 0) {
+            LaneQueue queue = nextLane();
+            if (queue == null) {
+                return;
+            }
+            Ticket ticket = queue.poll();
+            queue.running++;
+            freeSlots--;
+            ticket.granted.countDown();
+        }
+    }
+
+    /**
+     * Smooth weighted round robin among the lanes with waiting calls and free slots
+     */
+    private LaneQueue nextLane() {
+        LaneQueue next = null;
+        int total = 0;
+        for (LaneQueue queue : lanes.values()) {
+            if (queue.size == 0 || queue.running >= properties.getLaneSlots(queue.lane)) {
+                continue;
+            }
+            int weight = properties.getLaneWeight(queue.lane);
+            queue.currentWeight += weight;
+            total += weight;
+            if (next == null || queue.currentWeight > next.currentWeight) {
+                next = queue;
+            }
+        }
+        if (next != null) {
+            next.currentWeight -= total;
+        }
+        return next;
+    }
+
+    public enum Lane {INTERACTIVE, BULK}
+
+    /**
+     * A call scheduled by the {@link BackendScheduler}
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface ScheduledCall<T> {
+        T run() throws StorageManagerException;
+    }
+
+    private static class Ticket {
+        private final String organization;
+        private final long enqueuedAt = System.nanoTime();
+        private final CountDownLatch granted = new CountDownLatch(1);
+
+        Ticket(String organization) {
+            this.organization = organization;
+        }
+    }
+
+    /**
+     * Waiting calls of a lane, dispatched by weighted fair queuing across organizations. All methods are called while
+     * holding the lock of the scheduler.
+     */
+    private class LaneQueue {
+
+        private final Lane lane;
+        private final Map<String, Deque<Ticket>> waiting = new LinkedHashMap<>();
+        // virtual finish time of the last dispatched call per organization
+        private final Map<String, Double> finishTimes = new HashMap<>();
+        private final Timer waitTime;
+        private double virtualTime;
+        private int currentWeight;
+        private volatile int size;
+        private volatile int running;
+
+        LaneQueue(Lane lane, MeterRegistry meterRegistry) {
+            this.lane = lane;
+            String tag = lane.name().toLowerCase(Locale.ROOT);
+            this.waitTime = Timer.builder(METRIC_PREFIX + ".wait").tag("lane", tag)
+                    .description("Time backend calls waited for their turn").register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".queued", this, q -> q.size).tag("lane", tag)
+                    .description("Backend calls waiting for their turn").register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".running", this, q -> q.running).tag("lane", tag)
+                    .description("Backend calls being executed").register(meterRegistry);
+        }
+
+        void enqueue(Ticket ticket) {
+            waiting.computeIfAbsent(ticket.organization, k -> new ArrayDeque<>()).add(ticket);
+            size++;
+        }
+
+        boolean remove(Ticket ticket) {
+            Deque<Ticket> tickets = waiting.get(ticket.organization);
+            if (tickets == null || !tickets.remove(ticket)) {
+                return false;
+            }
+            if (tickets.isEmpty()) {
+                waiting.remove(ticket.organization);
+            }
+            size--;
+            return true;
+        }
+
+        /**
+         * Dispatches the call of the organization with the earliest virtual finish time
+         */
+        Ticket poll() {
+            String next = null;
+            double nextStart = 0;
+            double nextFinish = Double.MAX_VALUE;
+            for (String organization : waiting.keySet()) {
+                double start = Math.max(finishTimes.getOrDefault(organization, 0d), virtualTime);
+                double finish = start + 1d / properties.getOrganizationWeight(organization);
+                if (finish < nextFinish) {
+                    next = organization;
+                    nextStart = start;
+                    nextFinish = finish;
+                }
+            }
+            Deque<Ticket> tickets = waiting.get(next);
+            Ticket ticket = tickets.poll();
+            if (tickets.isEmpty()) {
+                waiting.remove(next);
+            }
+            size--;
+            virtualTime = nextStart;
+            finishTimes.put(next, nextFinish);
+            // idle organizations start at the current virtual time anyway
+            finishTimes.entrySet().removeIf(e -> e.getValue() <= virtualTime && !waiting.containsKey(e.getKey()));
+            return ticket;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.common.domain.dto.SpaceContextDTO;
+import com.efs.sdk.logging.AuditLogger;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.helper.AuthHelper;
+import com.efs.sdk.storagemanager.model.SpaceStorageOptions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.INSUFFICIENT_PRIVILEGE;
+
+@RequestMapping(value = BulkContextController.ENDPOINT)
+@RestController
+@Tag(name = BulkContextController.ENDPOINT, description = "Bulk operations for managing storage resources of many organizations or spaces.")
+public class BulkContextController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkContextController.class);
+    static final String VERSION = "v2.0";
+    static final String ENDPOINT = "/" + VERSION + "/context/bulk/";
+    static final String NDJSON = "application/x-ndjson";
+
+    private final BulkOperationService bulkOperationService;
+    private final AuthHelper authHelper;
+    private final ObjectMapper objectMapper;
+
+    public BulkContextController(AuthHelper authHelper, BulkOperationService bulkOperationService, ObjectMapper objectMapper) {
+        this.authHelper = authHelper;
+        this.bulkOperationService = bulkOperationService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Operation(
+            summary = "Create the Storage Contexts of many Spaces.",
+            description = """
+                    Creates the storage contexts of the given spaces (which may belong to different organizations). <br>
+                    Spaces of different organizations are provisioned in parallel. The result of each space is streamed as one line of
+                    newline-delimited JSON as soon as it is finished - failed spaces are reported with their error and do not abort the others. <br>
+                    Only superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Started the bulk operation - the results of the spaces are streamed.")
+    @ApiResponse(responseCode = "400", description = "Bad request. Too many spaces or possible validation error.")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User is not a superuser.")
+    @PostMapping(path = "space", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> createSpaceContexts(
+            @Parameter(hidden = true) JwtAuthenticationToken token,
+            @Valid @RequestBody @Parameter(description = "The spaces - each with its organization.") List<SpaceContextDTO> payload,
+            @RequestParam(required = false) @Parameter(description = "Tiering class of all spaces' storage (must be defined in the configuration).") String tiering
+    ) throws StorageManagerException {
+        checkSuperuser(token, "create space contexts");
+        bulkOperationService.checkSize(payload.size());
+        SpaceStorageOptions options = SpaceStorageOptions.defaults().setTieringClass(tiering);
+        return ndjson(out -> bulkOperationService.createSpaceContexts(payload, options, result -> writeLine(out, result)));
+    }
+
+    @Operation(
+            summary = "Delete the Storage Contexts of many Organizations.",
+            description = """
+                    Deletes the storage contexts of the given organizations along with all their associated resources. <br>
+                    Organizations are deleted in parallel. The result of each organization is streamed as one line of newline-delimited JSON
+                    as soon as it is finished - failed organizations are reported with their error and do not abort the others. <br>
+                    Only superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Started the bulk operation - the results of the organizations are streamed.")
+    @ApiResponse(responseCode = "400", description = "Bad request. Too many organizations.")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User is not a superuser.")
+    @PostMapping(path = "organization/delete", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> deleteOrganizationContexts(
+            @Parameter(hidden = true) JwtAuthenticationToken token,
+            @RequestBody @Parameter(description = "Names of the organizations whose storage contexts need to be deleted.") List<String> orgaNames
+    ) throws StorageManagerException {
+        checkSuperuser(token, "delete organization contexts");
+        bulkOperationService.checkSize(orgaNames.size());
+        return ndjson(out -> bulkOperationService.deleteOrganizationContexts(orgaNames, result -> writeLine(out, result)));
+    }
+
+    private void checkSuperuser(JwtAuthenticationToken token, String action) throws StorageManagerException {
+        if (!authHelper.isSuperuser(token)) {
+            AuditLogger.error(LOG, "insufficient permissions to {} in bulk", token, action);
+            throw new StorageManagerException(INSUFFICIENT_PRIVILEGE);
+        }
+    }
+
+    private static ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+        out.flush();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.common.domain.dto.SpaceContextDTO;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.jobs.JobConfig;
+import com.efs.sdk.storagemanager.jobs.ProvisioningJob;
+import com.efs.sdk.storagemanager.model.BulkItemResult;
+import com.efs.sdk.storagemanager.model.SpaceStorageOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.*;
+
+/**
+ * Executes bulk operations - many organization or space operations in one request.
+ * <p>
+ * The items are grouped by organization: the items of one organization are executed one after another (they would
+ * wait for the lock of the organization anyway), different organizations are executed in parallel on the shared bulk
+ * worker pool. Each item additionally holds a permit of the backend concurrency limit while it runs, and its backend
+ * calls are scheduled in the bulk lane. A failing item does not abort the bulk operation - its error is reported as its
+ * result.
+ */
+@Service
+public class BulkOperationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkOperationService.class);
+    private static final List<String> BACKENDS = List.of("azure", "s3", "local");
+    private final StorageManagerService storageManagerService;
+    private final ThreadPoolTaskExecutor executor;
+    private final BulkProperties properties;
+    private final Semaphore backendPermits;
+
+    public BulkOperationService(StorageManagerService storageManagerService, @Qualifier(JobConfig.BULK_EXECUTOR) ThreadPoolTaskExecutor executor,
+            BulkProperties properties, Environment environment) {
+        this.storageManagerService = storageManagerService;
+        this.executor = executor;
+        this.properties = properties;
+        String backend = Arrays.stream(environment.getActiveProfiles()).filter(BACKENDS::contains).findFirst().orElse("default");
+        this.backendPermits = new Semaphore(properties.getBackendConcurrency(backend), true);
+        LOG.info("bulk operations on backend '{}' are limited to {} concurrent items", backend, backendPermits.availablePermits());
+    }
+
+    /**
+     * Checks the size of a bulk request before it is executed
+     *
+     * @param size the number of items
+     * @throws StorageManagerException thrown, if the bulk request is too large
+     */
+    public void checkSize(int size) throws StorageManagerException {
+        if (size > properties.getMaxItems()) {
+            throw new StorageManagerException(BULK_TOO_LARGE, size + " > " + properties.getMaxItems());
+        }
+    }
+
+    /**
+     * Creates the storage contexts of many spaces (possibly of different organizations)
+     *
+     * @param spaces  the spaces
+     * @param options provisioning settings applied to all spaces
+     * @param sink    receives the result of each item as soon as it is finished
+     * @throws IOException thrown, if the sink fails - the remaining items are cancelled
+     */
+    public void createSpaceContexts(List<SpaceContextDTO> spaces, SpaceStorageOptions options, ResultSink sink) throws IOException {
+        List<BulkItem> items = new ArrayList<>();
+        for (int i = 0; i < spaces.size(); i++) {
+            SpaceContextDTO space = spaces.get(i);
+            String orgaName = space.getOrganization() == null ? null : space.getOrganization().getName();
+            items.add(new BulkItem(i, orgaName, space.getName(), () -> {
+                if (orgaName == null) {
+                    throw new StorageManagerException(UNABLE_GET_ORGANIZATION, "of space " + space.getName());
+                }
+                storageManagerService.createSpaceContext(space, options, null);
+            }));
+        }
+        execute(items, sink);
+    }
+
+    /**
+     * Deletes the storage contexts of many organizations
+     *
+     * @param orgaNames the names of the organizations
+     * @param sink      receives the result of each item as soon as it is finished
+     * @throws IOException thrown, if the sink fails - the remaining items are cancelled
+     */
+    public void deleteOrganizationContexts(List<String> orgaNames, ResultSink sink) throws IOException {
+        List<BulkItem> items = new ArrayList<>();
+        for (int i = 0; i < orgaNames.size(); i++) {
+            String orgaName = orgaNames.get(i);
+            items.add(new BulkItem(i, orgaName, null, () -> storageManagerService.deleteOrganizationContext(orgaName, null)));
+        }
+        execute(items, sink);
+    }
+
+    private void execute(List<BulkItem> items, ResultSink sink) throws IOException {
+        Map<String, List<BulkItem>> byOrganization = new LinkedHashMap<>();
+        items.forEach(item -> byOrganization.computeIfAbsent(String.valueOf(item.organization()), k -> new ArrayList<>()).add(item));
+
+        BlockingQueue<BulkItemResult> results = new LinkedBlockingQueue<>();
+        List<Future<?>> groups = new ArrayList<>();
+        for (List<BulkItem> group : byOrganization.values()) {
+            groups.add(executor.submit(() -> group.forEach(item -> results.add(run(item)))));
+        }
+        try {
+            for (int i = 0; i < items.size(); i++) {
+                sink.accept(results.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("bulk operation interrupted - cancelling remaining items");
+        } finally {
+            // only has an effect if the client went away or the thread was interrupted
+            groups.forEach(group -> group.cancel(true));
+        }
+    }
+
+    private BulkItemResult run(BulkItem item) {
+        try {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+            backendPermits.acquire();
+            try {
+                BackendScheduler.inLane(BackendScheduler.Lane.BULK, () -> {
+                    item.action().run();
+                    return null;
+                });
+            } finally {
+                backendPermits.release();
+            }
+            return new BulkItemResult(item.index(), item.organization(), item.space(), BulkItemResult.Status.SUCCEEDED, null);
+        } catch (StorageManagerException e) {
+            LOG.warn("bulk item {} ({}/{}) failed: {}", item.index(), item.organization(), item.space(), e.getMessage());
+            return failed(item, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed(item, new StorageManagerException(UNKNOWN_ERROR, "cancelled"));
+        } catch (RuntimeException e) {
+            LOG.error("bulk item {} ({}/{}) failed: {}", item.index(), item.organization(), item.space(), e.getMessage(), e);
+            return failed(item, new StorageManagerException(UNKNOWN_ERROR));
+        }
+    }
+
+    private static BulkItemResult failed(BulkItem item, StorageManagerException e) {
+        return new BulkItemResult(item.index(), item.organization(), item.space(), BulkItemResult.Status.FAILED,
+                new ProvisioningJob.JobError(e.getHttpStatus().value(), e.getErrorCode(), e.getMessage()));
+    }
+
+    /**
+     * Receives the results of a bulk operation
+     */
+    @FunctionalInterface
+    public interface ResultSink {
+        void accept(BulkItemResult result) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface BulkAction {
+        void run() throws StorageManagerException;
+    }
+
+    private record BulkItem(int index, String organization, String space, BulkAction action) {
+    }
+}
@@ -0,0 +1,70 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limits of bulk operations.
+ * <p>
+ * The items of all bulk requests share one worker pool ({@code storagemanager.bulk.parallelism}); in addition the
+ * number of items concurrently calling the storage backend is limited per backend (azure, s3, local), as the backends
+ * tolerate very different request rates.
+ */
+@ConfigurationProperties(prefix = "storagemanager.bulk")
+public class BulkProperties {
+
+    private int maxItems = 500;
+    private int defaultBackendConcurrency = 4;
+    private Map<String, Integer> backendConcurrency = new HashMap<>();
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public void setMaxItems(int maxItems) {
+        this.maxItems = maxItems;
+    }
+
+    public int getDefaultBackendConcurrency() {
+        return defaultBackendConcurrency;
+    }
+
+    public void setDefaultBackendConcurrency(int defaultBackendConcurrency) {
+        this.defaultBackendConcurrency = defaultBackendConcurrency;
+    }
+
+    public Map<String, Integer> getBackendConcurrency() {
+        return backendConcurrency;
+    }
+
+    public void setBackendConcurrency(Map<String, Integer> backendConcurrency) {
+        this.backendConcurrency = backendConcurrency;
+    }
+
+    /**
+     * Gets the number of items allowed to call the given backend concurrently
+     *
+     * @param backend the backend (the active storage profile, e.g. azure)
+     * @return the concurrency limit
+     */
+    public int getBackendConcurrency(String backend) {
+        return backendConcurrency.getOrDefault(backend, defaultBackendConcurrency);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.model.OrganizationStorageModel;
+import com.efs.sdk.storagemanager.model.SpaceStorageModel;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Looks up the storage contexts in the storage backend - the results (including absent contexts) are cached.
+ * <p>
+ * The cache entries of a context are evicted by the {@link StorageService} whenever it changes the context.
+ */
+@Service
+public class ContextStatusService {
+
+    public static final String ORGANIZATION_CACHE = "organization-contexts";
+    public static final String SPACE_CACHE = "space-contexts";
+    private final StorageClient storageClient;
+    private final BackendScheduler scheduler;
+
+    public ContextStatusService(StorageClient storageClient, BackendScheduler scheduler) {
+        this.storageClient = storageClient;
+        this.scheduler = scheduler;
+    }
+
+    @Cacheable(cacheNames = ORGANIZATION_CACHE, key = "#organization")
+    public Optional<OrganizationStorageModel> getOrganizationStorage(String organization) throws StorageManagerException {
+        return scheduler.execute(organization, () -> storageClient.getOrganizationStorage(organization));
+    }
+
+    @Cacheable(cacheNames = SPACE_CACHE, key = "#organization + '/' + #space")
+    public Optional<SpaceStorageModel> getSpaceStorage(String organization, String space) throws StorageManagerException {
+        return scheduler.execute(organization, () -> storageClient.getSpaceStorage(organization, space));
+    }
+
+    /**
+     * Evicts the cached organization and all cached spaces (spaces are evicted regardless of their organization, as
+     * they cannot be looked up by organization)
+     *
+     * @param organization the name of the organization
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = ORGANIZATION_CACHE, key = "#organization"),
+            @CacheEvict(cacheNames = SPACE_CACHE, allEntries = true)
+    })
+    public void evictOrganization(String organization) {
+        // evicted by the annotations
+    }
+
+    @CacheEvict(cacheNames = SPACE_CACHE, key = "#organization + '/' + #space")
+    public void evictSpace(String organization, String space) {
+        // evicted by the annotations
+    }
+}
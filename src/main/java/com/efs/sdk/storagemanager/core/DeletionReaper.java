@@ -0,0 +1,201 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.model.Tombstone;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purges the data of deleted organizations and spaces in the background, so that the duration of a deletion does not
+ * depend on the amount of data.
+ * <p>
+ * A deletion only revokes the access to the storage (see {@link StorageClient#revokeSpaceStorage}) and leaves a
+ * {@link Tombstone} in the {@link TombstoneStore}; contexts with a tombstone are hidden from the inventory. Each reaper
+ * cycle purges the data of the tombstones - oldest first, in the bulk lane of the {@link BackendScheduler} and under
+ * the organization lock - until the budget of the cycle (objects per second times interval) is used up. A tombstone is
+ * removed once its data is gone. Recreating a deleted context purges its remaining data right away, restoring it
+ * removes its tombstone.
+ * <p>
+ * Replicas share the tombstone directory, so each purge re-reads its tombstone under the organization lock. A context
+ * which has storage again (i.e. was recreated by another replica which missed the tombstone) is never purged - its
+ * tombstone is dropped instead.
+ */
+@Service
+public class DeletionReaper {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeletionReaper.class);
+    private static final String METRIC_PREFIX = "storagemanager.reaper";
+    private static final String REAP = "REAP";
+    private final StorageClient storageClient;
+    private final BackendScheduler scheduler;
+    private final OrganizationLocks locks;
+    private final TombstoneStore store;
+    private final ReaperProperties properties;
+    private final ScheduledExecutorService timer;
+    private final Counter purgedObjects;
+    private final Counter failures;
+
+    public DeletionReaper(StorageClient storageClient, BackendScheduler scheduler, OrganizationLocks locks, TombstoneStore store,
+            ReaperProperties properties, MeterRegistry meterRegistry) {
+        this.storageClient = storageClient;
+        this.scheduler = scheduler;
+        this.locks = locks;
+        this.store = store;
+        this.properties = properties;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deletion-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.purgedObjects = Counter.builder(METRIC_PREFIX + ".purged").description("Objects purged from deleted contexts").register(meterRegistry);
+        this.failures = Counter.builder(METRIC_PREFIX + ".failures").description("Failed purges of deleted contexts").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".tombstones", store, TombstoneStore::size).description("Deleted contexts whose data is not purged yet")
+                .register(meterRegistry);
+        if (properties.isEnabled()) {
+            timer.scheduleWithFixedDelay(this::reap, properties.getInitialDelay().toMillis(), properties.getInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Whether deletions are deferred, i.e. only revoke the access and leave the data to the reaper
+     *
+     * @return whether deletions are deferred
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Records the deletion of an organization or space whose access has been revoked
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space ({@code null} for the organization)
+     */
+    public void deleted(String organization, String space) {
+        store.put(new Tombstone(organization, space, Instant.now(), 0));
+    }
+
+    /**
+     * Purges the remaining data of a deleted organization or space right away (e.g. because it is recreated)
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space ({@code null} for the organization)
+     * @throws StorageManagerException thrown, if the purge fails
+     */
+    public void purgeNow(String organization, String space) throws StorageManagerException {
+        purge(organization, space, Long.MAX_VALUE);
+    }
+
+    /**
+     * Stops purging the data of a deleted organization or space, because it has been restored. Must be called under
+     * the organization lock, so that no purge of the context is running.
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space ({@code null} for the organization)
+     */
+    public void restored(String organization, String space) {
+        store.reload(organization, space).ifPresent(tombstone -> {
+            LOG.info("restored deleted '{}' - {} objects had been purged", key(tombstone), tombstone.purged());
+            store.remove(organization, space);
+        });
+    }
+
+    /**
+     * Runs a reaper cycle: purges the data of the tombstones until the budget of the cycle is used up
+     */
+    void reap() {
+        long budget = Math.max(1, properties.getObjectsPerSecond() * properties.getInterval().toMillis() / 1000);
+        for (Tombstone tombstone : store.list()) {
+            if (budget <= 0) {
+                break;
+            }
+            try {
+                long remaining = budget;
+                budget -= BackendScheduler.inLane(BackendScheduler.Lane.BULK, () -> purge(tombstone.organization(), tombstone.space(), remaining));
+            } catch (StorageManagerException | RuntimeException e) {
+                failures.increment();
+                LOG.warn("purging deleted '{}' failed - retrying in the next cycle: {}", key(tombstone), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Purges the data of a deleted organization or space up to the given number of objects - nothing, if it has no
+     * tombstone
+     *
+     * @return the number of purged objects
+     */
+    private long purge(String organization, String space, long budget) throws StorageManagerException {
+        return locks.withLock(organization, REAP, () -> {
+            // the tombstone may have been purged by a recreation or written by another replica in the meantime
+            Tombstone current = store.reload(organization, space).orElse(null);
+            if (current == null) {
+                return 0L;
+            }
+            if (hasStorage(organization, space)) {
+                LOG.warn("deleted '{}' has storage again - dropping its tombstone without purging", key(current));
+                store.remove(organization, space);
+                return 0L;
+            }
+            long purged = 0;
+            boolean complete = false;
+            while (!complete && purged < budget) {
+                int limit = (int) Math.min(properties.getBatchSize(), budget - purged);
+                int deleted = scheduler.execute(organization, () -> space == null
+                        ? storageClient.purgeOrganizationStorage(organization, limit)
+                        : storageClient.purgeSpaceStorage(organization, space, limit));
+                purged += deleted;
+                complete = deleted < limit;
+            }
+            purgedObjects.increment(purged);
+            if (complete) {
+                store.remove(organization, space);
+                LOG.info("purged deleted '{}' ({} objects)", key(current), current.purged() + purged);
+            } else {
+                store.put(current.withPurged(current.purged() + purged));
+            }
+            return purged;
+        });
+    }
+
+    private boolean hasStorage(String organization, String space) throws StorageManagerException {
+        return scheduler.execute(organization, () -> space == null
+                ? storageClient.getOrganizationStorage(organization).isPresent()
+                : storageClient.getSpaceStorage(organization, space).isPresent());
+    }
+
+    private static String key(Tombstone tombstone) {
+        return tombstone.space() == null ? tombstone.organization() : tombstone.organization() + "/" + tombstone.space();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+}
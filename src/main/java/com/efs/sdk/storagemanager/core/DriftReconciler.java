@@ -0,0 +1,222 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.helper.Utils;
+import com.efs.sdk.storagemanager.lease.LeaderElection;
+import com.efs.sdk.storagemanager.model.Drift;
+import com.efs.sdk.storagemanager.model.InventoryItem;
+import com.efs.sdk.storagemanager.model.InventoryPage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compares the configuration of all organizations and spaces in the storage backend with their desired configuration
+ * and repairs the drift (e.g. caused by manual changes in the Azure portal).
+ * <p>
+ * The reconciler works through the {@link InventoryService inventory} page by page - a bounded number of contexts in
+ * parallel, in the bulk lane of the {@link BackendScheduler} - and stops after a configured number of pages per cycle.
+ * After each page the cursor of the next page is written to a checkpoint file, so the next cycle (also after a restart)
+ * continues where the previous one stopped. Only deviating settings are written; repairs take the organization lock,
+ * so they do not interfere with provisioning. With several replicas, only the elected leader of {@value #LEADER_ROLE}
+ * reconciles (see {@link LeaderElection}) - the checkpoint file has to be shared by the replicas, so a new leader
+ * continues at the checkpoint of the previous one.
+ */
+@Service
+public class DriftReconciler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DriftReconciler.class);
+    private static final String METRIC_PREFIX = "storagemanager.reconciler";
+    private static final String RECONCILE = "RECONCILE";
+    static final String LEADER_ROLE = "reconciler";
+    private final StorageClient storageClient;
+    private final BackendScheduler scheduler;
+    private final InventoryService inventoryService;
+    private final OrganizationLocks locks;
+    private final ReconcilerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService timer;
+    private final Counter failures;
+    private final AtomicInteger driftedInPass = new AtomicInteger();
+    private final AtomicInteger driftedInLastPass = new AtomicInteger();
+
+    public DriftReconciler(StorageClient storageClient, BackendScheduler scheduler, InventoryService inventoryService, OrganizationLocks locks,
+            ReconcilerProperties properties, LeaderElection leaderElection, MeterRegistry meterRegistry) {
+        this.storageClient = storageClient;
+        this.scheduler = scheduler;
+        this.inventoryService = inventoryService;
+        this.locks = locks;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "reconciler-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reconciler-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.failures = Counter.builder(METRIC_PREFIX + ".failures").description("Contexts which could not be reconciled").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".drifted", driftedInLastPass, AtomicInteger::get).description("Contexts with drift in the last complete pass")
+                .register(meterRegistry);
+        if (properties.isEnabled() && Utils.isTemporary(properties.getCheckpoint())) {
+            LOG.warn("reconciler checkpoint {} is kept in the temporary directory - a new leader or a restarted pod starts the pass over",
+                    properties.getCheckpoint());
+        }
+        if (properties.isEnabled()) {
+            timer.scheduleWithFixedDelay(() -> leaderElection.runIfLeader(LEADER_ROLE, this::reconcile), properties.getInitialDelay().toMillis(), properties.getInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs a reconciliation cycle: reconciles the pages of the inventory from the checkpoint on until the cycle budget
+     * is used up or the pass over the inventory is complete
+     */
+    void reconcile() {
+        try {
+            String cursor = readCheckpoint();
+            for (int pages = 0; pages < properties.getPagesPerCycle(); pages++) {
+                InventoryPage page = inventoryService.getPage(cursor, properties.getPageSize());
+                reconcileAll(page.items());
+                cursor = page.next();
+                writeCheckpoint(cursor);
+                if (cursor == null) {
+                    driftedInLastPass.set(driftedInPass.getAndSet(0));
+                    LOG.info("reconciliation pass complete - {} contexts with drift", driftedInLastPass.get());
+                    return;
+                }
+            }
+        } catch (StorageManagerException | RuntimeException e) {
+            LOG.warn("reconciliation cycle failed - continuing at the checkpoint next cycle: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reconcileAll(List<InventoryItem> items) throws InterruptedException {
+        List<Future<?>> tasks = new ArrayList<>(items.size());
+        for (InventoryItem item : items) {
+            tasks.add(workers.submit(() -> reconcileItem(item)));
+        }
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                LOG.warn("reconciliation failed: {}", e.getCause().getMessage());
+            }
+        }
+    }
+
+    private void reconcileItem(InventoryItem item) {
+        String organization = item.organization();
+        try {
+            List<Drift> drifts = BackendScheduler.inLane(BackendScheduler.Lane.BULK, () -> {
+                if (!properties.isRepair()) {
+                    return scheduler.execute(organization, () -> reconcileContext(item, false));
+                }
+                return locks.withLock(organization, RECONCILE, () -> scheduler.execute(organization, () -> reconcileContext(item, true)));
+            });
+            for (Drift drift : drifts) {
+                meterRegistry.counter(METRIC_PREFIX + ".drift", "setting", drift.setting()).increment();
+                if (properties.isRepair()) {
+                    meterRegistry.counter(METRIC_PREFIX + ".repaired", "setting", drift.setting()).increment();
+                }
+                LOG.warn("{} '{}' of {}: expected '{}', found '{}'", properties.isRepair() ? "repaired" : "detected drift of", drift.setting(),
+                        drift.space() == null ? organization : organization + "/" + drift.space(), drift.expected(), drift.actual());
+            }
+            if (!drifts.isEmpty()) {
+                driftedInPass.incrementAndGet();
+            }
+        } catch (StorageManagerException | RuntimeException e) {
+            failures.increment();
+            LOG.warn("reconciling {} failed: {}", item.space() == null ? organization : organization + "/" + item.space(), e.getMessage());
+        }
+    }
+
+    private List<Drift> reconcileContext(InventoryItem item, boolean repair) throws StorageManagerException {
+        return item.space() == null
+                ? storageClient.reconcileOrganization(item.organization(), repair)
+                : storageClient.reconcileSpace(item.organization(), item.space(), repair);
+    }
+
+    private String readCheckpoint() {
+        Path checkpoint = properties.getCheckpoint();
+        try {
+            if (!Files.exists(checkpoint)) {
+                return null;
+            }
+            String cursor = Files.readString(checkpoint, UTF_8).trim();
+            return cursor.isEmpty() ? null : cursor;
+        } catch (IOException e) {
+            throw new UncheckedIOException("unable to read reconciler checkpoint " + checkpoint, e);
+        }
+    }
+
+    private void writeCheckpoint(String cursor) {
+        Path checkpoint = properties.getCheckpoint();
+        try {
+            if (cursor == null) {
+                Files.deleteIfExists(checkpoint);
+                return;
+            }
+            Path tmp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+            Files.createDirectories(checkpoint.toAbsolutePath().getParent());
+            Files.writeString(tmp, cursor, UTF_8);
+            try {
+                Files.move(tmp, checkpoint, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("unable to write reconciler checkpoint " + checkpoint, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+}
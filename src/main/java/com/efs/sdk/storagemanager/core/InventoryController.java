@@ -0,0 +1,124 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.logging.AuditLogger;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.helper.AuthHelper;
+import com.efs.sdk.storagemanager.jobs.ProvisioningJob;
+import com.efs.sdk.storagemanager.model.InventoryPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.INSUFFICIENT_PRIVILEGE;
+
+@RequestMapping(value = InventoryController.ENDPOINT)
+@RestController
+@Tag(name = InventoryController.ENDPOINT, description = "Inventory of all organizations and spaces with storage.")
+public class InventoryController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InventoryController.class);
+    static final String VERSION = "v2.0";
+    static final String ENDPOINT = "/" + VERSION + "/context/inventory/";
+
+    private final InventoryService inventoryService;
+    private final AuthHelper authHelper;
+    private final ObjectMapper objectMapper;
+
+    public InventoryController(AuthHelper authHelper, InventoryService inventoryService, ObjectMapper objectMapper) {
+        this.authHelper = authHelper;
+        this.inventoryService = inventoryService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Operation(
+            summary = "List the organizations and spaces with storage.",
+            description = """
+                    Returns a page of the organizations and spaces with storage in the active storage backend - each organization is followed by its
+                    spaces. The next page is requested with the cursor returned as next; the last page has no next cursor. <br>
+                    Only superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully listed the page.")
+    @ApiResponse(responseCode = "400", description = "Bad request. Invalid cursor.")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User is not a superuser.")
+    @GetMapping
+    public ResponseEntity<InventoryPage> getInventory(
+            @Parameter(hidden = true) JwtAuthenticationToken token,
+            @RequestParam(required = false) @Parameter(description = "Cursor of the page (omit for the first page).") String cursor,
+            @RequestParam(defaultValue = "" + InventoryService.DEFAULT_PAGE_SIZE) @Parameter(description = "Maximum number of items of the page (at most " + InventoryService.MAX_PAGE_SIZE + ").") int limit
+    ) throws StorageManagerException {
+        checkSuperuser(token);
+        return new ResponseEntity<>(inventoryService.getPage(cursor, limit), HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Stream all organizations and spaces with storage.",
+            description = """
+                    Streams the whole inventory as newline-delimited JSON - one line per organization or space, each organization followed by its
+                    spaces. If the listing fails, the stream ends with a line containing the error. <br>
+                    Only superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Started the listing - the items are streamed.")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User is not a superuser.")
+    @GetMapping(path = "stream", produces = BulkContextController.NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamInventory(
+            @Parameter(hidden = true) JwtAuthenticationToken token
+    ) throws StorageManagerException {
+        checkSuperuser(token);
+        StreamingResponseBody body = out -> {
+            try {
+                inventoryService.stream(item -> writeLine(out, item));
+            } catch (StorageManagerException e) {
+                LOG.error("streaming the inventory failed: {}", e.getMessage(), e);
+                writeLine(out, Map.of("error", new ProvisioningJob.JobError(e.getHttpStatus().value(), e.getErrorCode(), e.getMessage())));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(BulkContextController.NDJSON)).body(body);
+    }
+
+    private void checkSuperuser(JwtAuthenticationToken token) throws StorageManagerException {
+        if (!authHelper.isSuperuser(token)) {
+            AuditLogger.error(LOG, "insufficient permissions to list the inventory", token);
+            throw new StorageManagerException(INSUFFICIENT_PRIVILEGE);
+        }
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+        out.flush();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.model.InventoryItem;
+import com.efs.sdk.storagemanager.model.InventoryPage;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.INVALID_CURSOR;
+
+/**
+ * Lists all organizations and spaces with storage in the active storage backend.
+ * <p>
+ * The inventory is read page by page: each organization is followed by its spaces, and the cursor of a page is the
+ * last item of the page, so the next page continues right after it. Neither the service nor the storage backend keeps
+ * more than a page in memory. The listing is scheduled in the bulk lane of the {@link BackendScheduler}. Deleted
+ * contexts whose data is not purged yet (see {@link DeletionReaper}) are left out.
+ */
+@Service
+public class InventoryService {
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+    private static final char SEPARATOR = '/';
+    private final StorageClient storageClient;
+    private final BackendScheduler scheduler;
+    private final TombstoneStore tombstones;
+
+    public InventoryService(StorageClient storageClient, BackendScheduler scheduler, TombstoneStore tombstones) {
+        this.storageClient = storageClient;
+        this.scheduler = scheduler;
+        this.tombstones = tombstones;
+    }
+
+    /**
+     * Gets a page of the inventory
+     *
+     * @param cursor the cursor of the page ({@code null} for the first page)
+     * @param limit  the maximum number of items (capped at {@value #MAX_PAGE_SIZE})
+     * @return the page
+     * @throws StorageManagerException thrown, if the cursor is invalid or the listing fails
+     */
+    public InventoryPage getPage(String cursor, int limit) throws StorageManagerException {
+        InventoryItem after = decode(cursor);
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return BackendScheduler.inLane(BackendScheduler.Lane.BULK, () -> page(after, size));
+    }
+
+    /**
+     * Streams the whole inventory - one page at a time
+     *
+     * @param sink receives the items
+     * @throws StorageManagerException thrown, if the listing fails
+     * @throws IOException             thrown, if the sink fails
+     */
+    public void stream(ItemSink sink) throws StorageManagerException, IOException {
+        String cursor = null;
+        do {
+            InventoryPage page = getPage(cursor, DEFAULT_PAGE_SIZE);
+            for (InventoryItem item : page.items()) {
+                sink.accept(item);
+            }
+            cursor = page.next();
+        } while (cursor != null);
+    }
+
+    private InventoryPage page(InventoryItem after, int limit) throws StorageManagerException {
+        List<InventoryItem> items = new ArrayList<>(limit);
+        Deque<String> organizations = new ArrayDeque<>();
+        boolean organizationsExhausted = false;
+        String organization = after == null ? null : after.organization();
+        String spaceAfter = after == null ? null : after.space();
+        boolean inOrganization = after != null;
+        // the position in the listing - deleted contexts are skipped, but the cursor moves past them
+        InventoryItem last = after;
+        while (items.size() < limit) {
+            int requested = limit - items.size();
+            if (inOrganization) {
+                String org = organization;
+                String start = spaceAfter;
+                List<String> spaces = scheduler.execute(org, () -> storageClient.listSpaces(org, start, requested));
+                for (String space : spaces) {
+                    last = new InventoryItem(org, space);
+                    if (!tombstones.isDeleted(org, space)) {
+                        items.add(last);
+                    }
+                }
+                if (spaces.size() == requested) {
+                    break;
+                }
+                inOrganization = false;
+                continue;
+            }
+            if (organizations.isEmpty() && !organizationsExhausted) {
+                String start = organization;
+                List<String> next = scheduler.execute(null, () -> storageClient.listOrganizations(start, requested));
+                organizations.addAll(next);
+                organizationsExhausted = next.size() < requested;
+            }
+            if (organizations.isEmpty()) {
+                return new InventoryPage(items, null);
+            }
+            organization = organizations.poll();
+            spaceAfter = null;
+            last = new InventoryItem(organization, null);
+            if (tombstones.isDeleted(organization, null)) {
+                continue;
+            }
+            inOrganization = true;
+            items.add(last);
+        }
+        return new InventoryPage(items, encode(last));
+    }
+
+    private static String encode(InventoryItem item) {
+        String position = item.space() == null ? item.organization() : item.organization() + SEPARATOR + item.space();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static InventoryItem decode(String cursor) throws StorageManagerException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new StorageManagerException(INVALID_CURSOR, cursor);
+        }
+        int separator = position.indexOf(SEPARATOR);
+        if (position.isEmpty() || separator == 0 || separator == position.length() - 1) {
+            throw new StorageManagerException(INVALID_CURSOR, cursor);
+        }
+        return separator < 0 ? new InventoryItem(position, null) : new InventoryItem(position.substring(0, separator), position.substring(separator + 1));
+    }
+
+    /**
+     * Receives the items of the inventory
+     */
+    @FunctionalInterface
+    public interface ItemSink {
+        void accept(InventoryItem item) throws IOException;
+    }
+}
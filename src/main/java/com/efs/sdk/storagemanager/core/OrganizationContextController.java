@@ -19,6 +19,10 @@ import com.efs.sdk.common.domain.dto.OrganizationContextDTO;
 import com.efs.sdk.logging.AuditLogger;
 import com.efs.sdk.storagemanager.commons.StorageManagerException;
 import com.efs.sdk.storagemanager.helper.AuthHelper;
+import com.efs.sdk.storagemanager.jobs.JobController;
+import com.efs.sdk.storagemanager.model.ContextStatus;
+import com.efs.sdk.storagemanager.model.OrganizationStorageModel;
+import com.efs.sdk.storagemanager.model.OrganizationStorageOptions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -58,20 +62,61 @@ public class OrganizationContextController {
             description = """
                     Create a new storage context for a given organization. 
                     This entails provisioning all associated resources required for the storage context and depends on the underlying cloud storage.
+                    If no region or performance profile is provided, they are inferred from the configuration. The effective placement is returned,
+                    so that workloads can be colocated with the storage.
+                    In async mode the request returns immediately with a job, whose progress can be polled at the returned location.
+                    Identical concurrent requests are executed once; repetitions with the same Idempotency-Key get the outcome of the first request.
                     The special role """ + AuthHelper.ORG_CREATE_PERMISSION_ROLE + " is required to perform this operation."
     )
     @ApiResponse(responseCode = "200", description = "Successfully created the storage context for the organization.")
-    @ApiResponse(responseCode = "400", description = "Bad request. Possible validation error or incorrect data.")
+    @ApiResponse(responseCode = "202", description = "Accepted the creation of the storage context (async mode).")
+    @ApiResponse(responseCode = "400", description = "Bad request. Possible validation error, incorrect data, unknown region or unknown profile.")
     @ApiResponse(responseCode = "403", description = "Forbidden. User doesn't have the required permission.")
+    @ApiResponse(responseCode = "429", description = "Too many requests. Provisioning capacity is exhausted - retry after the time given in the Retry-After header.")
     @ApiResponse(responseCode = "500", description = "Internal server error. An unexpected error occurred on the server.")
+    @ApiResponse(responseCode = "503", description = "Service unavailable. Too many pending jobs (async mode).")
     @PostMapping
     @PreAuthorize("hasRole('" + AuthHelper.ORG_CREATE_PERMISSION_ROLE + "')")
-    public ResponseEntity<Void> createOrganizationContext(
+    public ResponseEntity<Object> createOrganizationContext(
+            @Parameter(hidden = true) JwtAuthenticationToken token,
+            @Valid @RequestBody @Parameter(description = "Data Transfer Object containing information about the organization's storage context.") OrganizationContextDTO dto,
+            @RequestParam(required = false) @Parameter(description = "Preferred region of the organization's storage (must be part of the region catalog).") String region,
+            @RequestParam(required = false) @Parameter(description = "Performance profile of the organization's storage (must be defined in the configuration).") String profile,
+            @RequestParam(required = false) @Parameter(description = "Enable hierarchical namespace (ADLS Gen2) for the organization's storage.") Boolean hierarchicalNamespace,
+            @RequestParam(defaultValue = "false") @Parameter(description = "Provision asynchronously and return a job.") boolean async,
+            @RequestHeader(name = RequestCoalescer.IDEMPOTENCY_KEY_HEADER, required = false) @Parameter(description = "Optional key to safely retry the request - repetitions get the outcome of the first request.") String idempotencyKey
+    ) throws StorageManagerException {
+        OrganizationStorageOptions options = OrganizationStorageOptions.defaults().setRegion(region).setProfile(profile)
+                .setHierarchicalNamespace(hierarchicalNamespace);
+        if (async) {
+            return JobController.accepted(storageManagerService.submitCreateOrganizationContext(dto, options, idempotencyKey));
+        }
+        return new ResponseEntity<>(storageManagerService.createOrganizationContext(dto, options, idempotencyKey), HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Get the status of the storage context of an organization",
+            description = """
+                    Returns the provisioning state and - if the storage exists - its effective placement and settings.
+                    The storage is looked up in a cache, which is invalidated on changes. The response carries an ETag; requests with a matching
+                    If-None-Match header are answered with 304 Not Modified.
+                    Only superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the status of the storage context.")
+    @ApiResponse(responseCode = "304", description = "Not modified. The status matches the ETag given in the If-None-Match header.")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User doesn't have the required permission.")
+    @ApiResponse(responseCode = "404", description = "The organization has no storage context.")
+    @GetMapping(path = "{orgaName}")
+    public ResponseEntity<ContextStatus<OrganizationStorageModel>> getOrganizationContext(
             @Parameter(hidden = true) JwtAuthenticationToken token,
-            @Valid @RequestBody @Parameter(description = "Data Transfer Object containing information about the organization's storage context.") OrganizationContextDTO dto
+            @PathVariable @Parameter(description = "Name of the organization.") String orgaName
     ) throws StorageManagerException {
-        storageManagerService.createOrganizationContext(dto);
-        return new ResponseEntity<>(HttpStatus.OK);
+        if (!authHelper.isSuperuser(token)) {
+            AuditLogger.error(LOG, "insufficient permissions to read organization context of organization {}", token, orgaName);
+            throw new StorageManagerException(INSUFFICIENT_PRIVILEGE);
+        }
+        return new ResponseEntity<>(storageManagerService.getOrganizationContext(orgaName), HttpStatus.OK);
     }
 
     @Operation(
@@ -85,18 +130,49 @@ public class OrganizationContextController {
     @ApiResponse(responseCode = "400", description = "Bad request. Possible validation error or incorrect data.")
     @ApiResponse(responseCode = "403", description = "Forbidden. User doesn't have the required permission to delete the storage context of the given" +
             " organization.")
+    @ApiResponse(responseCode = "429", description = "Too many requests. Provisioning capacity is exhausted - retry after the time given in the Retry-After header.")
     @ApiResponse(responseCode = "500", description = "Internal server error. An unexpected error occurred on the server.")
     @DeleteMapping(path = "{orgaName}")
     public ResponseEntity<Void> deleteOrganizationContext(
             @Parameter(hidden = true) JwtAuthenticationToken token,
-            @PathVariable @Parameter(description = "Name of the organization whose storage context needs to be deleted.") String orgaName
+            @PathVariable @Parameter(description = "Name of the organization whose storage context needs to be deleted.") String orgaName,
+            @RequestHeader(name = RequestCoalescer.IDEMPOTENCY_KEY_HEADER, required = false) @Parameter(description = "Optional key to safely retry the request - repetitions get the outcome of the first request.") String idempotencyKey
     ) throws StorageManagerException {
         if (!authHelper.isSuperuser(token)) {
             AuditLogger.error(LOG, "insufficient permissions to delete organization context on organization  {}",
                     token, orgaName);
             throw new StorageManagerException(INSUFFICIENT_PRIVILEGE);
         }
-        storageManagerService.deleteOrganizationContext(orgaName);
+        storageManagerService.deleteOrganizationContext(orgaName, idempotencyKey);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @Operation(
+            summary = "Restore the deleted storage context of an organization",
+            description = """
+                    Restores the storage context of a deleted organization from the data retained by the storage backend (e.g. object versions),
+                    without transferring data through the service. Public policies and lifecycle rules of its spaces are not restored. <br>
+                    Only superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "204", description = "Successfully restored the storage context for the organization (or it was not deleted).")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User doesn't have the required permission to restore the storage context of the given" +
+            " organization.")
+    @ApiResponse(responseCode = "404", description = "No deleted storage of the organization is retained by the storage backend.")
+    @ApiResponse(responseCode = "429", description = "Too many requests. Provisioning capacity is exhausted - retry after the time given in the Retry-After header.")
+    @ApiResponse(responseCode = "500", description = "Internal server error. An unexpected error occurred on the server.")
+    @PostMapping(path = "{orgaName}/restore")
+    public ResponseEntity<Void> restoreOrganizationContext(
+            @Parameter(hidden = true) JwtAuthenticationToken token,
+            @PathVariable @Parameter(description = "Name of the organization whose storage context needs to be restored.") String orgaName,
+            @RequestHeader(name = RequestCoalescer.IDEMPOTENCY_KEY_HEADER, required = false) @Parameter(description = "Optional key to safely retry the request - repetitions get the outcome of the first request.") String idempotencyKey
+    ) throws StorageManagerException {
+        if (!authHelper.isSuperuser(token)) {
+            AuditLogger.error(LOG, "insufficient permissions to restore organization context on organization  {}",
+                    token, orgaName);
+            throw new StorageManagerException(INSUFFICIENT_PRIVILEGE);
+        }
+        storageManagerService.restoreOrganizationContext(orgaName, idempotencyKey);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
@@ -0,0 +1,147 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.lease.LeaseProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.ORGANIZATION_BUSY;
+
+/**
+ * Serializes the operations on the same organization, while operations on different organizations run in parallel.
+ * <p>
+ * There is one fair lock per organization, so that operations on the same organization are executed in order of
+ * arrival. A lock exists only while operations on its organization are running or waiting. The holder of the local
+ * lock additionally acquires the lease of the organization from the {@link LeaseProvider}, which excludes operations
+ * of other replicas. The time spent waiting for both is recorded as {@value #LOCK_WAIT_METRIC}.
+ */
+@Component
+public class OrganizationLocks {
+
+    static final String LOCK_WAIT_METRIC = "storagemanager.organization.lock.wait";
+    static final String LOCKED_METRIC = "storagemanager.organization.lock.organizations";
+    private static final Logger LOG = LoggerFactory.getLogger(OrganizationLocks.class);
+    private final ConcurrentMap<String, OrganizationLock> locks = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final LeaseProvider leaseProvider;
+    private final MeterRegistry meterRegistry;
+
+    public OrganizationLocks(@Value("${storagemanager.locks.timeout:PT5M}") Duration timeout, LeaseProvider leaseProvider,
+            MeterRegistry meterRegistry) {
+        this.timeout = timeout;
+        this.leaseProvider = leaseProvider;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(LOCKED_METRIC, locks, ConcurrentMap::size)
+                .description("Number of organizations with running or waiting operations")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executes the action while holding the lock of the organization
+     *
+     * @param organization the name of the organization
+     * @param operation    the name of the operation (used as metric tag)
+     * @param action       the action
+     * @param <T>          the result type of the action
+     * @return the result of the action
+     * @throws StorageManagerException thrown, if the action fails or the lock could not be acquired in time
+     */
+    public <T> T withLock(String organization, String operation, LockedAction<T> action) throws StorageManagerException {
+        OrganizationLock lock = locks.compute(organization, (name, existing) -> {
+            OrganizationLock l = existing == null ? new OrganizationLock() : existing;
+            l.users++;
+            return l;
+        });
+        try {
+            long start = System.nanoTime();
+            if (!lock.tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw busy(organization, operation, start);
+            }
+            try {
+                // nested operations of the same thread already hold the lease
+                Optional<LeaseProvider.Lease> lease = Optional.empty();
+                if (lock.getHoldCount() == 1) {
+                    Duration remaining = timeout.minusNanos(System.nanoTime() - start);
+                    lease = leaseProvider.tryAcquire("org-" + organization, remaining.isNegative() ? Duration.ZERO : remaining);
+                    if (lease.isEmpty()) {
+                        throw busy(organization, operation, start);
+                    }
+                }
+                recordWait(operation, true, start);
+                try {
+                    return action.run();
+                } finally {
+                    lease.ifPresent(LeaseProvider.Lease::close);
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageManagerException(ORGANIZATION_BUSY, organization);
+        } finally {
+            locks.computeIfPresent(organization, (name, l) -> --l.users == 0 ? null : l);
+        }
+    }
+
+    private StorageManagerException busy(String organization, String operation, long start) {
+        recordWait(operation, false, start);
+        LOG.warn("{} on organization '{}' timed out waiting for the lock after {}", operation, organization, timeout);
+        return new StorageManagerException(ORGANIZATION_BUSY, organization);
+    }
+
+    private void recordWait(String operation, boolean acquired, long start) {
+        Timer.builder(LOCK_WAIT_METRIC)
+                .description("Time operations waited for the lock of their organization")
+                .tag("operation", operation)
+                .tag("acquired", String.valueOf(acquired))
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * An action executed under the lock of an organization
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface LockedAction<T> {
+        T run() throws StorageManagerException;
+    }
+
+    private static class OrganizationLock extends ReentrantLock {
+        // number of threads holding or waiting for the lock - only modified within ConcurrentMap#compute
+        private int users;
+
+        OrganizationLock() {
+            super(true);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.common.domain.dto.OrganizationContextDTO;
+import com.efs.sdk.common.domain.dto.SpaceContextDTO;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.jobs.JobConfig;
+import com.efs.sdk.storagemanager.jobs.JournalEntry;
+import com.efs.sdk.storagemanager.jobs.ProvisioningJournal;
+import com.efs.sdk.storagemanager.model.OrganizationStorageOptions;
+import com.efs.sdk.storagemanager.model.SpaceStorageOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.efs.sdk.storagemanager.core.StorageService.*;
+
+/**
+ * Resumes the provisioning operations left incomplete by a previous run of the service (e.g. after a crash or a
+ * restart during a deployment).
+ * <p>
+ * The operations are resumed one after another on the provisioning worker pool, continuing with the first step not yet
+ * completed. An operation failing again remains in the journal and is resumed by the next retry of the client or the
+ * next start of the service.
+ */
+@Component
+@ConditionalOnProperty(name = "storagemanager.jobs.journal.resume-on-startup", havingValue = "true", matchIfMissing = true)
+public class ProvisioningRecovery {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProvisioningRecovery.class);
+    private final ProvisioningJournal journal;
+    private final StorageService storageService;
+    private final OrganizationLocks locks;
+    private final ThreadPoolTaskExecutor executor;
+
+    public ProvisioningRecovery(ProvisioningJournal journal, StorageService storageService, OrganizationLocks locks,
+            @Qualifier(JobConfig.JOB_EXECUTOR) ThreadPoolTaskExecutor executor) {
+        this.journal = journal;
+        this.storageService = storageService;
+        this.locks = locks;
+        this.executor = executor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingOperations() {
+        List<JournalEntry> entries = journal.getPendingEntries();
+        if (entries.isEmpty()) {
+            return;
+        }
+        LOG.info("resuming {} incomplete provisioning operation(s)", entries.size());
+        executor.execute(() -> entries.forEach(this::resume));
+    }
+
+    void resume(JournalEntry entry) {
+        try {
+            JournalEntry clone = BackendScheduler.inLane(BackendScheduler.Lane.BULK, () -> locks.withLock(entry.getOrganization(), entry.getOperation().name(), () -> {
+                // the context may have been deleted (or provisioned) while waiting for the lock
+                if (!journal.isPending(entry)) {
+                    return null;
+                }
+                switch (entry.getOperation()) {
+                    case CREATE_ORGANIZATION -> storageService.createOrganizationStorage(
+                            journal.getRequest(entry, REQUEST_ORGANIZATION, OrganizationContextDTO.class),
+                            journal.getRequest(entry, REQUEST_OPTIONS, OrganizationStorageOptions.class));
+                    case CREATE_SPACE -> storageService.createSpaceStorage(
+                            journal.getRequest(entry, REQUEST_SPACE, SpaceContextDTO.class),
+                            journal.getRequest(entry, REQUEST_OPTIONS, SpaceStorageOptions.class));
+                    case CLONE_SPACE -> {
+                        return storageService.provisionSpaceClone(
+                                journal.getRequest(entry, REQUEST_SOURCE, SpaceContextDTO.class),
+                                journal.getRequest(entry, REQUEST_SPACE, SpaceContextDTO.class),
+                                journal.getRequest(entry, REQUEST_OPTIONS, SpaceStorageOptions.class));
+                    }
+                }
+                return null;
+            }));
+            if (clone != null) {
+                // the copy of a clone runs outside of the organization lock, continuing at its last checkpoint
+                storageService.copySpaceClone(clone);
+            }
+            LOG.info("resumed {} of '{}' ... successful", entry.getOperation(), entry.getKey());
+        } catch (StorageManagerException | RuntimeException e) {
+            LOG.error("resuming {} of '{}' failed (attempt {}): {}", entry.getOperation(), entry.getKey(), entry.getAttempts(), e.getMessage(), e);
+        }
+    }
+}
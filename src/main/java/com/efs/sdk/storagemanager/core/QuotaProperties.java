@@ -0,0 +1,135 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration of the {@link QuotaService} - limits without a value are unlimited.
+ */
+@ConfigurationProperties(prefix = "storagemanager.quotas")
+public class QuotaProperties {
+
+    private boolean enabled = true;
+    /**
+     * Pause between two enforcement cycles (refresh of the space counters, check of all quotas)
+     */
+    private Duration interval = Duration.ofMinutes(5);
+    private Limits organizationDefaults = new Limits();
+    private Limits spaceDefaults = new Limits();
+    /**
+     * Limits per organization (by name) - replace the organization defaults
+     */
+    private Map<String, Limits> organizations = new HashMap<>();
+    /**
+     * Limits per space (by "organization/space") - replace the space defaults
+     */
+    private Map<String, Limits> spaces = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public Limits getOrganizationDefaults() {
+        return organizationDefaults;
+    }
+
+    public void setOrganizationDefaults(Limits organizationDefaults) {
+        this.organizationDefaults = organizationDefaults;
+    }
+
+    public Limits getSpaceDefaults() {
+        return spaceDefaults;
+    }
+
+    public void setSpaceDefaults(Limits spaceDefaults) {
+        this.spaceDefaults = spaceDefaults;
+    }
+
+    public Map<String, Limits> getOrganizations() {
+        return organizations;
+    }
+
+    public void setOrganizations(Map<String, Limits> organizations) {
+        this.organizations = organizations;
+    }
+
+    public Map<String, Limits> getSpaces() {
+        return spaces;
+    }
+
+    public void setSpaces(Map<String, Limits> spaces) {
+        this.spaces = spaces;
+    }
+
+    Limits getOrganizationLimits(String organization) {
+        return organizations.getOrDefault(organization, organizationDefaults);
+    }
+
+    Limits getSpaceLimits(String organization, String space) {
+        return spaces.getOrDefault(organization + "/" + space, spaceDefaults);
+    }
+
+    public static class Limits {
+
+        private Long maxBytes;
+        private Long maxObjects;
+        /**
+         * Maximum number of spaces (organizations only)
+         */
+        private Integer maxSpaces;
+
+        public Long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(Long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public Long getMaxObjects() {
+            return maxObjects;
+        }
+
+        public void setMaxObjects(Long maxObjects) {
+            this.maxObjects = maxObjects;
+        }
+
+        public Integer getMaxSpaces() {
+            return maxSpaces;
+        }
+
+        public void setMaxSpaces(Integer maxSpaces) {
+            this.maxSpaces = maxSpaces;
+        }
+    }
+}
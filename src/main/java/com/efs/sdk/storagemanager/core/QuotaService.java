@@ -0,0 +1,248 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.model.QuotaViolation;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.QUOTA_EXCEEDED;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.SPACES_NOT_COUNTED;
+
+/**
+ * Enforces the quotas (bytes, objects, number of spaces) of organizations and spaces.
+ * <p>
+ * All checks are answered from in-memory counters, so a check never calls the storage backend: bytes and objects come
+ * from the last scans of the {@link UsageService} (on every replica, as the usage is shared through its file), the spaces of each organization are counted from the
+ * {@link InventoryService inventory}. The counters are refreshed by a periodic enforcement cycle, which also checks all
+ * quotas and reports the exceeded ones. Spaces created or deleted by this instance are counted immediately - also while
+ * a refresh is running, whose inventory may not reflect them yet. Every replica refreshes its own counters.
+ * <p>
+ * The creation of a space is rejected while its organization exceeds a quota or if the space would exceed the number
+ * of spaces of the organization. Until the spaces have been counted once, the creation of a space in an organization
+ * with a limited number of spaces is rejected as well. Existing spaces are not blocked - exceeded quotas are reported
+ * only.
+ */
+@Service
+public class QuotaService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QuotaService.class);
+    private final UsageService usageService;
+    private final InventoryService inventoryService;
+    private final QuotaProperties properties;
+    private final ScheduledExecutorService enforcer;
+    // creations and deletions while the inventory is read - replayed on the refreshed counters
+    private final Queue<Consumer<Map<String, Set<String>>>> changesDuringRefresh = new ConcurrentLinkedQueue<>();
+    private volatile Map<String, Set<String>> spaces = new ConcurrentHashMap<>();
+    private volatile boolean refreshing;
+    private volatile boolean counted;
+    private volatile List<QuotaViolation> violations = List.of();
+
+    public QuotaService(UsageService usageService, InventoryService inventoryService, QuotaProperties properties, MeterRegistry meterRegistry) {
+        this.usageService = usageService;
+        this.inventoryService = inventoryService;
+        this.properties = properties;
+        this.enforcer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quota-enforcer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("storagemanager.quota.violations", this, q -> q.violations.size()).description("Exceeded quotas as of the last enforcement cycle")
+                .register(meterRegistry);
+        if (properties.isEnabled()) {
+            long interval = properties.getInterval().toMillis();
+            enforcer.scheduleWithFixedDelay(this::enforce, 0, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Checks whether a space may be created - (re-)creating an existing space is always allowed
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space
+     * @throws StorageManagerException thrown, if the organization exceeds a quota or the space would exceed its number of spaces
+     */
+    public void checkSpaceCreation(String organization, String space) throws StorageManagerException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Set<String> known = spaces.getOrDefault(organization, Set.of());
+        if (known.contains(space)) {
+            return;
+        }
+        if (!counted && properties.getOrganizationLimits(organization).getMaxSpaces() != null) {
+            throw new StorageManagerException(SPACES_NOT_COUNTED, organization);
+        }
+        List<QuotaViolation> exceeded = checkOrganization(organization, known.size() + 1);
+        if (!exceeded.isEmpty()) {
+            throw new StorageManagerException(QUOTA_EXCEEDED, describe(exceeded));
+        }
+    }
+
+    /**
+     * Counts a created space
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space
+     */
+    public void spaceCreated(String organization, String space) {
+        change(counters -> counters.computeIfAbsent(organization, o -> ConcurrentHashMap.newKeySet()).add(space));
+    }
+
+    /**
+     * Stops counting a deleted space
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space
+     */
+    public void spaceDeleted(String organization, String space) {
+        change(counters -> counters.getOrDefault(organization, new HashSet<>()).remove(space));
+    }
+
+    /**
+     * Stops counting the spaces of a deleted organization
+     *
+     * @param organization the name of the organization
+     */
+    public void organizationDeleted(String organization) {
+        change(counters -> counters.remove(organization));
+    }
+
+    private void change(Consumer<Map<String, Set<String>>> change) {
+        change.accept(spaces);
+        if (refreshing) {
+            changesDuringRefresh.add(change);
+        }
+    }
+
+    /**
+     * Gets the quotas exceeded as of the last enforcement cycle
+     *
+     * @return the exceeded quotas
+     */
+    public List<QuotaViolation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Runs an enforcement cycle: refreshes the space counters and checks the quotas of all organizations and spaces
+     */
+    void enforce() {
+        try {
+            refreshSpaces();
+        } catch (StorageManagerException | IOException | RuntimeException e) {
+            LOG.warn("refreshing the space counters failed - checking quotas with the previous counters: {}", e.getMessage());
+        }
+        List<QuotaViolation> current = new ArrayList<>();
+        spaces.forEach((organization, organizationSpaces) -> {
+            current.addAll(checkOrganization(organization, organizationSpaces.size()));
+            organizationSpaces.forEach(space -> current.addAll(checkSpace(organization, space)));
+        });
+        Set<QuotaViolation> previous = new HashSet<>(violations);
+        current.stream()
+                .filter(v -> previous.stream().noneMatch(p -> sameQuota(p, v)))
+                .forEach(v -> LOG.warn("quota exceeded: {}", describe(List.of(v))));
+        violations = List.copyOf(current);
+    }
+
+    private void refreshSpaces() throws StorageManagerException, IOException {
+        Map<String, Set<String>> fresh = new ConcurrentHashMap<>();
+        refreshing = true;
+        changesDuringRefresh.clear();
+        try {
+            inventoryService.stream(item -> {
+                Set<String> organizationSpaces = fresh.computeIfAbsent(item.organization(), o -> ConcurrentHashMap.newKeySet());
+                if (item.space() != null && !StorageClient.LOADINGZONE.equals(item.space())) {
+                    organizationSpaces.add(item.space());
+                }
+            });
+            spaces = fresh;
+            // the inventory may miss spaces created and still contain spaces deleted while it was read
+            Consumer<Map<String, Set<String>>> change;
+            while ((change = changesDuringRefresh.poll()) != null) {
+                change.accept(fresh);
+            }
+            counted = true;
+        } finally {
+            refreshing = false;
+        }
+    }
+
+    private List<QuotaViolation> checkOrganization(String organization, int spaceCount) {
+        QuotaProperties.Limits limits = properties.getOrganizationLimits(organization);
+        List<QuotaViolation> exceeded = new ArrayList<>();
+        if (limits.getMaxSpaces() != null && spaceCount > limits.getMaxSpaces()) {
+            exceeded.add(new QuotaViolation(organization, null, QuotaViolation.Resource.SPACES, limits.getMaxSpaces(), spaceCount));
+        }
+        usageService.getOrganizationUsage(organization).ifPresent(usage -> exceeded.addAll(checkUsage(organization, null, limits, usage.bytes(), usage.objects())));
+        return exceeded;
+    }
+
+    private List<QuotaViolation> checkSpace(String organization, String space) {
+        QuotaProperties.Limits limits = properties.getSpaceLimits(organization, space);
+        return usageService.getSpaceUsage(organization, space)
+                .map(usage -> checkUsage(organization, space, limits, usage.bytes(), usage.objects()))
+                .orElse(List.of());
+    }
+
+    private static List<QuotaViolation> checkUsage(String organization, String space, QuotaProperties.Limits limits, long bytes, long objects) {
+        List<QuotaViolation> exceeded = new ArrayList<>();
+        if (limits.getMaxBytes() != null && bytes > limits.getMaxBytes()) {
+            exceeded.add(new QuotaViolation(organization, space, QuotaViolation.Resource.BYTES, limits.getMaxBytes(), bytes));
+        }
+        if (limits.getMaxObjects() != null && objects > limits.getMaxObjects()) {
+            exceeded.add(new QuotaViolation(organization, space, QuotaViolation.Resource.OBJECTS, limits.getMaxObjects(), objects));
+        }
+        return exceeded;
+    }
+
+    private static boolean sameQuota(QuotaViolation a, QuotaViolation b) {
+        return a.organization().equals(b.organization()) && a.resource() == b.resource() && Objects.equals(a.space(), b.space());
+    }
+
+    private static String describe(List<QuotaViolation> exceeded) {
+        return exceeded.stream()
+                .map(v -> String.format("%s%s: %s %d > %d", v.organization(), v.space() == null ? "" : "/" + v.space(), v.resource(), v.actual(), v.limit()))
+                .collect(Collectors.joining(", "));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        enforcer.shutdownNow();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.helper.Utils;
+import jakarta.validation.constraints.AssertTrue;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration of the deferred deletion ({@link DeletionReaper}).
+ */
+@ConfigurationProperties(prefix = "storagemanager.reaper")
+@Validated
+public class ReaperProperties {
+
+    /**
+     * Whether deletions only revoke the access and leave the data to the reaper - otherwise the data is deleted inline.
+     * Requires a persistent tombstone directory.
+     */
+    private boolean enabled = false;
+    private Duration initialDelay = Duration.ofMinutes(1);
+    /**
+     * Pause between two reaper cycles
+     */
+    private Duration interval = Duration.ofSeconds(10);
+    /**
+     * Maximum number of objects purged per second (averaged over a cycle)
+     */
+    private int objectsPerSecond = 1000;
+    /**
+     * Maximum number of objects purged by a single backend call
+     */
+    private int batchSize = 1000;
+    /**
+     * Directory holding the tombstones of deleted organizations and spaces - has to be shared by the replicas and kept
+     * across restarts, as the data of a deleted context whose tombstone is lost is never purged
+     */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "storagemanager-tombstones");
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getInitialDelay() {
+        return initialDelay;
+    }
+
+    public void setInitialDelay(Duration initialDelay) {
+        this.initialDelay = initialDelay;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public int getObjectsPerSecond() {
+        return objectsPerSecond;
+    }
+
+    public void setObjectsPerSecond(int objectsPerSecond) {
+        this.objectsPerSecond = objectsPerSecond;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    @AssertTrue(message = "deferred deletion requires a tombstone directory outside the temporary directory")
+    public boolean isDirectoryPersistent() {
+        return !enabled || !Utils.isTemporary(directory);
+    }
+}
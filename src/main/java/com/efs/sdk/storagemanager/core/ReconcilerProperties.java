@@ -0,0 +1,119 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link DriftReconciler}.
+ */
+@ConfigurationProperties(prefix = "storagemanager.reconciler")
+public class ReconcilerProperties {
+
+    private boolean enabled = true;
+    /**
+     * Whether drift is repaired - otherwise it is only reported
+     */
+    private boolean repair = true;
+    private Duration initialDelay = Duration.ofMinutes(5);
+    /**
+     * Pause between two reconciliation cycles
+     */
+    private Duration interval = Duration.ofMinutes(15);
+    /**
+     * Number of organizations and spaces per inventory page
+     */
+    private int pageSize = 100;
+    /**
+     * Maximum number of pages reconciled per cycle - the next cycle continues at the checkpoint
+     */
+    private int pagesPerCycle = 5;
+    /**
+     * Number of organizations and spaces reconciled concurrently
+     */
+    private int parallelism = 4;
+    /**
+     * File holding the cursor of the next page to reconcile
+     */
+    private Path checkpoint = Path.of(System.getProperty("java.io.tmpdir"), "storagemanager-reconciler.checkpoint");
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isRepair() {
+        return repair;
+    }
+
+    public void setRepair(boolean repair) {
+        this.repair = repair;
+    }
+
+    public Duration getInitialDelay() {
+        return initialDelay;
+    }
+
+    public void setInitialDelay(Duration initialDelay) {
+        this.initialDelay = initialDelay;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public int getPagesPerCycle() {
+        return pagesPerCycle;
+    }
+
+    public void setPagesPerCycle(int pagesPerCycle) {
+        this.pagesPerCycle = pagesPerCycle;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public Path getCheckpoint() {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(Path checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.helper.Utils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.IDEMPOTENCY_KEY_REUSED;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.UNKNOWN_ERROR;
+
+/**
+ * Deduplicates concurrent and repeated provisioning requests.
+ * <p>
+ * Identical operations (same operation on the same organization and space) arriving while one of them is executed
+ * share this execution and its outcome (single-flight). In addition clients may send an idempotency key: the outcome of
+ * a request with a key is kept for the configured time and returned for any repetition of the request with the same
+ * key. Server errors and rejections the client is asked to retry (429 or a {@code Retry-After}) are not kept, so that a
+ * repetition executes the operation again.
+ */
+@Component
+public class RequestCoalescer {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final Logger LOG = LoggerFactory.getLogger(RequestCoalescer.class);
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, Outcome> outcomes;
+
+    public RequestCoalescer(@Value("${storagemanager.idempotency.ttl:PT24H}") Duration ttl) {
+        this.outcomes = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+    }
+
+    /**
+     * Executes the operation, unless an identical operation is in flight or the idempotency key has been used before
+     *
+     * @param operationKey   identifies the operation and its target, e.g. {@code CREATE_SPACE/org/space}
+     * @param idempotencyKey the idempotency key of the client (may be {@code null})
+     * @param operation      the operation
+     * @param <T>            the result type of the operation
+     * @return the result of the operation
+     * @throws StorageManagerException thrown, if the operation fails or the idempotency key has been used for a different
+     *                                 operation
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operationKey, String idempotencyKey, Operation<T> operation) throws StorageManagerException {
+        String outcomeKey = idempotencyKey == null ? null : Utils.getSubject() + "/" + idempotencyKey;
+        if (outcomeKey != null) {
+            Outcome outcome = outcomes.getIfPresent(outcomeKey);
+            if (outcome != null) {
+                if (!outcome.operationKey().equals(operationKey)) {
+                    throw new StorageManagerException(IDEMPOTENCY_KEY_REUSED, idempotencyKey);
+                }
+                LOG.debug("replaying outcome of '{}' for idempotency key '{}'", operationKey, idempotencyKey);
+                return (T) outcome.replay();
+            }
+        }
+
+        CompletableFuture<Object> execution = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(operationKey, execution);
+        if (running != null) {
+            LOG.debug("joining in-flight execution of '{}'", operationKey);
+            return (T) await(running);
+        }
+        try {
+            T result = operation.run();
+            execution.complete(result);
+            remember(outcomeKey, new Outcome(operationKey, result, null));
+            return result;
+        } catch (StorageManagerException e) {
+            execution.completeExceptionally(e);
+            if (!isRetryable(e)) {
+                remember(outcomeKey, new Outcome(operationKey, null, e));
+            }
+            throw e;
+        } catch (RuntimeException | Error e) {
+            // joined callers must not wait forever, whatever the operation throws
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(operationKey, execution);
+        }
+    }
+
+    private static boolean isRetryable(StorageManagerException e) {
+        return e.getHttpStatus().is5xxServerError() || e.getHttpStatus() == HttpStatus.TOO_MANY_REQUESTS || e.getRetryAfter() != null;
+    }
+
+    private void remember(String outcomeKey, Outcome outcome) {
+        if (outcomeKey != null) {
+            outcomes.put(outcomeKey, outcome);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> running) throws StorageManagerException {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageManagerException(UNKNOWN_ERROR, "interrupted while waiting for an identical request");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof StorageManagerException sme) {
+                throw sme;
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new StorageManagerException(UNKNOWN_ERROR, e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * A deduplicated operation
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface Operation<T> {
+        T run() throws StorageManagerException;
+    }
+
+    private record Outcome(String operationKey, Object result, StorageManagerException error) {
+        Object replay() throws StorageManagerException {
+            if (error != null) {
+                throw error;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.logging.AuditLogger;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.helper.AuthHelper;
+import com.efs.sdk.storagemanager.model.RolloutStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.INSUFFICIENT_PRIVILEGE;
+
+@RequestMapping(value = RolloutController.ENDPOINT)
+@RestController
+@Tag(name = RolloutController.ENDPOINT, description = "Rollout of the current default settings to existing organizations.")
+public class RolloutController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RolloutController.class);
+    static final String VERSION = "v2.0";
+    static final String ENDPOINT = "/" + VERSION + "/context/rollout/";
+
+    private final RolloutService rolloutService;
+    private final AuthHelper authHelper;
+
+    public RolloutController(AuthHelper authHelper, RolloutService rolloutService) {
+        this.authHelper = authHelper;
+        this.rolloutService = rolloutService;
+    }
+
+    @Operation(
+            summary = "Start a rollout of the default settings.",
+            description = """
+                    Applies the current default settings (soft delete, versioning, lifecycle rule, CORS, loadingzone) to all existing
+                    organizations in the background - settings which already match are not changed. The number of organizations processed in
+                    parallel adapts to the load of the storage backend. <br>
+                    With dryRun, deviating settings are only counted. <br>
+                    Only superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "202", description = "Rollout started.")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User is not a superuser.")
+    @ApiResponse(responseCode = "409", description = "A rollout is already running.")
+    @ApiResponse(responseCode = "503", description = "Rollouts are run by another replica, retry later.")
+    @PostMapping
+    public ResponseEntity<RolloutStatus> startRollout(
+            @Parameter(hidden = true) JwtAuthenticationToken token,
+            @RequestParam(defaultValue = "false") @Parameter(description = "Only report deviating settings.") boolean dryRun
+    ) throws StorageManagerException {
+        checkSuperuser(token);
+        AuditLogger.info(LOG, "starting rollout of the default settings (dry run: {})", token, dryRun);
+        return new ResponseEntity<>(rolloutService.start(dryRun), HttpStatus.ACCEPTED);
+    }
+
+    @Operation(
+            summary = "Get the status of the rollout.",
+            description = """
+                    Returns the progress of the current (or last) rollout: processed, changed and failed organizations and the number of
+                    organizations per changed setting. <br>
+                    Only superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the status.")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User is not a superuser.")
+    @ApiResponse(responseCode = "404", description = "No rollout has been started yet.")
+    @GetMapping
+    public ResponseEntity<RolloutStatus> getRollout(
+            @Parameter(hidden = true) JwtAuthenticationToken token
+    ) throws StorageManagerException {
+        checkSuperuser(token);
+        return new ResponseEntity<>(rolloutService.getStatus(), HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Cancel the rollout.",
+            description = """
+                    Cancels the running rollout after the current wave of organizations. <br>
+                    Only superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Cancellation requested.")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User is not a superuser.")
+    @ApiResponse(responseCode = "404", description = "No rollout has been started yet.")
+    @ApiResponse(responseCode = "503", description = "Rollouts are run by another replica, retry later.")
+    @DeleteMapping
+    public ResponseEntity<RolloutStatus> cancelRollout(
+            @Parameter(hidden = true) JwtAuthenticationToken token
+    ) throws StorageManagerException {
+        checkSuperuser(token);
+        AuditLogger.info(LOG, "cancelling rollout of the default settings", token);
+        return new ResponseEntity<>(rolloutService.cancel(), HttpStatus.OK);
+    }
+
+    private void checkSuperuser(JwtAuthenticationToken token) throws StorageManagerException {
+        if (!authHelper.isSuperuser(token)) {
+            AuditLogger.error(LOG, "insufficient permissions to manage the rollout", token);
+            throw new StorageManagerException(INSUFFICIENT_PRIVILEGE);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link RolloutService}.
+ */
+@ConfigurationProperties(prefix = "storagemanager.rollout")
+public class RolloutProperties {
+
+    /**
+     * Number of organizations processed concurrently at the start of a rollout
+     */
+    private int initialParallelism = 2;
+    /**
+     * Upper bound of the number of organizations processed concurrently
+     */
+    private int maxParallelism = 8;
+    /**
+     * Pause after a wave in which the backend was throttled or unavailable (if it did not report a retry time)
+     */
+    private Duration backoff = Duration.ofSeconds(30);
+    /**
+     * File holding the status of the current rollout
+     */
+    private Path stateFile = Path.of(System.getProperty("java.io.tmpdir"), "storagemanager-rollout.json");
+
+    public int getInitialParallelism() {
+        return initialParallelism;
+    }
+
+    public void setInitialParallelism(int initialParallelism) {
+        this.initialParallelism = initialParallelism;
+    }
+
+    public int getMaxParallelism() {
+        return maxParallelism;
+    }
+
+    public void setMaxParallelism(int maxParallelism) {
+        this.maxParallelism = maxParallelism;
+    }
+
+    public Duration getBackoff() {
+        return backoff;
+    }
+
+    public void setBackoff(Duration backoff) {
+        this.backoff = backoff;
+    }
+
+    public Path getStateFile() {
+        return stateFile;
+    }
+
+    public void setStateFile(Path stateFile) {
+        this.stateFile = stateFile;
+    }
+}
@@ -0,0 +1,407 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.helper.Utils;
+import com.efs.sdk.storagemanager.lease.LeaderElection;
+import com.efs.sdk.storagemanager.model.Drift;
+import com.efs.sdk.storagemanager.model.RolloutStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.NOT_LEADER;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.ROLLOUT_NOT_FOUND;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.ROLLOUT_RUNNING;
+
+/**
+ * Rolls out the current default settings (soft delete, versioning, lifecycle rule, CORS, ...) to all existing
+ * organizations - settings which already match are not written.
+ * <p>
+ * The organizations are processed in waves in lexicographic order. The size of a wave adapts to the backend: it grows
+ * by one after each wave without backend pressure and is halved - followed by a pause - once the backend was throttled,
+ * busy or unavailable (on Azure, the calls are additionally paced by the ARM rate limiter). The status is persisted
+ * after each wave, so a rollout interrupted by a restart resumes after the last completed wave. Organizations which
+ * fail are skipped and listed in the status; a new rollout retries them.
+ * <p>
+ * With several replicas, rollouts run on the elected leader of {@value #LEADER_ROLE} (see {@link LeaderElection}). The
+ * state file has to be shared by the replicas: the other replicas answer the status from it and a new leader resumes a
+ * running rollout.
+ */
+@Service
+public class RolloutService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RolloutService.class);
+    private static final String ROLLOUT = "ROLLOUT";
+    private static final int LIST_BATCH_SIZE = 1000;
+    static final String LEADER_ROLE = "rollout";
+    private final StorageClient storageClient;
+    private final BackendScheduler scheduler;
+    private final OrganizationLocks locks;
+    private final RolloutProperties properties;
+    private final ObjectMapper objectMapper;
+    private final LeaderElection leaderElection;
+    private final ExecutorService runner;
+    private final ExecutorService workers;
+    private RolloutStatus current;
+    private boolean active;
+    private volatile boolean cancelRequested;
+
+    public RolloutService(StorageClient storageClient, BackendScheduler scheduler, OrganizationLocks locks, RolloutProperties properties,
+            ObjectMapper objectMapper, LeaderElection leaderElection, MeterRegistry meterRegistry) {
+        this.storageClient = storageClient;
+        this.scheduler = scheduler;
+        this.locks = locks;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.leaderElection = leaderElection;
+        this.runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rollout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, properties.getMaxParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "rollout-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (Utils.isTemporary(properties.getStateFile())) {
+            LOG.warn("rollout state file {} is kept in the temporary directory - other replicas cannot report the status and a rollout is " +
+                    "not resumed after a restart of the pod", properties.getStateFile());
+        }
+        this.current = load();
+        Gauge.builder("storagemanager.rollout.processed", this, r -> r.value(RolloutStatus::getProcessed))
+                .description("Organizations processed by the current rollout").register(meterRegistry);
+        Gauge.builder("storagemanager.rollout.total", this, r -> r.value(RolloutStatus::getTotal))
+                .description("Organizations to be processed by the current rollout").register(meterRegistry);
+        Gauge.builder("storagemanager.rollout.parallelism", this, r -> r.value(RolloutStatus::getParallelism))
+                .description("Organizations processed concurrently by the current rollout").register(meterRegistry);
+        leaderElection.onElected(LEADER_ROLE, this::resume);
+    }
+
+    /**
+     * Resumes a rollout interrupted by a restart or a change of the leader
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        if (!leaderElection.isLeader(LEADER_ROLE)) {
+            return;
+        }
+        synchronized (this) {
+            if (active) {
+                return;
+            }
+            RolloutStatus persisted = load();
+            current = persisted != null ? persisted : current;
+            if (current != null && current.getState() == RolloutStatus.State.RUNNING) {
+                LOG.info("resuming rollout {} after organization '{}'", current.getId(), current.getCursor());
+                submit();
+            }
+        }
+    }
+
+    /**
+     * Starts a rollout of the current default settings to all organizations
+     *
+     * @param dryRun whether deviating settings are only reported instead of changed
+     * @return the status of the rollout
+     * @throws StorageManagerException thrown, if a rollout is already running or this replica is not the leader
+     */
+    public synchronized RolloutStatus start(boolean dryRun) throws StorageManagerException {
+        if (!leaderElection.isLeader(LEADER_ROLE)) {
+            throw new StorageManagerException(NOT_LEADER, LEADER_ROLE);
+        }
+        if (active || current != null && current.getState() == RolloutStatus.State.RUNNING) {
+            throw new StorageManagerException(ROLLOUT_RUNNING, current.getId());
+        }
+        RolloutStatus status = new RolloutStatus();
+        status.setId(UUID.randomUUID().toString());
+        status.setState(RolloutStatus.State.RUNNING);
+        status.setDryRun(dryRun);
+        status.setTotal(-1);
+        status.setParallelism(Math.max(1, Math.min(properties.getInitialParallelism(), properties.getMaxParallelism())));
+        status.setStartedAt(Instant.now());
+        status.setUpdatedAt(status.getStartedAt());
+        current = status;
+        cancelRequested = false;
+        persist();
+        LOG.info("starting rollout {} (dry run: {})", status.getId(), dryRun);
+        submit();
+        return snapshot();
+    }
+
+    /**
+     * Gets the status of the current (or last) rollout
+     *
+     * @return the status
+     * @throws StorageManagerException thrown, if there was no rollout yet
+     */
+    public synchronized RolloutStatus getStatus() throws StorageManagerException {
+        if (!active) {
+            // the rollout may be run by another replica sharing the state file
+            RolloutStatus persisted = load();
+            current = persisted != null ? persisted : current;
+        }
+        if (current == null) {
+            throw new StorageManagerException(ROLLOUT_NOT_FOUND);
+        }
+        return snapshot();
+    }
+
+    /**
+     * Cancels the running rollout - the current wave is completed
+     *
+     * @return the status of the rollout
+     * @throws StorageManagerException thrown, if there was no rollout yet or the rollout is run by another replica
+     */
+    public synchronized RolloutStatus cancel() throws StorageManagerException {
+        if (!leaderElection.isLeader(LEADER_ROLE)) {
+            throw new StorageManagerException(NOT_LEADER, LEADER_ROLE);
+        }
+        if (current == null) {
+            throw new StorageManagerException(ROLLOUT_NOT_FOUND);
+        }
+        if (current.getState() == RolloutStatus.State.RUNNING) {
+            LOG.info("cancelling rollout {}", current.getId());
+            cancelRequested = true;
+        }
+        return snapshot();
+    }
+
+    private void submit() {
+        active = true;
+        runner.submit(this::run);
+    }
+
+    void run() {
+        try {
+            if (currentValue(RolloutStatus::getTotal) < 0) {
+                int total = countOrganizations();
+                synchronized (this) {
+                    current.setTotal(total);
+                    persist();
+                }
+            }
+            while (!cancelRequested) {
+                if (!leaderElection.isLeader(LEADER_ROLE)) {
+                    LOG.warn("lost leadership - the rollout is left to the new leader");
+                    return;
+                }
+                String cursor;
+                int parallelism;
+                boolean dryRun;
+                synchronized (this) {
+                    cursor = current.getCursor();
+                    parallelism = current.getParallelism();
+                    dryRun = current.isDryRun();
+                }
+                List<String> wave = BackendScheduler.inLane(BackendScheduler.Lane.BULK,
+                        () -> scheduler.execute(null, () -> storageClient.listOrganizations(cursor, parallelism)));
+                if (wave.isEmpty()) {
+                    finish(RolloutStatus.State.COMPLETED);
+                    return;
+                }
+                Duration pause = completeWave(wave, processWave(wave, dryRun));
+                if (!pause.isZero()) {
+                    Thread.sleep(pause.toMillis());
+                }
+            }
+            finish(RolloutStatus.State.CANCELLED);
+        } catch (StorageManagerException | RuntimeException e) {
+            // the rollout stays running and is resumed after the last completed wave on the next start
+            LOG.error("rollout interrupted: {}", e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (this) {
+                active = false;
+            }
+        }
+    }
+
+    private List<Outcome> processWave(List<String> wave, boolean dryRun) throws InterruptedException {
+        List<Future<Outcome>> tasks = new ArrayList<>(wave.size());
+        for (String organization : wave) {
+            tasks.add(workers.submit(() -> process(organization, dryRun)));
+        }
+        List<Outcome> outcomes = new ArrayList<>(wave.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            try {
+                outcomes.add(tasks.get(i).get());
+            } catch (ExecutionException e) {
+                outcomes.add(new Outcome(wave.get(i), List.of(), false, null, true));
+            }
+        }
+        return outcomes;
+    }
+
+    private Outcome process(String organization, boolean dryRun) {
+        try {
+            List<Drift> drifts = BackendScheduler.inLane(BackendScheduler.Lane.BULK, () -> dryRun
+                    ? scheduler.execute(organization, () -> storageClient.reconcileOrganization(organization, false))
+                    : locks.withLock(organization, ROLLOUT, () -> scheduler.execute(organization, () -> storageClient.reconcileOrganization(organization, true))));
+            return new Outcome(organization, drifts, false, null, false);
+        } catch (StorageManagerException e) {
+            LOG.warn("rolling out the default settings to organization '{}' failed: {}", organization, e.getMessage());
+            HttpStatus status = e.getHttpStatus();
+            boolean pressure = status == HttpStatus.TOO_MANY_REQUESTS || status == HttpStatus.SERVICE_UNAVAILABLE || status == HttpStatus.GATEWAY_TIMEOUT;
+            return new Outcome(organization, List.of(), pressure, e.getRetryAfter(), true);
+        } catch (RuntimeException e) {
+            LOG.warn("rolling out the default settings to organization '{}' failed: {}", organization, e.getMessage());
+            return new Outcome(organization, List.of(), false, null, true);
+        }
+    }
+
+    /**
+     * Records the outcomes of a wave, adapts the parallelism and persists the status
+     *
+     * @return the pause before the next wave
+     */
+    private synchronized Duration completeWave(List<String> wave, List<Outcome> outcomes) {
+        Duration pause = Duration.ZERO;
+        boolean pressure = false;
+        for (Outcome outcome : outcomes) {
+            current.setProcessed(current.getProcessed() + 1);
+            if (!outcome.drifts().isEmpty()) {
+                current.setChanged(current.getChanged() + 1);
+                outcome.drifts().forEach(d -> current.getSettings().merge(d.setting(), 1, Integer::sum));
+            }
+            if (outcome.failed()) {
+                current.setFailed(current.getFailed() + 1);
+                if (current.getFailedOrganizations().size() < RolloutStatus.MAX_LISTED_FAILURES) {
+                    current.getFailedOrganizations().add(outcome.organization());
+                }
+            }
+            if (outcome.pressure()) {
+                pressure = true;
+                Duration wait = outcome.retryAfter() != null ? outcome.retryAfter() : properties.getBackoff();
+                pause = wait.compareTo(pause) > 0 ? wait : pause;
+            }
+        }
+        int parallelism = current.getParallelism();
+        current.setParallelism(pressure ? Math.max(1, parallelism / 2) : Math.min(properties.getMaxParallelism(), parallelism + 1));
+        current.setCursor(wave.get(wave.size() - 1));
+        current.setUpdatedAt(Instant.now());
+        persist();
+        if (pressure) {
+            LOG.info("backend under pressure - rollout {} continues with {} organizations in parallel after {}", current.getId(),
+                    current.getParallelism(), pause);
+        }
+        return pause;
+    }
+
+    private synchronized void finish(RolloutStatus.State state) {
+        current.setState(state);
+        current.setFinishedAt(Instant.now());
+        current.setUpdatedAt(current.getFinishedAt());
+        persist();
+        LOG.info("rollout {} {}: {} organizations processed, {} changed, {} failed", current.getId(), state.name().toLowerCase(),
+                current.getProcessed(), current.getChanged(), current.getFailed());
+    }
+
+    private int countOrganizations() throws StorageManagerException {
+        return BackendScheduler.inLane(BackendScheduler.Lane.BULK, () -> {
+            int count = 0;
+            String after = null;
+            List<String> batch;
+            do {
+                String start = after;
+                batch = scheduler.execute(null, () -> storageClient.listOrganizations(start, LIST_BATCH_SIZE));
+                count += batch.size();
+                after = batch.isEmpty() ? null : batch.get(batch.size() - 1);
+            } while (batch.size() == LIST_BATCH_SIZE);
+            return count;
+        });
+    }
+
+    private synchronized int currentValue(ToIntFunction<RolloutStatus> value) {
+        return value.applyAsInt(current);
+    }
+
+    private synchronized double value(ToIntFunction<RolloutStatus> value) {
+        return current == null ? 0 : Math.max(0, value.applyAsInt(current));
+    }
+
+    private RolloutStatus snapshot() {
+        return objectMapper.convertValue(current, RolloutStatus.class);
+    }
+
+    private RolloutStatus load() {
+        Path file = properties.getStateFile();
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), RolloutStatus.class);
+        } catch (IOException e) {
+            LOG.warn("ignoring unreadable rollout status {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void persist() {
+        Path file = properties.getStateFile();
+        try {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(tmp, objectMapper.writeValueAsBytes(current));
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("unable to write rollout status " + file, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private record Outcome(String organization, List<Drift> drifts, boolean pressure, Duration retryAfter, boolean failed) {
+    }
+}
@@ -0,0 +1,113 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration of the {@link BackendScheduler}.
+ */
+@ConfigurationProperties(prefix = "storagemanager.scheduler")
+public class SchedulerProperties {
+
+    private boolean enabled = true;
+    /**
+     * Number of backend calls executed concurrently
+     */
+    private int slots = 8;
+    /**
+     * Maximum number of slots used by the bulk lane - the remaining slots are reserved for interactive calls
+     */
+    private int maxBulkSlots = 6;
+    /**
+     * Share of the backend slots of each lane while several lanes have waiting calls
+     */
+    private Map<BackendScheduler.Lane, Integer> laneWeights = new EnumMap<>(Map.of(BackendScheduler.Lane.INTERACTIVE, 4, BackendScheduler.Lane.BULK, 1));
+    private int defaultOrganizationWeight = 1;
+    private Map<String, Integer> organizationWeights = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    public void setSlots(int slots) {
+        this.slots = slots;
+    }
+
+    public int getMaxBulkSlots() {
+        return maxBulkSlots;
+    }
+
+    public void setMaxBulkSlots(int maxBulkSlots) {
+        this.maxBulkSlots = maxBulkSlots;
+    }
+
+    public Map<BackendScheduler.Lane, Integer> getLaneWeights() {
+        return laneWeights;
+    }
+
+    public void setLaneWeights(Map<BackendScheduler.Lane, Integer> laneWeights) {
+        this.laneWeights = laneWeights;
+    }
+
+    public int getDefaultOrganizationWeight() {
+        return defaultOrganizationWeight;
+    }
+
+    public void setDefaultOrganizationWeight(int defaultOrganizationWeight) {
+        this.defaultOrganizationWeight = defaultOrganizationWeight;
+    }
+
+    public Map<String, Integer> getOrganizationWeights() {
+        return organizationWeights;
+    }
+
+    public void setOrganizationWeights(Map<String, Integer> organizationWeights) {
+        this.organizationWeights = organizationWeights;
+    }
+
+    int getLaneWeight(BackendScheduler.Lane lane) {
+        return Math.max(1, laneWeights.getOrDefault(lane, 1));
+    }
+
+    /**
+     * Gets the number of slots a lane may use at most - the bulk lane leaves at least one slot to interactive calls
+     * (unless there is a single slot only)
+     */
+    int getLaneSlots(BackendScheduler.Lane lane) {
+        int total = Math.max(1, slots);
+        if (lane != BackendScheduler.Lane.BULK) {
+            return total;
+        }
+        return Math.max(1, Math.min(maxBulkSlots, total - 1));
+    }
+
+    int getOrganizationWeight(String organization) {
+        return Math.max(1, organizationWeights.getOrDefault(organization, defaultOrganizationWeight));
+    }
+}
@@ -0,0 +1,190 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.clients.SpaceCopy;
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.jobs.JobProgress;
+import com.efs.sdk.storagemanager.jobs.JournalEntry;
+import com.efs.sdk.storagemanager.jobs.ProvisioningJournal;
+import com.efs.sdk.storagemanager.model.StorageObject;
+import com.efs.sdk.storagemanager.model.StorageObjectPage;
+import com.efs.sdk.storagemanager.model.StorageUsage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.SPACE_CONTEXT_NOT_FOUND;
+
+/**
+ * Copies the objects of a cloned space into its (provisioned) target space.
+ * <p>
+ * The objects are listed page by page and copied by the storage backend (see {@link SpaceCopy}) on a bounded worker
+ * pool, so at most {@code parallelism} objects are copied at the same time across all clones and no data flows through
+ * the service. Once all objects of a page are copied, the cursor of the next page is checkpointed in the journal entry of
+ * the clone - a resumed clone continues with the page following the checkpoint. All backend calls run in the bulk lane of
+ * the {@link BackendScheduler}; copies the backend completes asynchronously release their slot while they are awaited.
+ */
+@Service
+public class SpaceCloner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpaceCloner.class);
+    private static final String METRIC_PREFIX = "storagemanager.clone";
+    static final String COPY_STEP = "copy-objects";
+    static final String CHECKPOINT_STEP = "copy-objects-checkpoint";
+    private final StorageClient storageClient;
+    private final BackendScheduler scheduler;
+    private final ProvisioningJournal journal;
+    private final CloneProperties properties;
+    private final ExecutorService workers;
+    private final Counter copiedObjects;
+    private final Counter copiedBytes;
+
+    public SpaceCloner(StorageClient storageClient, BackendScheduler scheduler, ProvisioningJournal journal, CloneProperties properties,
+            MeterRegistry meterRegistry) {
+        this.storageClient = storageClient;
+        this.scheduler = scheduler;
+        this.journal = journal;
+        this.properties = properties;
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(properties.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "space-cloner-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.copiedObjects = Counter.builder(METRIC_PREFIX + ".objects").description("Objects copied into cloned spaces").register(meterRegistry);
+        this.copiedBytes = Counter.builder(METRIC_PREFIX + ".bytes").description("Bytes copied into cloned spaces").register(meterRegistry);
+    }
+
+    /**
+     * Copies the objects of the source space into the target space, continuing at the checkpoint of the clone
+     *
+     * @param entry        the journal entry of the clone
+     * @param organization the name of the organization
+     * @param source       the name of the source space
+     * @param target       the name of the target space
+     * @return the number and total size of the copied objects
+     * @throws StorageManagerException thrown, if a backend call fails or the target space has been deleted
+     */
+    public StorageUsage copy(JournalEntry entry, String organization, String source, String target) throws StorageManagerException {
+        if (journal.isCompleted(entry, COPY_STEP)) {
+            return journal.getResult(entry, COPY_STEP, StorageUsage.class);
+        }
+        Checkpoint checkpoint = journal.isCompleted(entry, CHECKPOINT_STEP)
+                ? journal.getResult(entry, CHECKPOINT_STEP, Checkpoint.class)
+                : new Checkpoint(null, StorageUsage.EMPTY);
+        if (checkpoint.cursor() != null) {
+            LOG.info("resuming copy of '{}/{}' into '{}' after {} objects", organization, source, target, checkpoint.copied().objects());
+        }
+        JobProgress.startStep(COPY_STEP);
+        boolean success = false;
+        try {
+            SpaceCopy copy = bulk(organization, () -> storageClient.openSpaceCopy(organization, source, target));
+            do {
+                ensureTargetExists(organization, target);
+                String cursor = checkpoint.cursor();
+                StorageObjectPage page = bulk(organization, () -> copy.list(cursor, properties.getBatchSize()));
+                StorageUsage copied = copyAll(organization, copy, page.objects());
+                copiedObjects.increment(copied.objects());
+                copiedBytes.increment(copied.bytes());
+                // a checkpoint must not bring back the journal entry of a target deleted in the meantime
+                ensureTargetExists(organization, target);
+                checkpoint = new Checkpoint(page.next(), checkpoint.copied().plus(copied));
+                journal.completeStep(entry, CHECKPOINT_STEP, checkpoint);
+            } while (checkpoint.cursor() != null);
+            journal.completeStep(entry, COPY_STEP, checkpoint.copied());
+            success = true;
+            return checkpoint.copied();
+        } finally {
+            JobProgress.finishStep(COPY_STEP, success);
+        }
+    }
+
+    /**
+     * Copies the objects of a page on the worker pool and waits for all of them
+     *
+     * @return the number and total size of the copied objects
+     */
+    private StorageUsage copyAll(String organization, SpaceCopy copy, List<StorageObject> objects) throws StorageManagerException {
+        List<Future<Void>> copies = new ArrayList<>(objects.size());
+        for (StorageObject object : objects) {
+            copies.add(workers.submit(() -> {
+                SpaceCopy.Completion completion = bulk(organization, () -> copy.copy(object));
+                // copies completed by the backend on its own are awaited without holding a backend slot
+                completion.await();
+                return null;
+            }));
+        }
+        StorageUsage copied = StorageUsage.EMPTY;
+        StorageManagerException failure = null;
+        for (int i = 0; i < copies.size(); i++) {
+            try {
+                copies.get(i).get();
+                copied = copied.plus(new StorageUsage(objects.get(i).size(), 1));
+            } catch (ExecutionException e) {
+                // the remaining copies are awaited anyway, so that no copy of the page is left running
+                if (failure == null) {
+                    failure = e.getCause() instanceof StorageManagerException sme ? sme : new StorageManagerException(e.getCause().getMessage());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                copies.forEach(c -> c.cancel(true));
+                throw new StorageManagerException("copy of objects interrupted");
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return copied;
+    }
+
+    private void ensureTargetExists(String organization, String target) throws StorageManagerException {
+        // the copy is not ordered with the other operations on the organization - stop, once the target is deleted
+        if (bulk(organization, () -> storageClient.getSpaceStorage(organization, target)).isEmpty()) {
+            throw new StorageManagerException(SPACE_CONTEXT_NOT_FOUND, organization + "/" + target);
+        }
+    }
+
+    private <T> T bulk(String organization, BackendScheduler.ScheduledCall<T> call) throws StorageManagerException {
+        return BackendScheduler.inLane(BackendScheduler.Lane.BULK, () -> scheduler.execute(organization, call));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Progress of a clone as recorded in its journal entry
+     *
+     * @param cursor the cursor of the next page to copy ({@code null}, once all pages are copied)
+     * @param copied the objects copied so far
+     */
+    record Checkpoint(String cursor, StorageUsage copied) {
+    }
+}
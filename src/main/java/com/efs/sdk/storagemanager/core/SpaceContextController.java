@@ -19,6 +19,10 @@ import com.efs.sdk.common.domain.dto.SpaceContextDTO;
 import com.efs.sdk.logging.AuditLogger;
 import com.efs.sdk.storagemanager.commons.StorageManagerException;
 import com.efs.sdk.storagemanager.helper.AuthHelper;
+import com.efs.sdk.storagemanager.jobs.JobController;
+import com.efs.sdk.storagemanager.model.ContextStatus;
+import com.efs.sdk.storagemanager.model.SpaceStorageModel;
+import com.efs.sdk.storagemanager.model.SpaceStorageOptions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -56,15 +60,21 @@ public class SpaceContextController {
             summary = "Create the Storage Context for a Space.",
             description = """
                     Creates a storage context for the specified space within the given organization. <br>
+                    An optional tiering class (e.g. hot, warm, cold) installs lifecycle rules scoped to the space. <br>
+                    In async mode the request returns immediately with a job, whose progress can be polled at the returned location. <br>
+                    Identical concurrent requests are executed once; repetitions with the same Idempotency-Key get the outcome of the first request. <br>
                     Only superusers are authorized to perform this action.
                     """
     )
     @ApiResponse(responseCode = "200", description = "Successfully created the storage context for the space.")
-    @ApiResponse(responseCode = "400", description = "Bad request. Possible validation error or incorrect data.")
+    @ApiResponse(responseCode = "202", description = "Accepted the creation of the storage context (async mode).")
+    @ApiResponse(responseCode = "400", description = "Bad request. Possible validation error, incorrect data or unknown tiering class.")
     @ApiResponse(responseCode = "403", description = "Forbidden. User doesn't have the required permissions.")
+    @ApiResponse(responseCode = "429", description = "Too many requests. Provisioning capacity is exhausted - retry after the time given in the Retry-After header.")
     @ApiResponse(responseCode = "500", description = "Internal server error. An unexpected error occurred on the server.")
+    @ApiResponse(responseCode = "503", description = "Service unavailable. Too many pending jobs (async mode).")
     @PostMapping
-    public ResponseEntity<Void> createSpaceContext(
+    public ResponseEntity<Object> createSpaceContext(
             @Parameter(hidden = true, description = "Authenticated user token.") JwtAuthenticationToken token,
             @PathVariable @Parameter(description = "Name of the organization under which the space resides.") String orgaName,
             @Valid @RequestBody
@@ -73,7 +83,10 @@ public class SpaceContextController {
                     required = true,
                     schema = @Schema(implementation = SpaceContextDTO.class)
             )
-            SpaceContextDTO payload
+            SpaceContextDTO payload,
+            @RequestParam(required = false) @Parameter(description = "Tiering class of the space's storage (must be defined in the configuration).") String tiering,
+            @RequestParam(defaultValue = "false") @Parameter(description = "Provision asynchronously and return a job.") boolean async,
+            @RequestHeader(name = RequestCoalescer.IDEMPOTENCY_KEY_HEADER, required = false) @Parameter(description = "Optional key to safely retry the request - repetitions get the outcome of the first request.") String idempotencyKey
     ) throws StorageManagerException {
         if (!authHelper.isSuperuser(token)) {
             AuditLogger.error(LOG, "insufficient permissions to create space context on organization  {} " +
@@ -81,10 +94,89 @@ public class SpaceContextController {
             throw new StorageManagerException(INSUFFICIENT_PRIVILEGE);
         }
 
-        storageManagerService.createSpaceContext(payload);
+        SpaceStorageOptions options = SpaceStorageOptions.defaults().setTieringClass(tiering);
+        if (async) {
+            return JobController.accepted(storageManagerService.submitCreateSpaceContext(payload, options, idempotencyKey));
+        }
+        storageManagerService.createSpaceContext(payload, options, idempotencyKey);
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Clone a Space.",
+            description = """
+                    Creates a storage context for the target space within the same organization and copies all objects of the space into it. <br>
+                    The objects are copied server-side by the storage backend (Azure copy from URL, S3 CopyObject / UploadPartCopy) with bounded
+                    parallelism - no data is transferred through the service. The progress is checkpointed, so a repetition of the request
+                    continues an interrupted clone. <br>
+                    By default the request returns immediately with a job, whose progress can be polled at the returned location. <br>
+                    Only superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully cloned the space (sync mode) - returns the number and total size of the copied objects.")
+    @ApiResponse(responseCode = "202", description = "Accepted the clone of the space.")
+    @ApiResponse(responseCode = "400", description = "Bad request. The target is not another space of the same organization or the tiering class is unknown.")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User doesn't have the required permissions or a quota is exceeded.")
+    @ApiResponse(responseCode = "404", description = "The space has no storage context.")
+    @ApiResponse(responseCode = "409", description = "Conflict. The target space already exists.")
+    @ApiResponse(responseCode = "429", description = "Too many requests. Provisioning capacity is exhausted - retry after the time given in the Retry-After header.")
+    @ApiResponse(responseCode = "503", description = "Service unavailable. Too many pending jobs (async mode).")
+    @PostMapping(path = "{spaceName}/clone")
+    public ResponseEntity<Object> cloneSpaceContext(
+            @Parameter(hidden = true, description = "Authenticated user token.") JwtAuthenticationToken token,
+            @PathVariable @Parameter(description = "Name of the organization under which the space resides.") String orgaName,
+            @PathVariable @Parameter(description = "Name of the space to clone.") String spaceName,
+            @Valid @RequestBody
+            @Parameter(
+                    description = "Details about the target space context.",
+                    required = true,
+                    schema = @Schema(implementation = SpaceContextDTO.class)
+            )
+            SpaceContextDTO payload,
+            @RequestParam(required = false) @Parameter(description = "Tiering class of the target space's storage (must be defined in the configuration).") String tiering,
+            @RequestParam(defaultValue = "true") @Parameter(description = "Clone asynchronously and return a job (default) - a synchronous clone holds the request until all objects are copied.") boolean async,
+            @RequestHeader(name = RequestCoalescer.IDEMPOTENCY_KEY_HEADER, required = false) @Parameter(description = "Optional key to safely retry the request - repetitions get the outcome of the first request.") String idempotencyKey
+    ) throws StorageManagerException {
+        if (!authHelper.isSuperuser(token)) {
+            AuditLogger.error(LOG, "insufficient permissions to clone space context on organization  {} " +
+                    "and space {}", token, orgaName, spaceName);
+            throw new StorageManagerException(INSUFFICIENT_PRIVILEGE);
+        }
+
+        SpaceStorageOptions options = SpaceStorageOptions.defaults().setTieringClass(tiering);
+        if (async) {
+            return JobController.accepted(storageManagerService.submitCloneSpaceContext(orgaName, spaceName, payload, options, idempotencyKey));
+        }
+        return new ResponseEntity<>(storageManagerService.cloneSpaceContext(orgaName, spaceName, payload, options, idempotencyKey), HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Get the status of the Storage Context of a Space.",
+            description = """
+                    Returns the provisioning state and - if the storage exists - its effective settings. <br>
+                    The storage is looked up in a cache, which is invalidated on changes. The response carries an ETag; requests with a matching
+                    If-None-Match header are answered with 304 Not Modified. <br>
+                    Only superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the status of the storage context.")
+    @ApiResponse(responseCode = "304", description = "Not modified. The status matches the ETag given in the If-None-Match header.")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User doesn't have the required permission or is not a superuser.")
+    @ApiResponse(responseCode = "404", description = "The space has no storage context.")
+    @GetMapping(path = "{spaceName}")
+    public ResponseEntity<ContextStatus<SpaceStorageModel>> getSpaceContext(
+            @Parameter(hidden = true, description = "Authenticated user token.") JwtAuthenticationToken token,
+            @PathVariable @Parameter(description = "Name of the organization under which the space resides.", required = true) String orgaName,
+            @PathVariable @Parameter(description = "Name of the space.", required = true) String spaceName
+    ) throws StorageManagerException {
+        if (!authHelper.isSuperuser(token)) {
+            AuditLogger.error(LOG, "insufficient permissions to read space context on organization  {} " +
+                    "and space {}", token, orgaName, spaceName);
+            throw new StorageManagerException(INSUFFICIENT_PRIVILEGE);
+        }
+        return new ResponseEntity<>(storageManagerService.getSpaceContext(orgaName, spaceName), HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Delete the Storage Context of a Space.",
             description = """
@@ -96,6 +188,7 @@ public class SpaceContextController {
     @ApiResponse(responseCode = "204", description = "Successfully deleted the storage context for the space.")
     @ApiResponse(responseCode = "400", description = "Bad request. Possible validation error or incorrect data.")
     @ApiResponse(responseCode = "403", description = "Forbidden. User doesn't have the required permission or is not a superuser.")
+    @ApiResponse(responseCode = "429", description = "Too many requests. Provisioning capacity is exhausted - retry after the time given in the Retry-After header.")
     @DeleteMapping(path = "{spaceName}")
     public ResponseEntity<Void> deleteSpaceContext(
             @Parameter(hidden = true, description = "Authenticated user token.") JwtAuthenticationToken token,
@@ -110,14 +203,43 @@ public class SpaceContextController {
                     description = "Name of the space whose storage context is to be deleted.",
                     required = true
             )
-            String spaceName
+            String spaceName,
+            @RequestHeader(name = RequestCoalescer.IDEMPOTENCY_KEY_HEADER, required = false) @Parameter(description = "Optional key to safely retry the request - repetitions get the outcome of the first request.") String idempotencyKey
     ) throws StorageManagerException {
         if (!authHelper.isSuperuser(token)) {
             AuditLogger.error(LOG, "insufficient permissions to delete space context on organization  {} " +
                     "and space {}", token, orgaName, spaceName);
             throw new StorageManagerException(INSUFFICIENT_PRIVILEGE);
         }
-        storageManagerService.deleteSpaceContext(orgaName, spaceName);
+        storageManagerService.deleteSpaceContext(orgaName, spaceName, idempotencyKey);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @Operation(
+            summary = "Restore the deleted Storage Context of a Space.",
+            description = """
+                    Restores the storage context of a deleted space from the data retained by the storage backend (soft deleted container or
+                    object versions), without transferring data through the service. The lifecycle rule of a tiering class is not restored. <br>
+                    Only superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "204", description = "Successfully restored the storage context for the space (or it was not deleted).")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User doesn't have the required permission, is not a superuser or a quota is exceeded.")
+    @ApiResponse(responseCode = "404", description = "The organization has no storage context or no deleted storage of the space is retained.")
+    @ApiResponse(responseCode = "429", description = "Too many requests. Provisioning capacity is exhausted - retry after the time given in the Retry-After header.")
+    @PostMapping(path = "{spaceName}/restore")
+    public ResponseEntity<Void> restoreSpaceContext(
+            @Parameter(hidden = true, description = "Authenticated user token.") JwtAuthenticationToken token,
+            @PathVariable @Parameter(description = "Name of the organization under which the space resides.", required = true) String orgaName,
+            @PathVariable @Parameter(description = "Name of the space whose storage context is to be restored.", required = true) String spaceName,
+            @RequestHeader(name = RequestCoalescer.IDEMPOTENCY_KEY_HEADER, required = false) @Parameter(description = "Optional key to safely retry the request - repetitions get the outcome of the first request.") String idempotencyKey
+    ) throws StorageManagerException {
+        if (!authHelper.isSuperuser(token)) {
+            AuditLogger.error(LOG, "insufficient permissions to restore space context on organization  {} " +
+                    "and space {}", token, orgaName, spaceName);
+            throw new StorageManagerException(INSUFFICIENT_PRIVILEGE);
+        }
+        storageManagerService.restoreSpaceContext(orgaName, spaceName, idempotencyKey);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 }
@@ -21,81 +21,340 @@ import com.efs.sdk.common.domain.dto.SpaceContextDTO;
 import com.efs.sdk.logging.AuditLogger;
 import com.efs.sdk.storagemanager.commons.StorageManagerException;
 import com.efs.sdk.storagemanager.helper.Utils;
+import com.efs.sdk.storagemanager.jobs.JournalEntry;
+import com.efs.sdk.storagemanager.jobs.ProvisioningJob;
+import com.efs.sdk.storagemanager.jobs.ProvisioningJobService;
+import com.efs.sdk.storagemanager.jobs.ProvisioningJournal;
+import com.efs.sdk.storagemanager.model.ContextStatus;
+import com.efs.sdk.storagemanager.model.OrganizationStorageModel;
+import com.efs.sdk.storagemanager.model.OrganizationStorageOptions;
+import com.efs.sdk.storagemanager.model.SpaceStorageModel;
+import com.efs.sdk.storagemanager.model.SpaceStorageOptions;
+import com.efs.sdk.storagemanager.model.StorageUsage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.INVALID_CLONE_TARGET;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.ORGANIZATION_CONTEXT_NOT_FOUND;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.SPACE_CONTEXT_NOT_FOUND;
+
 @Service
 public class StorageManagerService {
 
     private static final Logger LOG = LoggerFactory.getLogger(StorageManagerService.class);
+    private static final String DELETE_ORGANIZATION = "DELETE_ORGANIZATION";
+    private static final String DELETE_SPACE = "DELETE_SPACE";
+    private static final String RESTORE_ORGANIZATION = "RESTORE_ORGANIZATION";
+    private static final String RESTORE_SPACE = "RESTORE_SPACE";
+    private static final String ASYNC = "ASYNC_";
     private final StorageService storageService;
+    private final ProvisioningJobService jobService;
+    private final RequestCoalescer coalescer;
+    private final OrganizationLocks locks;
+    private final AdmissionControl admissionControl;
+    private final ContextStatusService statusService;
+    private final ProvisioningJournal journal;
+    private final QuotaService quotaService;
 
 
-    public StorageManagerService(StorageService storageService) {
+    public StorageManagerService(StorageService storageService, ProvisioningJobService jobService, RequestCoalescer coalescer,
+            OrganizationLocks locks, AdmissionControl admissionControl, ContextStatusService statusService, ProvisioningJournal journal,
+            QuotaService quotaService) {
         this.storageService = storageService;
+        this.jobService = jobService;
+        this.coalescer = coalescer;
+        this.locks = locks;
+        this.admissionControl = admissionControl;
+        this.statusService = statusService;
+        this.journal = journal;
+        this.quotaService = quotaService;
+    }
+
+    /**
+     * Gets the status of the organization storage context - the storage is looked up in a cache.
+     *
+     * @param orgaName The name of the organization
+     * @return the status of the storage context
+     * @throws StorageManagerException thrown, if the storage context does not exist
+     */
+    public ContextStatus<OrganizationStorageModel> getOrganizationContext(String orgaName) throws StorageManagerException {
+        return status(statusService.getOrganizationStorage(orgaName), journal.isPending(orgaName, null), ORGANIZATION_CONTEXT_NOT_FOUND, orgaName);
+    }
+
+    /**
+     * Gets the status of the space storage context - the storage is looked up in a cache.
+     *
+     * @param orgaName  The name of the organization
+     * @param spaceName The name of the space
+     * @return the status of the storage context
+     * @throws StorageManagerException thrown, if the storage context does not exist
+     */
+    public ContextStatus<SpaceStorageModel> getSpaceContext(String orgaName, String spaceName) throws StorageManagerException {
+        return status(statusService.getSpaceStorage(orgaName, spaceName), journal.isPending(orgaName, spaceName), SPACE_CONTEXT_NOT_FOUND,
+                orgaName + "/" + spaceName);
+    }
+
+    private static <T> ContextStatus<T> status(Optional<T> storage, boolean pending, StorageManagerException.STORAGEMANAGER_ERROR notFound,
+            String name) throws StorageManagerException {
+        if (pending) {
+            return new ContextStatus<>(ContextStatus.State.PROVISIONING, storage.orElse(null));
+        }
+        return new ContextStatus<>(ContextStatus.State.READY, storage.orElseThrow(() -> new StorageManagerException(notFound, name)));
     }
 
     /**
      * Creates organization storage context consisting of:
      * - storage dedicated to given organization
+     * <p>
+     * Identical concurrent requests share one execution, repeated requests with the same idempotency key get the
+     * outcome of the first request. Operations on the same organization are executed one after another.
      *
-     * @param org The Organization
+     * @param org            The Organization
+     * @param options        Optional provisioning settings (e.g. the preferred region)
+     * @param idempotencyKey Optional idempotency key of the client
+     * @return the effective placement of the organization storage
      * @throws StorageManagerException thrown on StorageManagerException Errors
      */
-    public void createOrganizationContext(OrganizationContextDTO org) throws StorageManagerException {
-        LOG.debug("creating organization storage context for '{}'", org.getName());
-        storageService.createOrganizationStorage(org);
-        AuditLogger.info(LOG, "successfully created storage context for organization {}", Utils.getSubjectAsToken(), org);
-        LOG.debug("creating organization storage context for '{}' ... successful", org.getName());
+    public OrganizationStorageModel createOrganizationContext(OrganizationContextDTO org, OrganizationStorageOptions options, String idempotencyKey) throws StorageManagerException {
+        return execute(ProvisioningJob.Operation.CREATE_ORGANIZATION.name(), org.getName(), null, idempotencyKey, () -> {
+            LOG.debug("creating organization storage context for '{}'", org.getName());
+            OrganizationStorageModel storage = storageService.createOrganizationStorage(org, options);
+            AuditLogger.info(LOG, "successfully created storage context for organization {}", Utils.getSubjectAsToken(), org);
+            LOG.debug("creating organization storage context for '{}' ... successful", org.getName());
+            return storage;
+        });
+    }
+
+    /**
+     * Submits the creation of the organization storage context as asynchronous job.
+     *
+     * @param org            The Organization
+     * @param options        Optional provisioning settings (e.g. the preferred region)
+     * @param idempotencyKey Optional idempotency key of the client - a repeated submission returns the original job
+     * @return the pending job - its result is the effective placement of the organization storage
+     * @throws StorageManagerException thrown, if the job could not be submitted
+     * @see #createOrganizationContext(OrganizationContextDTO, OrganizationStorageOptions, String)
+     */
+    public ProvisioningJob submitCreateOrganizationContext(OrganizationContextDTO org, OrganizationStorageOptions options, String idempotencyKey) throws StorageManagerException {
+        ProvisioningJob.Operation operation = ProvisioningJob.Operation.CREATE_ORGANIZATION;
+        return coalescer.execute(operationKey(ASYNC + operation.name(), org.getName(), null), idempotencyKey,
+                () -> jobService.submit(operation, org.getName(), null, () -> createOrganizationContext(org, options, null)));
     }
 
     /**
      * Deletes organization storage context of the given organization
      *
-     * @param orgaName The name of the organization
+     * @param orgaName       The name of the organization
+     * @param idempotencyKey Optional idempotency key of the client
      * @throws StorageManagerException thrown on StorageManagerException Errors
      */
-    public void deleteOrganizationContext(String orgaName) throws StorageManagerException {
-        LOG.debug("deleting organization storage context for '{}'", orgaName);
-        // only name needed for delete operation
-        OrganizationContextDTO org = OrganizationContextDTO.builder().name(orgaName).build();
-        storageService.deleteOrganizationStorage(org);
-        AuditLogger.info(LOG, "successfully deleted storage context for organization {}", Utils.getSubjectAsToken(), org);
-        LOG.debug("deleting organization storage context for '{}' ... successful", orgaName);
+    public void deleteOrganizationContext(String orgaName, String idempotencyKey) throws StorageManagerException {
+        execute(DELETE_ORGANIZATION, orgaName, null, idempotencyKey, () -> {
+            LOG.debug("deleting organization storage context for '{}'", orgaName);
+            // only name needed for delete operation
+            OrganizationContextDTO org = OrganizationContextDTO.builder().name(orgaName).build();
+            storageService.deleteOrganizationStorage(org);
+            quotaService.organizationDeleted(orgaName);
+            AuditLogger.info(LOG, "successfully deleted storage context for organization {}", Utils.getSubjectAsToken(), org);
+            LOG.debug("deleting organization storage context for '{}' ... successful", orgaName);
+            return null;
+        });
+    }
+
+
+    /**
+     * Restores the deleted organization storage context of the given organization from the data retained by the
+     * storage backend - the restore is executed server-side, no data is transferred through the service.
+     *
+     * @param orgaName       The name of the organization
+     * @param idempotencyKey Optional idempotency key of the client
+     * @throws StorageManagerException thrown on StorageManagerException Errors, e.g. if no deleted storage is retained
+     */
+    public void restoreOrganizationContext(String orgaName, String idempotencyKey) throws StorageManagerException {
+        execute(RESTORE_ORGANIZATION, orgaName, null, idempotencyKey, () -> {
+            LOG.debug("restoring organization storage context for '{}'", orgaName);
+            OrganizationContextDTO org = OrganizationContextDTO.builder().name(orgaName).build();
+            storageService.restoreOrganizationStorage(org);
+            AuditLogger.info(LOG, "successfully restored storage context for organization {}", Utils.getSubjectAsToken(), org);
+            LOG.debug("restoring organization storage context for '{}' ... successful", orgaName);
+            return null;
+        });
     }
 
 
     /**
      * Creates space storage context consisting of:
      * - storage dedicated to given space
+     * <p>
+     * Identical concurrent requests share one execution, repeated requests with the same idempotency key get the
+     * outcome of the first request. Operations on the same organization are executed one after another. The creation
+     * is rejected, if the organization exceeds a quota.
      *
-     * @param space The Space
+     * @param space          The Space
+     * @param options        Optional provisioning settings (e.g. the tiering class)
+     * @param idempotencyKey Optional idempotency key of the client
      * @throws StorageManagerException thrown on StorageManagerException Errors
      */
-    public void createSpaceContext(SpaceContextDTO space) throws StorageManagerException {
-        LOG.debug("creating space storage context for '{}'", space.getName());
-        storageService.createSpaceStorage(space);
-        AuditLogger.info(LOG, "successfully created storage context for organization {} and space {}",
-                Utils.getSubjectAsToken(), space.getOrganization().getName(), space.getName());
-        LOG.debug("creating space storage context for '{}' ... successful", space.getName());
+    public void createSpaceContext(SpaceContextDTO space, SpaceStorageOptions options, String idempotencyKey) throws StorageManagerException {
+        String orgaName = space.getOrganization().getName();
+        execute(ProvisioningJob.Operation.CREATE_SPACE.name(), orgaName, space.getName(), idempotencyKey, () -> {
+            LOG.debug("creating space storage context for '{}'", space.getName());
+            quotaService.checkSpaceCreation(orgaName, space.getName());
+            storageService.createSpaceStorage(space, options);
+            quotaService.spaceCreated(orgaName, space.getName());
+            AuditLogger.info(LOG, "successfully created storage context for organization {} and space {}",
+                    Utils.getSubjectAsToken(), orgaName, space.getName());
+            LOG.debug("creating space storage context for '{}' ... successful", space.getName());
+            return null;
+        });
+    }
+
+    /**
+     * Submits the creation of the space storage context as asynchronous job.
+     *
+     * @param space          The Space
+     * @param options        Optional provisioning settings (e.g. the tiering class)
+     * @param idempotencyKey Optional idempotency key of the client - a repeated submission returns the original job
+     * @return the pending job
+     * @throws StorageManagerException thrown, if the job could not be submitted
+     * @see #createSpaceContext(SpaceContextDTO, SpaceStorageOptions, String)
+     */
+    public ProvisioningJob submitCreateSpaceContext(SpaceContextDTO space, SpaceStorageOptions options, String idempotencyKey) throws StorageManagerException {
+        ProvisioningJob.Operation operation = ProvisioningJob.Operation.CREATE_SPACE;
+        String orgaName = space.getOrganization().getName();
+        return coalescer.execute(operationKey(ASYNC + operation.name(), orgaName, space.getName()), idempotencyKey,
+                () -> jobService.submit(operation, orgaName, space.getName(), () -> {
+                    createSpaceContext(space, options, null);
+                    return null;
+                }));
+    }
+
+
+    /**
+     * Clones a space: provisions the storage of the target space and copies the objects of the source space into it.
+     * <p>
+     * The objects are copied server-side by the storage backend - no data is transferred through the service. Only the
+     * provisioning is ordered with the other operations on the organization, as the copy may take long; its progress is
+     * checkpointed, so a repeated (or resumed) clone continues at the last checkpoint. The clone is rejected, if the
+     * organization exceeds a quota.
+     *
+     * @param orgaName       The name of the organization
+     * @param spaceName      The name of the space to clone
+     * @param target         The target space (within the same organization)
+     * @param options        Optional provisioning settings of the target space (e.g. the tiering class)
+     * @param idempotencyKey Optional idempotency key of the client
+     * @return the number and total size of the copied objects
+     * @throws StorageManagerException thrown on StorageManagerException Errors
+     */
+    public StorageUsage cloneSpaceContext(String orgaName, String spaceName, SpaceContextDTO target, SpaceStorageOptions options,
+            String idempotencyKey) throws StorageManagerException {
+        validateCloneTarget(orgaName, spaceName, target);
+        String operation = ProvisioningJob.Operation.CLONE_SPACE.name();
+        SpaceContextDTO source = SpaceContextDTO.builder().name(spaceName).organization(target.getOrganization()).build();
+        return coalescer.execute(operationKey(operation, orgaName, target.getName()), idempotencyKey, () -> admissionControl.admit(operation, () -> {
+            LOG.debug("cloning space storage context '{}' into '{}'", spaceName, target.getName());
+            JournalEntry entry = locks.withLock(orgaName, operation, () -> {
+                quotaService.checkSpaceCreation(orgaName, target.getName());
+                JournalEntry provisioned = storageService.provisionSpaceClone(source, target, options);
+                quotaService.spaceCreated(orgaName, target.getName());
+                return provisioned;
+            });
+            StorageUsage copied = storageService.copySpaceClone(entry);
+            AuditLogger.info(LOG, "successfully cloned storage context of space {} into space {} for organization {}",
+                    Utils.getSubjectAsToken(), spaceName, target.getName(), orgaName);
+            LOG.debug("cloning space storage context '{}' into '{}' ... successful", spaceName, target.getName());
+            return copied;
+        }));
+    }
+
+    /**
+     * Submits the clone of a space as asynchronous job.
+     *
+     * @param orgaName       The name of the organization
+     * @param spaceName      The name of the space to clone
+     * @param target         The target space (within the same organization)
+     * @param options        Optional provisioning settings of the target space (e.g. the tiering class)
+     * @param idempotencyKey Optional idempotency key of the client - a repeated submission returns the original job
+     * @return the pending job - its result is the number and total size of the copied objects
+     * @throws StorageManagerException thrown, if the job could not be submitted
+     * @see #cloneSpaceContext(String, String, SpaceContextDTO, SpaceStorageOptions, String)
+     */
+    public ProvisioningJob submitCloneSpaceContext(String orgaName, String spaceName, SpaceContextDTO target, SpaceStorageOptions options,
+            String idempotencyKey) throws StorageManagerException {
+        validateCloneTarget(orgaName, spaceName, target);
+        ProvisioningJob.Operation operation = ProvisioningJob.Operation.CLONE_SPACE;
+        return coalescer.execute(operationKey(ASYNC + operation.name(), orgaName, target.getName()), idempotencyKey,
+                () -> jobService.submit(operation, orgaName, target.getName(), () -> cloneSpaceContext(orgaName, spaceName, target, options, null)));
+    }
+
+    private static void validateCloneTarget(String orgaName, String spaceName, SpaceContextDTO target) throws StorageManagerException {
+        if (target.getOrganization() == null || !orgaName.equals(target.getOrganization().getName()) || spaceName.equals(target.getName())) {
+            throw new StorageManagerException(INVALID_CLONE_TARGET, orgaName + "/" + target.getName());
+        }
     }
 
 
     /**
      * Deletes space storage context of the given space
      *
-     * @param orgaName  The name of the organization
-     * @param spaceName The name of the organization
+     * @param orgaName       The name of the organization
+     * @param spaceName      The name of the organization
+     * @param idempotencyKey Optional idempotency key of the client
      * @throws StorageManagerException thrown on StorageManagerException Errors
      */
-    public void deleteSpaceContext(String orgaName, String spaceName) throws StorageManagerException {
-        LOG.debug("deleting space storage context for '{}'", spaceName);
-        OrganizationContextDTO org = OrganizationContextDTO.builder().name(orgaName).build();
-        SpaceContextDTO spaceContext = SpaceContextDTO.builder().name(spaceName).organization(org).build();
-        this.storageService.deleteSpaceStorage(spaceContext);
-        AuditLogger.info(LOG, "successfully deleted storage context for organization {} and space {}",
-                Utils.getSubjectAsToken(), org, spaceName);
-        LOG.debug("deleting space storage context for '{}' ... successful", spaceName);
+    public void deleteSpaceContext(String orgaName, String spaceName, String idempotencyKey) throws StorageManagerException {
+        execute(DELETE_SPACE, orgaName, spaceName, idempotencyKey, () -> {
+            LOG.debug("deleting space storage context for '{}'", spaceName);
+            OrganizationContextDTO org = OrganizationContextDTO.builder().name(orgaName).build();
+            SpaceContextDTO spaceContext = SpaceContextDTO.builder().name(spaceName).organization(org).build();
+            this.storageService.deleteSpaceStorage(spaceContext);
+            quotaService.spaceDeleted(orgaName, spaceName);
+            AuditLogger.info(LOG, "successfully deleted storage context for organization {} and space {}",
+                    Utils.getSubjectAsToken(), org, spaceName);
+            LOG.debug("deleting space storage context for '{}' ... successful", spaceName);
+            return null;
+        });
+    }
+
+    /**
+     * Restores the deleted space storage context of the given space from the data retained by the storage backend -
+     * the restore is executed server-side, no data is transferred through the service. The restore is rejected, if the
+     * organization exceeds a quota.
+     *
+     * @param orgaName       The name of the organization
+     * @param spaceName      The name of the space
+     * @param idempotencyKey Optional idempotency key of the client
+     * @throws StorageManagerException thrown on StorageManagerException Errors, e.g. if no deleted storage is retained
+     */
+    public void restoreSpaceContext(String orgaName, String spaceName, String idempotencyKey) throws StorageManagerException {
+        execute(RESTORE_SPACE, orgaName, spaceName, idempotencyKey, () -> {
+            LOG.debug("restoring space storage context for '{}'", spaceName);
+            quotaService.checkSpaceCreation(orgaName, spaceName);
+            OrganizationContextDTO org = OrganizationContextDTO.builder().name(orgaName).build();
+            SpaceContextDTO spaceContext = SpaceContextDTO.builder().name(spaceName).organization(org).build();
+            storageService.restoreSpaceStorage(spaceContext);
+            quotaService.spaceCreated(orgaName, spaceName);
+            AuditLogger.info(LOG, "successfully restored storage context for organization {} and space {}",
+                    Utils.getSubjectAsToken(), org, spaceName);
+            LOG.debug("restoring space storage context for '{}' ... successful", spaceName);
+            return null;
+        });
+    }
+
+    /**
+     * Executes an operation deduplicated by the coalescer, within the capacity of its operation type and ordered with
+     * the other operations on the organization
+     */
+    private <T> T execute(String operation, String orgaName, String spaceName, String idempotencyKey,
+            OrganizationLocks.LockedAction<T> action) throws StorageManagerException {
+        return coalescer.execute(operationKey(operation, orgaName, spaceName), idempotencyKey,
+                () -> admissionControl.admit(operation, () -> locks.withLock(orgaName, operation, action)));
+    }
+
+    private static String operationKey(String operation, String orgaName, String spaceName) {
+        return spaceName == null ? operation + "/" + orgaName : operation + "/" + orgaName + "/" + spaceName;
     }
 }
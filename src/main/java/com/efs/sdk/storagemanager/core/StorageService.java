@@ -19,43 +19,314 @@ import com.efs.sdk.common.domain.dto.OrganizationContextDTO;
 import com.efs.sdk.common.domain.dto.SpaceContextDTO;
 import com.efs.sdk.storagemanager.clients.StorageClient;
 import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.jobs.JobProgress;
+import com.efs.sdk.storagemanager.jobs.JournalEntry;
+import com.efs.sdk.storagemanager.jobs.ProvisioningJob;
+import com.efs.sdk.storagemanager.jobs.ProvisioningJournal;
+import com.efs.sdk.storagemanager.model.OrganizationStorageModel;
+import com.efs.sdk.storagemanager.model.OrganizationStorageOptions;
+import com.efs.sdk.storagemanager.model.SpaceStorageOptions;
+import com.efs.sdk.storagemanager.model.StorageUsage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.CLONE_TARGET_EXISTS;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.SPACE_CONTEXT_NOT_FOUND;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.STORAGE_ACCOUNT_ALREADY_EXISTS;
+
 @Service
 public class StorageService {
 
     private static final Logger LOG = LoggerFactory.getLogger(StorageService.class);
+    static final String REQUEST_ORGANIZATION = "organization";
+    static final String REQUEST_SPACE = "space";
+    static final String REQUEST_OPTIONS = "options";
+    static final String REQUEST_SOURCE = "source";
+    /**
+     * Records whether the organization storage is created by the operation - {@code false}, if it existed before
+     */
+    static final String CREATE_ORGANIZATION_ATTEMPTED = "create-organization-storage-attempted";
     private final StorageClient storageClient;
+    private final ProvisioningJournal journal;
+    private final BackendScheduler scheduler;
+    private final ContextStatusService statusService;
+    private final DeletionReaper reaper;
+    private final SpaceCloner cloner;
 
-    public StorageService(StorageClient storageClient) {
+    public StorageService(StorageClient storageClient, ProvisioningJournal journal, BackendScheduler scheduler, ContextStatusService statusService,
+            DeletionReaper reaper, SpaceCloner cloner) {
         this.storageClient = storageClient;
+        this.journal = journal;
+        this.scheduler = scheduler;
+        this.statusService = statusService;
+        this.reaper = reaper;
+        this.cloner = cloner;
     }
 
-    public void createOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException {
+    public OrganizationStorageModel createOrganizationStorage(OrganizationContextDTO organization, OrganizationStorageOptions options) throws StorageManagerException {
         LOG.info("Creating storage for organization '{}'", organization.getName());
-        storageClient.createOrganizationStorage(organization);
-        storageClient.createLoadingzone(organization);
+        storageClient.validateOrganizationStorage(organization, options);
+        // a previous organization of the same name must not leave data behind
+        reaper.purgeNow(organization.getName(), null);
+        JournalEntry entry = journal.open(ProvisioningJob.Operation.CREATE_ORGANIZATION, organization.getName(), null,
+                Map.of(REQUEST_ORGANIZATION, organization, REQUEST_OPTIONS, options));
+        OrganizationStorageModel storage;
+        try {
+            storage = step(entry, "create-organization-storage", OrganizationStorageModel.class,
+                    () -> createOrAdoptOrganizationStorage(entry, organization, options));
+            step(entry, "create-loadingzone", Void.class, () -> {
+                storageClient.createLoadingzone(organization);
+                return null;
+            });
+            journal.close(entry);
+        } catch (StorageManagerException e) {
+            discardIfRejected(entry, e);
+            throw e;
+        } finally {
+            statusService.evictOrganization(organization.getName());
+        }
         LOG.info("Creating storage for organization '{}' ... successful", organization.getName());
+        return storage;
     }
 
 
-    public void createSpaceStorage(SpaceContextDTO space) throws StorageManagerException {
+    /**
+     * Creates the storage of an organization - or adopts the storage created by a previous attempt of the same operation.
+     * <p>
+     * A previous attempt may have created the storage and failed (or timed out, while the backend completed the call)
+     * before the storage was configured. The storage then already exists on retry, so its configuration is completed by
+     * repairing its drift instead. Storage which existed before the operation started is never adopted.
+     */
+    private OrganizationStorageModel createOrAdoptOrganizationStorage(JournalEntry entry, OrganizationContextDTO organization, OrganizationStorageOptions options)
+            throws StorageManagerException {
+        Boolean attempted = journal.isCompleted(entry, CREATE_ORGANIZATION_ATTEMPTED) ? journal.getResult(entry, CREATE_ORGANIZATION_ATTEMPTED, Boolean.class) : null;
+        if (attempted == null) {
+            journal.completeStep(entry, CREATE_ORGANIZATION_ATTEMPTED, true);
+        }
+        try {
+            return storageClient.createOrganizationStorage(organization, options);
+        } catch (StorageManagerException e) {
+            if (!e.is(STORAGE_ACCOUNT_ALREADY_EXISTS)) {
+                throw e;
+            }
+            if (Boolean.TRUE.equals(attempted)) {
+                LOG.warn("Storage of organization '{}' was created by a previous attempt - completing its configuration", organization.getName());
+                storageClient.reconcileOrganization(organization.getName(), true);
+                return storageClient.getOrganizationStorage(organization.getName()).orElseThrow(() -> e);
+            }
+            journal.completeStep(entry, CREATE_ORGANIZATION_ATTEMPTED, false);
+            throw e;
+        }
+    }
+
+    public void createSpaceStorage(SpaceContextDTO space, SpaceStorageOptions options) throws StorageManagerException {
         LOG.info("Creating storage for space '{}'", space.getName());
-        storageClient.createSpaceStorage(space);
+        storageClient.validateSpaceStorage(space, options);
+        reaper.purgeNow(space.getOrganization().getName(), space.getName());
+        JournalEntry entry = journal.open(ProvisioningJob.Operation.CREATE_SPACE, space.getOrganization().getName(), space.getName(),
+                Map.of(REQUEST_SPACE, space, REQUEST_OPTIONS, options));
+        try {
+            step(entry, "create-space-storage", Void.class, () -> {
+                storageClient.createSpaceStorage(space, options);
+                return null;
+            });
+            journal.close(entry);
+        } catch (StorageManagerException e) {
+            discardIfRejected(entry, e);
+            throw e;
+        } finally {
+            statusService.evictSpace(space.getOrganization().getName(), space.getName());
+        }
         LOG.info("Creating storage for space '{}' ... successful", space.getName());
     }
 
+    /**
+     * Provisions the storage of the target space of a clone - the objects are copied by {@link #copySpaceClone(JournalEntry)}.
+     * <p>
+     * The clone stays pending in the journal until its copy is complete, so a repeated clone continues the pending one
+     * instead of being rejected because the target exists.
+     *
+     * @param source  the space to clone
+     * @param target  the target space
+     * @param options the provisioning settings of the target space
+     * @return the journal entry of the clone
+     * @throws StorageManagerException thrown, if the source does not exist, the target already exists or the provisioning fails
+     */
+    public JournalEntry provisionSpaceClone(SpaceContextDTO source, SpaceContextDTO target, SpaceStorageOptions options) throws StorageManagerException {
+        String orgaName = target.getOrganization().getName();
+        LOG.info("Creating storage for space '{}' as clone of space '{}'", target.getName(), source.getName());
+        if (statusService.getSpaceStorage(orgaName, source.getName()).isEmpty()) {
+            throw new StorageManagerException(SPACE_CONTEXT_NOT_FOUND, orgaName + "/" + source.getName());
+        }
+        if (!journal.isPending(orgaName, target.getName()) && statusService.getSpaceStorage(orgaName, target.getName()).isPresent()) {
+            throw new StorageManagerException(CLONE_TARGET_EXISTS, orgaName + "/" + target.getName());
+        }
+        storageClient.validateSpaceStorage(target, options);
+        reaper.purgeNow(orgaName, target.getName());
+        JournalEntry entry = journal.open(ProvisioningJob.Operation.CLONE_SPACE, orgaName, target.getName(),
+                Map.of(REQUEST_SOURCE, source, REQUEST_SPACE, target, REQUEST_OPTIONS, options));
+        try {
+            step(entry, "create-space-storage", Void.class, () -> {
+                storageClient.createSpaceStorage(target, options);
+                return null;
+            });
+        } catch (StorageManagerException e) {
+            discardIfRejected(entry, e);
+            throw e;
+        } finally {
+            statusService.evictSpace(orgaName, target.getName());
+        }
+        return entry;
+    }
+
+    /**
+     * Copies the objects of a clone provisioned by {@link #provisionSpaceClone(SpaceContextDTO, SpaceContextDTO, SpaceStorageOptions)}
+     * server-side and closes the clone.
+     *
+     * @param entry the journal entry of the clone
+     * @return the number and total size of the copied objects
+     * @throws StorageManagerException thrown, if the copy fails - it is continued at its last checkpoint by a retry
+     */
+    public StorageUsage copySpaceClone(JournalEntry entry) throws StorageManagerException {
+        SpaceContextDTO source = journal.getRequest(entry, REQUEST_SOURCE, SpaceContextDTO.class);
+        SpaceContextDTO target = journal.getRequest(entry, REQUEST_SPACE, SpaceContextDTO.class);
+        LOG.info("Copying objects of space '{}' into space '{}'", source.getName(), target.getName());
+        StorageUsage copied = cloner.copy(entry, entry.getOrganization(), source.getName(), target.getName());
+        journal.close(entry);
+        LOG.info("Copying objects of space '{}' into space '{}' ... successful ({} objects, {} bytes)", source.getName(), target.getName(),
+                copied.objects(), copied.bytes());
+        return copied;
+    }
+
     public void deleteOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException {
         LOG.info("Deleting storage for organization '{}'", organization.getName());
-        storageClient.deleteOrganizationStorage(organization);
+        try {
+            if (reaper.isEnabled()) {
+                // the data is purged in the background
+                scheduler.execute(organization.getName(), () -> {
+                    storageClient.revokeOrganizationStorage(organization);
+                    return null;
+                });
+                reaper.deleted(organization.getName(), null);
+            } else {
+                scheduler.execute(organization.getName(), () -> {
+                    storageClient.deleteOrganizationStorage(organization);
+                    return null;
+                });
+            }
+            // pending provisioning must not be resumed for a deleted organization
+            journal.discardOrganization(organization.getName());
+        } finally {
+            statusService.evictOrganization(organization.getName());
+        }
         LOG.info("Deleting storage for organization '{}' ... successful", organization.getName());
     }
 
     public void deleteSpaceStorage(SpaceContextDTO space) throws StorageManagerException {
         LOG.info("Deleting storage for space '{}'", space.getName());
-        this.storageClient.deleteSpaceStorage(space);
+        try {
+            if (reaper.isEnabled()) {
+                scheduler.execute(space.getOrganization().getName(), () -> {
+                    storageClient.revokeSpaceStorage(space);
+                    return null;
+                });
+                reaper.deleted(space.getOrganization().getName(), space.getName());
+            } else {
+                scheduler.execute(space.getOrganization().getName(), () -> {
+                    storageClient.deleteSpaceStorage(space);
+                    return null;
+                });
+            }
+            journal.discardSpace(space.getOrganization().getName(), space.getName());
+        } finally {
+            statusService.evictSpace(space.getOrganization().getName(), space.getName());
+        }
         LOG.info("Deleting storage for space '{}' ... successful", space.getName());
     }
+
+    public void restoreOrganizationStorage(OrganizationContextDTO organization) throws StorageManagerException {
+        LOG.info("Restoring storage for organization '{}'", organization.getName());
+        try {
+            scheduler.execute(organization.getName(), () -> {
+                storageClient.restoreOrganizationStorage(organization);
+                return null;
+            });
+            // the restored data must not be purged - the caller holds the organization lock, so no purge is running
+            reaper.restored(organization.getName(), null);
+        } finally {
+            statusService.evictOrganization(organization.getName());
+        }
+        LOG.info("Restoring storage for organization '{}' ... successful", organization.getName());
+    }
+
+    public void restoreSpaceStorage(SpaceContextDTO space) throws StorageManagerException {
+        LOG.info("Restoring storage for space '{}'", space.getName());
+        try {
+            scheduler.execute(space.getOrganization().getName(), () -> {
+                storageClient.restoreSpaceStorage(space);
+                return null;
+            });
+            reaper.restored(space.getOrganization().getName(), space.getName());
+        } finally {
+            statusService.evictSpace(space.getOrganization().getName(), space.getName());
+        }
+        LOG.info("Restoring storage for space '{}' ... successful", space.getName());
+    }
+
+    /**
+     * Discards the journal entry of an operation rejected by the backend with a client error (e.g. an account name
+     * taken by another subscription), so that the context is not reported as provisioning and the operation is not
+     * resumed on every start. Entries with completed provisioning steps are kept, so that a retry can complete what
+     * was created; so are rejections the client is asked to retry later.
+     */
+    private void discardIfRejected(JournalEntry entry, StorageManagerException e) {
+        boolean retryLater = e.getHttpStatus() == HttpStatus.TOO_MANY_REQUESTS || e.getRetryAfter() != null;
+        boolean provisioned = entry.getCompletedSteps().keySet().stream().anyMatch(step -> !CREATE_ORGANIZATION_ATTEMPTED.equals(step));
+        if (e.getHttpStatus().is4xxClientError() && !retryLater && !provisioned) {
+            journal.discard(entry);
+        }
+    }
+
+    /**
+     * Executes a single backend step and reports its progress to the current provisioning job (if any).
+     * <p>
+     * A step already completed by a previous attempt of the operation is not executed again - its journaled result is
+     * returned instead. A successful step is journaled before the next step starts. The backend call of the step is
+     * scheduled by the {@link BackendScheduler}.
+     *
+     * @param entry  the journal entry of the operation
+     * @param name   the name of the step
+     * @param type   the result type of the step
+     * @param action the action
+     * @param <T>    the result type of the step
+     * @return the result of the step
+     * @throws StorageManagerException thrown, if the step fails
+     */
+    private <T> T step(JournalEntry entry, String name, Class<T> type, StepAction<T> action) throws StorageManagerException {
+        JobProgress.startStep(name);
+        boolean success = false;
+        try {
+            T result;
+            if (journal.isCompleted(entry, name)) {
+                LOG.info("Skipping step '{}' of '{}' - already completed", name, entry.getKey());
+                result = journal.getResult(entry, name, type);
+            } else {
+                result = scheduler.execute(entry.getOrganization(), action::run);
+                journal.completeStep(entry, name, result);
+            }
+            success = true;
+            return result;
+        } finally {
+            JobProgress.finishStep(name, success);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StepAction<T> {
+        T run() throws StorageManagerException;
+    }
 }
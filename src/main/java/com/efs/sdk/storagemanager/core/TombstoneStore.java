@@ -0,0 +1,195 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.model.Tombstone;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * File-backed store of the {@link Tombstone tombstones} of deleted organizations and spaces.
+ * <p>
+ * Like the provisioning journal, tombstones are stored as JSON in {@code <directory>/<organization>/organization.json}
+ * and {@code <directory>/<organization>/spaces/<space>.json} and written atomically. They are cached in memory, so
+ * checking whether a context is deleted never touches the disk; {@link #list()} re-reads the directory and thereby
+ * picks up tombstones of other replicas sharing it. Before acting on a single tombstone, {@link #reload(String, String)}
+ * re-reads it, so that tombstones written or removed by other replicas since are not missed.
+ */
+@Component
+public class TombstoneStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TombstoneStore.class);
+    private static final String ORGANIZATION_FILE = "organization.json";
+    private static final String SPACES_DIR = "spaces";
+    private static final String SUFFIX = ".json";
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private volatile Map<Key, Tombstone> tombstones = new ConcurrentHashMap<>();
+
+    public TombstoneStore(ObjectMapper objectMapper, ReaperProperties properties) {
+        this.objectMapper = objectMapper;
+        this.directory = properties.getDirectory();
+        list();
+    }
+
+    /**
+     * Stores a tombstone - replacing the tombstone of the same context
+     *
+     * @param tombstone the tombstone
+     */
+    public synchronized void put(Tombstone tombstone) {
+        Path file = getFile(tombstone.organization(), tombstone.space());
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, objectMapper.writeValueAsBytes(tombstone));
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("unable to write tombstone " + file, e);
+        }
+        tombstones.put(new Key(tombstone.organization(), tombstone.space()), tombstone);
+    }
+
+    /**
+     * Removes the tombstone of a purged organization or space
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space ({@code null} for the organization)
+     */
+    public synchronized void remove(String organization, String space) {
+        Path file = getFile(organization, space);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("unable to delete tombstone " + file, e);
+        }
+        tombstones.remove(new Key(organization, space));
+    }
+
+    /**
+     * Gets the tombstone of an organization or space
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space ({@code null} for the organization)
+     * @return the tombstone or empty, if there is none
+     */
+    public Optional<Tombstone> get(String organization, String space) {
+        return Optional.ofNullable(tombstones.get(new Key(organization, space)));
+    }
+
+    /**
+     * Re-reads the tombstone of an organization or space from the directory - it may have been written or removed by
+     * another replica since the last {@link #list()}
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space ({@code null} for the organization)
+     * @return the tombstone or empty, if there is none
+     */
+    public synchronized Optional<Tombstone> reload(String organization, String space) {
+        Path file = getFile(organization, space);
+        Key key = new Key(organization, space);
+        Optional<Tombstone> tombstone = Files.exists(file) ? read(file) : Optional.empty();
+        tombstone.ifPresentOrElse(t -> tombstones.put(key, t), () -> tombstones.remove(key));
+        return tombstone;
+    }
+
+    /**
+     * Checks whether an organization or space has been deleted - a space also counts as deleted, if its organization
+     * has been deleted
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space ({@code null} for the organization)
+     * @return whether the context has been deleted
+     */
+    public boolean isDeleted(String organization, String space) {
+        return tombstones.containsKey(new Key(organization, null)) || space != null && tombstones.containsKey(new Key(organization, space));
+    }
+
+    /**
+     * Gets the number of tombstones
+     *
+     * @return the number of tombstones
+     */
+    public int size() {
+        return tombstones.size();
+    }
+
+    /**
+     * Lists all tombstones - oldest first
+     *
+     * @return the tombstones
+     */
+    public synchronized List<Tombstone> list() {
+        List<Tombstone> current = new ArrayList<>();
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.filter(f -> f.getFileName().toString().endsWith(SUFFIX)).forEach(f -> read(f).ifPresent(current::add));
+            } catch (IOException e) {
+                throw new UncheckedIOException("unable to read tombstones in " + directory, e);
+            }
+        }
+        Map<Key, Tombstone> fresh = new ConcurrentHashMap<>();
+        current.forEach(t -> fresh.put(new Key(t.organization(), t.space()), t));
+        tombstones = fresh;
+        current.sort(Comparator.comparing(Tombstone::deletedAt));
+        return current;
+    }
+
+    private Optional<Tombstone> read(Path file) {
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), Tombstone.class));
+        } catch (IOException e) {
+            LOG.warn("ignoring unreadable tombstone {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Path getFile(String organization, String space) {
+        Path orgDir = directory.resolve(encode(organization));
+        return space == null ? orgDir.resolve(ORGANIZATION_FILE) : orgDir.resolve(SPACES_DIR).resolve(encode(space) + SUFFIX);
+    }
+
+    private static String encode(String name) {
+        // names end up as path segments - make sure they cannot escape the tombstone directory
+        return URLEncoder.encode(name, UTF_8).replace(".", "%2E");
+    }
+
+    private record Key(String organization, String space) {
+    }
+}
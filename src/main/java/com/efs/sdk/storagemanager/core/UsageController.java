@@ -0,0 +1,129 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.logging.AuditLogger;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.helper.AuthHelper;
+import com.efs.sdk.storagemanager.model.OrganizationUsage;
+import com.efs.sdk.storagemanager.model.QuotaViolation;
+import com.efs.sdk.storagemanager.model.SpaceUsage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.INSUFFICIENT_PRIVILEGE;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.USAGE_NOT_AVAILABLE;
+
+@RequestMapping(value = UsageController.ENDPOINT)
+@RestController
+@Tag(name = UsageController.ENDPOINT, description = "Storage usage and quotas of organizations and spaces.")
+public class UsageController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UsageController.class);
+    static final String VERSION = "v2.0";
+    static final String ENDPOINT = "/" + VERSION + "/context/usage/";
+
+    private final UsageService usageService;
+    private final QuotaService quotaService;
+    private final AuthHelper authHelper;
+
+    public UsageController(AuthHelper authHelper, UsageService usageService, QuotaService quotaService) {
+        this.authHelper = authHelper;
+        this.usageService = usageService;
+        this.quotaService = quotaService;
+    }
+
+    @Operation(
+            summary = "Get the storage usage of an organization.",
+            description = """
+                    Returns the bytes and objects stored by the organization - in total and per space - as of the last background scan of each
+                    space (see scannedAt). <br>
+                    Only superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the usage.")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User is not a superuser.")
+    @ApiResponse(responseCode = "404", description = "No space of the organization has been scanned yet.")
+    @GetMapping(path = "organization/{orgaName}")
+    public ResponseEntity<OrganizationUsage> getOrganizationUsage(
+            @Parameter(hidden = true) JwtAuthenticationToken token,
+            @PathVariable @Parameter(description = "Name of the organization.") String orgaName
+    ) throws StorageManagerException {
+        checkSuperuser(token);
+        OrganizationUsage usage = usageService.getOrganizationUsage(orgaName).orElseThrow(() -> new StorageManagerException(USAGE_NOT_AVAILABLE, orgaName));
+        return new ResponseEntity<>(usage, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Get the storage usage of a space.",
+            description = """
+                    Returns the bytes and objects stored in the space as of its last background scan (see scannedAt). <br>
+                    Only superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the usage.")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User is not a superuser.")
+    @ApiResponse(responseCode = "404", description = "The space has not been scanned yet.")
+    @GetMapping(path = "organization/{orgaName}/space/{spaceName}")
+    public ResponseEntity<SpaceUsage> getSpaceUsage(
+            @Parameter(hidden = true) JwtAuthenticationToken token,
+            @PathVariable @Parameter(description = "Name of the organization.") String orgaName,
+            @PathVariable @Parameter(description = "Name of the space.") String spaceName
+    ) throws StorageManagerException {
+        checkSuperuser(token);
+        SpaceUsage usage = usageService.getSpaceUsage(orgaName, spaceName)
+                .orElseThrow(() -> new StorageManagerException(USAGE_NOT_AVAILABLE, orgaName + "/" + spaceName));
+        return new ResponseEntity<>(usage, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "List the exceeded quotas.",
+            description = """
+                    Returns the quotas of organizations and spaces (bytes, objects, number of spaces) exceeded as of the last enforcement
+                    cycle. <br>
+                    Only superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully listed the exceeded quotas.")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User is not a superuser.")
+    @GetMapping(path = "quota-violations")
+    public ResponseEntity<List<QuotaViolation>> getQuotaViolations(
+            @Parameter(hidden = true) JwtAuthenticationToken token
+    ) throws StorageManagerException {
+        checkSuperuser(token);
+        return new ResponseEntity<>(quotaService.getViolations(), HttpStatus.OK);
+    }
+
+    private void checkSuperuser(JwtAuthenticationToken token) throws StorageManagerException {
+        if (!authHelper.isSuperuser(token)) {
+            AuditLogger.error(LOG, "insufficient permissions to read the storage usage", token);
+            throw new StorageManagerException(INSUFFICIENT_PRIVILEGE);
+        }
+    }
+}
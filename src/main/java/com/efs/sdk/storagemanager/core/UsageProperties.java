@@ -0,0 +1,119 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link UsageService}.
+ */
+@ConfigurationProperties(prefix = "storagemanager.usage")
+public class UsageProperties {
+
+    private boolean enabled = true;
+    private Duration initialDelay = Duration.ofMinutes(1);
+    /**
+     * Pause between two scan cycles
+     */
+    private Duration interval = Duration.ofMinutes(10);
+    /**
+     * Age after which the usage of a space is scanned again
+     */
+    private Duration maxAge = Duration.ofHours(1);
+    /**
+     * Number of spaces scanned concurrently
+     */
+    private int parallelism = 4;
+    /**
+     * Maximum number of spaces scanned per cycle - the next cycle continues where the previous one stopped
+     */
+    private int spacesPerCycle = 500;
+    /**
+     * Number of organizations (largest first) with their own usage gauges - the others are summed up as "other"
+     */
+    private int gaugeOrganizations = 20;
+    /**
+     * File holding the results of the scans - read by the replicas which do not scan
+     */
+    private Path file = Path.of(System.getProperty("java.io.tmpdir"), "storagemanager-usage.json");
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getInitialDelay() {
+        return initialDelay;
+    }
+
+    public void setInitialDelay(Duration initialDelay) {
+        this.initialDelay = initialDelay;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getSpacesPerCycle() {
+        return spacesPerCycle;
+    }
+
+    public void setSpacesPerCycle(int spacesPerCycle) {
+        this.spacesPerCycle = spacesPerCycle;
+    }
+
+    public int getGaugeOrganizations() {
+        return gaugeOrganizations;
+    }
+
+    public void setGaugeOrganizations(int gaugeOrganizations) {
+        this.gaugeOrganizations = gaugeOrganizations;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void setFile(Path file) {
+        this.file = file;
+    }
+}
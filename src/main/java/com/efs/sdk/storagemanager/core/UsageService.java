@@ -0,0 +1,322 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.helper.Utils;
+import com.efs.sdk.storagemanager.lease.LeaderElection;
+import com.efs.sdk.storagemanager.model.InventoryItem;
+import com.efs.sdk.storagemanager.model.InventoryPage;
+import com.efs.sdk.storagemanager.model.OrganizationUsage;
+import com.efs.sdk.storagemanager.model.SpaceUsage;
+import com.efs.sdk.storagemanager.model.StorageUsage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the storage usage (bytes and objects) of all spaces.
+ * <p>
+ * Counting the objects of a space means listing all of them, so the usage is never computed on request. Instead, the
+ * spaces are scanned in the background: each cycle walks the {@link InventoryService inventory} from the cursor where
+ * the previous cycle stopped (the watermark), scans the spaces whose usage is older than the configured maximum age -
+ * several spaces in parallel, each space being a separate prefix (S3) or container (Azure) - and stops after a
+ * configured number of scans. Requests are answered from the in-memory results of the last scans.
+ * <p>
+ * With several replicas, only the elected leader of {@value #LEADER_ROLE} scans (see {@link LeaderElection}). After each
+ * cycle the leader writes the results and its watermark to a file shared by the replicas; the other replicas read the
+ * file instead of scanning, so they answer usage requests and enforce quotas as well, and a new leader continues at the
+ * watermark of the previous one.
+ * <p>
+ * The usage per organization is published as gauges for the largest organizations only, so the number of time series
+ * does not grow with the number of organizations.
+ */
+@Service
+public class UsageService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UsageService.class);
+    private static final String METRIC_PREFIX = "storagemanager.usage";
+    private static final String OTHER_ORGANIZATIONS = "other";
+    static final String LEADER_ROLE = "usage-scan";
+    private final StorageClient storageClient;
+    private final BackendScheduler scheduler;
+    private final InventoryService inventoryService;
+    private final UsageProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<String, SpaceUsage> usages = new ConcurrentHashMap<>();
+    private final Set<String> seenInPass = ConcurrentHashMap.newKeySet();
+    private final ExecutorService scanners;
+    private final ScheduledExecutorService timer;
+    private final MultiGauge bytesGauge;
+    private final MultiGauge objectsGauge;
+    private final Timer cycleTimer;
+    private final AtomicInteger failedScans = new AtomicInteger();
+    private String watermark;
+    // whether the usage in memory is the result of the own scans - otherwise it is read from the file before scanning
+    private volatile boolean leading;
+    // whether this replica walked the current pass from its start - only then it knows which spaces no longer exist
+    private boolean wholePass;
+
+    public UsageService(StorageClient storageClient, BackendScheduler scheduler, InventoryService inventoryService, UsageProperties properties,
+            ObjectMapper objectMapper, LeaderElection leaderElection, MeterRegistry meterRegistry) {
+        this.storageClient = storageClient;
+        this.scheduler = scheduler;
+        this.inventoryService = inventoryService;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.scanners = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), daemon("usage-scanner"));
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemon("usage-timer"));
+        this.bytesGauge = MultiGauge.builder(METRIC_PREFIX + ".bytes").description("Bytes stored per organization").baseUnit("bytes").register(meterRegistry);
+        this.objectsGauge = MultiGauge.builder(METRIC_PREFIX + ".objects").description("Objects stored per organization").register(meterRegistry);
+        this.cycleTimer = Timer.builder(METRIC_PREFIX + ".scan.cycle").description("Duration of a usage scan cycle").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".spaces", usages, Map::size).description("Spaces with known usage").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".scan.failures", failedScans, AtomicInteger::get).description("Failed space scans of the last cycle").register(meterRegistry);
+        if (properties.isEnabled() && Utils.isTemporary(properties.getFile())) {
+            LOG.warn("usage {} is kept in the temporary directory - replicas which do not scan neither report usage nor enforce byte and object quotas",
+                    properties.getFile());
+        }
+        if (properties.isEnabled()) {
+            timer.scheduleWithFixedDelay(() -> {
+                if (leaderElection.isLeader(LEADER_ROLE)) {
+                    scan();
+                } else {
+                    leading = false;
+                    load();
+                }
+            }, properties.getInitialDelay().toMillis(), properties.getInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Gets the usage of a space as of its last scan
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space
+     * @return the usage or empty, if the space has not been scanned yet
+     */
+    public Optional<SpaceUsage> getSpaceUsage(String organization, String space) {
+        return Optional.ofNullable(usages.get(key(organization, space)));
+    }
+
+    /**
+     * Gets the usage of an organization - the sum of its scanned spaces
+     *
+     * @param organization the name of the organization
+     * @return the usage or empty, if none of its spaces has been scanned yet
+     */
+    public Optional<OrganizationUsage> getOrganizationUsage(String organization) {
+        List<SpaceUsage> spaces = usages.values().stream()
+                .filter(u -> u.organization().equals(organization))
+                .sorted(Comparator.comparing(SpaceUsage::space))
+                .toList();
+        if (spaces.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new OrganizationUsage(organization, spaces.stream().mapToLong(SpaceUsage::bytes).sum(),
+                spaces.stream().mapToLong(SpaceUsage::objects).sum(), spaces));
+    }
+
+    /**
+     * Runs a scan cycle: scans the stale spaces from the watermark on until the cycle budget is used up or the end of
+     * the inventory is reached
+     */
+    void scan() {
+        long started = System.nanoTime();
+        if (!leading) {
+            // continue with the results of the previous leader
+            load();
+            leading = true;
+        }
+        int budget = properties.getSpacesPerCycle();
+        failedScans.set(0);
+        try {
+            String cursor = watermark;
+            do {
+                if (cursor == null) {
+                    seenInPass.clear();
+                    wholePass = true;
+                }
+                Instant staleBefore = Instant.now().minus(properties.getMaxAge());
+                InventoryPage page = inventoryService.getPage(cursor, Math.min(budget, InventoryService.MAX_PAGE_SIZE));
+                List<InventoryItem> stale = new ArrayList<>();
+                for (InventoryItem item : page.items()) {
+                    if (item.space() == null) {
+                        continue;
+                    }
+                    seenInPass.add(key(item.organization(), item.space()));
+                    SpaceUsage known = usages.get(key(item.organization(), item.space()));
+                    if (known == null || known.scannedAt().isBefore(staleBefore)) {
+                        stale.add(item);
+                    }
+                }
+                scanAll(stale);
+                budget -= stale.size();
+                cursor = page.next();
+                if (cursor == null && wholePass) {
+                    // a full pass over the inventory is complete - forget spaces which no longer exist
+                    usages.keySet().retainAll(seenInPass);
+                }
+            } while (cursor != null && budget > 0);
+            watermark = cursor;
+        } catch (StorageManagerException | RuntimeException e) {
+            LOG.warn("usage scan cycle failed - continuing from the same watermark next cycle: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            cycleTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            publishGauges();
+            store();
+        }
+    }
+
+    /**
+     * Reads the results of the scans of the leader
+     */
+    void load() {
+        Path file = properties.getFile();
+        try {
+            if (!Files.exists(file)) {
+                return;
+            }
+            StoredUsage stored = objectMapper.readValue(file.toFile(), StoredUsage.class);
+            Map<String, SpaceUsage> fresh = new HashMap<>();
+            stored.spaces().forEach(u -> fresh.put(key(u.organization(), u.space()), u));
+            usages.keySet().retainAll(fresh.keySet());
+            usages.putAll(fresh);
+            watermark = stored.watermark();
+            wholePass = false;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("unable to read usage {} - keeping the previous usage: {}", file, e.getMessage());
+        }
+    }
+
+    private void store() {
+        Path file = properties.getFile();
+        try {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(tmp, objectMapper.writeValueAsBytes(new StoredUsage(watermark, List.copyOf(usages.values()))));
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOG.warn("unable to write usage {} - other replicas keep the previous usage: {}", file, e.getMessage());
+        }
+    }
+
+    private void scanAll(List<InventoryItem> spaces) throws InterruptedException {
+        List<Future<?>> scans = new ArrayList<>(spaces.size());
+        for (InventoryItem item : spaces) {
+            scans.add(scanners.submit(() -> scanSpace(item)));
+        }
+        for (Future<?> scan : scans) {
+            try {
+                scan.get();
+            } catch (ExecutionException e) {
+                LOG.warn("usage scan failed: {}", e.getCause().getMessage());
+            }
+        }
+    }
+
+    private void scanSpace(InventoryItem item) {
+        try {
+            StorageUsage usage = BackendScheduler.inLane(BackendScheduler.Lane.BULK,
+                    () -> scheduler.execute(item.organization(), () -> storageClient.getSpaceUsage(item.organization(), item.space())));
+            usages.put(key(item.organization(), item.space()), new SpaceUsage(item.organization(), item.space(), usage.bytes(), usage.objects(), Instant.now()));
+        } catch (StorageManagerException | RuntimeException e) {
+            // keep the previous usage of the space - it is scanned again in the next cycle
+            failedScans.incrementAndGet();
+            LOG.warn("scanning usage of space '{}' of organization '{}' failed: {}", item.space(), item.organization(), e.getMessage());
+        }
+    }
+
+    private void publishGauges() {
+        Map<String, StorageUsage> perOrganization = new HashMap<>();
+        usages.values().forEach(u -> perOrganization.merge(u.organization(), new StorageUsage(u.bytes(), u.objects()), StorageUsage::plus));
+        List<Map.Entry<String, StorageUsage>> largest = perOrganization.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, StorageUsage> e) -> e.getValue().bytes()).reversed())
+                .toList();
+        Map<String, StorageUsage> rows = new HashMap<>();
+        for (int i = 0; i < largest.size(); i++) {
+            String organization = i < properties.getGaugeOrganizations() ? largest.get(i).getKey() : OTHER_ORGANIZATIONS;
+            rows.merge(organization, largest.get(i).getValue(), StorageUsage::plus);
+        }
+        bytesGauge.register(rows.entrySet().stream()
+                .map(e -> MultiGauge.Row.of(Tags.of("organization", e.getKey()), e.getValue().bytes()))
+                .toList(), true);
+        objectsGauge.register(rows.entrySet().stream()
+                .map(e -> MultiGauge.Row.of(Tags.of("organization", e.getKey()), e.getValue().objects()))
+                .toList(), true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        scanners.shutdownNow();
+    }
+
+    private static String key(String organization, String space) {
+        return organization + "/" + space;
+    }
+
+    /**
+     * Persisted results of the scans
+     */
+    record StoredUsage(String watermark, List<SpaceUsage> spaces) {
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
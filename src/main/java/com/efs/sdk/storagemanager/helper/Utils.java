@@ -4,6 +4,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
+import java.nio.file.Path;
 import java.util.Objects;
 
 public class Utils {
@@ -31,4 +32,15 @@ public class Utils {
         return Objects.requireNonNull(((JwtAuthenticationToken) SecurityContextHolder.getContext().getAuthentication()), "JWT token of " +
                 "SecurityContextHolder should not be null");
     }
+
+    /**
+     * Checks whether a path lies in the temporary directory - state kept there is neither shared by the replicas nor
+     * kept across restarts of the pod
+     *
+     * @param path the path
+     * @return whether the path is temporary
+     */
+    public static boolean isTemporary(Path path) {
+        return path.toAbsolutePath().normalize().startsWith(Path.of(System.getProperty("java.io.tmpdir")).toAbsolutePath().normalize());
+    }
 }
@@ -0,0 +1,86 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.jobs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Configuration of the bounded worker pools for asynchronous provisioning jobs and bulk operations.
+ */
+@Configuration
+public class JobConfig {
+
+    public static final String JOB_EXECUTOR = "provisioningJobExecutor";
+    public static final String BULK_EXECUTOR = "bulkExecutor";
+
+    /**
+     * Worker pool for provisioning jobs. The security context of the submitting request is propagated to the worker,
+     * as audit logging requires the subject of the user.
+     *
+     * @param poolSize      number of worker threads
+     * @param queueCapacity number of jobs waiting for a worker - further jobs are rejected
+     * @return the executor
+     */
+    @Bean(name = JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor provisioningJobExecutor(@Value("${storagemanager.jobs.pool-size:4}") int poolSize,
+            @Value("${storagemanager.jobs.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("provisioning-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.setTaskDecorator(JobConfig::propagateSecurityContext);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Worker pool shared by all bulk operations - it bounds the fan-out of the items of all bulk requests. As for jobs,
+     * the security context of the request is propagated to the workers.
+     *
+     * @param parallelism number of worker threads
+     * @return the executor
+     */
+    @Bean(name = BULK_EXECUTOR)
+    public ThreadPoolTaskExecutor bulkExecutor(@Value("${storagemanager.bulk.parallelism:8}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("bulk-");
+        executor.setTaskDecorator(JobConfig::propagateSecurityContext);
+        executor.initialize();
+        return executor;
+    }
+
+    private static Runnable propagateSecurityContext(Runnable runnable) {
+        SecurityContext context = SecurityContextHolder.getContext();
+        return () -> {
+            SecurityContextHolder.setContext(context);
+            try {
+                runnable.run();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        };
+    }
+}
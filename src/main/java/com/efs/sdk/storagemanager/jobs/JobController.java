@@ -0,0 +1,89 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.jobs;
+
+import com.efs.sdk.logging.AuditLogger;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.helper.AuthHelper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.INSUFFICIENT_PRIVILEGE;
+
+@RequestMapping(value = JobController.ENDPOINT)
+@RestController
+@Tag(name = JobController.ENDPOINT, description = "Status of asynchronous provisioning jobs.")
+public class JobController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobController.class);
+    static final String VERSION = "v2.0";
+    public static final String ENDPOINT = "/" + VERSION + "/jobs/";
+
+    private final ProvisioningJobService jobService;
+    private final AuthHelper authHelper;
+
+    public JobController(AuthHelper authHelper, ProvisioningJobService jobService) {
+        this.authHelper = authHelper;
+        this.jobService = jobService;
+    }
+
+    @Operation(
+            summary = "Get the status of a provisioning job",
+            description = """
+                    Returns the state, the step-level progress and - once finished - the result or error of an asynchronous provisioning job.
+                    Only the user who submitted the job and superusers are authorized to perform this action.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the job.")
+    @ApiResponse(responseCode = "403", description = "Forbidden. User did neither submit the job nor is a superuser.")
+    @ApiResponse(responseCode = "404", description = "Job does not exist or has expired.")
+    @GetMapping(path = "{id}")
+    public ResponseEntity<ProvisioningJob> getJob(
+            @Parameter(hidden = true) JwtAuthenticationToken token,
+            @PathVariable @Parameter(description = "ID of the job.") String id
+    ) throws StorageManagerException {
+        ProvisioningJob job = jobService.getJob(id);
+        if (!token.getToken().getSubject().equals(job.getOwner()) && !authHelper.isSuperuser(token)) {
+            AuditLogger.error(LOG, "insufficient permissions to read job {}", token, id);
+            throw new StorageManagerException(INSUFFICIENT_PRIVILEGE);
+        }
+        return new ResponseEntity<>(job, HttpStatus.OK);
+    }
+
+    /**
+     * Builds the response for a submitted job: {@code 202 Accepted} with the status endpoint of the job as location.
+     *
+     * @param job the submitted job
+     * @return the response
+     */
+    public static ResponseEntity<Object> accepted(ProvisioningJob job) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath().path(ENDPOINT + "{id}").buildAndExpand(job.getId()).toUri())
+                .body(job);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.jobs;
+
+import java.util.function.Consumer;
+
+/**
+ * Reports step-level progress to the {@link ProvisioningJob} executed by the current thread.
+ * <p>
+ * The job is bound to the worker thread by {@link ProvisioningJobService}, together with a listener notified of each
+ * change (e.g. to store the job). For synchronous requests no job is bound and all calls are no-ops.
+ */
+public final class JobProgress {
+
+    private static final ThreadLocal<Binding> CURRENT = new ThreadLocal<>();
+
+    private JobProgress() {
+    }
+
+    static void bind(ProvisioningJob job, Consumer<ProvisioningJob> onChange) {
+        CURRENT.set(new Binding(job, onChange));
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Marks the start of a step
+     *
+     * @param name the name of the step
+     */
+    public static void startStep(String name) {
+        Binding binding = CURRENT.get();
+        if (binding != null) {
+            binding.job().startStep(name);
+            binding.onChange().accept(binding.job());
+        }
+    }
+
+    /**
+     * Marks the end of a step
+     *
+     * @param name    the name of the step
+     * @param success whether the step was successful
+     */
+    public static void finishStep(String name, boolean success) {
+        Binding binding = CURRENT.get();
+        if (binding != null) {
+            binding.job().finishStep(name, success);
+            binding.onChange().accept(binding.job());
+        }
+    }
+
+    private record Binding(ProvisioningJob job, Consumer<ProvisioningJob> onChange) {
+    }
+}
@@ -0,0 +1,67 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.jobs;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * A single backend step of a {@link ProvisioningJob} (e.g. creating the storage account).
+ * <p>
+ * Steps are only modified while holding the lock of the owning job.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobStep {
+
+    private final String name;
+    private final Instant startedAt;
+    private ProvisioningJob.State state = ProvisioningJob.State.RUNNING;
+    private Instant finishedAt;
+
+    JobStep(String name) {
+        this.name = name;
+        this.startedAt = Instant.now();
+    }
+
+    JobStep(String name, Instant startedAt, ProvisioningJob.State state, Instant finishedAt) {
+        this.name = name;
+        this.startedAt = startedAt;
+        this.state = state;
+        this.finishedAt = finishedAt;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ProvisioningJob.State getState() {
+        return state;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    void finish(ProvisioningJob.State finalState) {
+        this.state = finalState;
+        this.finishedAt = Instant.now();
+    }
+}
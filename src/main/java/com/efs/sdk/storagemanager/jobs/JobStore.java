@@ -0,0 +1,200 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.jobs;
+
+import com.efs.sdk.storagemanager.helper.Utils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * File-backed store of the {@link ProvisioningJob provisioning jobs}, so that a job can be polled through any replica.
+ * <p>
+ * Like the provisioning journal, each job is stored as JSON in {@code <directory>/<id>.json} and written atomically -
+ * whenever its state or one of its steps changes. The directory has to be shared by all replicas; jobs are removed
+ * once they have not been updated for the retention time.
+ */
+@Component
+public class JobStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobStore.class);
+    private static final String SUFFIX = ".json";
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final Duration retention;
+
+    public JobStore(ObjectMapper objectMapper,
+            @Value("${storagemanager.jobs.directory:${java.io.tmpdir}/storagemanager-jobs}") Path directory,
+            @Value("${storagemanager.jobs.retention:PT24H}") Duration retention) {
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.retention = retention;
+        if (Utils.isTemporary(directory)) {
+            LOG.warn("provisioning jobs are kept in the temporary directory {} - they can only be polled through the replica executing them",
+                    directory);
+        }
+    }
+
+    /**
+     * Stores the current state of a job - replacing its previous state
+     *
+     * @param job the job
+     */
+    public void put(ProvisioningJob job) {
+        Path file = getFile(job.getId());
+        try {
+            Files.createDirectories(directory);
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, objectMapper.writeValueAsBytes(StoredJob.of(job)));
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("unable to write job " + file, e);
+        }
+    }
+
+    /**
+     * Removes a job (e.g. because it was rejected)
+     *
+     * @param id the id of the job
+     */
+    public void remove(String id) {
+        if (isJobId(id)) {
+            delete(getFile(id));
+        }
+    }
+
+    /**
+     * Gets a job stored by any replica
+     *
+     * @param id the id of the job
+     * @return the job or empty, if it does not exist (anymore)
+     */
+    public Optional<ProvisioningJob> get(String id) {
+        if (!isJobId(id)) {
+            return Optional.empty();
+        }
+        Path file = getFile(id);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            ProvisioningJob job = objectMapper.readValue(file.toFile(), StoredJob.class).toJob();
+            return isExpired(job, Instant.now()) ? Optional.empty() : Optional.of(job);
+        } catch (IOException e) {
+            LOG.warn("ignoring unreadable job {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Removes the jobs which have not been updated for the retention time
+     */
+    public void removeExpired() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Instant now = Instant.now();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(f -> f.getFileName().toString().endsWith(SUFFIX))
+                    .filter(f -> isExpired(f, now))
+                    .forEach(JobStore::delete);
+        } catch (IOException e) {
+            LOG.warn("unable to remove expired jobs in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private boolean isExpired(ProvisioningJob job, Instant now) {
+        return job.getUpdatedAt().plus(retention).isBefore(now);
+    }
+
+    private boolean isExpired(Path file, Instant now) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().plus(retention).isBefore(now);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("unable to delete job {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Path getFile(String id) {
+        return directory.resolve(id + SUFFIX);
+    }
+
+    private static boolean isJobId(String id) {
+        // ids end up as file names - only accept the generated ones
+        try {
+            return UUID.fromString(id).toString().equals(id);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Persisted state of a job - unlike the job itself it includes the owner
+     */
+    record StoredJob(String id, ProvisioningJob.Operation operation, String organization, String space, String owner, Instant createdAt,
+                             Instant updatedAt, ProvisioningJob.State state, List<StoredStep> steps, Object result, ProvisioningJob.JobError error) {
+
+        static StoredJob of(ProvisioningJob job) {
+            synchronized (job) {
+                return new StoredJob(job.getId(), job.getOperation(), job.getOrganization(), job.getSpace(), job.getOwner(), job.getCreatedAt(),
+                        job.getUpdatedAt(), job.getState(), job.getSteps().stream().map(StoredStep::of).toList(), job.getResult(), job.getError());
+            }
+        }
+
+        ProvisioningJob toJob() {
+            return new ProvisioningJob(id, operation, organization, space, owner, createdAt, updatedAt, state,
+                    steps == null ? List.of() : steps.stream().map(StoredStep::toStep).toList(), result, error);
+        }
+    }
+
+    record StoredStep(String name, Instant startedAt, ProvisioningJob.State state, Instant finishedAt) {
+
+        static StoredStep of(JobStep step) {
+            return new StoredStep(step.getName(), step.getStartedAt(), step.getState(), step.getFinishedAt());
+        }
+
+        JobStep toStep() {
+            return new JobStep(name, startedAt, state, finishedAt);
+        }
+    }
+}
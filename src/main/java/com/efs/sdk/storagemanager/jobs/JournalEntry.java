@@ -0,0 +1,128 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.jobs;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Persistent record of an incomplete provisioning operation of an organization or space.
+ * <p>
+ * Besides the completed steps (and their results) the entry holds the request of the operation, so that the operation
+ * can be resumed after a restart.
+ */
+public class JournalEntry {
+
+    private String key;
+    private ProvisioningJob.Operation operation;
+    private String organization;
+    private String space;
+    private Map<String, JsonNode> request = new LinkedHashMap<>();
+    private Map<String, JsonNode> completedSteps = new LinkedHashMap<>();
+    private int attempts;
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public ProvisioningJob.Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(ProvisioningJob.Operation operation) {
+        this.operation = operation;
+    }
+
+    public String getOrganization() {
+        return organization;
+    }
+
+    public void setOrganization(String organization) {
+        this.organization = organization;
+    }
+
+    public String getSpace() {
+        return space;
+    }
+
+    public void setSpace(String space) {
+        this.space = space;
+    }
+
+    /**
+     * Request of the operation (e.g. the DTO and the options) by name
+     *
+     * @return the request
+     */
+    public Map<String, JsonNode> getRequest() {
+        return request;
+    }
+
+    public void setRequest(Map<String, JsonNode> request) {
+        this.request = request;
+    }
+
+    /**
+     * Results of the completed steps by step name (in order of completion)
+     *
+     * @return the completed steps
+     */
+    public Map<String, JsonNode> getCompletedSteps() {
+        return completedSteps;
+    }
+
+    public void setCompletedSteps(Map<String, JsonNode> completedSteps) {
+        this.completedSteps = completedSteps;
+    }
+
+    /**
+     * Number of times the operation has been started
+     *
+     * @return the attempts
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
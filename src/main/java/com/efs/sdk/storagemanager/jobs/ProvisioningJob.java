@@ -0,0 +1,184 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.jobs;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * An asynchronously executed provisioning operation.
+ * <p>
+ * The job is updated by the worker thread and read by request threads - all mutators are synchronized.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProvisioningJob {
+
+    public enum Operation {
+        CREATE_ORGANIZATION,
+        CREATE_SPACE,
+        CLONE_SPACE
+    }
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    private final String id;
+    private final Operation operation;
+    private final String organization;
+    private final String space;
+    private final String owner;
+    private final Instant createdAt;
+    private final List<JobStep> steps = new ArrayList<>();
+    private State state = State.PENDING;
+    private Instant updatedAt;
+    private Object result;
+    private JobError error;
+
+    public ProvisioningJob(Operation operation, String organization, String space, String owner) {
+        this.id = UUID.randomUUID().toString();
+        this.operation = operation;
+        this.organization = organization;
+        this.space = space;
+        this.owner = owner;
+        this.createdAt = Instant.now();
+        this.updatedAt = createdAt;
+    }
+
+    /**
+     * Restores a job stored by the {@link JobStore}
+     */
+    ProvisioningJob(String id, Operation operation, String organization, String space, String owner, Instant createdAt, Instant updatedAt,
+            State state, List<JobStep> steps, Object result, JobError error) {
+        this.id = id;
+        this.operation = operation;
+        this.organization = organization;
+        this.space = space;
+        this.owner = owner;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.state = state;
+        this.steps.addAll(steps);
+        this.result = result;
+        this.error = error;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public String getOrganization() {
+        return organization;
+    }
+
+    public String getSpace() {
+        return space;
+    }
+
+    /**
+     * Subject of the user who submitted the job
+     *
+     * @return the subject
+     */
+    @JsonIgnore
+    public String getOwner() {
+        return owner;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public synchronized Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized List<JobStep> getSteps() {
+        return List.copyOf(steps);
+    }
+
+    public synchronized Object getResult() {
+        return result;
+    }
+
+    public synchronized JobError getError() {
+        return error;
+    }
+
+    synchronized void start() {
+        state = State.RUNNING;
+        updatedAt = Instant.now();
+    }
+
+    synchronized void startStep(String name) {
+        steps.add(new JobStep(name));
+        updatedAt = Instant.now();
+    }
+
+    synchronized void finishStep(String name, boolean success) {
+        currentStep(name).ifPresent(s -> s.finish(success ? State.SUCCEEDED : State.FAILED));
+        updatedAt = Instant.now();
+    }
+
+    synchronized void succeed(Object result) {
+        this.result = result;
+        state = State.SUCCEEDED;
+        updatedAt = Instant.now();
+    }
+
+    synchronized void fail(JobError error) {
+        this.error = error;
+        state = State.FAILED;
+        updatedAt = Instant.now();
+    }
+
+    private Optional<JobStep> currentStep(String name) {
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            JobStep step = steps.get(i);
+            if (step.getName().equals(name) && step.getState() == State.RUNNING) {
+                return Optional.of(step);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Error of a failed job - corresponds to the error body of synchronous requests
+     *
+     * @param status    the http status
+     * @param errorCode the error code
+     * @param message   the message
+     */
+    public record JobError(int status, int errorCode, String message) {
+    }
+}
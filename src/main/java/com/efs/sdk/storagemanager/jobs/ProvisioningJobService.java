@@ -0,0 +1,129 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.jobs;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.helper.Utils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.*;
+
+/**
+ * Executes provisioning operations asynchronously on a bounded worker pool and keeps track of their progress.
+ * <p>
+ * Finished jobs are kept for the configured retention time, so that clients can poll for the result. Each change of a
+ * job is written to the {@link JobStore}, so that the job can be polled through any replica.
+ */
+@Service
+public class ProvisioningJobService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProvisioningJobService.class);
+    private final ThreadPoolTaskExecutor executor;
+    private final Cache<String, ProvisioningJob> jobs;
+    private final JobStore store;
+
+    public ProvisioningJobService(@Qualifier(JobConfig.JOB_EXECUTOR) ThreadPoolTaskExecutor executor,
+            @Value("${storagemanager.jobs.retention:PT24H}") Duration retention, JobStore store) {
+        this.executor = executor;
+        this.jobs = Caffeine.newBuilder().expireAfterWrite(retention).build();
+        this.store = store;
+    }
+
+    /**
+     * Submits a provisioning operation for asynchronous execution
+     *
+     * @param operation    the operation
+     * @param organization the name of the organization
+     * @param space        the name of the space (may be {@code null})
+     * @param task         the work to be done - its return value becomes the result of the job
+     * @return the pending job
+     * @throws StorageManagerException thrown, if the worker pool is saturated
+     */
+    public ProvisioningJob submit(ProvisioningJob.Operation operation, String organization, String space, JobTask task) throws StorageManagerException {
+        ProvisioningJob job = new ProvisioningJob(operation, organization, space, Utils.getSubject());
+        store.removeExpired();
+        jobs.put(job.getId(), job);
+        store.put(job);
+        try {
+            executor.execute(() -> run(job, task));
+        } catch (TaskRejectedException e) {
+            jobs.invalidate(job.getId());
+            store.remove(job.getId());
+            LOG.warn("rejected job {} for organization '{}' - worker pool is saturated", operation, organization);
+            throw new StorageManagerException(JOB_QUEUE_FULL);
+        }
+        LOG.debug("submitted job {} ({}) for organization '{}'", job.getId(), operation, organization);
+        return job;
+    }
+
+    /**
+     * Gets a job by its id - jobs executed by other replicas are read from the {@link JobStore}
+     *
+     * @param id the id of the job
+     * @return the job
+     * @throws StorageManagerException thrown, if the job does not exist (anymore)
+     */
+    public ProvisioningJob getJob(String id) throws StorageManagerException {
+        ProvisioningJob job = jobs.getIfPresent(id);
+        if (job == null) {
+            job = store.get(id).orElseThrow(() -> new StorageManagerException(JOB_NOT_FOUND, id));
+        }
+        return job;
+    }
+
+    private void run(ProvisioningJob job, JobTask task) {
+        JobProgress.bind(job, store::put);
+        job.start();
+        try {
+            store.put(job);
+            job.succeed(task.run());
+            LOG.debug("job {} succeeded", job.getId());
+        } catch (StorageManagerException e) {
+            LOG.error("job {} failed: {}", job.getId(), e.getMessage(), e);
+            job.fail(new ProvisioningJob.JobError(e.getHttpStatus().value(), e.getErrorCode(), e.getMessage()));
+        } catch (RuntimeException e) {
+            LOG.error("job {} failed: {}", job.getId(), e.getMessage(), e);
+        } finally {
+            // whatever the task threw (including errors), the job must not stay running
+            if (job.getState() == ProvisioningJob.State.RUNNING) {
+                StorageManagerException unknown = new StorageManagerException(UNKNOWN_ERROR);
+                job.fail(new ProvisioningJob.JobError(unknown.getHttpStatus().value(), unknown.getErrorCode(), unknown.getMessage()));
+            }
+            JobProgress.unbind();
+            // refresh the retention of the finished job
+            jobs.put(job.getId(), job);
+            store.put(job);
+        }
+    }
+
+    /**
+     * The work of a provisioning job
+     */
+    @FunctionalInterface
+    public interface JobTask {
+        Object run() throws StorageManagerException;
+    }
+}
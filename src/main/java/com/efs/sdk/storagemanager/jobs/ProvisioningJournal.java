@@ -0,0 +1,311 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.jobs;
+
+import com.efs.sdk.storagemanager.helper.Utils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * File-backed journal of the provisioning steps of organizations and spaces.
+ * <p>
+ * Every provisioning operation opens an entry, records each completed step (with its result) and closes the entry once
+ * all steps are done. If the operation fails or the service crashes in between, the entry remains - a retry (or the
+ * {@link com.efs.sdk.storagemanager.core.ProvisioningRecovery} on startup) continues with the first step not yet completed.
+ * <p>
+ * Entries are stored as JSON in {@code <directory>/<organization>/organization.json} and
+ * {@code <directory>/<organization>/spaces/<space>.json}. Each write goes to a temporary file which is flushed to disk
+ * and atomically moved over the entry, so an entry is never left half-written.
+ * <p>
+ * The directory has to be a volume shared by all replicas and kept across restarts - otherwise a retry on another
+ * replica (or after a restart) starts over and has to adopt the storage created by the previous attempt.
+ */
+@Component
+public class ProvisioningJournal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProvisioningJournal.class);
+    private static final String ORGANIZATION_FILE = "organization.json";
+    private static final String SPACES_DIR = "spaces";
+    private static final String SUFFIX = ".json";
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final boolean enabled;
+
+    public ProvisioningJournal(ObjectMapper objectMapper,
+            @Value("${storagemanager.jobs.journal.directory:${java.io.tmpdir}/storagemanager-journal}") Path directory,
+            @Value("${storagemanager.jobs.journal.enabled:true}") boolean enabled) {
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.enabled = enabled;
+        if (enabled && Utils.isTemporary(directory)) {
+            LOG.warn("provisioning journal is kept in the temporary directory {} - interrupted operations are lost on a restart of the pod and " +
+                    "cannot be continued by other replicas", directory);
+        }
+    }
+
+    /**
+     * Opens the entry of a provisioning operation. An existing entry of the same operation is continued, an entry of a
+     * different operation is replaced.
+     *
+     * @param operation    the operation
+     * @param organization the name of the organization
+     * @param space        the name of the space ({@code null} for organization operations)
+     * @param request      the request of the operation by name - required to resume the operation after a restart
+     * @return the entry
+     */
+    public synchronized JournalEntry open(ProvisioningJob.Operation operation, String organization, String space, Map<String, Object> request) {
+        Path file = getFile(organization, space);
+        JournalEntry entry = read(file).filter(e -> e.getOperation() == operation).orElse(null);
+        if (entry == null) {
+            entry = new JournalEntry();
+            entry.setKey(space == null ? organization : organization + "/" + space);
+            entry.setOperation(operation);
+            entry.setOrganization(organization);
+            entry.setSpace(space);
+            entry.setCreatedAt(Instant.now());
+        } else {
+            LOG.info("resuming {} of '{}' after steps {}", operation, entry.getKey(), entry.getCompletedSteps().keySet());
+        }
+        Map<String, JsonNode> payload = new LinkedHashMap<>();
+        request.forEach((name, value) -> payload.put(name, objectMapper.valueToTree(value)));
+        entry.setRequest(payload);
+        entry.setAttempts(entry.getAttempts() + 1);
+        write(file, entry);
+        return entry;
+    }
+
+    /**
+     * Checks whether the operation is still pending, i.e. neither completed nor discarded
+     *
+     * @param entry the entry of the operation
+     * @return whether the operation is pending
+     */
+    public boolean isPending(JournalEntry entry) {
+        return isPending(entry.getOrganization(), entry.getSpace());
+    }
+
+    /**
+     * Checks whether a provisioning operation of an organization or space is pending
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space ({@code null} for the organization)
+     * @return whether an operation is pending
+     */
+    public synchronized boolean isPending(String organization, String space) {
+        return read(getFile(organization, space)).isPresent();
+    }
+
+    /**
+     * Checks whether a step of the operation has already been completed
+     *
+     * @param entry the entry of the operation
+     * @param step  the name of the step
+     * @return whether the step is completed
+     */
+    public boolean isCompleted(JournalEntry entry, String step) {
+        return entry.getCompletedSteps().containsKey(step);
+    }
+
+    /**
+     * Gets the recorded result of a completed step
+     *
+     * @param entry the entry of the operation
+     * @param step  the name of the step
+     * @param type  the type of the result
+     * @param <T>   the type of the result
+     * @return the result (may be {@code null})
+     */
+    public <T> T getResult(JournalEntry entry, String step, Class<T> type) {
+        return convert(entry.getCompletedSteps().get(step), type);
+    }
+
+    /**
+     * Gets a part of the request of the operation
+     *
+     * @param entry the entry of the operation
+     * @param name  the name of the part
+     * @param type  the type of the part
+     * @param <T>   the type of the part
+     * @return the part (may be {@code null})
+     */
+    public <T> T getRequest(JournalEntry entry, String name, Class<T> type) {
+        return convert(entry.getRequest().get(name), type);
+    }
+
+    /**
+     * Records a completed step - the entry is persisted before this method returns
+     *
+     * @param entry  the entry of the operation
+     * @param step   the name of the step
+     * @param result the result of the step (may be {@code null})
+     */
+    public synchronized void completeStep(JournalEntry entry, String step, Object result) {
+        entry.getCompletedSteps().put(step, objectMapper.valueToTree(result));
+        write(getFile(entry.getOrganization(), entry.getSpace()), entry);
+    }
+
+    /**
+     * Closes the entry of a successfully completed operation
+     *
+     * @param entry the entry of the operation
+     */
+    public synchronized void close(JournalEntry entry) {
+        delete(getFile(entry.getOrganization(), entry.getSpace()));
+    }
+
+    /**
+     * Discards the entry of an operation which has been rejected by the backend - a retry could not succeed either
+     *
+     * @param entry the entry of the operation
+     */
+    public synchronized void discard(JournalEntry entry) {
+        LOG.info("discarding rejected {} of '{}'", entry.getOperation(), entry.getKey());
+        delete(getFile(entry.getOrganization(), entry.getSpace()));
+    }
+
+    /**
+     * Discards the pending operations of an organization and all its spaces (e.g. because the organization is deleted)
+     *
+     * @param organization the name of the organization
+     */
+    public synchronized void discardOrganization(String organization) {
+        if (!enabled) {
+            return;
+        }
+        Path orgDir = directory.resolve(encode(organization));
+        if (!Files.isDirectory(orgDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(orgDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(this::delete);
+        } catch (IOException e) {
+            throw new UncheckedIOException("unable to discard journal of organization " + organization, e);
+        }
+    }
+
+    /**
+     * Discards the pending operation of a space (e.g. because the space is deleted)
+     *
+     * @param organization the name of the organization
+     * @param space        the name of the space
+     */
+    public synchronized void discardSpace(String organization, String space) {
+        delete(getFile(organization, space));
+    }
+
+    /**
+     * Lists all incomplete operations - organizations first, as spaces depend on them
+     *
+     * @return the pending entries
+     */
+    public synchronized List<JournalEntry> getPendingEntries() {
+        if (!enabled || !Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<JournalEntry> entries = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(f -> f.getFileName().toString().endsWith(SUFFIX)).sorted().forEach(f -> read(f).ifPresent(entries::add));
+        } catch (IOException e) {
+            throw new UncheckedIOException("unable to read journal in " + directory, e);
+        }
+        entries.sort(Comparator.comparing(e -> e.getSpace() != null));
+        return entries;
+    }
+
+    private Path getFile(String organization, String space) {
+        Path orgDir = directory.resolve(encode(organization));
+        return space == null ? orgDir.resolve(ORGANIZATION_FILE) : orgDir.resolve(SPACES_DIR).resolve(encode(space) + SUFFIX);
+    }
+
+    private Optional<JournalEntry> read(Path file) {
+        if (!enabled || !Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), JournalEntry.class));
+        } catch (IOException e) {
+            // a corrupt entry must not block provisioning - the operation simply starts over
+            LOG.warn("ignoring unreadable journal entry {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void write(Path file, JournalEntry entry) {
+        if (!enabled) {
+            return;
+        }
+        entry.setUpdatedAt(Instant.now());
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, objectMapper.writeValueAsBytes(entry));
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("unable to write journal entry " + file, e);
+        }
+    }
+
+    private void delete(Path file) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("unable to delete journal entry " + file, e);
+        }
+    }
+
+    private <T> T convert(JsonNode node, Class<T> type) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        try {
+            return objectMapper.treeToValue(node, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("unable to read journaled value as " + type.getSimpleName(), e);
+        }
+    }
+
+    private static String encode(String name) {
+        // names end up as path segments - make sure they cannot escape the journal directory
+        return URLEncoder.encode(name, UTF_8).replace(".", "%2E");
+    }
+}
@@ -0,0 +1,81 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.lease;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Leases held in the memory of this instance - for a single replica, local usage and tests.
+ */
+@Component
+@ConditionalOnProperty(name = "storagemanager.leases.provider", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryLeaseProvider implements LeaseProvider {
+
+    private final Set<String> held = new HashSet<>();
+
+    @Override
+    public synchronized Optional<Lease> tryAcquire(String name, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (held.contains(name)) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return Optional.empty();
+            }
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+        held.add(name);
+        return Optional.of(new InMemoryLease(name));
+    }
+
+    private synchronized void release(String name) {
+        held.remove(name);
+        notifyAll();
+    }
+
+    private class InMemoryLease implements Lease {
+
+        private final String name;
+        private volatile boolean isHeld = true;
+
+        InMemoryLease(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isHeld() {
+            return isHeld;
+        }
+
+        @Override
+        public void close() {
+            if (isHeld) {
+                isHeld = false;
+                release(name);
+            }
+        }
+    }
+}
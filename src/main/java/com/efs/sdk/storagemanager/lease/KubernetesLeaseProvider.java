@@ -0,0 +1,255 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.lease;
+
+import io.fabric8.kubernetes.api.model.MicroTime;
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseBuilder;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseList;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseSpec;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leases backed by {@code coordination.k8s.io/v1} Lease objects, shared by all replicas in the namespace.
+ * <p>
+ * Acquiring creates the Lease object or takes over a released or expired one; concurrent attempts are resolved by the
+ * optimistic locking of the API server. Held leases are renewed in the background by a single thread, so holders are
+ * never blocked by renewals. Releasing deletes the Lease object, so that waiting replicas can acquire it immediately; a
+ * lease of a crashed replica expires after the configured duration.
+ */
+@Component
+@ConditionalOnProperty(name = "storagemanager.leases.provider", havingValue = "kubernetes")
+public class KubernetesLeaseProvider implements LeaseProvider {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KubernetesLeaseProvider.class);
+    private static final DateTimeFormatter MICRO_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSXXX");
+    private static final String PREFIX = "storagemanager-";
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_CONFLICT = 409;
+    private static final long MAX_BACKOFF_MILLIS = 1000;
+
+    private final KubernetesClient client;
+    private final String namespace;
+    private final String identity;
+    private final Duration duration;
+    private final Map<String, KubernetesLease> held = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService renewer;
+
+    public KubernetesLeaseProvider(KubernetesClient client,
+            @Value("${storagemanager.leases.namespace:}") String namespace,
+            @Value("${storagemanager.leases.duration:PT15S}") Duration duration,
+            @Value("${storagemanager.leases.renew-interval:PT5S}") Duration renewInterval) {
+        this.client = client;
+        this.namespace = namespace.isBlank() ? client.getNamespace() : namespace;
+        this.duration = duration;
+        this.identity = Optional.ofNullable(System.getenv("HOSTNAME")).orElse("storagemanager") + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lease-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = renewInterval.toMillis();
+        renewer.scheduleWithFixedDelay(this::renewAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<LeaseProvider.Lease> tryAcquire(String name, Duration timeout) throws InterruptedException {
+        String leaseName = toLeaseName(name);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long backoff = 50;
+        while (true) {
+            Lease lease = attempt(leaseName);
+            if (lease != null) {
+                KubernetesLease acquired = new KubernetesLease(name, lease);
+                held.put(leaseName, acquired);
+                LOG.debug("acquired lease '{}' as '{}'", leaseName, identity);
+                return Optional.of(acquired);
+            }
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                return Optional.empty();
+            }
+            Thread.sleep(Math.min(backoff, remaining));
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    /**
+     * Releases all held leases on shutdown, so that other replicas do not have to wait for them to expire
+     */
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+        held.values().forEach(KubernetesLease::close);
+    }
+
+    private Lease attempt(String leaseName) {
+        Instant now = Instant.now();
+        try {
+            Lease current = leases().withName(leaseName).get();
+            if (current == null) {
+                return leases().resource(new LeaseBuilder()
+                        .withNewMetadata().withName(leaseName).endMetadata()
+                        .withNewSpec()
+                        .withHolderIdentity(identity)
+                        .withLeaseDurationSeconds((int) duration.toSeconds())
+                        .withAcquireTime(microTime(now))
+                        .withRenewTime(microTime(now))
+                        .withLeaseTransitions(0)
+                        .endSpec()
+                        .build()).create();
+            }
+            if (!isFree(current.getSpec(), now)) {
+                return null;
+            }
+            LeaseSpec spec = current.getSpec();
+            spec.setHolderIdentity(identity);
+            spec.setLeaseDurationSeconds((int) duration.toSeconds());
+            spec.setAcquireTime(microTime(now));
+            spec.setRenewTime(microTime(now));
+            spec.setLeaseTransitions(Optional.ofNullable(spec.getLeaseTransitions()).orElse(0) + 1);
+            // the update carries the resource version, so a concurrent takeover fails with a conflict
+            return leases().resource(current).update();
+        } catch (KubernetesClientException e) {
+            if (e.getCode() == HTTP_CONFLICT) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private void renewAll() {
+        for (KubernetesLease lease : held.values()) {
+            try {
+                Lease current = leases().withName(lease.leaseName).get();
+                if (current == null || !identity.equals(current.getSpec().getHolderIdentity())) {
+                    lease.lost();
+                    continue;
+                }
+                current.getSpec().setRenewTime(microTime(Instant.now()));
+                lease.current = leases().resource(current).update();
+            } catch (KubernetesClientException e) {
+                // a failed renewal is retried with the next run - the lease is only lost once it expired
+                if (isExpired(lease.current.getSpec(), Instant.now())) {
+                    lease.lost();
+                } else {
+                    LOG.warn("unable to renew lease '{}': {}", lease.leaseName, e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                LOG.error("unable to renew lease '{}'", lease.leaseName, e);
+            }
+        }
+    }
+
+    private boolean isFree(LeaseSpec spec, Instant now) {
+        return spec == null || spec.getHolderIdentity() == null || spec.getHolderIdentity().isBlank() || isExpired(spec, now);
+    }
+
+    private static boolean isExpired(LeaseSpec spec, Instant now) {
+        if (spec.getRenewTime() == null || spec.getLeaseDurationSeconds() == null) {
+            return true;
+        }
+        Instant renewed = OffsetDateTime.parse(spec.getRenewTime().getTime()).toInstant();
+        return renewed.plusSeconds(spec.getLeaseDurationSeconds()).isBefore(now);
+    }
+
+    private NonNamespaceOperation<Lease, LeaseList, Resource<Lease>> leases() {
+        return client.coordination().v1().leases().inNamespace(namespace);
+    }
+
+    private static MicroTime microTime(Instant instant) {
+        return new MicroTime(MICRO_TIME.format(instant.atOffset(ZoneOffset.UTC)));
+    }
+
+    /**
+     * Lease objects are named like other Kubernetes resources (lower case alphanumeric characters and '-')
+     */
+    static String toLeaseName(String name) {
+        return PREFIX + name.toLowerCase().replaceAll("[^a-z0-9-]", "-");
+    }
+
+    private class KubernetesLease implements LeaseProvider.Lease {
+
+        private final String name;
+        private final String leaseName;
+        private volatile Lease current;
+        private volatile boolean isHeld = true;
+
+        KubernetesLease(String name, Lease current) {
+            this.name = name;
+            this.leaseName = current.getMetadata().getName();
+            this.current = current;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isHeld() {
+            return isHeld;
+        }
+
+        void lost() {
+            LOG.error("lost lease '{}' - it has been taken over or could not be renewed in time", leaseName);
+            isHeld = false;
+            held.remove(leaseName, this);
+        }
+
+        @Override
+        public void close() {
+            if (!isHeld) {
+                return;
+            }
+            isHeld = false;
+            held.remove(leaseName, this);
+            try {
+                Lease latest = leases().withName(leaseName).get();
+                if (latest != null && identity.equals(latest.getSpec().getHolderIdentity())) {
+                    leases().resource(latest).delete();
+                }
+            } catch (KubernetesClientException e) {
+                if (e.getCode() != HTTP_NOT_FOUND) {
+                    // the lease expires by itself
+                    LOG.warn("unable to release lease '{}': {}", leaseName, e.getMessage());
+                }
+            }
+        }
+    }
+}
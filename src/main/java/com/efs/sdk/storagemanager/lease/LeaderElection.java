@@ -0,0 +1,186 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.lease;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Elects a single replica to run a background job (a "role"), so that periodic work is not multiplied by the number of
+ * replicas.
+ * <p>
+ * The leader of a role holds the lease {@code leader-<role>} of the {@link LeaseProvider} - with provider
+ * {@code kubernetes} a Lease object shared by all replicas, with provider {@code in-memory} the single replica is always
+ * the leader. Every role has its own lease, so the jobs spread over the replicas instead of all running on one. Replicas
+ * which are not the leader retry to acquire the lease every retry period; as a lease of a crashed leader expires after
+ * the lease duration, a job fails over within lease duration plus retry period.
+ */
+@Component
+public class LeaderElection {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LeaderElection.class);
+    private static final String PREFIX = "leader-";
+    private final LeaseProvider leaseProvider;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Map<String, Role> roles = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService campaigner;
+
+    public LeaderElection(LeaseProvider leaseProvider, MeterRegistry meterRegistry,
+            @Value("${storagemanager.leader.enabled:true}") boolean enabled,
+            @Value("${storagemanager.leader.retry-period:PT5S}") Duration retryPeriod) {
+        this.leaseProvider = leaseProvider;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.campaigner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leader-election");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            long interval = retryPeriod.toMillis();
+            campaigner.scheduleWithFixedDelay(this::campaignAll, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Registers a callback invoked whenever this replica becomes the leader of a role (e.g. to resume interrupted work)
+     *
+     * @param role     the name of the role
+     * @param callback the callback - invoked by the election thread, so it must not block
+     */
+    public void onElected(String role, Runnable callback) {
+        getRole(role).callbacks.add(callback);
+    }
+
+    /**
+     * Checks whether this replica is the leader of a role - if the role is vacant, this replica becomes its leader
+     *
+     * @param role the name of the role
+     * @return whether this replica is the leader
+     */
+    public boolean isLeader(String role) {
+        return !enabled || campaign(getRole(role));
+    }
+
+    /**
+     * Runs a job, if this replica is the leader of its role
+     *
+     * @param role the name of the role
+     * @param job  the job
+     */
+    public void runIfLeader(String role, Runnable job) {
+        if (isLeader(role)) {
+            job.run();
+        } else {
+            LOG.debug("skipping '{}' - another replica is the leader", role);
+        }
+    }
+
+    /**
+     * Resigns all roles on shutdown, so that other replicas take over without waiting for the leases to expire
+     */
+    @PreDestroy
+    public void shutdown() {
+        campaigner.shutdownNow();
+        for (Role role : roles.values()) {
+            synchronized (role) {
+                if (role.lease != null) {
+                    role.lease.close();
+                    role.lease = null;
+                }
+            }
+        }
+    }
+
+    private Role getRole(String name) {
+        return roles.computeIfAbsent(name, n -> {
+            Role role = new Role(n);
+            Gauge.builder("storagemanager.leader", role, r -> r.isHeld() ? 1 : 0).tag("role", n)
+                    .description("Whether this replica is the leader of the background job").register(meterRegistry);
+            return role;
+        });
+    }
+
+    private void campaignAll() {
+        roles.values().forEach(this::campaign);
+    }
+
+    private boolean campaign(Role role) {
+        synchronized (role) {
+            if (role.isHeld()) {
+                return true;
+            }
+            if (role.lease != null) {
+                LOG.warn("lost leadership of '{}'", role.name);
+                role.lease = null;
+            }
+            try {
+                Optional<LeaseProvider.Lease> lease = leaseProvider.tryAcquire(PREFIX + role.name, Duration.ZERO);
+                if (lease.isEmpty()) {
+                    return false;
+                }
+                role.lease = lease.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (RuntimeException e) {
+                LOG.warn("unable to campaign for leadership of '{}': {}", role.name, e.getMessage());
+                return false;
+            }
+        }
+        LOG.info("elected leader of '{}'", role.name);
+        for (Runnable callback : role.callbacks) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                LOG.error("callback on election as leader of '{}' failed", role.name, e);
+            }
+        }
+        return true;
+    }
+
+    private static class Role {
+
+        private final String name;
+        private final List<Runnable> callbacks = new CopyOnWriteArrayList<>();
+        private volatile LeaseProvider.Lease lease;
+
+        Role(String name) {
+            this.name = name;
+        }
+
+        boolean isHeld() {
+            LeaseProvider.Lease current = lease;
+            return current != null && current.isHeld();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.lease;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Provides named, mutually exclusive leases - across all replicas of the service, if backed by a shared store.
+ * <p>
+ * A lease is held until it is closed or - if the holder stops renewing it, e.g. because it crashed - until it expires.
+ */
+public interface LeaseProvider {
+
+    /**
+     * Tries to acquire a lease, waiting for the current holder to release it at most for the given time
+     *
+     * @param name    the name of the lease
+     * @param timeout the maximum time to wait ({@link Duration#ZERO} for a single attempt)
+     * @return the lease or empty, if it is held by someone else
+     * @throws InterruptedException thrown, if the thread is interrupted while waiting
+     */
+    Optional<Lease> tryAcquire(String name, Duration timeout) throws InterruptedException;
+
+    /**
+     * A held lease
+     */
+    interface Lease extends AutoCloseable {
+
+        String getName();
+
+        /**
+         * Whether the lease is still held - a lease may be lost, if it could not be renewed in time
+         *
+         * @return whether the lease is held
+         */
+        boolean isHeld();
+
+        /**
+         * Releases the lease, so that others can acquire it immediately
+         */
+        @Override
+        void close();
+    }
+}
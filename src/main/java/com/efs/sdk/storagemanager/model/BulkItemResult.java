@@ -0,0 +1,34 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.model;
+
+import com.efs.sdk.storagemanager.jobs.ProvisioningJob;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of a single item of a bulk operation - streamed as one line of the NDJSON response.
+ *
+ * @param index        position of the item in the request
+ * @param organization name of the organization
+ * @param space        name of the space ({@code null} for organization items)
+ * @param status       outcome of the item
+ * @param error        error of a failed item
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResult(int index, String organization, String space, Status status, ProvisioningJob.JobError error) {
+
+    public enum Status {SUCCEEDED, FAILED}
+}
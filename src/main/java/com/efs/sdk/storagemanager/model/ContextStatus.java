@@ -0,0 +1,40 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Status of the storage context of an organization or space.
+ *
+ * @param state   the provisioning state
+ * @param storage the storage as found in the storage backend ({@code null}, if it does not exist yet)
+ * @param <T>     the type of the storage
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ContextStatus<T>(State state, T storage) {
+
+    public enum State {
+        /**
+         * the provisioning has been started, but not completed (it is still running, failed or was interrupted)
+         */
+        PROVISIONING,
+        /**
+         * the storage is provisioned
+         */
+        READY
+    }
+}
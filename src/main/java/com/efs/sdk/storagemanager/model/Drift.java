@@ -0,0 +1,28 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.model;
+
+/**
+ * A setting of an organization or space storage deviating from its desired configuration.
+ *
+ * @param organization the name of the organization
+ * @param space        the name of the space ({@code null} for settings of the organization)
+ * @param setting      the name of the setting (e.g. "cors")
+ * @param expected     the desired value
+ * @param actual       the value found in the storage backend ({@code null}, if missing)
+ */
+public record Drift(String organization, String space, String setting, String expected, String actual) {
+}
@@ -0,0 +1,85 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Describes the effective placement of an organization's storage as provisioned by the storage client.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrganizationStorageModel {
+
+    private String name;
+    private String region;
+    private String profile;
+    private Boolean hierarchicalNamespace;
+
+    public OrganizationStorageModel() {
+    }
+
+    public OrganizationStorageModel(String name, String region) {
+        this.name = name;
+        this.region = region;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * The region the storage is located in - clients should colocate their workloads with it.
+     *
+     * @return the region or {@code null}, if the storage backend has no notion of regions
+     */
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    /**
+     * The performance profile the storage was provisioned with.
+     *
+     * @return the profile or {@code null}, if the storage backend has no notion of profiles
+     */
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Whether the storage uses a hierarchical namespace, so that directory operations are atomic metadata operations.
+     *
+     * @return if hierarchical namespace is enabled or {@code null}, if the storage backend has no notion of it
+     */
+    public Boolean getHierarchicalNamespace() {
+        return hierarchicalNamespace;
+    }
+
+    public void setHierarchicalNamespace(Boolean hierarchicalNamespace) {
+        this.hierarchicalNamespace = hierarchicalNamespace;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.model;
+
+/**
+ * Optional settings for provisioning the storage of an organization.
+ * <p>
+ * All settings are optional - if not provided, the storage client falls back to the configured defaults.
+ */
+public class OrganizationStorageOptions {
+
+    private String region;
+    private String profile;
+    private Boolean hierarchicalNamespace;
+
+    public static OrganizationStorageOptions defaults() {
+        return new OrganizationStorageOptions();
+    }
+
+    /**
+     * The preferred region of the organization's storage (must be part of the configured region catalog)
+     *
+     * @return the preferred region or {@code null}, if the region should be inferred
+     */
+    public String getRegion() {
+        return region;
+    }
+
+    public OrganizationStorageOptions setRegion(String region) {
+        this.region = region;
+        return this;
+    }
+
+    /**
+     * The performance profile of the organization's storage (must be defined in the configuration)
+     *
+     * @return the profile or {@code null}, if the profile should be inferred
+     */
+    public String getProfile() {
+        return profile;
+    }
+
+    public OrganizationStorageOptions setProfile(String profile) {
+        this.profile = profile;
+        return this;
+    }
+
+    /**
+     * Whether the organization's storage should use a hierarchical namespace (ADLS Gen2)
+     *
+     * @return if hierarchical namespace should be enabled or {@code null}, if the default of the profile should be used
+     */
+    public Boolean getHierarchicalNamespace() {
+        return hierarchicalNamespace;
+    }
+
+    public OrganizationStorageOptions setHierarchicalNamespace(Boolean hierarchicalNamespace) {
+        this.hierarchicalNamespace = hierarchicalNamespace;
+        return this;
+    }
+}
@@ -0,0 +1,29 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.model;
+
+import java.util.List;
+
+/**
+ * Usage of an organization - the sum of the usage of its scanned spaces.
+ *
+ * @param organization the name of the organization
+ * @param bytes        the total size of the objects in bytes
+ * @param objects      the number of objects
+ * @param spaces       the usage of the spaces
+ */
+public record OrganizationUsage(String organization, long bytes, long objects, List<SpaceUsage> spaces) {
+}
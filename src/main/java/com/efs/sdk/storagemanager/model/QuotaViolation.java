@@ -0,0 +1,32 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.model;
+
+/**
+ * A quota of an organization or space which is exceeded.
+ *
+ * @param organization the name of the organization
+ * @param space        the name of the space ({@code null} for quotas of the organization)
+ * @param resource     the limited resource
+ * @param limit        the limit
+ * @param actual       the current value as of the last usage scan or inventory refresh
+ */
+public record QuotaViolation(String organization, String space, Resource resource, long limit, long actual) {
+
+    public enum Resource {
+        BYTES, OBJECTS, SPACES
+    }
+}
@@ -0,0 +1,202 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progress of a rollout of the current default settings to all existing organizations.
+ * <p>
+ * The status is persisted after every wave of organizations, so that an interrupted rollout resumes after the last
+ * completed wave.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RolloutStatus {
+
+    /**
+     * Number of failed organizations listed by name - further failures are only counted
+     */
+    public static final int MAX_LISTED_FAILURES = 100;
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        CANCELLED
+    }
+
+    private String id;
+    private State state;
+    private boolean dryRun;
+    private int total;
+    private int processed;
+    private int changed;
+    private int failed;
+    private int parallelism;
+    private String cursor;
+    private Map<String, Integer> settings = new LinkedHashMap<>();
+    private List<String> failedOrganizations = new ArrayList<>();
+    private Instant startedAt;
+    private Instant updatedAt;
+    private Instant finishedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    /**
+     * Whether deviating settings are only reported instead of changed
+     *
+     * @return whether the rollout is a dry run
+     */
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    /**
+     * Number of organizations at the start of the rollout
+     *
+     * @return the total
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    /**
+     * Number of organizations with at least one deviating setting
+     *
+     * @return the changed organizations
+     */
+    public int getChanged() {
+        return changed;
+    }
+
+    public void setChanged(int changed) {
+        this.changed = changed;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    /**
+     * Number of organizations currently processed concurrently
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Name of the last organization of the last completed wave
+     *
+     * @return the cursor ({@code null} before the first wave)
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * Number of deviating settings by setting name
+     *
+     * @return the settings
+     */
+    public Map<String, Integer> getSettings() {
+        return settings;
+    }
+
+    public void setSettings(Map<String, Integer> settings) {
+        this.settings = settings;
+    }
+
+    public List<String> getFailedOrganizations() {
+        return failedOrganizations;
+    }
+
+    public void setFailedOrganizations(List<String> failedOrganizations) {
+        this.failedOrganizations = failedOrganizations;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Describes the effective settings of a space's storage as found in the storage backend.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SpaceStorageModel {
+
+    private String organization;
+    private String name;
+    private Boolean hierarchicalNamespace;
+    private Boolean tiered;
+
+    public SpaceStorageModel() {
+    }
+
+    public SpaceStorageModel(String organization, String name) {
+        this.organization = organization;
+        this.name = name;
+    }
+
+    public String getOrganization() {
+        return organization;
+    }
+
+    public void setOrganization(String organization) {
+        this.organization = organization;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Whether the storage of the space is a filesystem with hierarchical namespace.
+     *
+     * @return if hierarchical namespace is enabled or {@code null}, if the storage backend has no notion of it
+     */
+    public Boolean getHierarchicalNamespace() {
+        return hierarchicalNamespace;
+    }
+
+    public void setHierarchicalNamespace(Boolean hierarchicalNamespace) {
+        this.hierarchicalNamespace = hierarchicalNamespace;
+    }
+
+    /**
+     * Whether a lifecycle rule of a tiering class is installed for the space.
+     *
+     * @return if the space is tiered or {@code null}, if the storage backend does not support tiering
+     */
+    public Boolean getTiered() {
+        return tiered;
+    }
+
+    public void setTiered(Boolean tiered) {
+        this.tiered = tiered;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.model;
+
+/**
+ * Optional settings for provisioning the storage of a space.
+ * <p>
+ * All settings are optional - if not provided, the storage client falls back to the configured defaults.
+ */
+public class SpaceStorageOptions {
+
+    private String tieringClass;
+
+    public static SpaceStorageOptions defaults() {
+        return new SpaceStorageOptions();
+    }
+
+    /**
+     * The tiering class of the space's storage (must be defined in the configuration)
+     *
+     * @return the tiering class or {@code null}, if the default tiering class should be used
+     */
+    public String getTieringClass() {
+        return tieringClass;
+    }
+
+    public SpaceStorageOptions setTieringClass(String tieringClass) {
+        this.tieringClass = tieringClass;
+        return this;
+    }
+}
@@ -0,0 +1,27 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.model;
+
+import java.util.List;
+
+/**
+ * A page of the objects of a space storage.
+ *
+ * @param objects the objects of the page
+ * @param next    the cursor of the next page ({@code null} on the last page)
+ */
+public record StorageObjectPage(List<StorageObject> objects, String next) {
+}
@@ -0,0 +1,31 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.model;
+
+/**
+ * Storage used by a space, as counted by listing its objects.
+ *
+ * @param bytes   the total size of the objects in bytes
+ * @param objects the number of objects
+ */
+public record StorageUsage(long bytes, long objects) {
+
+    public static final StorageUsage EMPTY = new StorageUsage(0, 0);
+
+    public StorageUsage plus(StorageUsage other) {
+        return new StorageUsage(bytes + other.bytes, objects + other.objects);
+    }
+}
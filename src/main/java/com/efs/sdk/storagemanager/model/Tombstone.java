@@ -0,0 +1,33 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.model;
+
+import java.time.Instant;
+
+/**
+ * Marks a deleted organization or space whose access has been revoked, but whose data has not been purged yet.
+ *
+ * @param organization the name of the organization
+ * @param space        the name of the space ({@code null} for the organization)
+ * @param deletedAt    the time of the deletion
+ * @param purged       the number of objects purged so far
+ */
+public record Tombstone(String organization, String space, Instant deletedAt, long purged) {
+
+    public Tombstone withPurged(long purged) {
+        return new Tombstone(organization, space, deletedAt, purged);
+    }
+}
@@ -42,7 +42,7 @@ import org.springframework.security.web.access.expression.WebExpressionAuthoriza
 public class SecurityConfig {
 
     private static final String[] WHITELIST_URLS = {"/actuator/health", "/actuator/health/**"};
-    private static final String[] PROMETHEUS_URLS = {"/actuator/prometheus", "/actuator/prometheus/**"};
+    private static final String[] PROMETHEUS_URLS = {"/actuator/prometheus", "/actuator/prometheus/**", "/actuator/circuitbreakers"};
     private final OAuthConfiguration oauthConfig;
 
     public SecurityConfig(OAuthConfigurationHelper configHelper) {
@@ -62,7 +62,7 @@ public class SecurityConfig {
         // access to whitelist-urls
         http.authorizeHttpRequests(authorize -> authorize.requestMatchers(WHITELIST_URLS).permitAll()).anonymous(Customizer.withDefaults());
 
-        // ip based access to prometheus, whitelist for private ip ranges
+        // ip based access to prometheus (and the circuit breaker state), whitelist for private ip ranges
         http.authorizeHttpRequests(authorize -> authorize.requestMatchers(PROMETHEUS_URLS).access(new WebExpressionAuthorizationManager("hasIpAddress('192" +
                 ".168.0.0/16') or hasIpAddress('172.16.0.0/12')" + "or hasIpAddress('127.0.0.1/8') or hasIpAddress('10.0.0.0/8')")));
 
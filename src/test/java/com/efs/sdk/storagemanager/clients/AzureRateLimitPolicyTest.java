@@ -0,0 +1,94 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipelineCallContext;
+import com.azure.core.http.HttpPipelineNextPolicy;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AzureRateLimitPolicyTest {
+
+    @Test
+    void testReserve_waitsWhenBucketIsEmpty() {
+        AzureRateLimitPolicy.TokenBucket bucket = new AzureRateLimitPolicy.TokenBucket(new AzureRateLimitProperties.Bucket(2, 1), 0.2, 0.05);
+
+        assertEquals(Duration.ZERO, bucket.reserve());
+        assertEquals(Duration.ZERO, bucket.reserve());
+        Duration wait = bucket.reserve();
+
+        assertTrue(wait.toMillis() > 900 && wait.toMillis() <= 1000, "waits for one refill: " + wait);
+    }
+
+    @Test
+    void testObserveRemaining_slowsDownBelowLowWatermark() {
+        AzureRateLimitPolicy.TokenBucket bucket = new AzureRateLimitPolicy.TokenBucket(new AzureRateLimitProperties.Bucket(100, 10), 0.2, 0.05);
+
+        bucket.observeRemaining(1000);
+        assertEquals(10, bucket.getRate());
+
+        bucket.observeRemaining(100);
+        assertEquals(5, bucket.getRate(), 0.001);
+        assertTrue(bucket.getTokens() <= 100);
+
+        bucket.observeRemaining(0);
+        assertEquals(0.5, bucket.getRate(), 0.001);
+        assertFalse(bucket.reserve().isZero());
+    }
+
+    @Test
+    void testPause_delaysAllCalls() {
+        AzureRateLimitPolicy.TokenBucket bucket = new AzureRateLimitPolicy.TokenBucket(new AzureRateLimitProperties.Bucket(100, 10), 0.2, 0.05);
+
+        bucket.pause(Duration.ofSeconds(5));
+
+        assertTrue(bucket.reserve().toMillis() > 4900);
+    }
+
+    @Test
+    void testProcess_invokesNextPolicyAfterDelay() {
+        AzureRateLimitProperties properties = new AzureRateLimitProperties();
+        properties.setWrites(new AzureRateLimitProperties.Bucket(1, 1));
+        AzureRateLimitPolicy policy = new AzureRateLimitPolicy(properties, new SimpleMeterRegistry());
+        HttpPipelineCallContext context = mock(HttpPipelineCallContext.class);
+        when(context.getHttpRequest()).thenReturn(new HttpRequest(HttpMethod.PUT, "https://management.azure.com/test"));
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.getStatusCode()).thenReturn(200);
+        HttpPipelineNextPolicy next = mock(HttpPipelineNextPolicy.class);
+        when(next.process()).thenReturn(Mono.just(response));
+        policy.process(context, next).block();
+
+        Disposable delayed = policy.process(context, next).subscribe();
+
+        try {
+            // the second call waits for the refill - the downstream policy must not be invoked before
+            verify(next, times(1)).process();
+            verify(next, timeout(2000).times(2)).process();
+        } finally {
+            delayed.dispose();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackendGuardTest {
+
+    @Test
+    void testCircuitBreaker_opensAndRecoversWithProbes() {
+        MutableClock clock = new MutableClock();
+        BackendGuard.CircuitBreaker circuitBreaker = new BackendGuard.CircuitBreaker("test", settings(), clock);
+
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onResult(circuitBreaker.tryAcquire(), i % 2 == 0);
+        }
+        assertEquals(BackendGuard.CircuitState.OPEN, circuitBreaker.getState());
+        assertNull(circuitBreaker.tryAcquire());
+        assertEquals(Duration.ofSeconds(30), circuitBreaker.getRetryAfter());
+
+        clock.advance(Duration.ofSeconds(30));
+        BackendGuard.CircuitBreaker.Permit probe1 = circuitBreaker.tryAcquire();
+        BackendGuard.CircuitBreaker.Permit probe2 = circuitBreaker.tryAcquire();
+        assertEquals(BackendGuard.CircuitState.HALF_OPEN, circuitBreaker.getState());
+        // only two probes at a time
+        assertNull(circuitBreaker.tryAcquire());
+        circuitBreaker.onResult(probe1, false);
+        circuitBreaker.onResult(probe2, false);
+
+        assertEquals(BackendGuard.CircuitState.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getBufferedCalls());
+    }
+
+    @Test
+    void testCircuitBreaker_failedProbeOpensAgain() {
+        MutableClock clock = new MutableClock();
+        BackendGuard.CircuitBreaker circuitBreaker = new BackendGuard.CircuitBreaker("test", settings(), clock);
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onResult(circuitBreaker.tryAcquire(), true);
+        }
+        clock.advance(Duration.ofSeconds(31));
+
+        circuitBreaker.onResult(circuitBreaker.tryAcquire(), true);
+
+        assertEquals(BackendGuard.CircuitState.OPEN, circuitBreaker.getState());
+        assertEquals(Duration.ofSeconds(30), circuitBreaker.getRetryAfter());
+    }
+
+    @Test
+    void testExecute_failsFastWhileOpen() throws Exception {
+        BackendGuardProperties properties = new BackendGuardProperties();
+        properties.setDefaults(settings());
+        BackendGuard guard = new BackendGuard(properties, new SimpleMeterRegistry());
+        try {
+            // client errors do not count as failure
+            for (int i = 0; i < 4; i++) {
+                assertThrows(StorageManagerException.class, () -> guard.execute(BackendGuard.BackendOperation.POLICY_WRITE, () -> {
+                    throw new StorageManagerException(StorageManagerException.STORAGEMANAGER_ERROR.STORAGE_ACCOUNT_ALREADY_EXISTS);
+                }));
+            }
+            assertEquals(BackendGuard.CircuitState.CLOSED, guard.getStatus().get("policy-write").state());
+            // two of the last four calls failed
+            for (int i = 0; i < 2; i++) {
+                assertThrows(IllegalStateException.class, () -> guard.execute(BackendGuard.BackendOperation.POLICY_WRITE, () -> {
+                    throw new IllegalStateException("backend down");
+                }));
+            }
+
+            StorageManagerException e = assertThrows(StorageManagerException.class,
+                    () -> guard.execute(BackendGuard.BackendOperation.POLICY_WRITE, () -> "not executed"));
+
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getHttpStatus());
+            assertNotNull(e.getRetryAfter());
+            // other operations are not affected
+            assertEquals("created", guard.execute(BackendGuard.BackendOperation.CONTAINER_CREATE, () -> "created"));
+        } finally {
+            guard.shutdown();
+        }
+    }
+
+    private static BackendGuardProperties.Settings settings() {
+        BackendGuardProperties.Settings settings = new BackendGuardProperties.Settings();
+        settings.setSlidingWindowSize(4);
+        settings.setMinimumCalls(4);
+        settings.setFailureRateThreshold(0.5);
+        settings.setOpenDuration(Duration.ofSeconds(30));
+        settings.setHalfOpenCalls(2);
+        return settings;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2023-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
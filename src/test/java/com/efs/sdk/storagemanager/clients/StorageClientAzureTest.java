@@ -0,0 +1,235 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import com.azure.core.util.Context;
+import com.azure.resourcemanager.storage.fluent.ManagementPoliciesClient;
+import com.azure.resourcemanager.storage.models.ManagementPolicyDefinition;
+import com.azure.resourcemanager.storage.models.ManagementPolicyFilter;
+import com.azure.resourcemanager.storage.models.ManagementPolicyName;
+import com.azure.resourcemanager.storage.models.ManagementPolicyRule;
+import com.azure.resourcemanager.storage.models.StorageAccount;
+import com.efs.sdk.common.domain.dto.OrganizationContextDTO;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.model.OrganizationStorageOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StorageClientAzureTest {
+
+    @Mock
+    private AzureResourceManagerProvider azureProvider;
+    @Mock
+    private BackendGuard guard;
+    private AzureRegionProperties regionProperties;
+    private AzureStorageProfileProperties profileProperties;
+    private StorageClientAzure client;
+    private OrganizationContextDTO organization;
+
+    @BeforeEach
+    void setUp() {
+        regionProperties = new AzureRegionProperties();
+        profileProperties = new AzureStorageProfileProperties();
+        client = new StorageClientAzure(azureProvider, regionProperties, profileProperties, new TieringProperties(), new SimpleMeterRegistry(), guard);
+        ReflectionTestUtils.setField(client, "region", "westeurope");
+        ReflectionTestUtils.setField(client, "resourceGroup", "test-rg");
+        organization = new OrganizationContextDTO();
+        organization.setName("testorg");
+    }
+
+    @Test
+    void testResolveRegion_preferred() throws StorageManagerException {
+        regionProperties.setAvailable(List.of("northeurope"));
+
+        assertEquals("northeurope", client.resolveRegion(organization, "northeurope"));
+    }
+
+    @Test
+    void testResolveRegion_preferredNotInCatalog() {
+        regionProperties.setAvailable(List.of("northeurope"));
+
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> client.resolveRegion(organization, "eastus"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getHttpStatus());
+    }
+
+    @Test
+    void testResolveRegion_assigned() throws StorageManagerException {
+        regionProperties.setAvailable(List.of("northeurope"));
+        regionProperties.getOrganizations().put("testorg", "northeurope");
+
+        assertEquals("northeurope", client.resolveRegion(organization, null));
+    }
+
+    @Test
+    void testResolveRegion_assignedNotAvailableFallsBackToDefault() throws StorageManagerException {
+        regionProperties.getOrganizations().put("testorg", "eastus");
+
+        assertEquals("westeurope", client.resolveRegion(organization, " "));
+    }
+
+    @Test
+    void testResolveProfile_requested() throws StorageManagerException {
+        profileProperties.getDefinitions().put("premium", new AzureStorageProfileProperties.StorageProfile());
+
+        assertEquals("premium", client.resolveProfile(organization, "premium"));
+    }
+
+    @Test
+    void testResolveProfile_assignedOrDefault() throws StorageManagerException {
+        profileProperties.getDefinitions().put("premium", new AzureStorageProfileProperties.StorageProfile());
+
+        assertEquals(AzureStorageProfileProperties.STANDARD, client.resolveProfile(organization, null));
+        profileProperties.getOrganizations().put("testorg", "premium");
+        assertEquals("premium", client.resolveProfile(organization, ""));
+    }
+
+    @Test
+    void testResolveProfile_unknown() {
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> client.resolveProfile(organization, "premium"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getHttpStatus());
+    }
+
+    @Test
+    void testWithAccountKind() throws StorageManagerException {
+        StorageAccount.DefinitionStages.WithCreate definition = mock(StorageAccount.DefinitionStages.WithCreate.class);
+        StorageAccount.DefinitionStages.WithCreate blockBlob = mock(StorageAccount.DefinitionStages.WithCreate.class);
+        when(definition.withBlockBlobStorageAccountKind()).thenReturn(blockBlob);
+
+        assertSame(definition, StorageClientAzure.withAccountKind(definition, null));
+        assertSame(blockBlob, StorageClientAzure.withAccountKind(definition, "BlockBlobStorage"));
+        assertThrows(StorageManagerException.class, () -> StorageClientAzure.withAccountKind(definition, "FileStorage"));
+        verify(definition, never()).withGeneralPurposeAccountKindV2();
+    }
+
+    @Test
+    void testResolveHierarchicalNamespace_requestOverridesProfile() {
+        AzureStorageProfileProperties.StorageProfile profile = new AzureStorageProfileProperties.StorageProfile();
+        profile.setHierarchicalNamespace(true);
+
+        assertTrue(StorageClientAzure.resolveHierarchicalNamespace(OrganizationStorageOptions.defaults(), profile));
+        assertFalse(StorageClientAzure.resolveHierarchicalNamespace(OrganizationStorageOptions.defaults().setHierarchicalNamespace(false), profile));
+        profile.setHierarchicalNamespace(false);
+        assertTrue(StorageClientAzure.resolveHierarchicalNamespace(OrganizationStorageOptions.defaults().setHierarchicalNamespace(true), profile));
+    }
+
+    @Test
+    void testAppliesVersionRules_notWithHierarchicalNamespace() {
+        ReflectionTestUtils.setField(client, "versioningBlobsEnabled", true);
+        StorageAccount flat = mock(StorageAccount.class);
+        StorageAccount hierarchical = mock(StorageAccount.class);
+        when(hierarchical.isHnsEnabled()).thenReturn(true);
+
+        assertTrue(client.appliesVersionRules(flat));
+        assertFalse(client.appliesVersionRules(hierarchical));
+    }
+
+    @Test
+    void testMergeLifecycleRules_accountRuleAppliesToAllContainersWithoutTieredSpace() throws StorageManagerException {
+        List<ManagementPolicyRule> rules = client.mergeLifecycleRules(List.of(), null, null, true, () -> fail("containers must not be listed"));
+
+        assertEquals(1, rules.size());
+        assertEquals("migrate-blob-versions-until-cool-archive-delete", rules.get(0).name());
+        assertNull(rules.get(0).definition().filters().prefixMatch());
+    }
+
+    @Test
+    void testMergeLifecycleRules_accountRulesExcludeTieredContainers() throws StorageManagerException {
+        List<String> containers = new ArrayList<>(IntStream.range(0, 1200).mapToObj(i -> "space" + i).toList());
+        containers.add("cold");
+        // named like the rule of space "cold", but not scoped to its container
+        ManagementPolicyRule foreign = new ManagementPolicyRule().withName("space-cold")
+                .withDefinition(new ManagementPolicyDefinition().withFilters(new ManagementPolicyFilter().withPrefixMatch(List.of("logs/"))));
+        ManagementPolicyRule tiered = client.buildSpaceLifecycleRule("space7", new TieringProperties.TieringPolicy(), true);
+
+        List<ManagementPolicyRule> rules = client.mergeLifecycleRules(List.of(foreign), "space7", tiered, true, () -> containers);
+
+        assertEquals(List.of("space-cold", "space-space7", "migrate-blob-versions-until-cool-archive-delete", "migrate-blob-versions-until-cool-archive-delete-2"),
+                rules.stream().map(ManagementPolicyRule::name).toList());
+        List<String> prefixes = rules.subList(2, 4).stream().flatMap(r -> r.definition().filters().prefixMatch().stream()).toList();
+        // one prefix per branch off the name of the tiered container - not one per container
+        assertEquals(20, prefixes.size());
+        assertTrue(prefixes.contains("c"));
+        assertTrue(prefixes.contains("space70"));
+        for (String container : containers) {
+            assertEquals(!container.equals("space7"), prefixes.stream().anyMatch(p -> (container + "/").startsWith(p)), container);
+        }
+        // without version thresholds in the tiering class the space rule takes the account-wide thresholds
+        assertNotNull(tiered.definition().actions().version());
+    }
+
+    @Test
+    void testIsSpaceLifecycleRule_requiresFilterOfContainer() {
+        ManagementPolicyRule foreign = new ManagementPolicyRule().withName("space-cleanup")
+                .withDefinition(new ManagementPolicyDefinition().withFilters(new ManagementPolicyFilter().withPrefixMatch(List.of("space1/", "space2/"))));
+
+        assertTrue(StorageClientAzure.isSpaceLifecycleRule(client.buildSpaceLifecycleRule("cold", new TieringProperties.TieringPolicy(), false)));
+        assertFalse(StorageClientAzure.isSpaceLifecycleRule(foreign));
+        assertFalse(StorageClientAzure.isSpaceLifecycleRule(new ManagementPolicyRule().withName("space-cold")));
+    }
+
+    @Test
+    void testMergeLifecycleRules_removingLastSpaceRuleRestoresAccountRule() throws StorageManagerException {
+        ManagementPolicyRule cold = client.buildSpaceLifecycleRule("cold", new TieringProperties.TieringPolicy(), true);
+        List<ManagementPolicyRule> current = client.mergeLifecycleRules(List.of(), "cold", cold, true, () -> List.of("cold", "space1"));
+
+        List<ManagementPolicyRule> rules = client.mergeLifecycleRules(current, "cold", null, true, () -> fail("containers must not be listed"));
+
+        assertEquals(List.of("migrate-blob-versions-until-cool-archive-delete"), rules.stream().map(ManagementPolicyRule::name).toList());
+        assertNull(rules.get(0).definition().filters().prefixMatch());
+    }
+
+    @Test
+    void testMergeLifecycleRules_ruleLimit() {
+        List<ManagementPolicyRule> current = IntStream.range(0, 100)
+                .mapToObj(i -> client.buildSpaceLifecycleRule("space" + i, new TieringProperties.TieringPolicy(), false))
+                .toList();
+        ManagementPolicyRule rule = client.buildSpaceLifecycleRule("cold", new TieringProperties.TieringPolicy(), false);
+
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> client.mergeLifecycleRules(current, "cold", rule, false, List::of));
+
+        assertEquals(HttpStatus.CONFLICT, e.getHttpStatus());
+    }
+
+    @Test
+    void testWriteManagementPolicyRules() {
+        ManagementPoliciesClient policies = mock(ManagementPoliciesClient.class);
+
+        client.writeManagementPolicyRules(policies, "testorg", List.of(new ManagementPolicyRule().withName("foreign")));
+        client.writeManagementPolicyRules(policies, "testorg", List.of());
+
+        verify(policies).createOrUpdateWithResponse(eq("test-rg"), eq("testorg"), eq(ManagementPolicyName.DEFAULT), any(), eq(Context.NONE));
+        // a management policy requires at least one rule
+        verify(policies).delete("test-rg", "testorg", ManagementPolicyName.DEFAULT);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import com.efs.sdk.common.domain.dto.OrganizationContextDTO;
+import com.efs.sdk.common.domain.dto.SpaceContextDTO;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.lease.InMemoryLeaseProvider;
+import com.efs.sdk.storagemanager.lease.LeaseProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StorageClientS3Test {
+
+    @Mock
+    private S3Client s3;
+    @Mock
+    private BackendGuard guard;
+    private InMemoryLeaseProvider leaseProvider;
+    private StorageClientS3 client;
+
+    @BeforeEach
+    void setUp() {
+        when(s3.getBucketName()).thenReturn("bucket");
+        leaseProvider = new InMemoryLeaseProvider();
+        client = new StorageClientS3(s3, new ObjectMapper(), new TieringProperties(), "STANDARD_IA", "GLACIER", guard, leaseProvider,
+                Duration.ofMillis(200));
+    }
+
+    @Test
+    void testBuildLifecycleRule() {
+        TieringProperties.TieringPolicy policy = new TieringProperties.TieringPolicy();
+        policy.setCoolAfterDays(7);
+        policy.setArchiveAfterDays(30);
+        policy.setVersionsDeleteAfterDays(14);
+
+        S3LifecycleRule rule = client.buildLifecycleRule(space("org1", "space1"), "org1/space1/", policy);
+
+        assertEquals("org1_space1_tiering", rule.getId());
+        assertEquals("org1/space1/", rule.getPrefix());
+        assertEquals(Map.of(7, "STANDARD_IA", 30, "GLACIER"), rule.getTransitions());
+        assertNull(rule.getExpirationDays());
+        assertEquals(14, rule.getNoncurrentVersionExpirationDays());
+    }
+
+    @Test
+    void testUpdateLifecycleRules_replacesRuleAndPreservesOthers() throws StorageManagerException {
+        S3LifecycleRule other = new S3LifecycleRule("org1_space2_tiering", "org1/space2/");
+        when(s3.getLifecycleRules()).thenReturn(List.of(other, new S3LifecycleRule("org1_space1_tiering", "org1/space1/")));
+        S3LifecycleRule rule = new S3LifecycleRule("org1_space1_tiering", "org1/space1/");
+
+        client.updateLifecycleRules(r -> r.getId().equals(rule.getId()), rule);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<S3LifecycleRule>> written = ArgumentCaptor.forClass(List.class);
+        verify(s3).setLifecycleRules(written.capture());
+        assertEquals(List.of(other, rule), written.getValue());
+    }
+
+    @Test
+    void testUpdateLifecycleRules_unchanged() throws StorageManagerException {
+        when(s3.getLifecycleRules()).thenReturn(List.of(new S3LifecycleRule("org1_space2_tiering", "org1/space2/")));
+
+        client.updateLifecycleRules(r -> r.getId().equals("org1_space1_tiering"), null);
+
+        verify(s3, never()).setLifecycleRules(any());
+    }
+
+    @Test
+    void testUpdateLifecycleRules_waitsForOtherReplica() throws Exception {
+        try (LeaseProvider.Lease ignored = leaseProvider.tryAcquire("s3-lifecycle", Duration.ZERO).orElseThrow()) {
+            StorageManagerException e = assertThrows(StorageManagerException.class,
+                    () -> client.updateLifecycleRules(r -> false, new S3LifecycleRule("org1_space1_tiering", "org1/space1/")));
+
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getHttpStatus());
+        }
+        verify(s3, never()).setLifecycleRules(any());
+    }
+
+    @Test
+    void testMergeLifecycleRules_rejectsRulesBeyondLimit() throws StorageManagerException {
+        List<S3LifecycleRule> rules = IntStream.range(0, 1000).mapToObj(i -> new S3LifecycleRule("org1_space" + i + "_tiering", "org1/space" + i + "/"))
+                .toList();
+        S3LifecycleRule rule = new S3LifecycleRule("org1_new_tiering", "org1/new/");
+
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> StorageClientS3.mergeLifecycleRules(rules, r -> false, rule));
+
+        assertEquals(HttpStatus.CONFLICT, e.getHttpStatus());
+        // replacing an existing rule does not add to the count
+        assertEquals(1000, StorageClientS3.mergeLifecycleRules(rules, r -> r.getId().equals("org1_space0_tiering"), rule).size());
+    }
+
+    private static SpaceContextDTO space(String orgaName, String spaceName) {
+        OrganizationContextDTO organization = new OrganizationContextDTO();
+        organization.setName(orgaName);
+        SpaceContextDTO space = new SpaceContextDTO();
+        space.setName(spaceName);
+        space.setOrganization(organization);
+        return space;
+    }
+}
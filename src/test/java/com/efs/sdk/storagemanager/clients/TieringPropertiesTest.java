@@ -0,0 +1,61 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.clients;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TieringPropertiesTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void testValidate_increasingThresholds() {
+        TieringProperties properties = new TieringProperties();
+        properties.getClasses().put("warm", policy(30, null, 365));
+
+        assertTrue(validator.validate(properties).isEmpty());
+    }
+
+    @Test
+    void testValidate_overlappingThresholds() {
+        TieringProperties properties = new TieringProperties();
+        TieringProperties.TieringPolicy policy = policy(30, 90, 365);
+        policy.setVersionsCoolAfterDays(7);
+        policy.setVersionsArchiveAfterDays(7);
+        properties.getClasses().put("cold", policy);
+
+        Set<ConstraintViolation<TieringProperties>> violations = validator.validate(properties);
+
+        assertEquals(1, violations.size());
+        assertTrue(violations.iterator().next().getPropertyPath().toString().endsWith("versionsOrdered"));
+    }
+
+    private static TieringProperties.TieringPolicy policy(Integer cool, Integer archive, Integer delete) {
+        TieringProperties.TieringPolicy policy = new TieringProperties.TieringPolicy();
+        policy.setCoolAfterDays(cool);
+        policy.setArchiveAfterDays(archive);
+        policy.setDeleteAfterDays(delete);
+        return policy;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTest {
+
+    @Test
+    void testAdmit_rejectsWhenQueueIsFull() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setDefaults(new AdmissionProperties.Limits(1, 0));
+        properties.setInitialEstimate(Duration.ofSeconds(30));
+        AdmissionControl admissionControl = new AdmissionControl(properties, new SimpleMeterRegistry());
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread first = new Thread(() -> {
+            try {
+                admissionControl.admit("CREATE_SPACE", () -> {
+                    running.countDown();
+                    awaitQuietly(release);
+                    return null;
+                });
+            } catch (Exception e) {
+                fail(e);
+            }
+        });
+        first.start();
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> admissionControl.admit("CREATE_SPACE", () -> null));
+        // other operation types have their own capacity
+        assertEquals("deleted", admissionControl.admit("DELETE_SPACE", () -> "deleted"));
+        release.countDown();
+        first.join(5000);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getHttpStatus());
+        assertEquals(Duration.ofSeconds(30), e.getRetryAfter());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
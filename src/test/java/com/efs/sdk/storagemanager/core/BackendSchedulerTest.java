@@ -0,0 +1,147 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackendSchedulerTest {
+
+    @Test
+    void testExecute_sharesSlotsFairlyAcrossOrganizations() throws Exception {
+        SchedulerProperties properties = new SchedulerProperties();
+        properties.setSlots(1);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BackendScheduler scheduler = new BackendScheduler(properties, meterRegistry);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        List<Thread> threads = new ArrayList<>();
+        threads.add(start(() -> scheduler.execute("blocker", () -> {
+            running.countDown();
+            awaitQuietly(release);
+            return null;
+        })));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        // org1 queues three calls before org2 queues its single call
+        for (String organization : List.of("org1", "org1", "org1", "org2")) {
+            int queued = queued(meterRegistry);
+            threads.add(start(() -> scheduler.execute(organization, () -> order.add(organization))));
+            awaitQueued(meterRegistry, queued + 1);
+        }
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+
+        assertEquals(List.of("org1", "org2", "org1", "org1"), order);
+    }
+
+    @Test
+    void testExecute_reservesSlotsForInteractiveCalls() throws Exception {
+        SchedulerProperties properties = new SchedulerProperties();
+        properties.setSlots(2);
+        properties.setMaxBulkSlots(2);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BackendScheduler scheduler = new BackendScheduler(properties, meterRegistry);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            threads.add(start(() -> BackendScheduler.inLane(BackendScheduler.Lane.BULK, () -> scheduler.execute("org1", () -> {
+                running.countDown();
+                awaitQuietly(release);
+                return null;
+            }))));
+        }
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        // the second bulk call waits although a slot is free
+        awaitQueued(meterRegistry, "bulk", 1);
+
+        try {
+            assertEquals("done", scheduler.execute("org2", () -> "done"));
+            assertEquals(1, queued(meterRegistry, "bulk"));
+        } finally {
+            release.countDown();
+            for (Thread thread : threads) {
+                thread.join(5000);
+            }
+        }
+    }
+
+    @Test
+    void testInLane_restoresPreviousLane() throws Exception {
+        SchedulerProperties properties = new SchedulerProperties();
+        properties.setEnabled(false);
+        BackendScheduler scheduler = new BackendScheduler(properties, new SimpleMeterRegistry());
+
+        String result = BackendScheduler.inLane(BackendScheduler.Lane.BULK,
+                () -> BackendScheduler.inLane(BackendScheduler.Lane.INTERACTIVE, () -> scheduler.execute("org", () -> "done")));
+
+        assertEquals("done", result);
+    }
+
+    private static Thread start(BackendScheduler.ScheduledCall<?> call) {
+        Thread thread = new Thread(() -> {
+            try {
+                call.run();
+            } catch (Exception e) {
+                fail(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static int queued(MeterRegistry meterRegistry) {
+        return queued(meterRegistry, "interactive");
+    }
+
+    private static int queued(MeterRegistry meterRegistry, String lane) {
+        return (int) meterRegistry.get(BackendScheduler.METRIC_PREFIX + ".queued").tag("lane", lane).gauge().value();
+    }
+
+    private static void awaitQueued(MeterRegistry meterRegistry, int expected) throws InterruptedException {
+        awaitQueued(meterRegistry, "interactive", expected);
+    }
+
+    private static void awaitQueued(MeterRegistry meterRegistry, String lane, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (queued(meterRegistry, lane) < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, queued(meterRegistry, lane));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.lease.InMemoryLeaseProvider;
+import com.efs.sdk.storagemanager.lease.LeaderElection;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Collaborators shared by the tests of the background jobs: an unlimited backend scheduler, organization locks and a
+ * leader election on in-memory leases (every replica leads) and a meter registry. Jobs registered with
+ * {@link #register(Object, Consumer)} are shut down by {@link #close()}.
+ */
+class BackgroundJobFixture implements AutoCloseable {
+
+    final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final BackendScheduler scheduler;
+    final OrganizationLocks locks;
+    final LeaderElection leaderElection;
+    private final List<Runnable> shutdowns = new ArrayList<>();
+
+    BackgroundJobFixture() {
+        SchedulerProperties schedulerProperties = new SchedulerProperties();
+        schedulerProperties.setEnabled(false);
+        scheduler = new BackendScheduler(schedulerProperties, meterRegistry);
+        InMemoryLeaseProvider leases = new InMemoryLeaseProvider();
+        locks = new OrganizationLocks(Duration.ofSeconds(5), leases, meterRegistry);
+        leaderElection = new LeaderElection(leases, meterRegistry, false, Duration.ofSeconds(5));
+    }
+
+    /**
+     * Creates an inventory on the scheduler of the fixture
+     *
+     * @param storageClient the storage client
+     * @param tombstones    the tombstones of deleted contexts
+     * @return the inventory
+     */
+    InventoryService inventory(StorageClient storageClient, TombstoneStore tombstones) {
+        return new InventoryService(storageClient, scheduler, tombstones);
+    }
+
+    /**
+     * Registers a job to be shut down after the test
+     *
+     * @param job      the job
+     * @param shutdown shuts the job down
+     * @param <T>      the type of the job
+     * @return the job
+     */
+    <T> T register(T job, Consumer<T> shutdown) {
+        shutdowns.add(() -> shutdown.accept(job));
+        return job;
+    }
+
+    @Override
+    public void close() {
+        shutdowns.forEach(Runnable::run);
+        leaderElection.shutdown();
+    }
+}
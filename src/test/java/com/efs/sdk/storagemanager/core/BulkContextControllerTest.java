@@ -0,0 +1,99 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.helper.AuthHelper;
+import com.efs.sdk.storagemanager.jobs.ProvisioningJob;
+import com.efs.sdk.storagemanager.model.BulkItemResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkContextControllerTest {
+
+    @Mock
+    private AuthHelper authHelper;
+    @Mock
+    private BulkOperationService bulkOperationService;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @InjectMocks
+    private BulkContextController bulkContextController;
+    private JwtAuthenticationToken token;
+
+    @BeforeEach
+    void setUp() {
+        token = new JwtAuthenticationToken(Jwt.withTokenValue("token").header("alg", "none").claim("sub", "user").build());
+    }
+
+    @Test
+    void testDeleteOrganizationContexts_streamsResults() throws Exception {
+        when(authHelper.isSuperuser(token)).thenReturn(true);
+        doAnswer(invocation -> {
+            BulkOperationService.ResultSink sink = invocation.getArgument(1);
+            sink.accept(new BulkItemResult(1, "org2", null, BulkItemResult.Status.FAILED, new ProvisioningJob.JobError(404, 1, "not found")));
+            sink.accept(new BulkItemResult(0, "org1", null, BulkItemResult.Status.SUCCEEDED, null));
+            return null;
+        }).when(bulkOperationService).deleteOrganizationContexts(eq(List.of("org1", "org2")), any());
+
+        ResponseEntity<StreamingResponseBody> response = bulkContextController.deleteOrganizationContexts(token, List.of("org1", "org2"));
+        String body = write(response.getBody());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String[] lines = body.split("\\n");
+        assertEquals(2, lines.length);
+        assertEquals(BulkItemResult.Status.FAILED, objectMapper.readValue(lines[0], BulkItemResult.class).status());
+        assertEquals("org1", objectMapper.readValue(lines[1], BulkItemResult.class).organization());
+    }
+
+    @Test
+    void testDeleteOrganizationContexts_insufficientPrivilege() throws Exception {
+        when(authHelper.isSuperuser(token)).thenReturn(false);
+
+        StorageManagerException e = assertThrows(StorageManagerException.class,
+                () -> bulkContextController.deleteOrganizationContexts(token, List.of("org1")));
+
+        assertEquals(HttpStatus.FORBIDDEN, e.getHttpStatus());
+        verify(bulkOperationService, times(0)).deleteOrganizationContexts(any(), any());
+    }
+
+    private static String write(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.model.SpaceStorageModel;
+import com.efs.sdk.storagemanager.model.Tombstone;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeletionReaperTest {
+
+    @Mock
+    private StorageClient storageClient;
+    @TempDir
+    private Path tempDir;
+    private final BackgroundJobFixture fixture = new BackgroundJobFixture();
+    private ReaperProperties properties;
+    private TombstoneStore store;
+    private DeletionReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReaperProperties();
+        properties.setEnabled(false);
+        properties.setObjectsPerSecond(3);
+        properties.setInterval(Duration.ofSeconds(1));
+        properties.setBatchSize(2);
+        properties.setDirectory(tempDir);
+        store = new TombstoneStore(new ObjectMapper().registerModule(new JavaTimeModule()), properties);
+        reaper = fixture.register(new DeletionReaper(storageClient, fixture.scheduler, fixture.locks, store, properties, fixture.meterRegistry),
+                DeletionReaper::shutdown);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.close();
+    }
+
+    @Test
+    void testReap_limitedToBudget() throws Exception {
+        reaper.deleted("org1", "space1");
+        when(storageClient.purgeSpaceStorage("org1", "space1", 2)).thenReturn(2, 0);
+        when(storageClient.purgeSpaceStorage("org1", "space1", 1)).thenReturn(1);
+
+        reaper.reap();
+
+        assertEquals(3, store.get("org1", "space1").map(Tombstone::purged).orElseThrow());
+        assertTrue(store.isDeleted("org1", "space1"));
+
+        reaper.reap();
+
+        assertFalse(store.isDeleted("org1", "space1"));
+        assertTrue(store.list().isEmpty());
+    }
+
+    @Test
+    void testPurgeNow_purgesCompletely() throws Exception {
+        reaper.deleted("org1", null);
+        when(storageClient.purgeOrganizationStorage("org1", 2)).thenReturn(2, 2, 1);
+
+        reaper.purgeNow("org1", null);
+
+        verify(storageClient, times(3)).purgeOrganizationStorage("org1", 2);
+        assertFalse(store.isDeleted("org1", "space1"));
+    }
+
+    @Test
+    void testPurgeNow_readsTombstoneOfOtherReplica() throws Exception {
+        TombstoneStore otherReplica = new TombstoneStore(new ObjectMapper().registerModule(new JavaTimeModule()), properties);
+        otherReplica.put(new Tombstone("org1", "space1", Instant.now(), 0));
+        when(storageClient.purgeSpaceStorage("org1", "space1", 2)).thenReturn(1);
+
+        reaper.purgeNow("org1", "space1");
+
+        verify(storageClient).purgeSpaceStorage("org1", "space1", 2);
+        assertTrue(otherReplica.reload("org1", "space1").isEmpty());
+    }
+
+    @Test
+    void testReap_keepsRecreatedContext() throws Exception {
+        reaper.deleted("org1", "space1");
+        when(storageClient.getSpaceStorage("org1", "space1")).thenReturn(Optional.of(new SpaceStorageModel("org1", "space1")));
+
+        reaper.reap();
+
+        verify(storageClient, never()).purgeSpaceStorage(any(), any(), anyInt());
+        assertFalse(store.isDeleted("org1", "space1"));
+    }
+
+    @Test
+    void testRestored_stopsPurging() {
+        reaper.deleted("org1", "space1");
+
+        reaper.restored("org1", "space1");
+        reaper.reap();
+
+        assertFalse(store.isDeleted("org1", "space1"));
+        verifyNoInteractions(storageClient);
+    }
+}
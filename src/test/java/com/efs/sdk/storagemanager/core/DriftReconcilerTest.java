@@ -0,0 +1,89 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.model.Drift;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DriftReconcilerTest {
+
+    @Mock
+    private StorageClient storageClient;
+    @Mock
+    private TombstoneStore tombstones;
+    @TempDir
+    private Path tempDir;
+    private final BackgroundJobFixture fixture = new BackgroundJobFixture();
+    private ReconcilerProperties properties;
+    private DriftReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReconcilerProperties();
+        properties.setEnabled(false);
+        properties.setPageSize(2);
+        properties.setPagesPerCycle(1);
+        properties.setCheckpoint(tempDir.resolve("checkpoint"));
+        reconciler = fixture.register(new DriftReconciler(storageClient, fixture.scheduler, fixture.inventory(storageClient, tombstones), fixture.locks,
+                properties, fixture.leaderElection, fixture.meterRegistry), DriftReconciler::shutdown);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.close();
+    }
+
+    @Test
+    void testReconcile_continuesAtCheckpoint() throws Exception {
+        when(storageClient.listOrganizations(isNull(), anyInt())).thenReturn(List.of("org1"));
+        when(storageClient.listSpaces(eq("org1"), isNull(), anyInt())).thenReturn(List.of("space1"));
+        when(storageClient.listSpaces(eq("org1"), eq("space1"), anyInt())).thenReturn(List.of("space2"));
+        when(storageClient.reconcileOrganization("org1", true)).thenReturn(List.of(new Drift("org1", null, "cors", "https://sdk", null)));
+
+        reconciler.reconcile();
+
+        assertTrue(Files.exists(properties.getCheckpoint()));
+        verify(storageClient).reconcileSpace("org1", "space1", true);
+        verify(storageClient, never()).reconcileSpace("org1", "space2", true);
+
+        when(storageClient.listSpaces(eq("org1"), eq("space2"), anyInt())).thenReturn(List.of());
+        when(storageClient.listOrganizations(eq("org1"), anyInt())).thenReturn(List.of());
+
+        reconciler.reconcile();
+
+        assertFalse(Files.exists(properties.getCheckpoint()));
+        verify(storageClient).reconcileSpace("org1", "space2", true);
+        assertEquals(1, fixture.meterRegistry.get("storagemanager.reconciler.drift").tag("setting", "cors").counter().count());
+        assertEquals(1, fixture.meterRegistry.get("storagemanager.reconciler.drifted").gauge().value());
+    }
+}
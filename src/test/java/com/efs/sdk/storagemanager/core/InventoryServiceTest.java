@@ -0,0 +1,101 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.model.InventoryItem;
+import com.efs.sdk.storagemanager.model.InventoryPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceTest {
+
+    @Mock
+    private StorageClient storageClient;
+    @Mock
+    private TombstoneStore tombstones;
+    private InventoryService inventoryService;
+
+    @BeforeEach
+    void setUp() {
+        SchedulerProperties properties = new SchedulerProperties();
+        properties.setEnabled(false);
+        inventoryService = new InventoryService(storageClient, new BackendScheduler(properties, new SimpleMeterRegistry()), tombstones);
+    }
+
+    @Test
+    void testGetPage_continuesAcrossOrganizations() throws Exception {
+        when(storageClient.listOrganizations(null, 3)).thenReturn(List.of("org1", "org2"));
+        when(storageClient.listSpaces("org1", null, 2)).thenReturn(List.of("space1", "space2"));
+
+        InventoryPage first = inventoryService.getPage(null, 3);
+
+        assertEquals(List.of(new InventoryItem("org1", null), new InventoryItem("org1", "space1"), new InventoryItem("org1", "space2")), first.items());
+        assertNotNull(first.next());
+
+        when(storageClient.listSpaces("org1", "space2", 3)).thenReturn(List.of());
+        when(storageClient.listOrganizations("org1", 3)).thenReturn(List.of("org2"));
+        when(storageClient.listSpaces("org2", null, 2)).thenReturn(List.of("space3"));
+
+        InventoryPage second = inventoryService.getPage(first.next(), 3);
+
+        assertEquals(List.of(new InventoryItem("org2", null), new InventoryItem("org2", "space3")), second.items());
+        assertNull(second.next());
+    }
+
+    @Test
+    void testStream_listsWholeInventory() throws Exception {
+        when(storageClient.listOrganizations(null, InventoryService.DEFAULT_PAGE_SIZE)).thenReturn(List.of("org1"));
+        when(storageClient.listSpaces("org1", null, InventoryService.DEFAULT_PAGE_SIZE - 1)).thenReturn(List.of("space1"));
+        List<InventoryItem> items = new ArrayList<>();
+
+        inventoryService.stream(items::add);
+
+        assertEquals(List.of(new InventoryItem("org1", null), new InventoryItem("org1", "space1")), items);
+    }
+
+    @Test
+    void testGetPage_skipsDeletedContexts() throws Exception {
+        when(storageClient.listOrganizations(null, 10)).thenReturn(List.of("org1", "org2"));
+        when(storageClient.listSpaces("org1", null, 9)).thenReturn(List.of("space1", "space2"));
+        when(storageClient.listSpaces("org2", null, 7)).thenReturn(List.of());
+        when(tombstones.isDeleted("org1", "space1")).thenReturn(true);
+
+        InventoryPage page = inventoryService.getPage(null, 10);
+
+        assertEquals(List.of(new InventoryItem("org1", null), new InventoryItem("org1", "space2"), new InventoryItem("org2", null)), page.items());
+    }
+
+    @Test
+    void testGetPage_invalidCursor() {
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> inventoryService.getPage("%%%", 10));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getHttpStatus());
+    }
+}
@@ -19,6 +19,8 @@ import com.efs.sdk.common.domain.dto.OrganizationContextDTO;
 import com.efs.sdk.storagemanager.commons.StorageManagerException;
 import com.efs.sdk.storagemanager.helper.AuthHelper;
 import com.efs.sdk.storagemanager.helper.Utils;
+import com.efs.sdk.storagemanager.model.ContextStatus;
+import com.efs.sdk.storagemanager.model.OrganizationStorageModel;
 import org.junit.After;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -41,6 +43,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -82,11 +85,11 @@ class OrganizationContextControllerTest {
     void testCreateOrganizationResources_success() throws StorageManagerException {
         when(authHelper.isSuperuser(token)).thenReturn(true);
 
-        ResponseEntity<Void> response = organizationContextController.createOrganizationContext(token, dto);
+        ResponseEntity<Object> response = organizationContextController.createOrganizationContext(token, dto, null, null, null, false, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         verify(authHelper, times(1)).isSuperuser(token);
-        verify(storageManagerService, times(1)).createOrganizationContext(dto);
+        verify(storageManagerService, times(1)).createOrganizationContext(eq(dto), any(), any());
     }
 
     @Test
@@ -96,25 +99,47 @@ class OrganizationContextControllerTest {
 
         StorageManagerException exception = new StorageManagerException(StorageManagerException.STORAGEMANAGER_ERROR.INSUFFICIENT_PRIVILEGE);
         try {
-            organizationContextController.createOrganizationContext(token, dto);
+            organizationContextController.createOrganizationContext(token, dto, null, null, null, false, null);
         } catch (ResponseStatusException e) {
             assertEquals(HttpStatus.FORBIDDEN, e.getStatusCode());
             assertEquals(exception.getMessage(), e.getReason());
         }
 
         verify(authHelper, times(1)).isSuperuser(token);
-        verify(storageManagerService, times(0)).createOrganizationContext(dto);
+        verify(storageManagerService, times(0)).createOrganizationContext(eq(dto), any(), any());
+    }
+
+    @Test
+    void testGetOrganizationContext_insufficientPrivilege() throws StorageManagerException {
+        when(authHelper.isSuperuser(token)).thenReturn(false);
+
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> organizationContextController.getOrganizationContext(token, orgaName));
+
+        assertEquals(HttpStatus.FORBIDDEN, e.getHttpStatus());
+        verify(storageManagerService, times(0)).getOrganizationContext(orgaName);
+    }
+
+    @Test
+    void testGetOrganizationContext_provisioning() throws StorageManagerException {
+        when(authHelper.isSuperuser(token)).thenReturn(true);
+        ContextStatus<OrganizationStorageModel> status = new ContextStatus<>(ContextStatus.State.PROVISIONING, null);
+        when(storageManagerService.getOrganizationContext(orgaName)).thenReturn(status);
+
+        ResponseEntity<ContextStatus<OrganizationStorageModel>> response = organizationContextController.getOrganizationContext(token, orgaName);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ContextStatus.State.PROVISIONING, response.getBody().state());
     }
 
     @Test
     void testDeleteOrganizationResources_success() throws StorageManagerException {
         when(authHelper.isSuperuser(token)).thenReturn(true);
 
-        ResponseEntity<Void> response = organizationContextController.deleteOrganizationContext(token, orgaName);
+        ResponseEntity<Void> response = organizationContextController.deleteOrganizationContext(token, orgaName, null);
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         verify(authHelper, times(1)).isSuperuser(token);
-        verify(storageManagerService, times(1)).deleteOrganizationContext(orgaName);
+        verify(storageManagerService, times(1)).deleteOrganizationContext(orgaName, null);
     }
 
     @Test
@@ -123,14 +148,14 @@ class OrganizationContextControllerTest {
 
         StorageManagerException exception = new StorageManagerException(StorageManagerException.STORAGEMANAGER_ERROR.INSUFFICIENT_PRIVILEGE);
         try {
-            organizationContextController.deleteOrganizationContext(token, orgaName);
+            organizationContextController.deleteOrganizationContext(token, orgaName, null);
         } catch (StorageManagerException e) {
             assertEquals(HttpStatus.FORBIDDEN, e.getHttpStatus());
             assertEquals(exception.getMessage(), e.getMessage());
         }
 
         verify(authHelper, times(1)).isSuperuser(token);
-        verify(storageManagerService, times(0)).deleteOrganizationContext(orgaName);
+        verify(storageManagerService, times(0)).deleteOrganizationContext(orgaName, null);
     }
 
 }
@@ -0,0 +1,186 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.lease.InMemoryLeaseProvider;
+import com.efs.sdk.storagemanager.lease.LeaseProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.ORGANIZATION_BUSY;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrganizationLocksTest {
+
+    private final InMemoryLeaseProvider leases = new InMemoryLeaseProvider();
+    private final AtomicInteger acquiredLeases = new AtomicInteger();
+    private MeterRegistry meterRegistry;
+    private OrganizationLocks locks;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        locks = createLocks(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testWithLock_runsOperationsOfOrganizationInOrderOfArrival() throws Exception {
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> waiting = new ArrayList<>();
+
+        locks.withLock("org1", "CREATE", () -> {
+            for (String name : List.of("first", "second", "third")) {
+                Thread thread = new Thread(() -> run(() -> locks.withLock("org1", "CREATE", () -> executed.add(name))));
+                thread.start();
+                awaitWaiting(thread);
+                waiting.add(thread);
+            }
+            return executed.add("holder");
+        });
+        for (Thread thread : waiting) {
+            thread.join(5000);
+        }
+
+        assertEquals(List.of("holder", "first", "second", "third"), executed);
+    }
+
+    @Test
+    void testWithLock_runsOrganizationsInParallel() throws Exception {
+        AtomicReference<String> other = new AtomicReference<>();
+
+        locks.withLock("org1", "CREATE", () -> {
+            Thread thread = new Thread(() -> run(() -> other.getAndSet(locks.withLock("org2", "CREATE", () -> "org2"))));
+            thread.start();
+            join(thread);
+            // completed while org1 is still locked
+            assertFalse(thread.isAlive());
+            return null;
+        });
+
+        assertEquals("org2", other.get());
+    }
+
+    @Test
+    void testWithLock_removesLockOfIdleOrganization() throws StorageManagerException {
+        locks.withLock("org1", "CREATE", () -> {
+            assertEquals(1, lockedOrganizations());
+            return locks.withLock("org2", "CREATE", () -> {
+                assertEquals(2, lockedOrganizations());
+                return null;
+            });
+        });
+        assertEquals(0, lockedOrganizations());
+
+        assertThrows(StorageManagerException.class, () -> locks.withLock("org1", "DELETE", () -> {
+            throw new StorageManagerException(ORGANIZATION_BUSY, "org1");
+        }));
+        assertEquals(0, lockedOrganizations());
+    }
+
+    @Test
+    void testWithLock_acquiresLeaseOnlyForOutermostOperation() throws Exception {
+        locks.withLock("org1", "CREATE", () -> locks.withLock("org1", "UPDATE", () -> {
+            assertTrue(tryLease("org-org1").isEmpty());
+            return null;
+        }));
+
+        assertEquals(1, acquiredLeases.get());
+        // released with the outermost operation
+        assertTrue(tryLease("org-org1").isPresent());
+    }
+
+    @Test
+    void testWithLock_timesOutWhileOtherReplicaHoldsLease() throws Exception {
+        OrganizationLocks shortLocks = createLocks(Duration.ofMillis(100));
+        LeaseProvider.Lease otherReplica = leases.tryAcquire("org-org1", Duration.ZERO).orElseThrow();
+
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> shortLocks.withLock("org1", "DELETE", () -> "deleted"));
+
+        assertTrue(e.is(ORGANIZATION_BUSY));
+        assertEquals(1, meterRegistry.get(OrganizationLocks.LOCK_WAIT_METRIC).tag("operation", "DELETE").tag("acquired", "false").timer().count());
+        assertEquals(0, lockedOrganizations());
+
+        otherReplica.close();
+        assertEquals("deleted", shortLocks.withLock("org1", "DELETE", () -> "deleted"));
+        assertEquals(1, meterRegistry.get(OrganizationLocks.LOCK_WAIT_METRIC).tag("operation", "DELETE").tag("acquired", "true").timer().count());
+    }
+
+    private OrganizationLocks createLocks(Duration timeout) {
+        LeaseProvider counting = (name, wait) -> {
+            Optional<LeaseProvider.Lease> lease = leases.tryAcquire(name, wait);
+            lease.ifPresent(l -> acquiredLeases.incrementAndGet());
+            return lease;
+        };
+        return new OrganizationLocks(timeout, counting, meterRegistry);
+    }
+
+    private Optional<LeaseProvider.Lease> tryLease(String name) {
+        try {
+            Optional<LeaseProvider.Lease> lease = leases.tryAcquire(name, Duration.ZERO);
+            lease.ifPresent(LeaseProvider.Lease::close);
+            return lease;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    private double lockedOrganizations() {
+        return meterRegistry.get(OrganizationLocks.LOCKED_METRIC).gauge().value();
+    }
+
+    private static void run(OrganizationLocks.LockedAction<?> action) {
+        try {
+            action.run();
+        } catch (StorageManagerException e) {
+            fail(e);
+        }
+    }
+
+    private static void awaitWaiting(Thread thread) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+            sleep();
+        }
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
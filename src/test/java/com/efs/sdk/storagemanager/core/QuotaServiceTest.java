@@ -0,0 +1,123 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.model.InventoryItem;
+import com.efs.sdk.storagemanager.model.OrganizationUsage;
+import com.efs.sdk.storagemanager.model.QuotaViolation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuotaServiceTest {
+
+    @Mock
+    private UsageService usageService;
+    @Mock
+    private InventoryService inventoryService;
+    private QuotaProperties properties;
+    private QuotaService quotaService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new QuotaProperties();
+        properties.setEnabled(false);
+        quotaService = new QuotaService(usageService, inventoryService, properties, new SimpleMeterRegistry());
+        properties.setEnabled(true);
+        lenient().doAnswer(invocation -> {
+            InventoryService.ItemSink sink = invocation.getArgument(0);
+            sink.accept(new InventoryItem("org1", null));
+            sink.accept(new InventoryItem("org1", "loadingzone"));
+            sink.accept(new InventoryItem("org1", "space1"));
+            return null;
+        }).when(inventoryService).stream(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        quotaService.shutdown();
+    }
+
+    @Test
+    void testCheckSpaceCreation_maxSpaces() throws Exception {
+        properties.getOrganizationDefaults().setMaxSpaces(1);
+        quotaService.enforce();
+
+        // the existing space may be created again, a second space exceeds the quota
+        quotaService.checkSpaceCreation("org1", "space1");
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> quotaService.checkSpaceCreation("org1", "space2"));
+
+        assertEquals(HttpStatus.FORBIDDEN, e.getHttpStatus());
+        assertTrue(quotaService.getViolations().isEmpty());
+    }
+
+    @Test
+    void testCheckSpaceCreation_notCountedYet() throws Exception {
+        properties.getOrganizations().put("org1", new QuotaProperties.Limits());
+        properties.getOrganizations().get("org1").setMaxSpaces(1);
+
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> quotaService.checkSpaceCreation("org1", "space2"));
+        // organizations without a limit of spaces are not affected
+        quotaService.checkSpaceCreation("org2", "space1");
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getHttpStatus());
+    }
+
+    @Test
+    void testEnforce_keepsSpacesDeletedDuringRefresh() throws Exception {
+        properties.getOrganizationDefaults().setMaxSpaces(1);
+        doAnswer(invocation -> {
+            InventoryService.ItemSink sink = invocation.getArgument(0);
+            sink.accept(new InventoryItem("org1", null));
+            // deleted after the inventory listed it
+            sink.accept(new InventoryItem("org1", "space1"));
+            quotaService.spaceDeleted("org1", "space1");
+            return null;
+        }).when(inventoryService).stream(any());
+
+        quotaService.enforce();
+
+        quotaService.checkSpaceCreation("org1", "space2");
+    }
+
+    @Test
+    void testEnforce_reportsExceededBytes() throws Exception {
+        properties.getOrganizations().put("org1", new QuotaProperties.Limits());
+        properties.getOrganizations().get("org1").setMaxBytes(100L);
+        when(usageService.getOrganizationUsage("org1")).thenReturn(Optional.of(new OrganizationUsage("org1", 150, 3, List.of())));
+
+        quotaService.enforce();
+
+        assertEquals(List.of(new QuotaViolation("org1", null, QuotaViolation.Resource.BYTES, 100, 150)), quotaService.getViolations());
+        assertThrows(StorageManagerException.class, () -> quotaService.checkSpaceCreation("org1", "space2"));
+    }
+}
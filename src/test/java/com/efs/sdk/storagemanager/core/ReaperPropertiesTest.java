@@ -0,0 +1,52 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReaperPropertiesTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void testValidate_temporaryDirectory() {
+        ReaperProperties properties = new ReaperProperties();
+        properties.setEnabled(true);
+
+        assertEquals(1, validator.validate(properties).size());
+    }
+
+    @Test
+    void testValidate_persistentDirectory() {
+        ReaperProperties properties = new ReaperProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(Path.of("/var/lib/storagemanager/tombstones"));
+
+        assertTrue(validator.validate(properties).isEmpty());
+    }
+
+    @Test
+    void testValidate_disabled() {
+        assertTrue(validator.validate(new ReaperProperties()).isEmpty());
+    }
+}
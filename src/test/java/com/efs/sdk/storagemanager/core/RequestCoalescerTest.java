@@ -0,0 +1,164 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.PROVISIONING_CAPACITY_EXHAUSTED;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.STORAGE_ACCOUNT_ALREADY_EXISTS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new RequestCoalescer(Duration.ofMinutes(5));
+        SecurityContextHolder.getContext().setAuthentication(token());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testExecute_coalescesConcurrentRequests() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        AtomicReference<Object> duplicateResult = new AtomicReference<>();
+        Thread duplicate = new Thread(() -> {
+            SecurityContextHolder.getContext().setAuthentication(token());
+            try {
+                duplicateResult.set(coalescer.execute("CREATE_SPACE/org/space", null, () -> {
+                    executions.incrementAndGet();
+                    return "duplicate";
+                }));
+            } catch (StorageManagerException e) {
+                duplicateResult.set(e);
+            }
+        });
+
+        String result = coalescer.execute("CREATE_SPACE/org/space", null, () -> {
+            executions.incrementAndGet();
+            duplicate.start();
+            // wait until the duplicate has joined the in-flight execution
+            long deadline = System.currentTimeMillis() + 5000;
+            while (duplicate.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+                sleep();
+            }
+            return "created";
+        });
+        duplicate.join(5000);
+
+        assertEquals("created", result);
+        assertEquals("created", duplicateResult.get());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testExecute_releasesJoinedRequestsOnError() throws Exception {
+        AtomicReference<Object> duplicateResult = new AtomicReference<>();
+        Thread duplicate = new Thread(() -> {
+            SecurityContextHolder.getContext().setAuthentication(token());
+            try {
+                duplicateResult.set(coalescer.execute("CREATE_SPACE/org/space", null, () -> "duplicate"));
+            } catch (StorageManagerException e) {
+                duplicateResult.set(e);
+            }
+        });
+
+        assertThrows(AssertionError.class, () -> coalescer.execute("CREATE_SPACE/org/space", null, () -> {
+            duplicate.start();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (duplicate.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+                sleep();
+            }
+            throw new AssertionError("failed");
+        }));
+        duplicate.join(5000);
+
+        assertFalse(duplicate.isAlive());
+        StorageManagerException e = assertInstanceOf(StorageManagerException.class, duplicateResult.get());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, e.getHttpStatus());
+    }
+
+    @Test
+    void testExecute_replaysOutcomeForIdempotencyKey() throws StorageManagerException {
+        AtomicInteger executions = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            StorageManagerException e = assertThrows(StorageManagerException.class, () -> coalescer.execute("CREATE_ORGANIZATION/org", "key-1", () -> {
+                executions.incrementAndGet();
+                throw new StorageManagerException(STORAGE_ACCOUNT_ALREADY_EXISTS);
+            }));
+            assertEquals(HttpStatus.CONFLICT, e.getHttpStatus());
+        }
+
+        assertEquals(1, executions.get());
+        assertEquals("other", coalescer.execute("CREATE_ORGANIZATION/org", "key-2", () -> "other"));
+    }
+
+    @Test
+    void testExecute_executesAgainAfterRetryableRejection() throws StorageManagerException {
+        AtomicInteger executions = new AtomicInteger();
+
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> coalescer.execute("CREATE_SPACE/org/space", "key", () -> {
+            executions.incrementAndGet();
+            throw new StorageManagerException(PROVISIONING_CAPACITY_EXHAUSTED, "CREATE_SPACE", Duration.ofSeconds(1));
+        }));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getHttpStatus());
+
+        assertEquals("created", coalescer.execute("CREATE_SPACE/org/space", "key", () -> {
+            executions.incrementAndGet();
+            return "created";
+        }));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testExecute_rejectsReusedIdempotencyKey() throws StorageManagerException {
+        coalescer.execute("DELETE_SPACE/org/space", "key", () -> null);
+
+        StorageManagerException e = assertThrows(StorageManagerException.class,
+                () -> coalescer.execute("DELETE_ORGANIZATION/org", "key", () -> null));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getHttpStatus());
+    }
+
+    private static JwtAuthenticationToken token() {
+        return new JwtAuthenticationToken(Jwt.withTokenValue("token").header("alg", "none").claim("sub", "user").build());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
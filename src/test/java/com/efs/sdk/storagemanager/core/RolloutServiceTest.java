@@ -0,0 +1,171 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.lease.InMemoryLeaseProvider;
+import com.efs.sdk.storagemanager.lease.LeaderElection;
+import com.efs.sdk.storagemanager.model.Drift;
+import com.efs.sdk.storagemanager.model.RolloutStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.BACKEND_BUSY;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RolloutServiceTest {
+
+    @Mock
+    private StorageClient storageClient;
+    @TempDir
+    private Path tempDir;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private RolloutProperties properties;
+    private RolloutService rolloutService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RolloutProperties();
+        properties.setInitialParallelism(2);
+        properties.setMaxParallelism(4);
+        properties.setBackoff(Duration.ZERO);
+        properties.setStateFile(tempDir.resolve("rollout.json"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rolloutService.shutdown();
+    }
+
+    private RolloutService createService() {
+        SchedulerProperties schedulerProperties = new SchedulerProperties();
+        schedulerProperties.setEnabled(false);
+        BackendScheduler scheduler = new BackendScheduler(schedulerProperties, new SimpleMeterRegistry());
+        OrganizationLocks locks = new OrganizationLocks(Duration.ofSeconds(5), new InMemoryLeaseProvider(), new SimpleMeterRegistry());
+        return new RolloutService(storageClient, scheduler, locks, properties, objectMapper,
+                new LeaderElection(new InMemoryLeaseProvider(), new SimpleMeterRegistry(), false, Duration.ofSeconds(5)), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testStart_processesAllOrganizationsInGrowingWaves() throws Exception {
+        when(storageClient.listOrganizations(isNull(), eq(1000))).thenReturn(List.of("org1", "org2", "org3"));
+        when(storageClient.listOrganizations(isNull(), eq(2))).thenReturn(List.of("org1", "org2"));
+        when(storageClient.listOrganizations("org2", 3)).thenReturn(List.of("org3"));
+        when(storageClient.listOrganizations("org3", 4)).thenReturn(List.of());
+        when(storageClient.reconcileOrganization(anyString(), eq(true))).thenReturn(List.of());
+        when(storageClient.reconcileOrganization("org2", true)).thenReturn(List.of(new Drift("org2", null, "cors", "https://sdk", null)));
+        rolloutService = createService();
+
+        rolloutService.start(false);
+        RolloutStatus status = awaitFinished();
+
+        assertEquals(RolloutStatus.State.COMPLETED, status.getState());
+        assertEquals(3, status.getTotal());
+        assertEquals(3, status.getProcessed());
+        assertEquals(1, status.getChanged());
+        assertEquals(1, status.getSettings().get("cors"));
+        assertEquals("org3", status.getCursor());
+    }
+
+    @Test
+    void testRun_resumesAfterLastWaveAndBacksOff() throws Exception {
+        RolloutStatus persisted = new RolloutStatus();
+        persisted.setId("rollout");
+        persisted.setState(RolloutStatus.State.RUNNING);
+        persisted.setTotal(3);
+        persisted.setProcessed(2);
+        persisted.setParallelism(4);
+        persisted.setCursor("org2");
+        persisted.setStartedAt(Instant.now());
+        objectMapper.writeValue(properties.getStateFile().toFile(), persisted);
+        when(storageClient.listOrganizations("org2", 4)).thenReturn(List.of("org3"));
+        when(storageClient.listOrganizations("org3", 2)).thenReturn(List.of());
+        when(storageClient.reconcileOrganization("org3", true)).thenThrow(new StorageManagerException(BACKEND_BUSY));
+        rolloutService = createService();
+
+        rolloutService.resume();
+
+        RolloutStatus status = awaitFinished();
+        assertEquals(RolloutStatus.State.COMPLETED, status.getState());
+        assertEquals(3, status.getProcessed());
+        assertEquals(1, status.getFailed());
+        assertEquals(List.of("org3"), status.getFailedOrganizations());
+        assertEquals(2, status.getParallelism());
+        verify(storageClient, never()).reconcileOrganization(eq("org1"), anyBoolean());
+    }
+
+    @Test
+    void testStart_alreadyRunning() throws Exception {
+        when(storageClient.listOrganizations(isNull(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return List.of();
+        });
+        rolloutService = createService();
+        rolloutService.start(true);
+
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> rolloutService.start(true));
+
+        assertEquals(20171, e.getErrorCode());
+        assertEquals(RolloutStatus.State.COMPLETED, awaitFinished().getState());
+    }
+
+    @Test
+    void testGetStatus_readsSharedState() throws Exception {
+        when(storageClient.listOrganizations(isNull(), anyInt())).thenReturn(List.of());
+        rolloutService = createService();
+        RolloutStatus started = rolloutService.start(true);
+        awaitFinished();
+        // another replica sharing the state file
+        RolloutService other = createService();
+
+        try {
+            RolloutStatus status = other.getStatus();
+
+            assertEquals(started.getId(), status.getId());
+            assertEquals(RolloutStatus.State.COMPLETED, status.getState());
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    private RolloutStatus awaitFinished() throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        RolloutStatus status = rolloutService.getStatus();
+        while (status.getState() == RolloutStatus.State.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            status = rolloutService.getStatus();
+        }
+        return status;
+    }
+}
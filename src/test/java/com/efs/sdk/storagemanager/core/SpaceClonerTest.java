@@ -0,0 +1,139 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.clients.SpaceCopy;
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.jobs.JournalEntry;
+import com.efs.sdk.storagemanager.jobs.ProvisioningJob;
+import com.efs.sdk.storagemanager.jobs.ProvisioningJournal;
+import com.efs.sdk.storagemanager.model.SpaceStorageModel;
+import com.efs.sdk.storagemanager.model.StorageObject;
+import com.efs.sdk.storagemanager.model.StorageObjectPage;
+import com.efs.sdk.storagemanager.model.StorageUsage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpaceClonerTest {
+
+    private static final StorageObject A = new StorageObject("a", 1);
+    private static final StorageObject B = new StorageObject("b", 2);
+    private static final StorageObject C = new StorageObject("folder/c", 3);
+
+    @Mock
+    private StorageClient storageClient;
+    @Mock
+    private SpaceCopy copy;
+    @TempDir
+    private Path tempDir;
+    private final BackgroundJobFixture fixture = new BackgroundJobFixture();
+    private ProvisioningJournal journal;
+    private SpaceCloner cloner;
+    private JournalEntry entry;
+
+    @BeforeEach
+    void setUp() {
+        CloneProperties properties = new CloneProperties();
+        properties.setParallelism(2);
+        properties.setBatchSize(2);
+        journal = new ProvisioningJournal(new ObjectMapper().registerModule(new JavaTimeModule()), tempDir, true);
+        cloner = fixture.register(new SpaceCloner(storageClient, fixture.scheduler, journal, properties, fixture.meterRegistry), SpaceCloner::shutdown);
+        entry = journal.open(ProvisioningJob.Operation.CLONE_SPACE, "org1", "clone", Map.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.close();
+    }
+
+    @Test
+    void testCopy_copiesAllPages() throws Exception {
+        givenTargetExists();
+        when(copy.list(null, 2)).thenReturn(new StorageObjectPage(List.of(A, B), "b"));
+        when(copy.list("b", 2)).thenReturn(new StorageObjectPage(List.of(C), null));
+
+        StorageUsage copied = cloner.copy(entry, "org1", "space1", "clone");
+
+        assertEquals(new StorageUsage(6, 3), copied);
+        verify(copy).copy(A);
+        verify(copy).copy(B);
+        verify(copy).copy(C);
+        assertTrue(journal.isCompleted(entry, SpaceCloner.COPY_STEP));
+    }
+
+    @Test
+    void testCopy_resumesAtCheckpoint() throws Exception {
+        givenTargetExists();
+        when(copy.list(null, 2)).thenReturn(new StorageObjectPage(List.of(A, B), "b"));
+        when(copy.list("b", 2)).thenReturn(new StorageObjectPage(List.of(C), null));
+        when(copy.copy(C)).thenThrow(new StorageManagerException("copy failed")).thenReturn(SpaceCopy.Completion.DONE);
+
+        assertThrows(StorageManagerException.class, () -> cloner.copy(entry, "org1", "space1", "clone"));
+        StorageUsage copied = cloner.copy(entry, "org1", "space1", "clone");
+
+        assertEquals(new StorageUsage(6, 3), copied);
+        verify(copy, times(1)).list(null, 2);
+        verify(copy, times(1)).copy(A);
+    }
+
+    @Test
+    void testCopy_awaitsPendingCopies() throws Exception {
+        givenTargetExists();
+        when(copy.list(null, 2)).thenReturn(new StorageObjectPage(List.of(A, B), null));
+        when(copy.copy(B)).thenReturn(() -> {
+            throw new StorageManagerException("copy aborted");
+        });
+
+        assertThrows(StorageManagerException.class, () -> cloner.copy(entry, "org1", "space1", "clone"));
+
+        assertFalse(journal.isCompleted(entry, SpaceCloner.CHECKPOINT_STEP));
+    }
+
+    @Test
+    void testCopy_targetDeleted() throws Exception {
+        when(storageClient.openSpaceCopy("org1", "space1", "clone")).thenReturn(copy);
+        when(storageClient.getSpaceStorage("org1", "clone")).thenReturn(Optional.empty());
+
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> cloner.copy(entry, "org1", "space1", "clone"));
+
+        assertEquals(HttpStatus.NOT_FOUND, e.getHttpStatus());
+        verifyNoInteractions(copy);
+    }
+
+    private void givenTargetExists() throws StorageManagerException {
+        when(storageClient.openSpaceCopy("org1", "space1", "clone")).thenReturn(copy);
+        lenient().when(copy.copy(any())).thenReturn(SpaceCopy.Completion.DONE);
+        when(storageClient.getSpaceStorage("org1", "clone")).thenReturn(Optional.of(new SpaceStorageModel("org1", "clone")));
+    }
+}
@@ -19,6 +19,10 @@ import com.efs.sdk.common.domain.dto.SpaceContextDTO;
 import com.efs.sdk.storagemanager.commons.StorageManagerException;
 import com.efs.sdk.storagemanager.helper.AuthHelper;
 import com.efs.sdk.storagemanager.helper.Utils;
+import com.efs.sdk.storagemanager.jobs.ProvisioningJob;
+import com.efs.sdk.storagemanager.model.ContextStatus;
+import com.efs.sdk.storagemanager.model.SpaceStorageModel;
+import com.efs.sdk.storagemanager.model.StorageUsage;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,10 +33,15 @@ import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -72,11 +81,30 @@ class SpaceContextControllerTest {
     void testCreateSpaceContext_success() throws StorageManagerException {
         when(authHelper.isSuperuser(token)).thenReturn(true);
 
-        ResponseEntity<Void> response = spaceContextController.createSpaceContext(token, orgaName, dto);
+        ResponseEntity<Object> response = spaceContextController.createSpaceContext(token, orgaName, dto, null, false, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         verify(authHelper, times(1)).isSuperuser(token);
-        verify(storageManagerService, times(1)).createSpaceContext(dto);
+        verify(storageManagerService, times(1)).createSpaceContext(eq(dto), any(), any());
+    }
+
+    @Test
+    void testCreateSpaceContext_async() throws StorageManagerException {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(authHelper.isSuperuser(token)).thenReturn(true);
+        ProvisioningJob job = new ProvisioningJob(ProvisioningJob.Operation.CREATE_SPACE, orgaName, spaceName, "user");
+        when(storageManagerService.submitCreateSpaceContext(eq(dto), any(), any())).thenReturn(job);
+
+        try {
+            ResponseEntity<Object> response = spaceContextController.createSpaceContext(token, orgaName, dto, null, true, null);
+
+            assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+            assertEquals(job, response.getBody());
+            assertTrue(response.getHeaders().getLocation().getPath().endsWith("/v2.0/jobs/" + job.getId()));
+            verify(storageManagerService, times(0)).createSpaceContext(any(), any(), any());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
     }
 
     @Test
@@ -85,25 +113,37 @@ class SpaceContextControllerTest {
 
         StorageManagerException exception = new StorageManagerException(StorageManagerException.STORAGEMANAGER_ERROR.INSUFFICIENT_PRIVILEGE);
         try {
-            spaceContextController.createSpaceContext(token, orgaName, dto);
+            spaceContextController.createSpaceContext(token, orgaName, dto, null, false, null);
         } catch (StorageManagerException e) {
             assertEquals(HttpStatus.FORBIDDEN, e.getHttpStatus());
             assertEquals(exception.getMessage(), e.getMessage());
         }
 
         verify(authHelper, times(1)).isSuperuser(token);
-        verify(storageManagerService, times(0)).createSpaceContext(dto);
+        verify(storageManagerService, times(0)).createSpaceContext(eq(dto), any(), any());
+    }
+
+    @Test
+    void testGetSpaceContext_success() throws StorageManagerException {
+        when(authHelper.isSuperuser(token)).thenReturn(true);
+        ContextStatus<SpaceStorageModel> status = new ContextStatus<>(ContextStatus.State.READY, new SpaceStorageModel(orgaName, spaceName));
+        when(storageManagerService.getSpaceContext(orgaName, spaceName)).thenReturn(status);
+
+        ResponseEntity<ContextStatus<SpaceStorageModel>> response = spaceContextController.getSpaceContext(token, orgaName, spaceName);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(status, response.getBody());
     }
 
     @Test
     void testDeleteSpaceResources_success() throws StorageManagerException {
         when(authHelper.isSuperuser(token)).thenReturn(true);
 
-        ResponseEntity<Void> response = spaceContextController.deleteSpaceContext(token, orgaName, spaceName);
+        ResponseEntity<Void> response = spaceContextController.deleteSpaceContext(token, orgaName, spaceName, null);
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         verify(authHelper, times(1)).isSuperuser(token);
-        verify(storageManagerService, times(1)).deleteSpaceContext(orgaName, spaceName);
+        verify(storageManagerService, times(1)).deleteSpaceContext(orgaName, spaceName, null);
     }
 
     @Test
@@ -112,14 +152,46 @@ class SpaceContextControllerTest {
 
         StorageManagerException exception = new StorageManagerException(StorageManagerException.STORAGEMANAGER_ERROR.INSUFFICIENT_PRIVILEGE);
         try {
-            spaceContextController.deleteSpaceContext(token, orgaName, spaceName);
+            spaceContextController.deleteSpaceContext(token, orgaName, spaceName, null);
         } catch (StorageManagerException e) {
             assertEquals(HttpStatus.FORBIDDEN, e.getHttpStatus());
             assertEquals(exception.getMessage(), e.getMessage());
         }
 
         verify(authHelper, times(1)).isSuperuser(token);
-        verify(storageManagerService, times(0)).deleteSpaceContext(orgaName, spaceName);
+        verify(storageManagerService, times(0)).deleteSpaceContext(orgaName, spaceName, null);
     }
 
+    @Test
+    void testRestoreSpaceContext_success() throws StorageManagerException {
+        when(authHelper.isSuperuser(token)).thenReturn(true);
+
+        ResponseEntity<Void> response = spaceContextController.restoreSpaceContext(token, orgaName, spaceName, null);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(storageManagerService, times(1)).restoreSpaceContext(orgaName, spaceName, null);
+    }
+
+    @Test
+    void testRestoreSpaceContext_insufficientPrivilege() throws StorageManagerException {
+        when(authHelper.isSuperuser(token)).thenReturn(false);
+
+        StorageManagerException e = assertThrows(StorageManagerException.class,
+                () -> spaceContextController.restoreSpaceContext(token, orgaName, spaceName, null));
+
+        assertEquals(HttpStatus.FORBIDDEN, e.getHttpStatus());
+        verify(storageManagerService, times(0)).restoreSpaceContext(orgaName, spaceName, null);
+    }
+
+    @Test
+    void testCloneSpaceContext_success() throws StorageManagerException {
+        when(authHelper.isSuperuser(token)).thenReturn(true);
+        StorageUsage copied = new StorageUsage(42, 3);
+        when(storageManagerService.cloneSpaceContext(eq(orgaName), eq(spaceName), eq(dto), any(), isNull())).thenReturn(copied);
+
+        ResponseEntity<Object> response = spaceContextController.cloneSpaceContext(token, orgaName, spaceName, dto, null, false, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(copied, response.getBody());
+    }
 }
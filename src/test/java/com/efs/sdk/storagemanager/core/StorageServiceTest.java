@@ -0,0 +1,100 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.common.domain.dto.OrganizationContextDTO;
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.jobs.ProvisioningJournal;
+import com.efs.sdk.storagemanager.model.OrganizationStorageOptions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.BACKEND_TIMEOUT;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.STORAGE_ACCOUNT_ALREADY_EXISTS;
+import static com.efs.sdk.storagemanager.commons.StorageManagerException.STORAGEMANAGER_ERROR.UNKNOWN_REGION;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StorageServiceTest {
+
+    private static final OrganizationContextDTO ORGANIZATION = OrganizationContextDTO.builder().name("org1").build();
+
+    @Mock
+    private StorageClient storageClient;
+    @Mock
+    private ContextStatusService statusService;
+    @Mock
+    private DeletionReaper reaper;
+    @Mock
+    private SpaceCloner cloner;
+    @TempDir
+    private Path tempDir;
+    private ProvisioningJournal journal;
+    private StorageService storageService;
+
+    @BeforeEach
+    void setUp() {
+        SchedulerProperties schedulerProperties = new SchedulerProperties();
+        schedulerProperties.setEnabled(false);
+        BackendScheduler scheduler = new BackendScheduler(schedulerProperties, new SimpleMeterRegistry());
+        journal = new ProvisioningJournal(new ObjectMapper().registerModule(new JavaTimeModule()), tempDir, true);
+        storageService = new StorageService(storageClient, journal, scheduler, statusService, reaper, cloner);
+    }
+
+    @Test
+    void testCreateOrganizationStorage_validatesBeforeOpeningJournal() throws Exception {
+        OrganizationStorageOptions options = OrganizationStorageOptions.defaults().setRegion("moon");
+        doThrow(new StorageManagerException(UNKNOWN_REGION, "moon")).when(storageClient).validateOrganizationStorage(ORGANIZATION, options);
+
+        assertThrows(StorageManagerException.class, () -> storageService.createOrganizationStorage(ORGANIZATION, options));
+
+        assertFalse(journal.isPending("org1", null));
+        verify(storageClient, never()).createOrganizationStorage(any(), any());
+    }
+
+    @Test
+    void testCreateOrganizationStorage_discardsRejectedOperation() throws Exception {
+        OrganizationStorageOptions options = OrganizationStorageOptions.defaults();
+        when(storageClient.createOrganizationStorage(ORGANIZATION, options)).thenThrow(new StorageManagerException(STORAGE_ACCOUNT_ALREADY_EXISTS));
+
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> storageService.createOrganizationStorage(ORGANIZATION, options));
+
+        assertTrue(e.is(STORAGE_ACCOUNT_ALREADY_EXISTS));
+        assertFalse(journal.isPending("org1", null));
+        verify(storageClient, never()).reconcileOrganization(any(), anyBoolean());
+    }
+
+    @Test
+    void testCreateOrganizationStorage_keepsOperationFailedByServerError() throws Exception {
+        OrganizationStorageOptions options = OrganizationStorageOptions.defaults();
+        when(storageClient.createOrganizationStorage(ORGANIZATION, options)).thenThrow(new StorageManagerException(BACKEND_TIMEOUT));
+
+        assertThrows(StorageManagerException.class, () -> storageService.createOrganizationStorage(ORGANIZATION, options));
+
+        assertTrue(journal.isPending("org1", null));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.core;
+
+import com.efs.sdk.storagemanager.clients.StorageClient;
+import com.efs.sdk.storagemanager.model.OrganizationUsage;
+import com.efs.sdk.storagemanager.model.StorageUsage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UsageServiceTest {
+
+    @Mock
+    private StorageClient storageClient;
+    @Mock
+    private TombstoneStore tombstones;
+    @TempDir
+    private Path directory;
+    private final BackgroundJobFixture fixture = new BackgroundJobFixture();
+    private UsageProperties properties;
+    private UsageService usageService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UsageProperties();
+        properties.setEnabled(false);
+        properties.setFile(directory.resolve("usage.json"));
+        usageService = createUsageService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.close();
+    }
+
+    @Test
+    void testScan_scansStaleSpacesOnly() throws Exception {
+        when(storageClient.listOrganizations(isNull(), anyInt())).thenReturn(List.of("org1"));
+        when(storageClient.listSpaces(eq("org1"), isNull(), anyInt())).thenReturn(List.of("space1", "space2"));
+        when(storageClient.getSpaceUsage("org1", "space1")).thenReturn(new StorageUsage(100, 2));
+        when(storageClient.getSpaceUsage("org1", "space2")).thenReturn(new StorageUsage(50, 1));
+
+        usageService.scan();
+        usageService.scan();
+
+        OrganizationUsage usage = usageService.getOrganizationUsage("org1").orElseThrow();
+        assertEquals(150, usage.bytes());
+        assertEquals(3, usage.objects());
+        assertEquals(2, usage.spaces().size());
+        // the usage is still fresh in the second cycle
+        verify(storageClient, times(1)).getSpaceUsage("org1", "space1");
+        assertEquals(150, fixture.meterRegistry.get("storagemanager.usage.bytes").tag("organization", "org1").gauge().value());
+    }
+
+    @Test
+    void testScan_forgetsDeletedSpaces() throws Exception {
+        when(storageClient.listOrganizations(isNull(), anyInt())).thenReturn(List.of("org1"));
+        when(storageClient.listSpaces(eq("org1"), isNull(), anyInt())).thenReturn(List.of("space1"), List.of());
+        when(storageClient.getSpaceUsage("org1", "space1")).thenReturn(new StorageUsage(100, 2));
+
+        usageService.scan();
+        assertTrue(usageService.getSpaceUsage("org1", "space1").isPresent());
+
+        usageService.scan();
+        assertTrue(usageService.getSpaceUsage("org1", "space1").isEmpty());
+    }
+
+    @Test
+    void testLoad_readsUsageOfLeader() throws Exception {
+        when(storageClient.listOrganizations(isNull(), anyInt())).thenReturn(List.of("org1"));
+        when(storageClient.listSpaces(eq("org1"), isNull(), anyInt())).thenReturn(List.of("space1"), List.of());
+        when(storageClient.getSpaceUsage("org1", "space1")).thenReturn(new StorageUsage(100, 2));
+        UsageService follower = createUsageService();
+
+        usageService.scan();
+        follower.load();
+        assertEquals(100, follower.getSpaceUsage("org1", "space1").orElseThrow().bytes());
+        assertEquals(2, follower.getOrganizationUsage("org1").orElseThrow().objects());
+
+        usageService.scan();
+        follower.load();
+        assertTrue(follower.getSpaceUsage("org1", "space1").isEmpty());
+        verify(storageClient, times(1)).getSpaceUsage("org1", "space1");
+    }
+
+    private UsageService createUsageService() {
+        return fixture.register(new UsageService(storageClient, fixture.scheduler, fixture.inventory(storageClient, tombstones), properties,
+                new ObjectMapper().registerModule(new JavaTimeModule()), fixture.leaderElection, fixture.meterRegistry), UsageService::shutdown);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.jobs;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.efs.sdk.storagemanager.helper.AuthHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobControllerTest {
+
+    @Mock
+    private AuthHelper authHelper;
+    @Mock
+    private ProvisioningJobService jobService;
+    @InjectMocks
+    private JobController jobController;
+    private JwtAuthenticationToken token;
+
+    @BeforeEach
+    void setUp() {
+        token = new JwtAuthenticationToken(Jwt.withTokenValue("token").header("alg", "none").claim("sub", "user").build());
+    }
+
+    @Test
+    void testGetJob_owner() throws StorageManagerException {
+        ProvisioningJob job = new ProvisioningJob(ProvisioningJob.Operation.CREATE_ORGANIZATION, "testOrg", null, "user");
+        when(jobService.getJob(job.getId())).thenReturn(job);
+
+        ResponseEntity<ProvisioningJob> response = jobController.getJob(token, job.getId());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(job, response.getBody());
+        verify(authHelper, times(0)).isSuperuser(token);
+    }
+
+    @Test
+    void testGetJob_superuser() throws StorageManagerException {
+        ProvisioningJob job = new ProvisioningJob(ProvisioningJob.Operation.CREATE_ORGANIZATION, "testOrg", null, "someone-else");
+        when(jobService.getJob(job.getId())).thenReturn(job);
+        when(authHelper.isSuperuser(token)).thenReturn(true);
+
+        ResponseEntity<ProvisioningJob> response = jobController.getJob(token, job.getId());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void testGetJob_insufficientPrivilege() throws StorageManagerException {
+        ProvisioningJob job = new ProvisioningJob(ProvisioningJob.Operation.CREATE_SPACE, "testOrg", "testSpace", "someone-else");
+        when(jobService.getJob(job.getId())).thenReturn(job);
+        when(authHelper.isSuperuser(token)).thenReturn(false);
+
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> jobController.getJob(token, job.getId()));
+
+        assertEquals(HttpStatus.FORBIDDEN, e.getHttpStatus());
+    }
+}
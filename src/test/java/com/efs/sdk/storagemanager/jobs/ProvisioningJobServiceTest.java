@@ -0,0 +1,109 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.jobs;
+
+import com.efs.sdk.storagemanager.commons.StorageManagerException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProvisioningJobServiceTest {
+
+    @TempDir
+    Path directory;
+    private ObjectMapper objectMapper;
+    private ThreadPoolTaskExecutor executor;
+    private ProvisioningJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.initialize();
+        jobService = new ProvisioningJobService(executor, Duration.ofHours(1), new JobStore(objectMapper, directory, Duration.ofHours(1)));
+        SecurityContextHolder.getContext().setAuthentication(
+                new JwtAuthenticationToken(Jwt.withTokenValue("token").header("alg", "none").claim("sub", "user").build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testGetJob_readsJobOfOtherReplica() throws Exception {
+        ProvisioningJob job = jobService.submit(ProvisioningJob.Operation.CREATE_SPACE, "org1", "space1", () -> {
+            JobProgress.startStep("create-space-storage");
+            JobProgress.finishStep("create-space-storage", true);
+            return Map.of("name", "space1");
+        });
+
+        ProvisioningJobService otherReplica = new ProvisioningJobService(executor, Duration.ofHours(1),
+                new JobStore(objectMapper, directory, Duration.ofHours(1)));
+        ProvisioningJob polled = otherReplica.getJob(job.getId());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (polled.getState() != ProvisioningJob.State.SUCCEEDED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            polled = otherReplica.getJob(job.getId());
+        }
+
+        assertEquals(ProvisioningJob.State.SUCCEEDED, polled.getState());
+        assertEquals("user", polled.getOwner());
+        assertEquals("create-space-storage", polled.getSteps().get(0).getName());
+        assertEquals(Map.of("name", "space1"), polled.getResult());
+    }
+
+    @Test
+    void testGetJob_unknownJob() {
+        StorageManagerException e = assertThrows(StorageManagerException.class, () -> jobService.getJob("../../etc/passwd"));
+
+        assertEquals(HttpStatus.NOT_FOUND, e.getHttpStatus());
+    }
+
+    @Test
+    void testSubmit_failsJobOnError() throws Exception {
+        ProvisioningJob job = jobService.submit(ProvisioningJob.Operation.CREATE_ORGANIZATION, "org1", null, () -> {
+            throw new AssertionError("failed");
+        });
+        awaitFinished(job);
+
+        assertEquals(ProvisioningJob.State.FAILED, job.getState());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), job.getError().status());
+    }
+
+    private static void awaitFinished(ProvisioningJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((job.getState() == ProvisioningJob.State.PENDING || job.getState() == ProvisioningJob.State.RUNNING) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
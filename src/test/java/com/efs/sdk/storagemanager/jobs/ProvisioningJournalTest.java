@@ -0,0 +1,82 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.jobs;
+
+import com.efs.sdk.storagemanager.model.OrganizationStorageModel;
+import com.efs.sdk.storagemanager.model.OrganizationStorageOptions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProvisioningJournalTest {
+
+    @TempDir
+    Path directory;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+
+    @Test
+    void testOpen_resumesCompletedSteps() {
+        ProvisioningJournal journal = new ProvisioningJournal(objectMapper, directory, true);
+        JournalEntry entry = journal.open(ProvisioningJob.Operation.CREATE_ORGANIZATION, "testorg", null,
+                Map.of("options", OrganizationStorageOptions.defaults().setRegion("westeurope")));
+        journal.completeStep(entry, "create-organization-storage", new OrganizationStorageModel("testorg", "westeurope"));
+
+        // a new journal instance simulates a restart
+        ProvisioningJournal restarted = new ProvisioningJournal(objectMapper, directory, true);
+        assertEquals(1, restarted.getPendingEntries().size());
+        JournalEntry resumed = restarted.open(ProvisioningJob.Operation.CREATE_ORGANIZATION, "testorg", null, Map.of());
+
+        assertEquals(2, resumed.getAttempts());
+        assertTrue(restarted.isCompleted(resumed, "create-organization-storage"));
+        assertFalse(restarted.isCompleted(resumed, "create-loadingzone"));
+        assertEquals("westeurope", restarted.getResult(resumed, "create-organization-storage", OrganizationStorageModel.class).getRegion());
+    }
+
+    @Test
+    void testClose_removesEntry() {
+        ProvisioningJournal journal = new ProvisioningJournal(objectMapper, directory, true);
+        JournalEntry entry = journal.open(ProvisioningJob.Operation.CREATE_SPACE, "testorg", "testspace", Map.of());
+
+        journal.close(entry);
+
+        assertTrue(journal.getPendingEntries().isEmpty());
+    }
+
+    @Test
+    void testDiscardOrganization_removesSpaces() {
+        ProvisioningJournal journal = new ProvisioningJournal(objectMapper, directory, true);
+        journal.open(ProvisioningJob.Operation.CREATE_ORGANIZATION, "testorg", null, Map.of());
+        journal.open(ProvisioningJob.Operation.CREATE_SPACE, "testorg", "testspace", Map.of());
+        journal.open(ProvisioningJob.Operation.CREATE_SPACE, "otherorg", "testspace", Map.of());
+
+        journal.discardOrganization("testorg");
+
+        assertEquals(1, journal.getPendingEntries().size());
+        assertEquals("otherorg", journal.getPendingEntries().get(0).getOrganization());
+    }
+}
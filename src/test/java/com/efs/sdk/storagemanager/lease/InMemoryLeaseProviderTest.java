@@ -0,0 +1,47 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.lease;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryLeaseProviderTest {
+
+    private final InMemoryLeaseProvider provider = new InMemoryLeaseProvider();
+
+    @Test
+    void testTryAcquire_exclusive() throws InterruptedException {
+        Optional<LeaseProvider.Lease> lease = provider.tryAcquire("org-test", Duration.ZERO);
+
+        assertTrue(lease.isPresent());
+        assertTrue(provider.tryAcquire("org-test", Duration.ofMillis(50)).isEmpty());
+        assertTrue(provider.tryAcquire("org-other", Duration.ZERO).isPresent());
+    }
+
+    @Test
+    void testClose_releasesImmediately() throws InterruptedException {
+        LeaseProvider.Lease lease = provider.tryAcquire("org-test", Duration.ZERO).orElseThrow();
+
+        lease.close();
+
+        assertFalse(lease.isHeld());
+        assertTrue(provider.tryAcquire("org-test", Duration.ZERO).isPresent());
+    }
+}
@@ -0,0 +1,71 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.storagemanager.lease;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderElectionTest {
+
+    private final InMemoryLeaseProvider provider = new InMemoryLeaseProvider();
+
+    @Test
+    void testIsLeader_singleLeaderPerRole() {
+        LeaderElection first = new LeaderElection(provider, new SimpleMeterRegistry(), true, Duration.ofMinutes(1));
+        LeaderElection second = new LeaderElection(provider, new SimpleMeterRegistry(), true, Duration.ofMinutes(1));
+
+        assertTrue(first.isLeader("usage-scan"));
+        assertFalse(second.isLeader("usage-scan"));
+        assertTrue(second.isLeader("reconciler"));
+        assertFalse(first.isLeader("reconciler"));
+    }
+
+    @Test
+    void testShutdown_failsOver() throws InterruptedException {
+        LeaderElection first = new LeaderElection(provider, new SimpleMeterRegistry(), true, Duration.ofMinutes(1));
+        LeaderElection second = new LeaderElection(provider, new SimpleMeterRegistry(), true, Duration.ofMillis(20));
+        AtomicInteger elected = new AtomicInteger();
+        second.onElected("rollout", elected::incrementAndGet);
+        assertTrue(first.isLeader("rollout"));
+        assertFalse(second.isLeader("rollout"));
+
+        first.shutdown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (elected.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, elected.get());
+        assertTrue(second.isLeader("rollout"));
+        second.shutdown();
+    }
+
+    @Test
+    void testRunIfLeader_disabled() {
+        LeaderElection election = new LeaderElection(provider, new SimpleMeterRegistry(), false, Duration.ofMinutes(1));
+        AtomicInteger runs = new AtomicInteger();
+
+        election.runIfLeader("usage-scan", runs::incrementAndGet);
+        election.runIfLeader("usage-scan", runs::incrementAndGet);
+
+        assertEquals(2, runs.get());
+    }
+}